@@ -11,13 +11,19 @@ module org.jcommon.core {
 	exports org.jorigin.identification;
 	exports org.jorigin.io;
 	exports org.jorigin.lang;
+	exports org.jorigin.lang.index;
 	exports org.jorigin.lang.xml;
 	exports org.jorigin.logging;
 	exports org.jorigin.plugin;
 	exports org.jorigin.property;
 	exports org.jorigin.state;
 	exports org.jorigin.task;
+	exports org.jorigin.trace;
 	
 	requires transitive java.desktop;
 	requires transitive java.logging;
+	requires transitive java.management;
+	
+	requires static java.compiler;
+	requires static jdk.jfr;
 }
\ No newline at end of file
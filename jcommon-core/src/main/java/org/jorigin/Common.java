@@ -20,7 +20,9 @@ package org.jorigin;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.jorigin.logging.AsyncLogHandler;
 import org.jorigin.logging.LogHandler;
+import org.jorigin.logging.RateLimitFilter;
 
 /**
  * The information class about the Common libraries for JOrigin project.
@@ -38,7 +40,11 @@ import org.jorigin.logging.LogHandler;
  * <li>ALL
  * </ul>
  * When a value is set, all level above are implicitly included. For example, a level <code>FINE</code> enable also <code>CONFIG</code>, <code>INFO</code>, 
- * <code>WARNING</code> and <code>SEVERE</code>.
+ * <code>WARNING</code> and <code>SEVERE</code>.<br>
+ * When the system property <code>logging.async</code> is set to <code>true</code>, the records of the common logger are written
+ * from a background thread using an {@link org.jorigin.logging.AsyncLogHandler asynchronous handler}.<br>
+ * When the system property <code>logging.ratelimit</code> is set to <code>true</code>, the repetitive records of the common logger are limited
+ * by a {@link org.jorigin.logging.RateLimitFilter rate limit filter}. The severe records are never limited.
  * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
  * @version {@value Common#version} - b{@value Common#BUILD}
  * @since 1.0.0
@@ -107,9 +113,16 @@ public class Common {
 		handler.setLevel(level);
 		logger.setLevel(level);
 
-		logger.addHandler(handler);
+		if (Boolean.getBoolean("logging.async")){
+			logger.addHandler(new AsyncLogHandler(handler));
+		} else {
+			logger.addHandler(handler);
+		}
 		logger.setUseParentHandlers(false);
 
+		if (Boolean.getBoolean("logging.ratelimit")){
+			logger.setFilter(new RateLimitFilter());
+		}
 	}
 
 	/**
@@ -0,0 +1,367 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.event;
+
+import java.awt.AWTEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EventListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jorigin.Common;
+
+/**
+ * An event bus that routes the events to the listeners that subscribed to their type and their identifier:
+ * <pre>
+ * EventBus&lt;TaskListener, TaskEvent&gt; bus = new EventBus&lt;TaskListener, TaskEvent&gt;(TaskListener::eventDispatched);
+ *
+ * bus.subscribe(monitor);                                                            // all the events
+ * bus.subscribe(progress, TaskEvent.class, TaskEvent.TASK_PROGRESS);                 // the progress events only
+ * bus.subscribe(errors, TaskEvent.class, TaskEvent.TASK_WARNING, TaskEvent.TASK_ERROR);
+ *
+ * bus.dispatch(new TaskEvent(this, TaskEvent.TASK_PROGRESS, 10));
+ * </pre>
+ * A subscription matches the events whose class is the subscribed type or one of its subclasses and whose identifier is one of the subscribed identifiers
+ * (or any identifier if no identifier is given). The matching listeners are notified synchronously by the dispatching thread, in the reverse order
+ * of their subscription as done with an {@link javax.swing.event.EventListenerList EventListenerList}. A listener subscribed several times is notified once per matching subscription.<br>
+ * <br>
+ * The subscriptions are held within a copy-on-write array. For each event class, a routing table that maps each subscribed identifier to the array of its listeners
+ * is computed on the first dispatch of an event of this class and kept until the subscriptions change. Dispatching an event is then a lookup within
+ * the routing table followed by the notification of the listeners, without any allocation, lock or test of the other listeners. Producers that
+ * create their events only to dispatch them can call {@link #hasListeners(Class, int)} first.
+ * The bus is thread-safe: the listeners can be subscribed while events are dispatched, the new subscriptions are taken into account by the following dispatches.
+ * @param <L> the type of the listeners.
+ * @param <E> the type of the events.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class EventBus<L extends EventListener, E extends AWTEvent> {
+
+	/**
+	 * An empty listener array.
+	 */
+	private static final EventListener[] EMPTY = new EventListener[0];
+
+	/**
+	 * The method that notifies the listeners.
+	 */
+	private final EventDispatcher<L, ? super E> dispatcher;
+
+	/**
+	 * The subscriptions, from the oldest to the newest.
+	 */
+	private volatile Subscription[] subscriptions = new Subscription[0];
+
+	/**
+	 * The routing tables of the event classes that have been dispatched since the last change of the subscriptions.
+	 */
+	private volatile Map<Class<?>, Route> routes = new HashMap<Class<?>, Route>();
+
+	/**
+	 * A subscription of a listener.
+	 */
+	private static final class Subscription {
+
+		/**
+		 * The listener.
+		 */
+		private final EventListener listener;
+
+		/**
+		 * The type of the events.
+		 */
+		private final Class<?> type;
+
+		/**
+		 * The identifiers of the events or <code>null</code> for any identifier.
+		 */
+		private final int[] ids;
+
+		/**
+		 * Create a new subscription.
+		 * @param listener the listener.
+		 * @param type the type of the events.
+		 * @param ids the identifiers of the events or <code>null</code> for any identifier.
+		 */
+		private Subscription(EventListener listener, Class<?> type, int[] ids){
+			this.listener = listener;
+			this.type     = type;
+			this.ids      = ids;
+		}
+
+		/**
+		 * Check if this subscription matches the given identifier.
+		 * @param id the identifier.
+		 * @return <code>true</code> if this subscription matches the given identifier and <code>false</code> otherwise.
+		 */
+		private boolean matches(int id){
+
+			if (this.ids == null){
+				return true;
+			}
+
+			for(int i = 0; i < this.ids.length; i++){
+				if (this.ids[i] == id){
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * The routing table of an event class: an open addressing hash table that maps the subscribed identifiers to their listeners.
+	 */
+	private static final class Route {
+
+		/**
+		 * The identifiers.
+		 */
+		private final int[] keys;
+
+		/**
+		 * The listeners of each identifier, <code>null</code> for an empty slot.
+		 */
+		private final EventListener[][] values;
+
+		/**
+		 * The listeners of the identifiers that are not within the table.
+		 */
+		private final EventListener[] others;
+
+		/**
+		 * The mask of the slot indexes.
+		 */
+		private final int mask;
+
+		/**
+		 * Create the routing table of the given event class.
+		 * @param type the event class.
+		 * @param subscriptions the subscriptions, from the oldest to the newest.
+		 */
+		private Route(Class<?> type, Subscription[] subscriptions){
+
+			List<Subscription> matching = new ArrayList<Subscription>();
+			int[] ids = new int[0];
+
+			for(int i = subscriptions.length - 1; i >= 0; i--){
+				Subscription subscription = subscriptions[i];
+				if ((subscription.type == null) || subscription.type.isAssignableFrom(type)){
+					matching.add(subscription);
+					if (subscription.ids != null){
+						for(int id : subscription.ids){
+							if (Arrays.stream(ids).noneMatch(value -> value == id)){
+								ids = Arrays.copyOf(ids, ids.length + 1);
+								ids[ids.length - 1] = id;
+							}
+						}
+					}
+				}
+			}
+
+			int capacity = Integer.highestOneBit(Math.max(1, ids.length * 2 - 1)) * 2;
+
+			this.keys   = new int[capacity];
+			this.values = new EventListener[capacity][];
+			this.mask   = capacity - 1;
+			this.others = listeners(matching, null);
+
+			for(int id : ids){
+				int slot = slot(id);
+				while (this.values[slot] != null){
+					slot = (slot + 1) & this.mask;
+				}
+				this.keys[slot]   = id;
+				this.values[slot] = listeners(matching, Integer.valueOf(id));
+			}
+		}
+
+		/**
+		 * Get the listeners of the given identifier.
+		 * @param id the identifier.
+		 * @return the listeners of the given identifier.
+		 */
+		private EventListener[] get(int id){
+
+			int slot = slot(id);
+
+			while (true){
+				EventListener[] listeners = this.values[slot];
+				if (listeners == null){
+					return this.others;
+				}
+				if (this.keys[slot] == id){
+					return listeners;
+				}
+				slot = (slot + 1) & this.mask;
+			}
+		}
+
+		/**
+		 * Get the first slot of the given identifier.
+		 * @param id the identifier.
+		 * @return the first slot of the given identifier.
+		 */
+		private int slot(int id){
+			int hash = id * 0x9E3779B9;
+			return (hash ^ (hash >>> 16)) & this.mask;
+		}
+
+		/**
+		 * Get the listeners of the given subscriptions that match the given identifier.
+		 * @param subscriptions the subscriptions, in the notification order.
+		 * @param id the identifier or <code>null</code> to select the subscriptions to any identifier.
+		 * @return the listeners.
+		 */
+		private static EventListener[] listeners(List<Subscription> subscriptions, Integer id){
+
+			List<EventListener> listeners = new ArrayList<EventListener>();
+			for(Subscription subscription : subscriptions){
+				if ((id != null) ? subscription.matches(id.intValue()) : (subscription.ids == null)){
+					listeners.add(subscription.listener);
+				}
+			}
+
+			return listeners.isEmpty() ? EMPTY : listeners.toArray(new EventListener[listeners.size()]);
+		}
+	}
+
+	/**
+	 * Create a new event bus.
+	 * @param dispatcher the method that notifies the listeners.
+	 */
+	public EventBus(EventDispatcher<L, ? super E> dispatcher){
+
+		if (dispatcher == null){
+			throw new IllegalArgumentException("Dispatcher cannot be null.");
+		}
+
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Subscribe the given listener to all the events.
+	 * @param listener the listener.
+	 */
+	public void subscribe(L listener){
+		subscribe(listener, null);
+	}
+
+	/**
+	 * Subscribe the given listener to the events of the given type and identifiers.
+	 * @param listener the listener.
+	 * @param type the type of the events or <code>null</code> for any type. The events of the subclasses of the type also match.
+	 * @param ids the identifiers of the events. If no identifier is given, the events of any identifier match.
+	 */
+	public synchronized void subscribe(L listener, Class<? extends E> type, int... ids){
+
+		if (listener == null){
+			return;
+		}
+
+		Subscription[] subscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+		subscriptions[subscriptions.length - 1] = new Subscription(listener, type, ((ids == null) || (ids.length == 0)) ? null : ids.clone());
+
+		this.subscriptions = subscriptions;
+		this.routes        = new HashMap<Class<?>, Route>();
+	}
+
+	/**
+	 * Remove the most recent subscription of the given listener. As with {@link javax.swing.event.EventListenerList#remove(Class, EventListener)}, 
+	 * a listener that has been subscribed many times remains subscribed until it has been unsubscribed as many times.
+	 * @param listener the listener.
+	 */
+	public synchronized void unsubscribe(L listener){
+
+		for(int i = this.subscriptions.length - 1; i >= 0; i--){
+			if (this.subscriptions[i].listener == listener){
+
+				Subscription[] subscriptions = new Subscription[this.subscriptions.length - 1];
+				System.arraycopy(this.subscriptions, 0, subscriptions, 0, i);
+				System.arraycopy(this.subscriptions, i + 1, subscriptions, i, subscriptions.length - i);
+
+				this.subscriptions = subscriptions;
+				this.routes        = new HashMap<Class<?>, Route>();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of subscriptions.
+	 * @return the number of subscriptions.
+	 */
+	public int getSubscriptionCount(){
+		return this.subscriptions.length;
+	}
+
+	/**
+	 * Check if an event of the given type and identifier would be dispatched to at least one listener.
+	 * @param type the type of the event.
+	 * @param id the identifier of the event.
+	 * @return <code>true</code> if an event of the given type and identifier would be dispatched to at least one listener and <code>false</code> otherwise.
+	 */
+	public boolean hasListeners(Class<? extends E> type, int id){
+		return route(type).get(id).length > 0;
+	}
+
+	/**
+	 * Dispatch the given event to the matching listeners.
+	 * @param event the event to dispatch.
+	 */
+	@SuppressWarnings("unchecked")
+	public void dispatch(E event){
+
+		EventListener[] listeners = route(event.getClass()).get(event.getID());
+
+		for(int i = 0; i < listeners.length; i++){
+			this.dispatcher.dispatch((L) listeners[i], event);
+		}
+	}
+
+	/**
+	 * Get the routing table of the given event class. The table is computed if needed.
+	 * @param type the event class.
+	 * @return the routing table of the given event class.
+	 */
+	private Route route(Class<?> type){
+
+		Route route = this.routes.get(type);
+		if (route != null){
+			return route;
+		}
+
+		synchronized (this) {
+
+			route = this.routes.get(type);
+			if (route == null){
+				route = new Route(type, this.subscriptions);
+
+				Map<Class<?>, Route> routes = new HashMap<Class<?>, Route>(this.routes);
+				routes.put(type, route);
+				this.routes = routes;
+			}
+
+			return route;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.event;
+
+import java.awt.AWTEvent;
+import java.util.EventListener;
+
+import org.jorigin.Common;
+
+/**
+ * The method that notifies a listener of an {@link EventBus event bus}, for example <code>TaskListener::eventDispatched</code>.
+ * @param <L> the type of the listeners.
+ * @param <E> the type of the events.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+@FunctionalInterface
+public interface EventDispatcher<L extends EventListener, E extends AWTEvent> {
+
+	/**
+	 * Notify the given listener of the given event.
+	 * @param listener the listener.
+	 * @param event the event.
+	 */
+	public void dispatch(L listener, E event);
+}
@@ -0,0 +1,149 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.event;
+
+import java.util.EventListener;
+
+import org.jorigin.Common;
+
+/**
+ * A snapshot of the dispatch statistics of a listener that is notified asynchronously by an {@link EventPool event pool}.
+ * The latency of an event is the duration between the moment it is dispatched to the pool and the end of its processing by the listener.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class EventListenerStatistics {
+
+	/**
+	 * The listener.
+	 */
+	private final EventListener listener;
+
+	/**
+	 * The number of events waiting for the listener.
+	 */
+	private final int queueDepth;
+
+	/**
+	 * The capacity of the listener queue.
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * The number of events processed by the listener.
+	 */
+	private final long dispatchedCount;
+
+	/**
+	 * The number of events dropped because the listener queue was full.
+	 */
+	private final long droppedCount;
+
+	/**
+	 * The sum of the event latencies, in nanoseconds.
+	 */
+	private final long totalLatency;
+
+	/**
+	 * The maximum event latency, in nanoseconds.
+	 */
+	private final long maxLatency;
+
+	/**
+	 * Create a new statistics snapshot.
+	 * @param listener the listener.
+	 * @param queueDepth the number of events waiting for the listener.
+	 * @param queueCapacity the capacity of the listener queue.
+	 * @param dispatchedCount the number of events processed by the listener.
+	 * @param droppedCount the number of events dropped because the listener queue was full.
+	 * @param totalLatency the sum of the event latencies, in nanoseconds.
+	 * @param maxLatency the maximum event latency, in nanoseconds.
+	 */
+	public EventListenerStatistics(EventListener listener, int queueDepth, int queueCapacity, long dispatchedCount, long droppedCount, long totalLatency, long maxLatency){
+		this.listener        = listener;
+		this.queueDepth      = queueDepth;
+		this.queueCapacity   = queueCapacity;
+		this.dispatchedCount = dispatchedCount;
+		this.droppedCount    = droppedCount;
+		this.totalLatency    = totalLatency;
+		this.maxLatency      = maxLatency;
+	}
+
+	/**
+	 * Get the listener.
+	 * @return the listener.
+	 */
+	public EventListener getListener(){
+		return this.listener;
+	}
+
+	/**
+	 * Get the number of events waiting for the listener.
+	 * @return the number of events waiting for the listener.
+	 */
+	public int getQueueDepth(){
+		return this.queueDepth;
+	}
+
+	/**
+	 * Get the capacity of the listener queue.
+	 * @return the capacity of the listener queue.
+	 */
+	public int getQueueCapacity(){
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Get the number of events processed by the listener.
+	 * @return the number of events processed by the listener.
+	 */
+	public long getDispatchedCount(){
+		return this.dispatchedCount;
+	}
+
+	/**
+	 * Get the number of events dropped because the listener queue was full.
+	 * @return the number of dropped events.
+	 */
+	public long getDroppedCount(){
+		return this.droppedCount;
+	}
+
+	/**
+	 * Get the average event latency, in nanoseconds.
+	 * @return the average event latency or <code>0</code> if no event has been processed.
+	 */
+	public long getAverageLatency(){
+		return this.dispatchedCount > 0 ? this.totalLatency / this.dispatchedCount : 0;
+	}
+
+	/**
+	 * Get the maximum event latency, in nanoseconds.
+	 * @return the maximum event latency.
+	 */
+	public long getMaxLatency(){
+		return this.maxLatency;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName()+"[listener="+this.listener+", queue="+this.queueDepth+"/"+this.queueCapacity+", dispatched="+this.dispatchedCount
+				+", dropped="+this.droppedCount+", average latency="+getAverageLatency()+" ns, max latency="+this.maxLatency+" ns]";
+	}
+}
@@ -19,34 +19,445 @@ package org.jorigin.event;
 
 import java.awt.AWTEvent;
 import java.awt.event.AWTEventListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
 
 import javax.swing.event.EventListenerList;
 
 import org.jorigin.Common;
+import org.jorigin.logging.Log;
 
 /**
  * Event pool class enable to share events between many components. The event pool register listeners
  * and dispatch event. Components which have to fire event to other use the event pool to propagate it.<br>
  * This class use {@link java.awt.AWTEvent} as a global event. So All event that can be fired on the event pool must be
- * an {@link java.awt.AWTEvent} or a subclass.
+ * an {@link java.awt.AWTEvent} or a subclass.<br>
+ * <br>
+ * By default, the events are dispatched synchronously: the listeners are notified by the thread that calls {@link #dispatchEvent(AWTEvent)}.
+ * An event pool created with an {@link Executor executor} dispatches the events asynchronously: each listener has its own bounded queue
+ * whose events are processed by a task submitted to the executor, so that a slow listener neither stalls the dispatching thread nor the other listeners.
+ * The events are processed in the order of their dispatch for each listener and a listener is never notified by two threads at the same time.
+ * When the queue of a listener is full, the {@link #getOverflowPolicy() overflow policy} applies:
+ * <ul>
+ * <li>{@link #OVERFLOW_BLOCK} the dispatching thread waits until the queue has room. A listener that dispatches events to its own pool with this policy can block forever;
+ * <li>{@link #OVERFLOW_DROP} the new event is dropped for this listener;
+ * <li>{@link #OVERFLOW_DROP_OLDEST} the oldest event waiting for this listener is dropped.
+ * </ul>
+ * The queue depth, the dropped events and the latency of each listener are available from {@link #getStatistics()}.<br>
+ * <br>
+ * A listener can be {@link #addListener(AWTEventListener, Class, int...) added} for a given event type and given event identifiers only.
+ * The events are routed to the listeners by an {@link EventBus event bus}, so that dispatching an event does not test the listeners that do not expect it.
  * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
  * @version {@value Common#version} - b{@value Common#BUILD}
  * @since 1.0.0
  */
 public class EventPool {
 
+	/**
+	 * The overflow policy that makes the dispatching thread wait until the listener queue has room.
+	 */
+	public static final int OVERFLOW_BLOCK       = 0;
+
+	/**
+	 * The overflow policy that drops the new event.
+	 */
+	public static final int OVERFLOW_DROP        = 1;
+
+	/**
+	 * The overflow policy that drops the oldest event waiting within the listener queue.
+	 */
+	public static final int OVERFLOW_DROP_OLDEST = 2;
+
+	/**
+	 * The default capacity of the listener queues.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * The maximum number of events processed by a task before it is resubmitted to the executor, so that a busy listener does not monopolize an executor thread.
+	 */
+	private static final int BATCH_SIZE = 64;
 
 	//Liste des écouteurs informés des evenements du panneau
 	/**
-	 * The list of listenners attached to the pool
+	 * The list of listenners attached to the pool. This list is kept up to date for compatibility but the events are dispatched by the {@link EventBus event bus} of the pool.
 	 */
 	protected EventListenerList idListenerList = new EventListenerList();
 
 	/**
-	 * Construct a new event pool. This method creates the listener list.
+	 * The event bus that routes the events to the listeners, or to their queues if the events are dispatched asynchronously.
+	 */
+	private final EventBus<AWTEventListener, AWTEvent> bus = new EventBus<AWTEventListener, AWTEvent>(AWTEventListener::eventDispatched);
+
+	/**
+	 * The executor of the asynchronous dispatch or <code>null</code> if the events are dispatched synchronously.
+	 */
+	private final Executor executor;
+
+	/**
+	 * The capacity of the listener queues.
+	 */
+	private final int queueCapacity;
+
+	/**
+	 * The overflow policy.
+	 */
+	private final int overflowPolicy;
+
+	/**
+	 * The listener queues of the asynchronous dispatch, in the notification order.
+	 */
+	private volatile ListenerQueue[] queues = new ListenerQueue[0];
+
+	/**
+	 * The bounded queue of the events waiting for a listener. The queue is also the task that notifies the listener
+	 * and the listener subscribed to the event bus in place of the listener.
+	 */
+	private final class ListenerQueue implements Runnable, AWTEventListener {
+
+		/**
+		 * The listener.
+		 */
+		private final AWTEventListener listener;
+
+		/**
+		 * The waiting events.
+		 */
+		private final AWTEvent[] events;
+
+		/**
+		 * The dispatch time of the waiting events.
+		 */
+		private final long[] times;
+
+		/**
+		 * The lock of the queue.
+		 */
+		private final ReentrantLock lock = new ReentrantLock();
+
+		/**
+		 * The condition signaled when the queue has room.
+		 */
+		private final Condition notFull = this.lock.newCondition();
+
+		/**
+		 * The condition signaled when the queue is empty and no event is processed.
+		 */
+		private final Condition idle = this.lock.newCondition();
+
+		/**
+		 * Is the task submitted to the executor.
+		 */
+		private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+		/**
+		 * The index of the oldest event.
+		 */
+		private int head = 0;
+
+		/**
+		 * The number of waiting events.
+		 */
+		private int count = 0;
+
+		/**
+		 * Is the queue removed from the pool.
+		 */
+		private boolean removed = false;
+
+		/**
+		 * The number of processed events.
+		 */
+		private volatile long dispatchedCount = 0;
+
+		/**
+		 * The number of dropped events.
+		 */
+		private long droppedCount = 0;
+
+		/**
+		 * The sum of the latencies.
+		 */
+		private volatile long totalLatency = 0;
+
+		/**
+		 * The maximum latency.
+		 */
+		private volatile long maxLatency = 0;
+
+		/**
+		 * Create a new queue for the given listener.
+		 * @param listener the listener.
+		 */
+		private ListenerQueue(AWTEventListener listener){
+			this.listener = listener;
+			this.events   = new AWTEvent[EventPool.this.queueCapacity];
+			this.times    = new long[EventPool.this.queueCapacity];
+		}
+
+		/**
+		 * Add an event to the queue, applying the overflow policy if the queue is full, and submit the task if needed.
+		 * @param event the event.
+		 */
+		private void offer(AWTEvent event){
+
+			this.lock.lock();
+			try {
+				while (this.count == this.events.length){
+
+					if (this.removed){
+						return;
+					}
+
+					if (EventPool.this.overflowPolicy == OVERFLOW_BLOCK){
+						try {
+							this.notFull.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							this.droppedCount++;
+							return;
+						}
+					} else if (EventPool.this.overflowPolicy == OVERFLOW_DROP_OLDEST){
+						this.events[this.head] = null;
+						this.head              = (this.head + 1) % this.events.length;
+						this.count--;
+						this.droppedCount++;
+					} else {
+						this.droppedCount++;
+						return;
+					}
+				}
+
+				if (this.removed){
+					return;
+				}
+
+				int tail          = (this.head + this.count) % this.events.length;
+				this.events[tail] = event;
+				this.times[tail]  = System.nanoTime();
+				this.count++;
+
+			} finally {
+				this.lock.unlock();
+			}
+
+			if (this.scheduled.compareAndSet(false, true)){
+				try {
+					EventPool.this.executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					this.scheduled.set(false);
+					Log.log(Level.SEVERE, e, "Cannot dispatch event to {0}", this.listener);
+				}
+			}
+		}
+
+		@Override
+		public void eventDispatched(AWTEvent event){
+			offer(event);
+		}
+
+		/**
+		 * Notify the listener of the waiting events.
+		 */
+		@Override
+		public void run(){
+
+			for(int processed = 0; processed < BATCH_SIZE; processed++){
+
+				AWTEvent event;
+				long time;
+
+				this.lock.lock();
+				try {
+					if ((this.count == 0) || this.removed){
+						this.scheduled.set(false);
+						this.idle.signalAll();
+						return;
+					}
+
+					event                  = this.events[this.head];
+					time                   = this.times[this.head];
+					this.events[this.head] = null;
+					this.head              = (this.head + 1) % this.events.length;
+					this.count--;
+					this.notFull.signal();
+
+				} finally {
+					this.lock.unlock();
+				}
+
+				try {
+					this.listener.eventDispatched(event);
+				} catch (RuntimeException e) {
+					Log.log(Level.SEVERE, e, "Listener {0} failed to process event {1}", this.listener, event);
+				} catch (Error e) {
+					// The task is released so that the remaining and the next events are still dispatched
+					Log.log(Level.SEVERE, e, "Listener {0} failed to process event {1}", this.listener, event);
+					reschedule();
+					throw e;
+				}
+
+				long latency = System.nanoTime() - time;
+
+				// The counters are only updated by the single running task
+				this.dispatchedCount = this.dispatchedCount + 1;
+				this.totalLatency    = this.totalLatency + latency;
+				if (latency > this.maxLatency){
+					this.maxLatency = latency;
+				}
+			}
+
+			// Let the other tasks run before processing the remaining events
+			reschedule();
+		}
+
+		/**
+		 * Submit the task again to the executor. If the executor rejects it, the task is released.
+		 */
+		private void reschedule(){
+			try {
+				EventPool.this.executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				this.lock.lock();
+				try {
+					this.scheduled.set(false);
+					this.idle.signalAll();
+				} finally {
+					this.lock.unlock();
+				}
+				Log.log(Level.SEVERE, e, "Cannot dispatch event to {0}", this.listener);
+			}
+		}
+
+		/**
+		 * Remove the waiting events and wake up the threads that wait for room.
+		 */
+		private void remove(){
+			this.lock.lock();
+			try {
+				this.removed = true;
+				for(int i = 0; i < this.count; i++){
+					this.events[(this.head + i) % this.events.length] = null;
+				}
+				this.count = 0;
+				this.notFull.signalAll();
+				this.idle.signalAll();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Wait until the queue is empty and no event is processed.
+		 * @param deadline the deadline, as a {@link System#nanoTime()} value.
+		 * @return <code>true</code> if the queue is idle and <code>false</code> if the deadline is reached.
+		 * @throws InterruptedException if the current thread is interrupted while waiting.
+		 */
+		private boolean awaitIdle(long deadline) throws InterruptedException {
+			this.lock.lock();
+			try {
+				while (((this.count > 0) || this.scheduled.get()) && !this.removed){
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0){
+						return false;
+					}
+					this.idle.awaitNanos(remaining);
+				}
+				return true;
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+		/**
+		 * Get a snapshot of the statistics of the listener.
+		 * @return a snapshot of the statistics of the listener.
+		 */
+		private EventListenerStatistics getStatistics(){
+			this.lock.lock();
+			try {
+				return new EventListenerStatistics(this.listener, this.count, this.events.length, this.dispatchedCount, this.droppedCount, this.totalLatency, this.maxLatency);
+			} finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Construct a new event pool that dispatches the events synchronously. This method creates the listener list.
 	 */
 	public EventPool(){
 		this.idListenerList = new EventListenerList(); 
+		this.executor       = null;
+		this.queueCapacity  = 0;
+		this.overflowPolicy = OVERFLOW_BLOCK;
+	}
+
+	/**
+	 * Construct a new event pool that dispatches the events asynchronously using the given executor. Each listener has a queue of {@link #DEFAULT_QUEUE_CAPACITY} events
+	 * and the dispatching thread waits when a queue is full ({@link #OVERFLOW_BLOCK}).
+	 * @param executor the executor that notifies the listeners.
+	 */
+	public EventPool(Executor executor){
+		this(executor, DEFAULT_QUEUE_CAPACITY, OVERFLOW_BLOCK);
+	}
+
+	/**
+	 * Construct a new event pool that dispatches the events asynchronously using the given executor.
+	 * @param executor the executor that notifies the listeners.
+	 * @param queueCapacity the maximum number of events waiting for a listener.
+	 * @param overflowPolicy the policy applied when the queue of a listener is full ({@link #OVERFLOW_BLOCK}, {@link #OVERFLOW_DROP} or {@link #OVERFLOW_DROP_OLDEST}).
+	 * @throws IllegalArgumentException if the executor is <code>null</code>, if the capacity is not strictly positive or if the policy is unknown.
+	 */
+	public EventPool(Executor executor, int queueCapacity, int overflowPolicy){
+
+		if (executor == null){
+			throw new IllegalArgumentException("Executor cannot be null.");
+		}
+
+		if (queueCapacity < 1){
+			throw new IllegalArgumentException("Invalid queue capacity "+queueCapacity);
+		}
+
+		if ((overflowPolicy != OVERFLOW_BLOCK) && (overflowPolicy != OVERFLOW_DROP) && (overflowPolicy != OVERFLOW_DROP_OLDEST)){
+			throw new IllegalArgumentException("Invalid overflow policy "+overflowPolicy);
+		}
+
+		this.idListenerList = new EventListenerList();
+		this.executor       = executor;
+		this.queueCapacity  = queueCapacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Get if the events are dispatched asynchronously.
+	 * @return <code>true</code> if the events are dispatched asynchronously and <code>false</code> otherwise.
+	 */
+	public boolean isAsynchronous(){
+		return this.executor != null;
+	}
+
+	/**
+	 * Get the capacity of the listener queues.
+	 * @return the capacity of the listener queues or <code>0</code> if the events are dispatched synchronously.
+	 */
+	public int getQueueCapacity(){
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Get the policy applied when the queue of a listener is full.
+	 * @return the overflow policy ({@link #OVERFLOW_BLOCK}, {@link #OVERFLOW_DROP} or {@link #OVERFLOW_DROP_OLDEST}).
+	 */
+	public int getOverflowPolicy(){
+		return this.overflowPolicy;
 	}
 
 	/**
@@ -56,7 +467,37 @@ public class EventPool {
 	 * @param listener the listener to add.
 	 */
 	public void addListener(AWTEventListener listener){
+		addListener(listener, null);
+	}
+
+	/**
+	 * Add a listener to the event pool that is only notified of the events of the given type and identifiers.
+	 * @param listener the listener to add.
+	 * @param type the type of the events or <code>null</code> for any type. The events of the subclasses of the type are also notified.
+	 * @param ids the identifiers of the events. If no identifier is given, the events of any identifier are notified.
+	 * @since 2.0.2
+	 */
+	public void addListener(AWTEventListener listener, Class<? extends AWTEvent> type, int... ids){
 		this.idListenerList.add(AWTEventListener.class, listener);    
+
+		if (listener == null){
+			return;
+		}
+
+		if (this.executor != null){
+			synchronized (this) {
+				ListenerQueue queue = new ListenerQueue(listener);
+
+				ListenerQueue[] queues = new ListenerQueue[this.queues.length + 1];
+				queues[0] = queue;
+				System.arraycopy(this.queues, 0, queues, 1, this.queues.length);
+				this.queues = queues;
+
+				this.bus.subscribe(queue, type, ids);
+			}
+		} else {
+			this.bus.subscribe(listener, type, ids);
+		}
 	}
 
 	/**
@@ -67,19 +508,72 @@ public class EventPool {
 	 */
 	public void removeListener(AWTEventListener listener){
 		this.idListenerList.remove(AWTEventListener.class, listener);   
+
+		if (this.executor != null){
+			synchronized (this) {
+				for(int i = 0; i < this.queues.length; i++){
+					if (this.queues[i].listener == listener){
+						this.bus.unsubscribe(this.queues[i]);
+						this.queues[i].remove();
+
+						ListenerQueue[] queues = new ListenerQueue[this.queues.length - 1];
+						System.arraycopy(this.queues, 0, queues, 0, i);
+						System.arraycopy(this.queues, i + 1, queues, i, queues.length - i);
+						this.queues = queues;
+						break;
+					}
+				}
+			}
+		} else {
+			this.bus.unsubscribe(listener);
+		}
 	}
 
 	/**
-	 * Dispatch a new event to all registered listeners. The event must be a subclass of 
-	 * {@link java.awt.AWTEvent} because the listener are AWTEventListener.
+	 * Dispatch a new event to the registered listeners that expect it. The event must be a subclass of 
+	 * {@link java.awt.AWTEvent} because the listener are AWTEventListener. If the pool is {@link #isAsynchronous() asynchronous},
+	 * the event is added to the queue of each listener and this method returns without waiting for the listeners, unless a queue is full
+	 * and the overflow policy is {@link #OVERFLOW_BLOCK}.
 	 * @param event the event to dispatch.
 	 */
 	public void dispatchEvent(AWTEvent event){
-		Object[] listeners = this.idListenerList.getListenerList();
-		for (int i = listeners.length - 2; i >= 0; i -= 2) {
-			if (listeners[i] == AWTEventListener.class) {
-				( (AWTEventListener) listeners[i + 1]).eventDispatched(event);
+		this.bus.dispatch(event);
+	}
+
+	/**
+	 * Wait until all the events dispatched asynchronously have been processed by the listeners.
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return <code>true</code> if all the events have been processed and <code>false</code> if the timeout elapsed.
+	 * @throws InterruptedException if the current thread is interrupted while waiting.
+	 */
+	public boolean awaitDispatch(long timeout, TimeUnit unit) throws InterruptedException {
+
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		ListenerQueue[] queues = this.queues;
+		for(int i = 0; i < queues.length; i++){
+			if (!queues[i].awaitIdle(deadline)){
+				return false;
 			}
-		}  
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the dispatch statistics of the listeners. The statistics are only available if the pool is {@link #isAsynchronous() asynchronous}.
+	 * @return the dispatch statistics of the listeners, in their notification order.
+	 */
+	public List<EventListenerStatistics> getStatistics(){
+
+		ListenerQueue[] queues = this.queues;
+
+		List<EventListenerStatistics> statistics = new ArrayList<EventListenerStatistics>(queues.length);
+		for(int i = 0; i < queues.length; i++){
+			statistics.add(queues[i].getStatistics());
+		}
+
+		return statistics;
 	}
-}
\ No newline at end of file
+}
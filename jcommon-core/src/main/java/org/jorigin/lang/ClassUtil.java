@@ -3,17 +3,28 @@ package org.jorigin.lang;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.lang.module.ModuleReader;
+import java.lang.module.ResolvedModule;
 import java.net.JarURLConnection;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.logging.Level;
 
 import org.jorigin.Common;
+import org.jorigin.lang.index.ClassIndex;
 
 
 /**
@@ -230,10 +241,11 @@ public class ClassUtil {
 	 * 
 	 * @param directory The directory to start with
 	 * @param pckgname The package name to search for. Will be needed for getting the Class object.
+	 * @param cld the class loader to use.
 	 * @param classes if a file isn't loaded but still is in the directory
 	 * @throws ClassNotFoundException if an error occurs.
 	 */
-	private static void checkDirectory(File directory, String pckgname, List<Class<?>> classes) throws ClassNotFoundException {
+	private static void checkDirectory(File directory, String pckgname, ClassLoader cld, List<Class<?>> classes) throws ClassNotFoundException {
 		File tmpDirectory;
 
 		if (directory.exists() && directory.isDirectory()) {
@@ -243,14 +255,14 @@ public class ClassUtil {
 				if (file.endsWith(".class")) {
 					try {
 						classes.add(Class.forName(pckgname + '.'
-								+ file.substring(0, file.length() - 6)));
+								+ file.substring(0, file.length() - 6), false, cld));
 					} catch (final NoClassDefFoundError e) {
 						// do nothing. this class hasn't been found by the
 						// loader, and we don't care.
 					}
 				} else if ((tmpDirectory = new File(directory, file))
 						.isDirectory()) {
-					checkDirectory(tmpDirectory, pckgname + "." + file, classes);
+					checkDirectory(tmpDirectory, pckgname + "." + file, cld, classes);
 				}
 			}
 		}
@@ -260,11 +272,12 @@ public class ClassUtil {
 	 * Search for classes available within the Jar accessed by the given <code>connection</code>.
 	 * @param connection the connection to the jar
 	 * @param pckgname the package name to search for
+	 * @param cld the class loader to use
 	 * @param classes the current ArrayList of all classes. This method will simply add new classes.
 	 * @throws ClassNotFoundException if a file isn't loaded but still is in the jar file
 	 * @throws IOException if it can't correctly read from the jar file.
 	 */
-	private static void checkJarFile(JarURLConnection connection, String pckgname, List<Class<?>> classes)
+	private static void checkJarFile(JarURLConnection connection, String pckgname, ClassLoader cld, List<Class<?>> classes)
 			throws ClassNotFoundException, IOException {
 		final JarFile jarFile = connection.getJarFile();
 		final Enumeration<JarEntry> entries = jarFile.entries();
@@ -278,7 +291,275 @@ public class ClassUtil {
 				name = name.substring(0, name.length() - 6).replace('/', '.');
 
 				if (name.contains(pckgname)) {
-					classes.add(Class.forName(name));
+					classes.add(Class.forName(name, false, cld));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Load, without initializing them, the classes denoted by the given names and add them to the given list. 
+	 * The classes that cannot be found or linked by the loader are ignored, as an index may describe classes that are no more available.
+	 * @param names the names of the classes to load.
+	 * @param loader the class loader to use.
+	 * @param classes the list that receive the loaded classes.
+	 */
+	private static void loadClasses(List<String> names, ClassLoader loader, List<Class<?>> classes) {
+		for (final String name : names) {
+			try {
+				classes.add(Class.forName(name, false, loader));
+			} catch (final ClassNotFoundException | LinkageError e) {
+				// do nothing. this class hasn't been found by the
+				// loader, and we don't care.
+			}
+		}
+	}
+
+	/**
+	 * Search for classes available within the directories and jar files that hold the given package and that are visible from the given class loader. 
+	 * The locations that are described by the given class index are skipped.
+	 * @param pckgname the package name to search for
+	 * @param cld the class loader to use
+	 * @param index the class index whose locations are skipped
+	 * @param classes the current list of all classes. This method will simply add new classes.
+	 * @throws ClassNotFoundException if a location is not a valid package or if a listed class cannot be loaded.
+	 * @throws IOException if the locations of the package cannot be listed.
+	 */
+	private static void checkLocations(String pckgname, ClassLoader cld, ClassIndex index, List<Class<?>> classes) throws ClassNotFoundException, IOException {
+
+		final String path = pckgname.replace('.', '/');
+
+		final Enumeration<URL> resources = cld.getResources(path);
+		URLConnection connection;
+
+		for (URL url = null; resources.hasMoreElements()
+				&& ((url = resources.nextElement()) != null);) {
+
+			// The classes of this location are already listed from the index
+			if (index.isIndexed(url, path)) {
+				continue;
+			}
+
+			try {
+				connection = url.openConnection();
+
+				if (connection instanceof JarURLConnection) {
+					checkJarFile((JarURLConnection) connection, pckgname,
+							cld, classes);
+				} else if (connection instanceof URLConnection) {
+					try {
+						checkDirectory(
+								new File(URLDecoder.decode(url.getPath(),
+										"UTF-8")), pckgname, cld, classes);
+					} catch (final UnsupportedEncodingException ex) {
+						throw new ClassNotFoundException(
+								pckgname
+								+ " does not appear to be a valid package (Unsupported encoding)",
+								ex);
+					}
+				} else
+					throw new ClassNotFoundException(pckgname + " ("
+							+ url.getPath()
+							+ ") does not appear to be a valid package");
+			} catch (final IOException ioex) {
+				throw new ClassNotFoundException(
+						"IOException was thrown when trying to get all resources for "
+								+ pckgname, ioex);
+			}
+		}
+	}
+
+	/**
+	 * Get the module layers that are visible from this class. The result contains the {@link java.lang.ModuleLayer#boot() boot layer}, 
+	 * the layer of the module of this class (if any) and all their ancestors.
+	 * @return the visible module layers.
+	 */
+	private static List<ModuleLayer> getModuleLayers() {
+		final List<ModuleLayer> layers = new ArrayList<ModuleLayer>();
+		final Deque<ModuleLayer> stack = new ArrayDeque<ModuleLayer>();
+
+		if (ClassUtil.class.getModule().getLayer() != null) {
+			stack.push(ClassUtil.class.getModule().getLayer());
+		}
+		stack.push(ModuleLayer.boot());
+
+		while (!stack.isEmpty()) {
+			final ModuleLayer layer = stack.pop();
+			if (!layers.contains(layer)) {
+				layers.add(layer);
+				for (final ModuleLayer parent : layer.parents()) {
+					stack.push(parent);
+				}
+			}
+		}
+
+		return layers;
+	}
+
+	/**
+	 * Search for classes available within the named modules that contain the given package or one of its sub packages. 
+	 * The classes are listed from the module content through a {@link java.lang.module.ModuleReader module reader} and are loaded 
+	 * without being initialized using the class loader of their module. The classes that cannot be loaded or linked are ignored.
+	 * @param pckgname the package name to search for
+	 * @param classes the current list of all classes. This method will simply add new classes.
+	 * @return <code>true</code> if the package belongs to a named module and <code>false</code> otherwise.
+	 * @throws IOException if a module content cannot be read.
+	 */
+	private static boolean checkModules(String pckgname, List<Class<?>> classes) throws IOException {
+
+		final String prefix = pckgname.replace('.', '/') + "/";
+		boolean found = false;
+
+		for (final ModuleLayer layer : getModuleLayers()) {
+			for (final ResolvedModule module : layer.configuration().modules()) {
+
+				boolean contains = false;
+				for (final String pckg : module.reference().descriptor().packages()) {
+					if (pckg.equals(pckgname) || pckg.startsWith(pckgname + ".")) {
+						contains = true;
+						break;
+					}
+				}
+
+				if (contains) {
+					found = true;
+
+					final ClassLoader loader = layer.findLoader(module.name());
+					final List<String> names = new ArrayList<String>();
+
+					try (ModuleReader reader = module.reference().open()) {
+						reader.list().forEach(name -> {
+							if (name.startsWith(prefix) && name.endsWith(".class") && !name.endsWith("module-info.class")) {
+								names.add(name.substring(0, name.length() - 6).replace('/', '.'));
+							}
+						});
+					}
+
+					loadClasses(names, loader, classes);
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * List the names of all the resources that are located under the given path (for example <code>resource/lang</code>). 
+	 * The resources are listed from the named modules through their {@link java.lang.module.ModuleReader module reader} and 
+	 * from the directories and jar files that are visible from the context class loader. The returned names are absolute resource names 
+	 * (for example <code>resource/lang/lang_fr_FR.xml</code>) that can be given to {@link java.lang.ClassLoader#getResource(String)}. 
+	 * Directories are not part of the result.
+	 * @param path the path of the resources to list, using <code>/</code> as separator
+	 * @return the names of the resources located under the given path, in a sorted order
+	 * @throws IOException if the resources cannot be listed
+	 * @since 2.0.2
+	 */
+	public static List<String> listResources(String path) throws IOException {
+
+		final TreeSet<String> names = new TreeSet<String>();
+
+		String root = path.replace('\\', '/');
+		while (root.startsWith("/")) {
+			root = root.substring(1);
+		}
+		final String prefix = root.endsWith("/") ? root : root + "/";
+
+		for (final ModuleLayer layer : getModuleLayers()) {
+			for (final ResolvedModule module : layer.configuration().modules()) {
+
+				// System modules do not contain application resources
+				if (module.reference().location().isPresent() && "jrt".equals(module.reference().location().get().getScheme())) {
+					continue;
+				}
+
+				try (ModuleReader reader = module.reference().open()) {
+					reader.list().forEach(name -> {
+						if (name.startsWith(prefix) && !name.endsWith("/")) {
+							names.add(name);
+						}
+					});
+				}
+			}
+		}
+
+		final ClassLoader cld = Thread.currentThread().getContextClassLoader();
+		if (cld != null) {
+			final Enumeration<URL> resources = cld.getResources(prefix.substring(0, prefix.length() - 1));
+			while (resources.hasMoreElements()) {
+				final URL url = resources.nextElement();
+				final URLConnection connection = url.openConnection();
+
+				if (connection instanceof JarURLConnection) {
+					final Enumeration<JarEntry> entries = ((JarURLConnection) connection).getJarFile().entries();
+					while (entries.hasMoreElements()) {
+						final JarEntry entry = entries.nextElement();
+						if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+							names.add(entry.getName());
+						}
+					}
+				} else if ("file".equals(url.getProtocol())) {
+					listDirectory(new File(URLDecoder.decode(url.getPath(), "UTF-8")), prefix, names);
+				}
+			}
+		}
+
+		return new ArrayList<String>(names);
+	}
+
+	/**
+	 * Find the resource with the given name (for example <code>resource/lang/lang_fr_FR.xml</code>). The resource is first searched
+	 * using the given class loader. If it is not found, it is searched within the named modules through their {@link java.lang.module.ModuleReader module reader}, 
+	 * so that a resource that is located within an encapsulated package of a module can be found.
+	 * @param name the name of the resource, using <code>/</code> as separator
+	 * @param loader the class loader to use first, can be <code>null</code>
+	 * @return the URL of the resource or <code>null</code> if no resource is found
+	 * @since 2.0.2
+	 */
+	public static URL getResource(String name, ClassLoader loader) {
+
+		if (loader != null) {
+			final URL url = loader.getResource(name);
+			if (url != null) {
+				return url;
+			}
+		}
+
+		for (final ModuleLayer layer : getModuleLayers()) {
+			for (final ResolvedModule module : layer.configuration().modules()) {
+
+				// System modules do not contain application resources
+				if (module.reference().location().isPresent() && "jrt".equals(module.reference().location().get().getScheme())) {
+					continue;
+				}
+
+				try (ModuleReader reader = module.reference().open()) {
+					final Optional<URI> uri = reader.find(name);
+					if (uri.isPresent()) {
+						return uri.get().toURL();
+					}
+				} catch (IOException e) {
+					Common.logger.log(Level.WARNING, "Cannot read module " + module.name(), e);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * List recursively the files within the given <code>directory</code> as resource names.
+	 * @param directory the directory to list
+	 * @param prefix the resource name prefix that correspond to the directory
+	 * @param names the set that receive the resource names
+	 */
+	private static void listDirectory(File directory, String prefix, Set<String> names) {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (final File file : files) {
+				if (file.isDirectory()) {
+					listDirectory(file, prefix + file.getName() + "/", names);
+				} else {
+					names.add(prefix + file.getName());
 				}
 			}
 		}
@@ -286,6 +567,10 @@ public class ClassUtil {
 
 	/**
 	 * List all the classes in the specified package as determined by the context class loader.
+	 * If a {@link ClassIndex class index} that covers the package is available from the class loader, 
+	 * the indexed classes are listed from the index and only the package directories and jar files that have no index are scanned. 
+	 * If the package belongs to a named module (module path deployment), the classes are 
+	 * listed from the module content. Otherwise, the package directories and jar files are scanned.
 	 * @param pckgname the package name to search
 	 * @return a list of classes that exist within that package
 	 * @throws ClassNotFoundException if something went wrong
@@ -299,38 +584,18 @@ public class ClassUtil {
 			if (cld == null)
 				throw new ClassNotFoundException("Can't get class loader.");
 
-			final Enumeration<URL> resources = cld.getResources(pckgname.replace('.', '/'));
-			URLConnection connection;
-
-			for (URL url = null; resources.hasMoreElements()
-					&& ((url = resources.nextElement()) != null);) {
-				try {
-					connection = url.openConnection();
-
-					if (connection instanceof JarURLConnection) {
-						checkJarFile((JarURLConnection) connection, pckgname,
-								classes);
-					} else if (connection instanceof URLConnection) {
-						try {
-							checkDirectory(
-									new File(URLDecoder.decode(url.getPath(),
-											"UTF-8")), pckgname, classes);
-						} catch (final UnsupportedEncodingException ex) {
-							throw new ClassNotFoundException(
-									pckgname
-									+ " does not appear to be a valid package (Unsupported encoding)",
-									ex);
-						}
-					} else
-						throw new ClassNotFoundException(pckgname + " ("
-								+ url.getPath()
-								+ ") does not appear to be a valid package");
-				} catch (final IOException ioex) {
-					throw new ClassNotFoundException(
-							"IOException was thrown when trying to get all resources for "
-									+ pckgname, ioex);
-				}
+			// Use the build-time class index if it covers the package
+			final ClassIndex index = ClassIndex.getIndex(cld);
+			if (index.containsPackage(pckgname)) {
+				loadClasses(index.getClassNames(pckgname), cld, classes);
+
+			// Use the module layers if the package belongs to a named module
+			} else if (checkModules(pckgname, classes)) {
+				return classes;
 			}
+
+			// Scan the locations that are not indexed
+			checkLocations(pckgname, cld, index, classes);
 		} catch (final NullPointerException ex) {
 			throw new ClassNotFoundException(
 					pckgname
@@ -345,4 +610,122 @@ public class ClassUtil {
 		return classes;
 	}
 
+	/**
+	 * List all the classes in the specified package that are sub classes or implementations of the given <code>ancestor</code>. 
+	 * The <code>ancestor</code> itself is not part of the result.<br>
+	 * If a {@link ClassIndex class index} that covers the package is available from the context class loader, the sub types are 
+	 * read from the index and only them are loaded, the package directories and jar files that have no index being scanned. Otherwise, all the classes of the package are listed using {@link #listClasses(String)} 
+	 * and filtered using {@link #isSubEntity(Class, Class)}.
+	 * @param pckgname the package name to search
+	 * @param ancestor the ancestor of the classes to list
+	 * @return a list of the sub entities of <code>ancestor</code> that exist within that package
+	 * @throws ClassNotFoundException if something went wrong
+	 * @see #listClasses(String)
+	 * @since 2.0.2
+	 */
+	public static List<Class<?>> listSubEntities(String pckgname, Class<?> ancestor) throws ClassNotFoundException {
+
+		final List<Class<?>> classes = new ArrayList<Class<?>>();
+
+		if (ancestor == null) {
+			return classes;
+		}
+
+		final ClassLoader cld = Thread.currentThread().getContextClassLoader();
+		final ClassIndex index = ClassIndex.getIndex(cld);
+
+		if (index.containsPackage(pckgname)) {
+			final List<String> names = new ArrayList<String>();
+			for (final String name : index.getSubtypeNames(ancestor.getName())) {
+				if (name.startsWith(pckgname + ".")) {
+					names.add(name);
+				}
+			}
+			loadClasses(names, cld, classes);
+
+			// The package locations that are not indexed are scanned
+			final List<Class<?>> unindexed = new ArrayList<Class<?>>();
+			try {
+				checkLocations(pckgname, cld, index, unindexed);
+			} catch (final IOException ioex) {
+				throw new ClassNotFoundException(
+						"IOException was thrown when trying to get all resources for "
+								+ pckgname, ioex);
+			}
+
+			for (final Class<?> c : unindexed) {
+				if ((c != ancestor) && isSubEntity(c, ancestor)) {
+					classes.add(c);
+				}
+			}
+		} else {
+			for (final Class<?> c : listClasses(pckgname)) {
+				if ((c != ancestor) && isSubEntity(c, ancestor)) {
+					classes.add(c);
+				}
+			}
+		}
+
+		return classes;
+	}
+
+	/**
+	 * List all the classes in the specified package on which the given <code>annotation</code> is present.<br>
+	 * If a {@link ClassIndex class index} that covers the package is available from the context class loader, the annotated classes are 
+	 * read from the index, the package directories and jar files that have no index being scanned. Otherwise, all the classes of the package are listed using {@link #listClasses(String)} 
+	 * and filtered using {@link java.lang.Class#isAnnotationPresent(Class)}. In this last case, only the annotations with a 
+	 * {@link java.lang.annotation.RetentionPolicy#RUNTIME runtime} retention can be detected.
+	 * @param pckgname the package name to search
+	 * @param annotation the annotation
+	 * @return a list of the annotated classes that exist within that package
+	 * @throws ClassNotFoundException if something went wrong
+	 * @see #listClasses(String)
+	 * @since 2.0.2
+	 */
+	public static List<Class<?>> listAnnotatedClasses(String pckgname, Class<? extends Annotation> annotation) throws ClassNotFoundException {
+
+		final List<Class<?>> classes = new ArrayList<Class<?>>();
+
+		if (annotation == null) {
+			return classes;
+		}
+
+		final ClassLoader cld = Thread.currentThread().getContextClassLoader();
+		final ClassIndex index = ClassIndex.getIndex(cld);
+
+		if (index.containsPackage(pckgname)) {
+			final List<String> names = new ArrayList<String>();
+			for (final String name : index.getAnnotatedNames(annotation.getName())) {
+				if (name.startsWith(pckgname + ".")) {
+					names.add(name);
+				}
+			}
+			loadClasses(names, cld, classes);
+
+			// The package locations that are not indexed are scanned
+			final List<Class<?>> unindexed = new ArrayList<Class<?>>();
+			try {
+				checkLocations(pckgname, cld, index, unindexed);
+			} catch (final IOException ioex) {
+				throw new ClassNotFoundException(
+						"IOException was thrown when trying to get all resources for "
+								+ pckgname, ioex);
+			}
+
+			for (final Class<?> c : unindexed) {
+				if (c.isAnnotationPresent(annotation)) {
+					classes.add(c);
+				}
+			}
+		} else {
+			for (final Class<?> c : listClasses(pckgname)) {
+				if (c.isAnnotationPresent(annotation)) {
+					classes.add(c);
+				}
+			}
+		}
+
+		return classes;
+	}
+
 }
@@ -0,0 +1,380 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jorigin.Common;
+
+/**
+ * A read only lang resource table that is stored within a compiled binary file. Compiled files are produced
+ * from the XML lang resource files by the {@link LangResourceCompiler lang resource compiler} and are named <code>[locale]{@value #EXTENSION}</code>.<br>
+ * <br>
+ * The file is {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long) memory mapped} and the strings are decoded
+ * only when they are requested, so opening a compiled table does not depend on the number of resources it contains. A compiled file is made of:
+ * <ul>
+ * <li>a header: the magic number <code>{@value #MAGIC}</code>, the format version and the number of entries (<code>int</code>, <code>int</code>, <code>int</code>)
+ * <li>the entry table: for each entry, sorted by key hash code, the {@link String#hashCode() hash code} of the key, the offset and length of the key within the blob,
+ * the offset and length of the value within the blob (5 <code>int</code>)
+ * <li>the blob: the UTF-8 encoded keys and values
+ * </ul>
+ * Instances of this class are immutable and can be shared between threads.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class CompiledLangResource {
+
+	/**
+	 * The extension of the compiled lang resource files.
+	 */
+	public static final String EXTENSION = ".lrc";
+
+	/**
+	 * The magic number that starts a compiled lang resource file (<code>JCLR</code>).
+	 */
+	public static final int MAGIC        = 0x4A434C52;
+
+	/**
+	 * The version of the compiled lang resource file format.
+	 */
+	public static final int VERSION      = 1;
+
+	/**
+	 * The size in bytes of the header.
+	 */
+	private static final int HEADER_SIZE = 12;
+
+	/**
+	 * The size in bytes of an entry.
+	 */
+	private static final int ENTRY_SIZE  = 20;
+
+	/**
+	 * The mapped content.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * The number of entries.
+	 */
+	private final int size;
+
+	/**
+	 * The position of the blob within the buffer.
+	 */
+	private final int blobOffset;
+
+	/**
+	 * The values that are already decoded, by entry.
+	 */
+	private final String[] values;
+
+	/**
+	 * Create a new compiled lang resource that reads the given buffer.
+	 * @param buffer the buffer that contains the compiled resources.
+	 * @throws IOException if the buffer does not contain a valid compiled lang resource.
+	 */
+	public CompiledLangResource(ByteBuffer buffer) throws IOException {
+
+		this.buffer = buffer;
+
+		if ((buffer.capacity() < HEADER_SIZE) || (buffer.getInt(0) != MAGIC)){
+			throw new IOException("Invalid compiled lang resource (bad magic number)");
+		}
+
+		if (buffer.getInt(4) != VERSION){
+			throw new IOException("Unsupported compiled lang resource version "+buffer.getInt(4));
+		}
+
+		this.size       = buffer.getInt(8);
+		this.blobOffset = HEADER_SIZE + this.size * ENTRY_SIZE;
+		this.values     = new String[this.size];
+
+		if ((this.size < 0) || (this.blobOffset > buffer.capacity())){
+			throw new IOException("Invalid compiled lang resource (bad entry count)");
+		}
+	}
+
+	/**
+	 * Open the given compiled lang resource file. The file is memory mapped.
+	 * @param file the compiled lang resource file.
+	 * @return the compiled lang resource.
+	 * @throws IOException if the file cannot be read or if its content is not valid.
+	 */
+	public static CompiledLangResource open(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new CompiledLangResource(buffer);
+		}
+	}
+
+	/**
+	 * Get the number of resources within this table.
+	 * @return the number of resources within this table.
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Get the size in bytes of the compiled content.
+	 * @return the size in bytes of the compiled content.
+	 */
+	public long getByteSize(){
+		return this.buffer.capacity();
+	}
+
+	/**
+	 * Get the value associated to the given key.
+	 * @param key the key of the resource.
+	 * @return the value associated to the key or <code>null</code> if the key is not within this table.
+	 */
+	public String get(String key){
+
+		if ((key == null) || (this.size == 0)){
+			return null;
+		}
+
+		int hash = key.hashCode();
+
+		// Binary search of the first entry with the key hash
+		int low  = 0;
+		int high = this.size - 1;
+		while (low < high){
+			int mid = (low + high) >>> 1;
+			if (hashAt(mid) < hash){
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		byte[] keyBytes = null;
+		for(int i = low; (i < this.size) && (hashAt(i) == hash); i++){
+
+			if (keyBytes == null){
+				keyBytes = key.getBytes(StandardCharsets.UTF_8);
+			}
+
+			if (keyEquals(i, keyBytes)){
+				return valueAt(i);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Check if the given key is within this table.
+	 * @param key the key to check.
+	 * @return <code>true</code> if the key is within this table and <code>false</code> otherwise.
+	 */
+	public boolean containsKey(String key){
+		return get(key) != null;
+	}
+
+	/**
+	 * Get the keys that are within this table. The keys are decoded by this method.
+	 * @return the keys that are within this table.
+	 */
+	public Set<String> keySet(){
+		Set<String> keys = new LinkedHashSet<String>();
+		for(int i = 0; i < this.size; i++){
+			keys.add(decode(this.buffer.getInt(entry(i) + 4), this.buffer.getInt(entry(i) + 8)));
+		}
+		return Collections.unmodifiableSet(keys);
+	}
+
+	/**
+	 * Copy all the resources of this table within the given map. The existing keys of the map are not overwritten.
+	 * @param map the map to fill.
+	 */
+	public void copyTo(Map<String, String> map){
+		for(int i = 0; i < this.size; i++){
+			map.putIfAbsent(decode(this.buffer.getInt(entry(i) + 4), this.buffer.getInt(entry(i) + 8)), valueAt(i));
+		}
+	}
+
+	/**
+	 * Get the position of the given entry within the buffer.
+	 * @param index the entry index.
+	 * @return the position of the entry.
+	 */
+	private int entry(int index){
+		return HEADER_SIZE + index * ENTRY_SIZE;
+	}
+
+	/**
+	 * Get the key hash of the given entry.
+	 * @param index the entry index.
+	 * @return the key hash.
+	 */
+	private int hashAt(int index){
+		return this.buffer.getInt(entry(index));
+	}
+
+	/**
+	 * Check if the key of the given entry is equal to the given bytes.
+	 * @param index the entry index.
+	 * @param keyBytes the UTF-8 encoded key.
+	 * @return <code>true</code> if the keys are equals and <code>false</code> otherwise.
+	 */
+	private boolean keyEquals(int index, byte[] keyBytes){
+
+		int offset = this.blobOffset + this.buffer.getInt(entry(index) + 4);
+		int length = this.buffer.getInt(entry(index) + 8);
+
+		if (length != keyBytes.length){
+			return false;
+		}
+
+		for(int i = 0; i < length; i++){
+			if (this.buffer.get(offset + i) != keyBytes[i]){
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the value of the given entry. The value is decoded on the first call and then cached.
+	 * @param index the entry index.
+	 * @return the value.
+	 */
+	private String valueAt(int index){
+		String value = this.values[index];
+		if (value == null){
+			value = decode(this.buffer.getInt(entry(index) + 12), this.buffer.getInt(entry(index) + 16));
+			this.values[index] = value;
+		}
+		return value;
+	}
+
+	/**
+	 * Decode the UTF-8 string stored within the blob.
+	 * @param offset the offset of the string within the blob.
+	 * @param length the length in bytes of the string.
+	 * @return the decoded string.
+	 */
+	private String decode(int offset, int length){
+		byte[] bytes = new byte[length];
+		this.buffer.get(this.blobOffset + offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Write the given resources to the given file using the compiled lang resource format. The resources are written to a temporary file of the same
+	 * directory that atomically replaces the given file, so that a file memory mapped by a running {@link LangResource} is never modified in place.
+	 * @param resources the resources to write.
+	 * @param file the file to write.
+	 * @throws IOException if an error occurs.
+	 */
+	public static void write(Map<String, String> resources, File file) throws IOException {
+
+		List<String> keys = new ArrayList<String>(resources.keySet());
+		Collections.sort(keys, (k1, k2) -> {
+			int result = Integer.compare(k1.hashCode(), k2.hashCode());
+			return result != 0 ? result : k1.compareTo(k2);
+		});
+
+		ByteArrayOutputStream blob = new ByteArrayOutputStream();
+
+		// Identical strings are stored only once within the blob
+		Map<String, int[]> stored = new HashMap<String, int[]>();
+
+		int[][] entries = new int[keys.size()][];
+		for(int i = 0; i < keys.size(); i++){
+			String key = keys.get(i);
+			int[] k = store(key, blob, stored);
+			int[] v = store(resources.get(key) != null ? resources.get(key) : "", blob, stored);
+			entries[i] = new int[]{key.hashCode(), k[0], k[1], v[0], v[1]};
+		}
+
+		File temporary = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+
+		try {
+			try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))){
+				dos.writeInt(MAGIC);
+				dos.writeInt(VERSION);
+				dos.writeInt(entries.length);
+
+				for(int[] entry : entries){
+					for(int value : entry){
+						dos.writeInt(value);
+					}
+				}
+
+				blob.writeTo(dos);
+			}
+
+			try {
+				Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+		} finally {
+			Files.deleteIfExists(temporary.toPath());
+		}
+	}
+
+	/**
+	 * Store the given string within the blob if it is not already stored.
+	 * @param str the string to store.
+	 * @param blob the blob.
+	 * @param stored the strings that are already stored with their offset and length.
+	 * @return the offset and the length of the string within the blob.
+	 */
+	private static int[] store(String str, ByteArrayOutputStream blob, Map<String, int[]> stored){
+		int[] location = stored.get(str);
+		if (location == null){
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			location = new int[]{blob.size(), bytes.length};
+			blob.write(bytes, 0, bytes.length);
+			stored.put(str, location);
+		}
+		return location;
+	}
+
+	@Override
+	public String toString(){
+		return "CompiledLangResource ["+this.size+" entries, "+this.buffer.capacity()+" bytes]";
+	}
+}
@@ -20,19 +20,46 @@ package org.jorigin.lang;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 
 import org.jorigin.Common;
-import org.jorigin.lang.xml.LangResourceXMLReader;
+import org.jorigin.logging.Log;
+import org.jorigin.trace.Tracer;
 
 
 /**
  * This class enable to use lang localization in a Java application. 
  * The lang resource are stored in XML file and can be easily maintained without any link with the Java code.
+ * The XML files are parsed concurrently without validation, validation can be enabled using {@link #setValidating(boolean)}
+ * or the system property <code>lang.resource.validate</code>.<br>
+ * <br>
+ * The resources are organized in {@link LangResourceTable tables}, one by locale tag, that are loaded lazily. A key is searched
+ * following the fallback chain of the current locale (for example <code>fr_FR</code>, then <code>fr</code>, then the root resources).
+ * The tables of the recently used locales are kept within a LRU cache whose memory budget can be set using {@link #setCacheBudget(long)}
+ * or the system property <code>lang.resource.cache.budget</code> (in bytes), so switching back to a cached locale does not read any file.<br>
+ * <br>
+ * The values are {@link LangTemplate compiled into templates} when they are loaded. Parameterized resources can be appended to a caller supplied
+ * buffer using {@link #format(StringBuilder, String, String[])} or {@link #format(Appendable, String, String[])} without allocating any object.<br>
+ * <br>
+ * When {@link #setReloading(boolean) reloading} is enabled (or when the system property <code>lang.resource.reload</code> is set to <code>true</code>),
+ * the resource directory is watched by a {@link LangResourceWatcher} and the modified files are reloaded in background. The reloaded tables are published
+ * with a single volatile write, so reading a resource never locks and always uses complete tables.<br>
+ * <br>
+ * The resources can also be loaded from the classpath or from the module path, for example when they are packed within the application jars. In this case,
+ * the resource path is made of the <code>{@value #CLASSPATH_PREFIX}</code> prefix followed by the resource name of the root (for example <code>classpath:resource/lang</code>).
+ * The available locales and files are read from the {@link LangResourceIndex index} of the root (<code>{@value LangResourceIndex#INDEX_NAME}</code>) 
+ * and the resources are enumerated only if no index is available.
  * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
  * @version {@value Common#version} - b{@value Common#BUILD}
  * @since 1.0.0
@@ -40,9 +67,39 @@ import org.jorigin.lang.xml.LangResourceXMLReader;
 public class LangResource {
 
 	/**
-	 * The resources stored in a hash map
+	 * The default memory budget of the table cache, in bytes.
 	 */
-	private HashMap<String, String> resources = null;
+	public static final long DEFAULT_CACHE_BUDGET = 16L * 1024L * 1024L;
+
+	/**
+	 * The prefix of the resource paths that denote a lang resource root within the classpath or the module path.
+	 */
+	public static final String CLASSPATH_PREFIX = "classpath:";
+
+	/**
+	 * The merged view of the resources for the current locale, built when requested.
+	 */
+	private volatile HashMap<String, String> resources = null;
+
+	/**
+	 * The resources that have been explicitly added. The map is never modified once published, it is replaced by {@link #addResources(HashMap)}.
+	 */
+	private volatile Map<String, LangTemplate> overrides = Collections.emptyMap();
+
+	/**
+	 * The tables of the current locale fallback chain, from the most specific one.
+	 */
+	private volatile LangResourceTable[] chain = new LangResourceTable[0];
+
+	/**
+	 * The loaded tables, by locale tag, in access order. The modifications of the cache and of the chain are made while holding the cache lock.
+	 */
+	private LinkedHashMap<String, LangResourceTable> cache = null;
+
+	/**
+	 * The memory budget of the table cache, in bytes.
+	 */
+	private long cacheBudget = Long.getLong("lang.resource.cache.budget", DEFAULT_CACHE_BUDGET);
 
 	/**
 	 * The root path of the language resources.
@@ -55,11 +112,31 @@ public class LangResource {
 	 */
 	private Locale locale      = null;
 
+	/**
+	 * Is the XML resource files validated during parsing.
+	 */
+	private boolean validating = Boolean.getBoolean("lang.resource.validate");
+
 	/**
 	 * The locale available in the path.
 	 */
 	private ArrayList<String> availableLocales = null;
 
+	/**
+	 * The watcher that reloads the modified resources.
+	 */
+	private LangResourceWatcher watcher = null;
+
+	/**
+	 * The index of the lang resource root if the resources are loaded from the classpath.
+	 */
+	private LangResourceIndex index = null;
+
+	/**
+	 * The class loader used to load the resources from the classpath.
+	 */
+	private ClassLoader loader = null;
+
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
 	//CC CONSTRUCTEUR                                                                     CC
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
@@ -126,17 +203,19 @@ public class LangResource {
 			this.locale = locale;
 		}
 
-		this.locale = new Locale(System.getProperty("user.language"), System.getProperty("user.country"));
-
-		this.resources = new HashMap<String, String>();
+		this.cache = new LinkedHashMap<String, LangResourceTable>(8, 0.75f, true);
 
 		this.availableLocales = new ArrayList<String>(); 
 
 		Common.logger.log(Level.CONFIG, "Lang resource path         : "+this.resourcesPath);
 		Common.logger.log(Level.CONFIG, "Lang resource Given locale : "+locale);
-		Common.logger.log(Level.CONFIG, "Lang resource System locale: "+this.locale);
+		Common.logger.log(Level.CONFIG, "Lang resource locale       : "+this.locale);
 
 		init();
+
+		if (Boolean.getBoolean("lang.resource.reload")){
+			setReloading(true);
+		}
 	}
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
 	//CC FIN CONSTRUCTEUR                                                                 CC
@@ -149,6 +228,15 @@ public class LangResource {
 	 * Load all lang resource associated to the current locale.
 	 */
 	protected void init(){
+		synchronized(this.cache){
+			initLocales();
+		}
+	}
+
+	/**
+	 * Find the available locales within the resource path and load the tables of the current locale.
+	 */
+	private void initLocales(){
 
 		File f       = null;
 
@@ -156,6 +244,31 @@ public class LangResource {
 
 		String str   = null;
 
+		this.availableLocales.clear();
+		this.chain     = new LangResourceTable[0];
+		this.resources = null;
+		this.index     = null;
+
+		if (isClasspath()){
+
+			this.loader = Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader() : LangResource.class.getClassLoader();
+			this.index  = loadIndex();
+
+			if (this.index == null){
+				Common.logger.log(Level.SEVERE, "[LangResource] [init()] Lang resource root "+this.resourcesPath+" does not exist.");
+				return;
+			}
+
+			for(String tag : this.index.getTags()){
+				if (!tag.equals(LangResourceTable.ROOT)){
+					this.availableLocales.add(tag);
+				}
+			}
+
+			updateChain();
+			return;
+		}
+
 		if (this.resourcesPath != null){
 			f = new File(this.resourcesPath);
 		} else {
@@ -172,7 +285,7 @@ public class LangResource {
 		files = f.listFiles(new FileFilter(){
 
 			public boolean accept(File pathname) {
-				if (pathname.getPath().endsWith(".xml")){
+				if (pathname.getPath().endsWith(".xml") || pathname.getPath().endsWith(CompiledLangResource.EXTENSION)){
 					return true;
 				}
 				return false;
@@ -182,32 +295,198 @@ public class LangResource {
 		if (files != null){
 			for(int i = 0; i < files.length; i++){
 
-				str = files[i].getPath();
-				str = str.substring(0, str.lastIndexOf("."));
-
-				if (str.length() > 4){
-					str = str.substring(str.length() - 5);
+				str = LangResourceTable.getFileTag(files[i].getName());
 
-					if (!this.availableLocales.contains(str)){
-						this.availableLocales.add(str);
-					}
+				if ((!str.equals(LangResourceTable.ROOT)) && (!this.availableLocales.contains(str))){
+					this.availableLocales.add(str);
 				}
 			}
 		}
 
+		updateChain();
+	}
 
-		if (this.locale != null){
+	/**
+	 * Build the fallback chain of the current locale. The tables that are not within the cache are loaded
+	 * and the least recently used tables are evicted from the cache if its memory budget is exceeded.
+	 * This method has to be called while holding the cache lock.
+	 */
+	private void updateChain(){
 
-			// Liste tous les répertoires et tous les fichiers XML de l'arboressence
-			// des ressources
-			f = new File(this.resourcesPath);
+		if (!isAvailable()){
+			this.chain     = new LangResourceTable[0];
+			this.resources = null;
+			return;
+		}
+
+		List<String> tags = LangResourceTable.getFallbackChain(this.locale);
+		LangResourceTable[] tables = new LangResourceTable[tags.size()];
+
+		for(int i = 0; i < tables.length; i++){
+			tables[i] = this.cache.get(tags.get(i));
+			if (tables[i] == null){
+				tables[i] = loadTable(tags.get(i));
+				this.cache.put(tags.get(i), tables[i]);
+			}
+		}
+
+		this.chain     = tables;
+		this.resources = null;
+
+		evict();
+	}
+
+	/**
+	 * Get if the resource path denotes a lang resource root within the classpath or the module path.
+	 * @return <code>true</code> if the resource path starts with <code>{@value #CLASSPATH_PREFIX}</code> and <code>false</code> otherwise.
+	 */
+	private boolean isClasspath(){
+		return (this.resourcesPath != null) && this.resourcesPath.startsWith(CLASSPATH_PREFIX);
+	}
+
+	/**
+	 * Get the resource name of the classpath lang resource root, without leading and trailing <code>/</code>.
+	 * @return the resource name of the classpath lang resource root.
+	 */
+	private String getClasspathRoot(){
 
-			addResource(f);
+		String root = this.resourcesPath.substring(CLASSPATH_PREFIX.length()).replace('\\', '/');
+
+		while (root.startsWith("/")){
+			root = root.substring(1);
+		}
+
+		while (root.endsWith("/")){
+			root = root.substring(0, root.length() - 1);
+		}
+
+		return root;
+	}
+
+	/**
+	 * Get if the lang resource root is available.
+	 * @return <code>true</code> if the lang resource root is available and <code>false</code> otherwise.
+	 */
+	private boolean isAvailable(){
 
-			f = null;
+		if (isClasspath()){
+			return this.index != null;
 		}
 
+		return (this.resourcesPath != null) && new File(this.resourcesPath).isDirectory();
+	}
+
+	/**
+	 * Load the table attached to the given tag from the lang resource root.
+	 * @param tag the locale tag.
+	 * @return the loaded table.
+	 */
+	private LangResourceTable loadTable(String tag){
+
+		long start = Tracer.start();
+		try {
+			if (isClasspath()){
+				return LangResourceTable.load(this.loader, getClasspathRoot(), this.index, tag, this.validating);
+			}
 
+			return LangResourceTable.load(new File(this.resourcesPath), tag, this.validating);
+		} finally {
+			Tracer.end(Tracer.LANG, "loadTable", tag, start);
+		}
+	}
+
+	/**
+	 * Load the index of the classpath lang resource root. If the root does not provide an {@link LangResourceIndex index} file,
+	 * the resources located under the root are enumerated.
+	 * @return the index or <code>null</code> if no lang resource is available under the root.
+	 */
+	private LangResourceIndex loadIndex(){
+
+		String root   = getClasspathRoot();
+		String prefix = root.isEmpty() ? "" : root+"/";
+
+		URL url = ClassUtil.getResource(prefix+LangResourceIndex.INDEX_NAME, this.loader);
+
+		if (url != null){
+			try (InputStream is = url.openStream()){
+				LangResourceIndex index = LangResourceIndex.read(is);
+				Log.log(Level.CONFIG, "Lang resource index {0} loaded", url);
+				return index;
+			} catch (IOException ex) {
+				Log.log(Level.SEVERE, ex, "Cannot read lang resource index {0}, enumerating resources", url);
+			}
+		}
+
+		try {
+			LangResourceIndex index = new LangResourceIndex();
+			for(String name : ClassUtil.listResources(root)){
+				index.add(name.substring(prefix.length()));
+			}
+
+			if (!index.isEmpty()){
+				Log.log(Level.CONFIG, "No lang resource index within {0}, resources enumerated", root);
+				return index;
+			}
+		} catch (IOException ex) {
+			Log.log(Level.SEVERE, ex, "Cannot list lang resources within {0}", root);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Publish a reloaded table. The table replaces the cached table with the same tag and the fallback chain is replaced
+	 * with a single volatile write. If no table with the same tag is cached, this method has no effect.
+	 * @param table the reloaded table.
+	 */
+	void publish(LangResourceTable table){
+		synchronized(this.cache){
+
+			if (!this.cache.containsKey(table.getTag())){
+				return;
+			}
+
+			this.cache.put(table.getTag(), table);
+
+			LangResourceTable[] tables = this.chain.clone();
+			for(int i = 0; i < tables.length; i++){
+				if (tables[i].getTag().equals(table.getTag())){
+					tables[i] = table;
+				}
+			}
+
+			this.chain     = tables;
+			this.resources = null;
+
+			evict();
+		}
+	}
+
+	/**
+	 * Remove the least recently used tables from the cache until its footprint fits within the memory budget. 
+	 * The tables of the current fallback chain are never removed. This method has to be called while holding the cache lock.
+	 */
+	private void evict(){
+
+		LangResourceTable[] tables = this.chain;
+
+		long footprint = getCacheFootprint();
+
+		Iterator<Map.Entry<String, LangResourceTable>> iter = this.cache.entrySet().iterator();
+		while((footprint > this.cacheBudget) && iter.hasNext()){
+			LangResourceTable table = iter.next().getValue();
+
+			boolean used = false;
+			for(int i = 0; (i < tables.length) && (!used); i++){
+				used = tables[i] == table;
+			}
+
+			if (!used){
+				iter.remove();
+				footprint -= table.getFootprint();
+				Log.log(Level.CONFIG, "Lang resource table \"{0}\" removed from cache", table.getTag());
+			}
+		}
 	}
 
 	//IIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIIII
@@ -220,13 +499,36 @@ public class LangResource {
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
 
 	/**
-	 * Set the locale of the lang resource. When a locale is set, all lang resource file associated
-	 * to the locale are loaded from the resource path.
+	 * Set the locale of the lang resource. When a locale is set, the lang resource tables of its fallback chain
+	 * that are not already cached are loaded from the resource path.
 	 * @param locale the new locale.
 	 */
 	public void setLocale(Locale locale){
-		this.locale = locale;  
-		init();
+		synchronized(this.cache){
+			this.locale = locale;  
+			updateChain();
+		}
+	}
+
+	/**
+	 * Get if the XML resource files are validated during parsing. Validation is disabled by default and can be enabled
+	 * by setting the system property <code>lang.resource.validate</code> to <code>true</code>.
+	 * @return <code>true</code> if the XML resource files are validated during parsing and <code>false</code> otherwise.
+	 * @see #setValidating(boolean)
+	 * @since 2.0.2
+	 */
+	public boolean isValidating(){
+		return this.validating;
+	}
+
+	/**
+	 * Set if the XML resource files are validated during parsing. The change is applied on the next resource loading.
+	 * @param validating <code>true</code> if the XML resource files have to be validated during parsing and <code>false</code> otherwise.
+	 * @see #isValidating()
+	 * @since 2.0.2
+	 */
+	public void setValidating(boolean validating){
+		this.validating = validating;
 	}
 
 	/**
@@ -244,8 +546,118 @@ public class LangResource {
 	 * @param path the path of the resource language  files root.
 	 */
 	public void setResourcePath(String path){
-		this.resourcesPath = path;
-		init();
+
+		// The watcher of the previous path is stopped before the cache is cleared so that it cannot publish a previous table
+		boolean reloading = isReloading();
+		if (reloading){
+			setReloading(false);
+		}
+
+		synchronized(this.cache){
+			this.resourcesPath = path;
+			this.cache.clear();
+			initLocales();
+		}
+
+		if (reloading){
+			setReloading(true);
+		}
+	}
+
+	/**
+	 * Get if the lang resources are reloaded when the files of the resource path are modified.
+	 * @return <code>true</code> if the lang resources are reloaded and <code>false</code> otherwise.
+	 * @see #setReloading(boolean)
+	 * @since 2.0.2
+	 */
+	public synchronized boolean isReloading(){
+		return this.watcher != null;
+	}
+
+	/**
+	 * Set if the lang resources are reloaded when the files of the resource path are modified. When enabled, a {@link LangResourceWatcher watcher}
+	 * thread re-parses the modified files and publishes the new tables without blocking the threads that read the resources.
+	 * Reloading can also be enabled by setting the system property <code>lang.resource.reload</code> to <code>true</code>.
+	 * @param reloading <code>true</code> if the lang resources have to be reloaded and <code>false</code> otherwise.
+	 * @see #isReloading()
+	 * @since 2.0.2
+	 */
+	public synchronized void setReloading(boolean reloading){
+		if (reloading && isClasspath()){
+			Log.log(Level.WARNING, "Lang resources loaded from {0} cannot be reloaded", this.resourcesPath);
+		} else if (reloading && (this.watcher == null)){
+			try {
+				this.watcher = new LangResourceWatcher(this, new File(this.resourcesPath));
+				this.watcher.start();
+			} catch (IOException ex) {
+				Log.log(Level.SEVERE, ex, "Cannot watch lang resource directory {0}", this.resourcesPath);
+				this.watcher = null;
+			}
+		} else if (!reloading && (this.watcher != null)){
+			this.watcher.close();
+			this.watcher = null;
+		}
+	}
+
+	/**
+	 * Get the memory budget of the lang resource table cache, in bytes.
+	 * @return the memory budget of the cache.
+	 * @see #setCacheBudget(long)
+	 * @since 2.0.2
+	 */
+	public long getCacheBudget(){
+		return this.cacheBudget;
+	}
+
+	/**
+	 * Set the memory budget of the lang resource table cache, in bytes. When the estimated footprint of the cached tables 
+	 * exceeds the budget, the least recently used tables are removed from the cache. The tables of the current locale are always kept.
+	 * @param budget the memory budget of the cache.
+	 * @see #getCacheBudget()
+	 * @since 2.0.2
+	 */
+	public void setCacheBudget(long budget){
+		synchronized(this.cache){
+			this.cacheBudget = budget;
+			evict();
+		}
+	}
+
+	/**
+	 * Get the estimated memory footprint of the cached lang resource tables, in bytes.
+	 * @return the estimated memory footprint of the cached tables.
+	 * @since 2.0.2
+	 */
+	public long getCacheFootprint(){
+		long footprint = 0;
+		synchronized(this.cache){
+			for(LangResourceTable table : this.cache.values()){
+				footprint += table.getFootprint();
+			}
+		}
+		return footprint;
+	}
+
+	/**
+	 * Get the estimated memory footprint of the lang resources, in bytes. The footprint is made of the {@link #getCacheFootprint() cached tables footprint}
+	 * and of the footprint of the {@link LangSymbolTable#getDefault() default symbol table}, that holds the keys of all the locales.
+	 * As the symbol table is shared by all the lang resources, it is accounted by each of them.
+	 * @return the estimated memory footprint of the lang resources.
+	 * @since 2.0.2
+	 */
+	public long getFootprint(){
+		return getCacheFootprint() + LangSymbolTable.getDefault().getFootprint();
+	}
+
+	/**
+	 * Get the locale tags of the cached lang resource tables, from the least recently used one.
+	 * @return the locale tags of the cached tables.
+	 * @since 2.0.2
+	 */
+	public List<String> getCachedTags(){
+		synchronized(this.cache){
+			return new ArrayList<String>(this.cache.keySet());
+		}
 	}
 
 	/**
@@ -257,11 +669,68 @@ public class LangResource {
 	}
 
 	/**
-	 * Get the map containing the lang resources.
+	 * Get the map containing the lang resources. The map merges the tables of the current locale fallback chain and the resources
+	 * that have been explicitly added. It is built on the first call after a locale change and the modifications made on it are visible 
+	 * until the next locale change. The map is built while holding the cache lock, so that a table published concurrently is never 
+	 * hidden by a map built from the previous chain.
 	 * @return a hash map containing the lang resource.
 	 */
 	public HashMap<String, String> getResources(){
-		return this.resources;
+		HashMap<String, String> merged = this.resources;
+		if (merged == null){
+			synchronized(this.cache){
+				merged = this.resources;
+				if (merged == null){
+					LangResourceTable[] tables = this.chain;
+					merged = new HashMap<String, String>();
+					for(int i = tables.length - 1; i >= 0; i--){
+						tables[i].copyTo(merged);
+					}
+					for(Map.Entry<String, LangTemplate> entry : this.overrides.entrySet()){
+						merged.put(entry.getKey(), entry.getValue().getSource());
+					}
+					this.resources = merged;
+				}
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Create an immutable {@link LangResourceStore store} that holds the tables of all the locales available within the resource path.
+	 * The tables that are already cached are reused and the other ones are loaded. The store does not depend on the current locale 
+	 * of this lang resource and can be used concurrently by many threads.
+	 * @return a store that holds all the available locales.
+	 * @since 2.0.2
+	 */
+	public LangResourceStore createStore(){
+
+		List<String> tags = new ArrayList<String>();
+		synchronized(this.cache){
+			if (!isAvailable()){
+				Log.log(Level.SEVERE, "Lang resource directory {0} does not exist.", this.resourcesPath);
+				return new LangResourceStore(null);
+			}
+
+			tags.add(LangResourceTable.ROOT);
+			tags.addAll(this.availableLocales);
+		}
+
+		List<LangResourceTable> tables = new ArrayList<LangResourceTable>();
+		for(String tag : tags){
+
+			LangResourceTable table = null;
+			synchronized(this.cache){
+				table = this.cache.get(tag);
+				if (table == null){
+					table = loadTable(tag);
+				}
+			}
+
+			tables.add(table);
+		}
+
+		return new LangResourceStore(tables);
 	}
 
 	/**
@@ -277,7 +746,17 @@ public class LangResource {
 	 * @return the set of keys attached to the values.
 	 */
 	public Set<String> getKeySet(){
-		return this.resources.keySet();
+		return getResources().keySet();
+	}
+
+	/**
+	 * Check if a resource is associated to the given key.
+	 * @param key the key to check.
+	 * @return <code>true</code> if a resource is associated to the key and <code>false</code> otherwise.
+	 * @since 2.0.2
+	 */
+	public boolean containsKey(String key){
+		return getTemplate(key) != null;
 	}
 
 	/**
@@ -285,68 +764,60 @@ public class LangResource {
 	 * @return int the number of resourced values.
 	 */
 	public int size(){
-		return this.resources.size();
+		return getResources().size();
 	}
-	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
-	//AA FIN ACCESSEURS                                                                   AA
-	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
-
 
 	/**
-	 * Add the content of a language resource file to the current lang resource. If existing keys
-	 * are redefined in the file, value are overwrited. If the file given in parameter is a direcory,
-	 * the whole directory is recursively added to the lang resource.
-	 * @param resourceFile a resource file or directory
+	 * Get the template of the value associated to the given key, following the current locale fallback chain.
+	 * If the map returned by {@link #getResources()} has been modified, its value is used.
+	 * @param key the key of the resource.
+	 * @return the template of the value associated to the key or <code>null</code> if no value is available.
+	 * @since 2.0.2
 	 */
-	private void addResource(File resourceFile){
+	public LangTemplate getTemplate(String key){
 
-		File[] files = null;
-		HashMap<String, String> resources = null;
+		LangResourceTable[] tables     = this.chain;
+		HashMap<String, String> merged = this.resources;
 
-		if (!resourceFile.exists()){
-			return;
-		}
+		LangTemplate template = this.overrides.get(key);
 
-		// Si le fichier passé en parametre est une ressource, 
-		if (resourceFile.isDirectory()){
-			files = resourceFile.listFiles(new FileFilter(){
-
-				public boolean accept(File pathname) {
-					if (pathname.isDirectory()){
-						return true;
-					} else if (pathname.getPath().endsWith(LangResource.this.locale+".xml")){
-						return true;
-					}
-					return false;
-				}});
-
-			if (files != null){
-				for(int i = 0; i < files.length; i++){
-					addResource(files[i]);
-				}
-			}
-		} else {
-			try {
-				Common.logger.config("Lang resource file "+resourceFile.getPath()+" loaded");
-				resources = new LangResourceXMLReader().getParsedLangResource(resourceFile.getPath());
+		for(int i = 0; (template == null) && (i < tables.length); i++){
+			template = tables[i].getTemplate(key);
+		}
 
-				if (resources != null){
-					addResources(resources);
-				}
-			} catch (IOException ex) {
-				Common.logger.log(Level.SEVERE, "Cannot read resource file "+resourceFile.getPath(), ex);
+		if (merged != null){
+			String value = merged.get(key);
+			if (value == null){
+				return null;
+			} else if ((template == null) || (template.getSource() != value)){
+				template = LangTemplate.compile(value);
 			}
 		}
 
-		files = null;
+		return template;
 	}
+	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
+	//AA FIN ACCESSEURS                                                                   AA
+	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
+
 
 	/**
 	 * Add new map of lang resources to the current resources.
 	 * @param resources the new lang resources map to add.
 	 */
 	public void addResources(HashMap<String, String> resources){
-		this.resources.putAll(resources);
+		synchronized(this.cache){
+			HashMap<String, LangTemplate> added = new HashMap<String, LangTemplate>(this.overrides);
+			for(Map.Entry<String, String> entry : resources.entrySet()){
+				added.put(entry.getKey(), LangTemplate.compile(entry.getValue() != null ? entry.getValue() : ""));
+			}
+			this.overrides = Collections.unmodifiableMap(added);
+
+			HashMap<String, String> merged = this.resources;
+			if (merged != null){
+				merged.putAll(resources);
+			}
+		}
 	}
 
 	/**
@@ -354,7 +825,7 @@ public class LangResource {
 	 * @param resource the new lang resource to add.
 	 */
 	public void addResources(LangResource resource){
-		this.resources.putAll(resource.getResources());
+		addResources(resource.getResources());
 	}
 
 	/**
@@ -384,43 +855,69 @@ public class LangResource {
 	 * the key itself is returned. Parameters enable to charaterize the resource. Parameter are identified
 	 * in a resource by a <code>%</code> followed by the parameter number. For example, if the resource
 	 * is "Hello %1 and %2.", and parameters are <code>"Fox"</code> and <code>"Dana"</code>, the object
-	 * returned is <code>"Hello Fox and Dana."</code>
+	 * returned is <code>"Hello Fox and Dana."</code> The parameters that are not given are replaced by an empty string.
 	 * @param key the key identifying the resource to return
 	 * @param params the parameters of the resource.
 	 * @return Object the resource parametrized or the key if no resource is available.
+	 * @see LangTemplate
 	 */
 	public Object getResource(String key, String[] params){
 
-		String value   = null;
-		int paramCount = -1;
-
-		// Si les resourcs ne sont pas disponibles, on retourne la cle.
-		if (this.resources == null){
-			Common.logger.log(Level.WARNING, ("No resource bundle available "+key));
-			return key;
-		}
-
 		// Recuperation de la valeur associee a la cle.
-		value = this.resources.get(key);
+		LangTemplate template = getTemplate(key);
 
 		// Si aucune valeur ne correspond a la cle, on retourne la cle.
-		if (value == null){
-			Common.logger.log(Level.WARNING, ("No resource value available for key "+key));
+		if (template == null){
+			Log.log(Level.WARNING, "No resource value available for key {0}", key);
 			return key;
 		} 
 
-		// Si aucun parametre n'est defini
-		if ((params == null)||(params.length < 1)){
-			return value.replaceAll("%%\\d++", "");  
-		} else {
-			paramCount = params.length;
+		return template.format(params);
+	}
 
-			for(int i = 0; i < paramCount; i++){
-				value.replace("%%"+i, params[i]);  
-			}
+	/**
+	 * Append a parametrized resource to the given builder. If the key does not correspond to any resource, the key itself is appended.
+	 * The parameters are applied as described within {@link #getResource(String, String[])}. 
+	 * When the resource is available, this method does not allocate any object as long as the builder has enough capacity.
+	 * @param sb the builder to append to.
+	 * @param key the key identifying the resource to append.
+	 * @param params the parameters of the resource, can be <code>null</code>.
+	 * @return the given builder.
+	 * @since 2.0.2
+	 */
+	public StringBuilder format(StringBuilder sb, String key, String[] params){
+
+		LangTemplate template = getTemplate(key);
+
+		if (template == null){
+			Log.log(Level.WARNING, "No resource value available for key {0}", key);
+			return sb.append(key);
 		}
 
-		return value;
+		return template.format(sb, params);
+	}
+
+	/**
+	 * Append a parametrized resource to the given appendable. If the key does not correspond to any resource, the key itself is appended.
+	 * The parameters are applied as described within {@link #getResource(String, String[])}. 
+	 * When the resource is available, this method does not allocate any object but the given appendable can.
+	 * @param out the appendable to append to.
+	 * @param key the key identifying the resource to append.
+	 * @param params the parameters of the resource, can be <code>null</code>.
+	 * @return the given appendable.
+	 * @throws IOException if an error occurs while appending.
+	 * @since 2.0.2
+	 */
+	public Appendable format(Appendable out, String key, String[] params) throws IOException {
+
+		LangTemplate template = getTemplate(key);
+
+		if (template == null){
+			Log.log(Level.WARNING, "No resource value available for key {0}", key);
+			return out.append(key);
+		}
+
+		return template.format(out, params);
 	}
 
 	/**
@@ -440,6 +937,6 @@ public class LangResource {
 	 * @return String he resource parametrized or the key if no resource is available.
 	 */
 	public String getString(String key, String[] aParams){
-		return getResource(key).toString();
+		return getResource(key, aParams).toString();
 	}
 }
@@ -86,7 +86,7 @@ public class LangResourceBundle extends ResourceBundle{
 
 	@Override
 	public boolean containsKey(String key){
-		return this.resource.getKeySet().contains(key);
+		return this.resource.containsKey(key);
 	}
 
 
@@ -131,13 +131,12 @@ public class LangResourceBundle extends ResourceBundle{
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
 
 	/**
-	 * Set the locale of the lang resource. When a locale is set, all lang resource file associated
-	 * to the locale are loaded from the resource path.
+	 * Set the locale of the lang resource. When a locale is set, the lang resource tables of its fallback chain
+	 * that are not already cached are loaded from the resource path. Switching to a cached locale does not read any file.
 	 * @param locale the new locale.
 	 */
 	public static void setLocale(Locale locale){
 		bundle.resource.setLocale(locale);
-		init(bundle.resource.getResourcePath(), locale);
 	}
 
 	/**
@@ -146,7 +145,38 @@ public class LangResourceBundle extends ResourceBundle{
 	 */
 	public static void setResourcePath(String path){
 		bundle.resource.setResourcePath(path);
-		init(path, bundle.getLocale());
+	}
+
+	/**
+	 * Get if the lang resources are reloaded when the files of the resource path are modified.
+	 * @return <code>true</code> if the lang resources are reloaded and <code>false</code> otherwise.
+	 * @see LangResource#isReloading()
+	 * @since 2.0.2
+	 */
+	public static boolean isReloading(){
+		return bundle.resource.isReloading();
+	}
+
+	/**
+	 * Set if the lang resources are reloaded when the files of the resource path are modified.
+	 * The modified files are parsed in background and the readers of the bundle are never blocked.
+	 * @param reloading <code>true</code> if the lang resources have to be reloaded and <code>false</code> otherwise.
+	 * @see LangResource#setReloading(boolean)
+	 * @since 2.0.2
+	 */
+	public static void setReloading(boolean reloading){
+		bundle.resource.setReloading(reloading);
+	}
+
+	/**
+	 * Create an immutable {@link LangResourceStore store} that holds all the locales available within the resource path of the bundle.
+	 * Unlike the bundle, the store has no current locale and can be used by many threads that render resources for different locales.
+	 * @return a store that holds all the available locales.
+	 * @see LangResource#createStore()
+	 * @since 2.0.2
+	 */
+	public static LangResourceStore createStore(){
+		return bundle.resource.createStore();
 	}
 
 
@@ -236,16 +266,21 @@ public class LangResourceBundle extends ResourceBundle{
 	 */
 	public static String getString(String key, String[] aParams){
 		return bundle.resource.getString(key, aParams);
-	}  
+	}
 
 	/**
-	 * Initialize the underlying {LangResourceBundle lang resource bundle}.
-	 * @param baseName The path to the lang resource bundle content
-	 * @param locale The locale to use.
+	 * Append a parametric resource to the given builder. This method is simply a call of
+	 * <code>format(sb, key, aParams)</code> on the current bundle lang resource and does not allocate any object
+	 * when the resource is available.
+	 * @param sb the builder to append to.
+	 * @param key the key referencing the resource.
+	 * @param aParams the parameters to use as replacements in the resource (if any).
+	 * @return the given builder.
+	 * @see LangResource#format(StringBuilder, String, String[])
+	 * @since 2.0.2
 	 */
-	private static void init(String baseName, Locale locale){
-		bundle = new LangResourceBundle();
-		bundle.resource = new LangResource(baseName, locale);  
+	public static StringBuilder format(StringBuilder sb, String key, String[] aParams){
+		return bundle.resource.format(sb, key, aParams);
 	}
 
 	/**
@@ -0,0 +1,147 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.lang.xml.LangResourceXMLLoader;
+
+/**
+ * An offline compiler that turns XML lang resource files into {@link CompiledLangResource compiled lang resources}.
+ * All the XML files that are located within a resource directory (and its sub directories) are merged by {@link LangResourceTable#getFileTag(String) locale tag}
+ * and each tag is written within a <code>[tag]{@value CompiledLangResource#EXTENSION}</code> file (<code>{@value LangResourceTable#ROOT_NAME}{@value CompiledLangResource#EXTENSION}</code> for the root resources).
+ * When such a file is present within a resource directory, the {@link LangResource lang resource} reads it instead of parsing the XML files.
+ * The compiler also writes the {@link LangResourceIndex index} (<code>{@value LangResourceIndex#INDEX_NAME}</code>) of the output directory, 
+ * that enables to load the resources from a jar or a module without enumerating its content.<br>
+ * <br>
+ * The compiler can be run from the command line:
+ * <pre>
+ * java -cp jcommon-core.jar org.jorigin.lang.LangResourceCompiler &lt;resource directory&gt; [output directory]
+ * </pre>
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceCompiler {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 * This class is not instantiable.
+	 */
+	private LangResourceCompiler() {
+		// This class is not instantiable.
+	}
+
+	/**
+	 * Compile all the XML lang resource files located within the given directory.
+	 * A compiled file is written within the <code>output</code> directory for each locale that is found, along with the index of the output directory.
+	 * @param directory the XML lang resource directory.
+	 * @param output the directory where the compiled files are written. If <code>null</code>, the resource directory is used.
+	 * @return the compiled files.
+	 * @throws IOException if an error occurs.
+	 */
+	public static List<File> compile(File directory, File output) throws IOException {
+
+		if ((directory == null) || (!directory.isDirectory())){
+			throw new IOException("Lang resource directory "+directory+" does not exist.");
+		}
+
+		File target = output != null ? output : directory;
+		if (!target.isDirectory() && !target.mkdirs()){
+			throw new IOException("Cannot create output directory "+target);
+		}
+
+		// XML files by locale, in a deterministic order
+		TreeMap<String, List<File>> files = new TreeMap<String, List<File>>();
+		collect(directory, files);
+
+		List<File> compiled = new ArrayList<File>();
+
+		for(Map.Entry<String, List<File>> entry : files.entrySet()){
+
+			List<String> uris = new ArrayList<String>();
+			for(File file : entry.getValue()){
+				uris.add(file.getPath());
+			}
+
+			// The compilation is made offline, the XML files are validated
+			HashMap<String, String> resources = new LangResourceXMLLoader(true).load(uris);
+
+			File file = new File(target, LangResourceTable.getCompiledFileName(entry.getKey()));
+			CompiledLangResource.write(resources, file);
+			compiled.add(file);
+
+			Common.logger.log(Level.INFO, "Lang resource "+entry.getKey()+" compiled to "+file.getPath()+" ("+resources.size()+" resources)");
+		}
+
+		LangResourceIndex.create(target).write(new File(target, LangResourceIndex.INDEX_NAME));
+
+		return compiled;
+	}
+
+	/**
+	 * Collect recursively the XML lang resource files located within the given directory, by locale tag.
+	 * @param directory the directory.
+	 * @param files the files, by locale tag.
+	 */
+	private static void collect(File directory, Map<String, List<File>> files){
+
+		File[] content = directory.listFiles();
+
+		if (content != null){
+			List<File> sorted = new ArrayList<File>(List.of(content));
+			Collections.sort(sorted);
+
+			for(File file : sorted){
+				if (file.isDirectory()){
+					collect(file, files);
+				} else if (file.getName().endsWith(".xml")){
+					files.computeIfAbsent(LangResourceTable.getFileTag(file.getName()), k -> new ArrayList<File>()).add(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compile the XML lang resources from the command line.
+	 * @param args the resource directory and optionally the output directory.
+	 */
+	public static void main(String[] args){
+
+		if (args.length < 1){
+			System.err.println("Usage: LangResourceCompiler <resource directory> [output directory]");
+			System.exit(1);
+		}
+
+		try {
+			compile(new File(args[0]), args.length > 1 ? new File(args[1]) : null);
+		} catch (IOException ex) {
+			Common.logger.log(Level.SEVERE, "Cannot compile lang resources from "+args[0], ex);
+			System.exit(2);
+		}
+	}
+}
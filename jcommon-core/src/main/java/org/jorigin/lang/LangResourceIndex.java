@@ -0,0 +1,253 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.jorigin.Common;
+
+/**
+ * The index of a lang resource root. An index lists the locale tags that are available under the root and, for each tag, the lang resource files
+ * (XML or {@link CompiledLangResource compiled}) that are attached to it. When lang resources are packed within a jar or a module, the index is stored
+ * along with them within a <code>{@value #INDEX_NAME}</code> file, so that the resources can be loaded without enumerating the jar entries.<br>
+ * <br>
+ * The index file is an UTF-8 text file where each line is made of a locale tag (<code>{@value LangResourceTable#ROOT_NAME}</code> for the root resources)
+ * and of the path of a file relative to the root, separated by a tabulation. The lines starting by <code>#</code> are comments:
+ * <pre>
+ * # JOrigin lang resource index
+ * root	messages.xml
+ * fr	messages_fr.xml
+ * fr_FR	gui/gui_fr_FR.xml
+ * </pre>
+ * An index is written by the {@link LangResourceCompiler lang resource compiler} or using {@link #create(File)} and {@link #write(File)}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceIndex {
+
+	/**
+	 * The name of the index file within a lang resource root.
+	 */
+	public static final String INDEX_NAME = "lang.idx";
+
+	/**
+	 * The files relative paths, by locale tag.
+	 */
+	private final TreeMap<String, List<String>> files = new TreeMap<String, List<String>>();
+
+	/**
+	 * Create a new empty index.
+	 */
+	public LangResourceIndex(){
+		super();
+	}
+
+	/**
+	 * Add the given file to the index. The file is attached to the {@link LangResourceTable#getFileTag(String) locale tag} of its name.
+	 * Files that are not lang resource files are ignored.
+	 * @param path the path of the file relative to the root, using <code>/</code> as separator.
+	 */
+	public void add(String path){
+
+		String name = path.substring(path.lastIndexOf('/') + 1);
+
+		if (name.endsWith(".xml") || name.endsWith(CompiledLangResource.EXTENSION)){
+			add(LangResourceTable.getFileTag(name), path);
+		}
+	}
+
+	/**
+	 * Add the given file to the index and attach it to the given tag.
+	 * @param tag the locale tag.
+	 * @param path the path of the file relative to the root, using <code>/</code> as separator.
+	 */
+	private void add(String tag, String path){
+		List<String> list = this.files.computeIfAbsent(tag, k -> new ArrayList<String>());
+
+		// The list is kept sorted by inserting the path at its position
+		int index = Collections.binarySearch(list, path);
+		if (index < 0){
+			list.add(-index - 1, path);
+		}
+	}
+
+	/**
+	 * Add all the given files to the index.
+	 * @param paths the paths of the files relative to the root, using <code>/</code> as separator.
+	 * @see #add(String)
+	 */
+	public void addAll(Collection<String> paths){
+		for(String path : paths){
+			add(path);
+		}
+	}
+
+	/**
+	 * Get the locale tags that are available within the index, including the {@link LangResourceTable#ROOT root} tag if root resources are available.
+	 * @return the locale tags, sorted.
+	 */
+	public Set<String> getTags(){
+		return Collections.unmodifiableSet(new TreeSet<String>(this.files.keySet()));
+	}
+
+	/**
+	 * Get the files that are attached to the given tag.
+	 * @param tag the locale tag.
+	 * @return the paths of the files relative to the root, sorted.
+	 */
+	public List<String> getFiles(String tag){
+		List<String> list = this.files.get(tag);
+		return list != null ? Collections.unmodifiableList(list) : Collections.<String>emptyList();
+	}
+
+	/**
+	 * Get if the index is empty.
+	 * @return <code>true</code> if the index is empty and <code>false</code> otherwise.
+	 */
+	public boolean isEmpty(){
+		return this.files.isEmpty();
+	}
+
+	/**
+	 * Write this index to the given stream.
+	 * @param os the stream to write to. The stream is not closed.
+	 * @throws IOException if an error occurs.
+	 */
+	public void write(OutputStream os) throws IOException {
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+
+		writer.write("# JOrigin lang resource index\n");
+
+		for(Map.Entry<String, List<String>> entry : this.files.entrySet()){
+
+			String tag = LangResourceTable.ROOT.equals(entry.getKey()) ? LangResourceTable.ROOT_NAME : entry.getKey();
+
+			for(String path : entry.getValue()){
+				writer.write(tag);
+				writer.write('\t');
+				writer.write(path);
+				writer.write('\n');
+			}
+		}
+
+		writer.flush();
+	}
+
+	/**
+	 * Write this index to the given file.
+	 * @param file the file to write.
+	 * @throws IOException if an error occurs.
+	 */
+	public void write(File file) throws IOException {
+		try (OutputStream os = new FileOutputStream(file)){
+			write(os);
+		}
+	}
+
+	/**
+	 * Read an index from the given stream.
+	 * @param is the stream to read. The stream is not closed.
+	 * @return the index.
+	 * @throws IOException if an error occurs or if the content is not a valid index.
+	 */
+	public static LangResourceIndex read(InputStream is) throws IOException {
+
+		LangResourceIndex index = new LangResourceIndex();
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+		String line  = null;
+		int number   = 0;
+		while((line = reader.readLine()) != null){
+
+			number++;
+
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")){
+				continue;
+			}
+
+			int separator = line.indexOf('\t');
+			if (separator < 0){
+				throw new IOException("Invalid lang resource index line "+number+": "+line);
+			}
+
+			String tag = line.substring(0, separator).trim();
+			index.add(LangResourceTable.ROOT_NAME.equals(tag) ? LangResourceTable.ROOT : tag, line.substring(separator + 1).trim());
+		}
+
+		return index;
+	}
+
+	/**
+	 * Create the index of the lang resource files that are located within the given directory and its sub directories.
+	 * @param directory the lang resource root directory.
+	 * @return the index of the directory.
+	 */
+	public static LangResourceIndex create(File directory){
+		LangResourceIndex index = new LangResourceIndex();
+		collect(directory, "", index);
+		return index;
+	}
+
+	/**
+	 * Collect recursively the lang resource files of the given directory.
+	 * @param directory the directory.
+	 * @param prefix the path of the directory relative to the root.
+	 * @param index the index to fill.
+	 */
+	private static void collect(File directory, String prefix, LangResourceIndex index){
+
+		File[] content = directory.listFiles();
+
+		if (content != null){
+			for(File file : content){
+				if (file.isDirectory()){
+					collect(file, prefix+file.getName()+"/", index);
+				} else {
+					index.add(prefix+file.getName());
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString(){
+		return "LangResourceIndex "+this.files;
+	}
+}
@@ -0,0 +1,340 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+
+/**
+ * An immutable store that holds the {@link LangResourceTable lang resource tables} of many locales at once. Unlike {@link LangResource} and
+ * {@link LangResourceBundle}, a store has no current locale: the locale is given on each call and is resolved following its fallback chain
+ * (for example <code>fr_FR</code>, then <code>fr</code>, then the root resources). This enables to render resources for many locales at the same time
+ * from many threads, for example within a server.<br>
+ * <br>
+ * A store is immutable and can be shared between threads. The read methods do not lock: the fallback chain of each held table is resolved when the store
+ * is created and a locale is mapped to the chain of its most specific held tag. The in-memory tables of a {@link #load(File, boolean) loaded} store share their keys
+ * and their identical values through a {@link LangSymbolTable symbol table} that belongs to the store, so that a key that is defined for many locales is stored once
+ * and is released with the store.<br>
+ * <br>
+ * A store is created from a resource directory using {@link #load(File, boolean)} or from a lang resource using {@link LangResource#createStore()}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public final class LangResourceStore {
+
+	/**
+	 * The tables of the store, by locale tag.
+	 */
+	private final Map<String, LangResourceTable> tables;
+
+	/**
+	 * The resolved fallback chains, by tag of the held tables.
+	 */
+	private final Map<String, LangResourceTable[]> chains;
+
+	/**
+	 * The fallback chain of the <code>null</code> locale.
+	 */
+	private final LangResourceTable[] rootChain;
+
+	/**
+	 * The fallback chains already resolved, by locale.
+	 */
+	private final ConcurrentHashMap<Locale, LangResourceTable[]> localeChains = new ConcurrentHashMap<Locale, LangResourceTable[]>();
+
+	/**
+	 * Create a new store that holds the given tables. If many tables have the same tag, the last one is used.
+	 * @param tables the tables of the store.
+	 */
+	public LangResourceStore(Collection<LangResourceTable> tables){
+
+		Map<String, LangResourceTable> map = new HashMap<String, LangResourceTable>();
+		if (tables != null){
+			for(LangResourceTable table : tables){
+				map.put(table.getTag(), table);
+			}
+		}
+
+		this.tables    = Collections.unmodifiableMap(map);
+
+		Map<String, LangResourceTable[]> resolved = new HashMap<String, LangResourceTable[]>();
+		for(String tag : map.keySet()){
+			resolved.put(tag, resolve(tag));
+		}
+		this.chains = resolved;
+
+		this.rootChain = resolve(LangResourceTable.ROOT);
+	}
+
+	/**
+	 * Load a store from the given resource directory. All the locales that are available within the directory are loaded concurrently.
+	 * The in-memory tables of the store use their own symbol table.
+	 * @param directory the resource directory.
+	 * @param validating <code>true</code> if the XML files have to be validated during parsing and <code>false</code> otherwise.
+	 * @return the loaded store.
+	 * @throws IOException if the directory does not exist.
+	 */
+	public static LangResourceStore load(File directory, boolean validating) throws IOException {
+
+		if ((directory == null) || (!directory.isDirectory())){
+			throw new IOException("Lang resource directory "+directory+" does not exist.");
+		}
+
+		Set<String> tags = getTags(directory);
+
+		LangSymbolTable symbols = new LangSymbolTable();
+
+		List<CompletableFuture<LangResourceTable>> futures = new ArrayList<CompletableFuture<LangResourceTable>>(tags.size());
+		for(String tag : tags){
+			futures.add(CompletableFuture.supplyAsync(() -> LangResourceTable.load(directory, tag, validating, symbols)));
+		}
+
+		List<LangResourceTable> tables = new ArrayList<LangResourceTable>(futures.size());
+		for(CompletableFuture<LangResourceTable> future : futures){
+			tables.add(future.join());
+		}
+
+		LangResourceStore store = new LangResourceStore(tables);
+
+		Log.log(Level.CONFIG, "Lang resource store loaded from {0} with locales {1}", directory.getPath(), tags);
+
+		return store;
+	}
+
+	/**
+	 * Get the locale tags that are available within the given resource directory (including the {@link LangResourceTable#ROOT root} tag).
+	 * @param directory the resource directory.
+	 * @return the locale tags, sorted.
+	 */
+	static Set<String> getTags(File directory){
+
+		Set<String> tags = new TreeSet<String>();
+		tags.add(LangResourceTable.ROOT);
+
+		File[] files = directory.listFiles();
+		if (files != null){
+			for(File file : files){
+				if (file.getName().endsWith(".xml") || file.getName().endsWith(CompiledLangResource.EXTENSION)){
+					tags.add(LangResourceTable.getFileTag(file.getName()));
+				}
+			}
+		}
+
+		return tags;
+	}
+
+	/**
+	 * Get the locale tags of the tables held by this store.
+	 * @return the locale tags of the tables held by this store.
+	 */
+	public Set<String> getTags(){
+		return this.tables.keySet();
+	}
+
+	/**
+	 * Get the table attached to the given locale tag.
+	 * @param tag the locale tag.
+	 * @return the table attached to the tag or <code>null</code> if the store does not hold such a table.
+	 */
+	public LangResourceTable getTable(String tag){
+		return this.tables.get(tag);
+	}
+
+	/**
+	 * Get the estimated memory footprint of the tables held by this store, in bytes. The keys, 
+	 * that are held by the {@link LangSymbolTable symbol table}, are not included.
+	 * @return the estimated memory footprint of the tables.
+	 */
+	public long getFootprint(){
+		long footprint = 0;
+		for(LangResourceTable table : this.tables.values()){
+			footprint += table.getFootprint();
+		}
+		return footprint;
+	}
+
+	/**
+	 * Get the tables of the fallback chain of the given locale, from the most specific one. The chain of a locale is resolved on its first use 
+	 * and is then read from a cache, so that this method does not allocate.
+	 * @param locale the locale.
+	 * @return the tables of the fallback chain.
+	 */
+	private LangResourceTable[] getChain(Locale locale){
+
+		if (locale == null){
+			return this.rootChain;
+		}
+
+		LangResourceTable[] chain = this.localeChains.get(locale);
+		if (chain == null){
+			chain = resolve(locale);
+			this.localeChains.putIfAbsent(locale, chain);
+		}
+
+		return chain;
+	}
+
+	/**
+	 * Resolve the fallback chain of the given locale from the chain of its most specific tag held by the store.
+	 * @param locale the locale.
+	 * @return the tables of the fallback chain.
+	 */
+	private LangResourceTable[] resolve(Locale locale){
+
+		LangResourceTable[] chain = null;
+
+		// The chain of the most specific tag held by the store
+		if (!locale.getCountry().isEmpty()){
+			chain = this.chains.get(locale.getLanguage()+"_"+locale.getCountry());
+		}
+
+		if ((chain == null) && !locale.getLanguage().isEmpty()){
+			chain = this.chains.get(locale.getLanguage());
+		}
+
+		return chain != null ? chain : this.rootChain;
+	}
+
+	/**
+	 * Resolve the fallback chain of the given locale tag.
+	 * @param tag the locale tag.
+	 * @return the tables of the fallback chain that are held by this store.
+	 */
+	private LangResourceTable[] resolve(String tag){
+
+		List<String> tags = new ArrayList<String>(3);
+		if (!tag.equals(LangResourceTable.ROOT)){
+			tags.add(tag);
+			int index = tag.indexOf('_');
+			if (index > 0){
+				tags.add(tag.substring(0, index));
+			}
+		}
+		tags.add(LangResourceTable.ROOT);
+
+		List<LangResourceTable> chain = new ArrayList<LangResourceTable>(3);
+		for(String fallback : tags){
+			LangResourceTable table = this.tables.get(fallback);
+			if (table != null){
+				chain.add(table);
+			}
+		}
+
+		return chain.toArray(new LangResourceTable[chain.size()]);
+	}
+
+	/**
+	 * Get the template of the value associated to the given key for the given locale.
+	 * @param locale the locale.
+	 * @param key the key of the resource.
+	 * @return the template of the value or <code>null</code> if no value is available.
+	 */
+	public LangTemplate getTemplate(Locale locale, String key){
+
+		LangResourceTable[] chain = getChain(locale);
+
+		LangTemplate template = null;
+		for(int i = 0; (template == null) && (i < chain.length); i++){
+			template = chain[i].getTemplate(key);
+		}
+
+		return template;
+	}
+
+	/**
+	 * Check if a resource is associated to the given key for the given locale.
+	 * @param locale the locale.
+	 * @param key the key to check.
+	 * @return <code>true</code> if a resource is associated to the key and <code>false</code> otherwise.
+	 */
+	public boolean containsKey(Locale locale, String key){
+		return getTemplate(locale, key) != null;
+	}
+
+	/**
+	 * Get the resource associated to the given key for the given locale. If the key does not correspond to any resource, the key itself is returned.
+	 * @param locale the locale.
+	 * @param key the key identifying the resource.
+	 * @return the resource or the key if no resource is available.
+	 */
+	public String getString(Locale locale, String key){
+		return getString(locale, key, null);
+	}
+
+	/**
+	 * Get the parametrized resource associated to the given key for the given locale. If the key does not correspond to any resource,
+	 * the key itself is returned. The parameters are applied as described within {@link LangResource#getResource(String, String[])}.
+	 * @param locale the locale.
+	 * @param key the key identifying the resource.
+	 * @param params the parameters of the resource, can be <code>null</code>.
+	 * @return the resource parametrized or the key if no resource is available.
+	 */
+	public String getString(Locale locale, String key, String[] params){
+
+		LangTemplate template = getTemplate(locale, key);
+
+		if (template == null){
+			Log.log(Level.WARNING, "No resource value available for key {0} and locale {1}", key, locale);
+			return key;
+		}
+
+		return template.format(params);
+	}
+
+	/**
+	 * Append the parametrized resource associated to the given key for the given locale to the given builder. If the key does not correspond to any resource,
+	 * the key itself is appended. When the resource is available, this method does not allocate any object as long as the builder has enough capacity.
+	 * @param sb the builder to append to.
+	 * @param locale the locale.
+	 * @param key the key identifying the resource.
+	 * @param params the parameters of the resource, can be <code>null</code>.
+	 * @return the given builder.
+	 */
+	public StringBuilder format(StringBuilder sb, Locale locale, String key, String[] params){
+
+		LangTemplate template = getTemplate(locale, key);
+
+		if (template == null){
+			Log.log(Level.WARNING, "No resource value available for key {0} and locale {1}", key, locale);
+			return sb.append(key);
+		}
+
+		return template.format(sb, params);
+	}
+
+	@Override
+	public String toString(){
+		return "LangResourceStore "+new TreeSet<String>(this.tables.keySet());
+	}
+}
@@ -0,0 +1,585 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.lang.xml.LangResourceXMLLoader;
+
+/**
+ * The lang resources that are defined for a single locale, without any fallback. A table is identified by a locale tag
+ * that can be <code>[language]_[country]</code> (for example <code>fr_FR</code>), <code>[language]</code> (for example <code>fr</code>)
+ * or the empty {@link #ROOT root} tag. Within a resource directory, the XML files <code>*_fr_FR.xml</code> are attached to the <code>fr_FR</code> table,
+ * the files <code>*_fr.xml</code> to the <code>fr</code> table and the files without any locale suffix to the root table.<br>
+ * <br>
+ * The values are {@link LangTemplate compiled into templates} when the table is created (or on their first access for a compiled table)
+ * so formatting a value does not need to parse it again. An in-memory table does not hold its keys: they are registered within a {@link LangSymbolTable symbol table}
+ * that is shared by the tables of all the locales, and the table only stores an array of values indexed by key identifier (or, if the key identifiers 
+ * of the table are sparse, a sorted array of key identifiers and the array of their values). The values that are identical within different tables 
+ * or for different keys are shared.<br>
+ * <br>
+ * A table is immutable once loaded and can be shared between threads.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceTable {
+
+	/**
+	 * The tag of the root table, that contains the resources that are not attached to any locale.
+	 */
+	public static final String ROOT = "";
+
+	/**
+	 * The name of the compiled file that contains the root resources.
+	 */
+	public static final String ROOT_NAME = "root";
+
+	/**
+	 * The ISO 639 language codes.
+	 */
+	private static final Set<String> LANGUAGES = new HashSet<String>(Arrays.asList(Locale.getISOLanguages()));
+
+	/**
+	 * The ISO 3166 country codes.
+	 */
+	private static final Set<String> COUNTRIES = new HashSet<String>(Arrays.asList(Locale.getISOCountries()));
+
+	/**
+	 * The locale tag of the table.
+	 */
+	private final String tag;
+
+	/**
+	 * The symbol table that holds the keys and the shared values if the resources are held in memory.
+	 */
+	private final LangSymbolTable symbols;
+
+	/**
+	 * The templates of the resources if they are held in memory, by key identifier or, if {@link #ids} is not <code>null</code>, in the order of the identifiers.
+	 */
+	private final LangTemplate[] values;
+
+	/**
+	 * The sorted key identifiers of the resources if they are held in memory and if the identifiers are sparse, <code>null</code> otherwise.
+	 */
+	private final int[] ids;
+
+	/**
+	 * The number of resources if they are held in memory.
+	 */
+	private final int size;
+
+	/**
+	 * The resources of the table if they are read from a compiled file.
+	 */
+	private final CompiledLangResource compiled;
+
+	/**
+	 * The templates of the compiled resources that have already been accessed.
+	 */
+	private final Map<String, LangTemplate> templates;
+
+	/**
+	 * The estimated memory footprint of the table, in bytes.
+	 */
+	private final long footprint;
+
+	/**
+	 * Create a new table that holds the given resources within the {@link LangSymbolTable#getDefault() default symbol table}. The resources are copied.
+	 * @param tag the locale tag of the table.
+	 * @param values the resources of the table.
+	 */
+	public LangResourceTable(String tag, Map<String, String> values){
+		this(tag, values, LangSymbolTable.getDefault());
+	}
+
+	/**
+	 * Create a new table that holds the given resources within the given symbol table. The keys are registered within the symbol table 
+	 * and the values that are already used by other tables are shared. The resources are copied.
+	 * @param tag the locale tag of the table.
+	 * @param values the resources of the table.
+	 * @param symbols the symbol table.
+	 */
+	public LangResourceTable(String tag, Map<String, String> values, LangSymbolTable symbols){
+		this.tag       = tag != null ? tag : ROOT;
+		this.symbols   = symbols;
+		this.compiled  = null;
+		this.templates = null;
+
+		int[] keyIds = new int[values != null ? values.size() : 0];
+		LangTemplate[] shared = new LangTemplate[keyIds.length];
+
+		// Each template used by the table is accounted once, even if it is shared with other tables
+		Set<LangTemplate> referenced = Collections.newSetFromMap(new IdentityHashMap<LangTemplate, Boolean>());
+		long bytes = 64;
+
+		int count = 0;
+		int max   = -1;
+		if (values != null){
+			Iterator<Map.Entry<String, String>> iter = values.entrySet().iterator();
+			while(iter.hasNext()){
+				Map.Entry<String, String> entry = iter.next();
+				String value = entry.getValue() != null ? entry.getValue() : "";
+
+				int id = symbols.register(entry.getKey());
+
+				LangTemplate template = symbols.share(value);
+				if (referenced.add(template)){
+					bytes += template.getFootprint();
+				}
+
+				keyIds[count] = id;
+				shared[count] = template;
+				max = Math.max(max, id);
+				count++;
+			}
+		}
+
+		if (max < 2 * count){
+
+			// Dense identifiers, the values are indexed by key identifier
+			this.ids    = null;
+			this.values = new LangTemplate[max + 1];
+			for(int i = 0; i < count; i++){
+				this.values[keyIds[i]] = shared[i];
+			}
+
+			this.footprint = bytes + 16 + 4L * this.values.length;
+
+		} else {
+
+			// Sparse identifiers (for example a small table loaded after large ones), the values follow the sorted identifiers
+			this.ids    = Arrays.copyOf(keyIds, count);
+			Arrays.sort(this.ids);
+			this.values = new LangTemplate[count];
+			for(int i = 0; i < count; i++){
+				this.values[Arrays.binarySearch(this.ids, keyIds[i])] = shared[i];
+			}
+
+			this.footprint = bytes + 32 + 8L * count;
+		}
+
+		this.size = count;
+	}
+
+	/**
+	 * Create a new table that reads the given compiled resources.
+	 * @param tag the locale tag of the table.
+	 * @param compiled the compiled resources.
+	 */
+	public LangResourceTable(String tag, CompiledLangResource compiled){
+		this.tag       = tag != null ? tag : ROOT;
+		this.symbols   = null;
+		this.values    = null;
+		this.ids       = null;
+		this.size      = compiled.size();
+		this.compiled  = compiled;
+		this.templates = new ConcurrentHashMap<String, LangTemplate>();
+		this.footprint = 48 + compiled.getByteSize();
+	}
+
+	/**
+	 * Get the locale tag of this table.
+	 * @return the locale tag of this table.
+	 */
+	public String getTag(){
+		return this.tag;
+	}
+
+	/**
+	 * Get if this table reads its resources from a compiled file.
+	 * @return <code>true</code> if this table reads its resources from a compiled file and <code>false</code> if they are held in memory.
+	 */
+	public boolean isCompiled(){
+		return this.compiled != null;
+	}
+
+	/**
+	 * Get the value associated to the given key.
+	 * @param key the key of the resource.
+	 * @return the value associated to the key or <code>null</code> if the key is not within this table.
+	 */
+	public String get(String key){
+		if (this.values != null){
+			LangTemplate template = getTemplate(key);
+			return template != null ? template.getSource() : null;
+		}
+		return this.compiled.get(key);
+	}
+
+	/**
+	 * Get the template of the value associated to the given key.
+	 * @param key the key of the resource.
+	 * @return the template of the value associated to the key or <code>null</code> if the key is not within this table.
+	 */
+	public LangTemplate getTemplate(String key){
+
+		if (this.values != null){
+			int index = indexOf(this.symbols.getId(key));
+			return index >= 0 ? this.values[index] : null;
+		}
+
+		if (key == null){
+			return null;
+		}
+
+		LangTemplate template = this.templates.get(key);
+		if (template == null){
+			template = LangTemplate.compile(this.compiled.get(key));
+			if (template != null){
+				this.templates.putIfAbsent(key, template);
+			}
+		}
+
+		return template;
+	}
+
+	/**
+	 * Check if the given key is within this table.
+	 * @param key the key to check.
+	 * @return <code>true</code> if the key is within this table and <code>false</code> otherwise.
+	 */
+	public boolean containsKey(String key){
+		if (this.values != null){
+			return getTemplate(key) != null;
+		}
+		return this.compiled.containsKey(key);
+	}
+
+	/**
+	 * Get the index of the value attached to the given key identifier within the value array.
+	 * @param id the key identifier.
+	 * @return the index of the value or a negative value if the identifier is not within this table.
+	 */
+	private int indexOf(int id){
+		if (id < 0){
+			return -1;
+		}
+
+		if (this.ids == null){
+			return id < this.values.length ? id : -1;
+		}
+
+		return Arrays.binarySearch(this.ids, id);
+	}
+
+	/**
+	 * Get the keys that are within this table.
+	 * @return the keys that are within this table.
+	 */
+	public Set<String> keySet(){
+		if (this.values != null){
+			Set<String> keys = new HashSet<String>(this.size * 4 / 3 + 1);
+			for(int index = 0; index < this.values.length; index++){
+				if (this.values[index] != null){
+					keys.add(this.symbols.getKey(this.ids != null ? this.ids[index] : index));
+				}
+			}
+			return Collections.unmodifiableSet(keys);
+		}
+		return this.compiled.keySet();
+	}
+
+	/**
+	 * Get the number of resources within this table.
+	 * @return the number of resources within this table.
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Get the estimated memory footprint of this table, in bytes. For a compiled table, the size of the mapped file is used. For an in-memory table,
+	 * the footprint is made of the value arrays and of all the values that the table uses, including the ones that are shared with other tables, 
+	 * so that the footprint does not depend on the loading order of the tables. The keys are accounted by the {@link LangSymbolTable symbol table}.
+	 * @return the estimated memory footprint of this table.
+	 */
+	public long getFootprint(){
+		return this.footprint;
+	}
+
+	/**
+	 * Copy all the resources of this table within the given map. The existing keys of the map are overwritten.
+	 * @param map the map to fill.
+	 */
+	public void copyTo(Map<String, String> map){
+		if (this.values != null){
+			for(int index = 0; index < this.values.length; index++){
+				if (this.values[index] != null){
+					map.put(this.symbols.getKey(this.ids != null ? this.ids[index] : index), this.values[index].getSource());
+				}
+			}
+		} else {
+			HashMap<String, String> tmp = new HashMap<String, String>();
+			this.compiled.copyTo(tmp);
+			map.putAll(tmp);
+		}
+	}
+
+	/**
+	 * Load the table attached to the given locale tag from the given resource directory. If a compiled file
+	 * (<code>[tag]{@value CompiledLangResource#EXTENSION}</code>) is available and is not older than the XML files attached to the tag, it is used.
+	 * Otherwise, the XML files of the directory and of its sub directories that are attached to the tag are parsed.
+	 * @param directory the resource directory.
+	 * @param tag the locale tag.
+	 * @param validating <code>true</code> if the XML files have to be validated during parsing and <code>false</code> otherwise.
+	 * @return the loaded table. If no resource is available for the tag, the table is empty.
+	 * @see #load(File, String, boolean, LangSymbolTable)
+	 */
+	public static LangResourceTable load(File directory, String tag, boolean validating){
+		return load(directory, tag, validating, LangSymbolTable.getDefault());
+	}
+
+	/**
+	 * Load the table attached to the given locale tag from the given resource directory. If a compiled file
+	 * (<code>[tag]{@value CompiledLangResource#EXTENSION}</code>) is available and is not older than the XML files attached to the tag, it is used.
+	 * Otherwise, the XML files of the directory and of its sub directories that are attached to the tag are parsed and their resources are held
+	 * within the given symbol table.
+	 * @param directory the resource directory.
+	 * @param tag the locale tag.
+	 * @param validating <code>true</code> if the XML files have to be validated during parsing and <code>false</code> otherwise.
+	 * @param symbols the symbol table of the parsed resources.
+	 * @return the loaded table. If no resource is available for the tag, the table is empty.
+	 */
+	public static LangResourceTable load(File directory, String tag, boolean validating, LangSymbolTable symbols){
+
+		List<String> files = listFiles(directory, tag);
+
+		File compiledFile = getCompiledFile(directory, tag, files);
+		if (compiledFile != null){
+			try {
+				LangResourceTable table = new LangResourceTable(tag, CompiledLangResource.open(compiledFile));
+				Common.logger.config("Lang resource file "+compiledFile.getPath()+" mapped");
+				return table;
+			} catch (IOException ex) {
+				Common.logger.log(Level.SEVERE, "Cannot read compiled resource file "+compiledFile.getPath()+", using XML resources", ex);
+			}
+		}
+
+		return new LangResourceTable(tag, new LangResourceXMLLoader(validating).load(files), symbols);
+	}
+
+	/**
+	 * Get the compiled file attached to the given tag within the given resource directory, if it is up to date.
+	 * A compiled file that is older than one of the given XML files is stale and is ignored.
+	 * @param directory the resource directory.
+	 * @param tag the locale tag.
+	 * @param files the paths of the XML files attached to the tag.
+	 * @return the compiled file or <code>null</code> if no up to date compiled file is available.
+	 */
+	static File getCompiledFile(File directory, String tag, List<String> files){
+
+		File compiledFile = new File(directory, getCompiledFileName(tag));
+		if (!compiledFile.isFile()){
+			return null;
+		}
+
+		long compiled = compiledFile.lastModified();
+		for(String file : files){
+			if (new File(file).lastModified() > compiled){
+				Common.logger.log(Level.INFO, "Compiled resource file {0} is older than {1}, using XML resources", new Object[] {compiledFile.getPath(), file});
+				return null;
+			}
+		}
+
+		return compiledFile;
+	}
+
+	/**
+	 * Load the table attached to the given locale tag from a lang resource root that is visible from the given class loader 
+	 * or from the named modules (for example a directory packed within a jar or a module). The files of the table are given by the index of the root.
+	 * If a compiled file (<code>[tag]{@value CompiledLangResource#EXTENSION}</code>) is listed, it is used. Otherwise, the listed XML files are parsed.
+	 * @param loader the class loader used to access the resources.
+	 * @param root the name of the lang resource root (for example <code>resource/lang</code>).
+	 * @param index the index of the lang resource root.
+	 * @param tag the locale tag.
+	 * @param validating <code>true</code> if the XML files have to be validated during parsing and <code>false</code> otherwise.
+	 * @return the loaded table. If no resource is available for the tag, the table is empty.
+	 */
+	public static LangResourceTable load(ClassLoader loader, String root, LangResourceIndex index, String tag, boolean validating){
+
+		String prefix = root.isEmpty() ? "" : root+"/";
+
+		List<String> files = index.getFiles(tag);
+
+		String compiledName = getCompiledFileName(tag);
+		if (files.contains(compiledName)){
+			URL url = ClassUtil.getResource(prefix+compiledName, loader);
+			try (InputStream is = url != null ? url.openStream() : null){
+				if (is == null){
+					throw new IOException("Resource "+prefix+compiledName+" not found");
+				}
+
+				LangResourceTable table = new LangResourceTable(tag, new CompiledLangResource(ByteBuffer.wrap(is.readAllBytes())));
+				Common.logger.config("Lang resource "+prefix+compiledName+" loaded");
+				return table;
+			} catch (IOException ex) {
+				Common.logger.log(Level.SEVERE, "Cannot read compiled resource "+prefix+compiledName+", using XML resources", ex);
+			}
+		}
+
+		List<String> uris = new ArrayList<String>(files.size());
+		for(String file : files){
+			if (file.endsWith(".xml")){
+				URL url = ClassUtil.getResource(prefix+file, loader);
+				if (url != null){
+					uris.add(url.toExternalForm());
+				} else {
+					Common.logger.log(Level.WARNING, "Indexed lang resource "+prefix+file+" not found");
+				}
+			}
+		}
+
+		return new LangResourceTable(tag, new LangResourceXMLLoader(validating).load(uris));
+	}
+
+	/**
+	 * List the XML files of the given directory and of its sub directories that are attached to the given tag.
+	 * @param directory the resource directory.
+	 * @param tag the locale tag.
+	 * @return the paths of the files, sorted.
+	 */
+	static List<String> listFiles(File directory, String tag){
+		List<String> files = new ArrayList<String>();
+		collect(directory, tag, files);
+		Collections.sort(files);
+		return files;
+	}
+
+	/**
+	 * Collect recursively the XML files attached to the given tag.
+	 * @param directory the directory to process.
+	 * @param tag the locale tag.
+	 * @param files the list that receive the paths of the files.
+	 */
+	private static void collect(File directory, String tag, List<String> files){
+
+		File[] content = directory.listFiles(new FileFilter(){
+			public boolean accept(File pathname) {
+				return pathname.isDirectory() || (pathname.getName().endsWith(".xml") && tag.equals(getFileTag(pathname.getName())));
+			}});
+
+		if (content != null){
+			for(int i = 0; i < content.length; i++){
+				if (content[i].isDirectory()){
+					collect(content[i], tag, files);
+				} else {
+					files.add(content[i].getPath());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the locale tag of the given locale (<code>[language]_[country]</code>, <code>[language]</code> or the {@link #ROOT root} tag).
+	 * @param locale the locale.
+	 * @return the locale tag.
+	 */
+	public static String getTag(Locale locale){
+
+		if ((locale == null) || locale.getLanguage().isEmpty()){
+			return ROOT;
+		}
+
+		if (locale.getCountry().isEmpty()){
+			return locale.getLanguage();
+		}
+
+		return locale.getLanguage()+"_"+locale.getCountry();
+	}
+
+	/**
+	 * Get the fallback chain of the given locale, from the most specific tag to the {@link #ROOT root} tag.
+	 * For example, the chain of the locale <code>fr_FR</code> is <code>[fr_FR, fr, ROOT]</code>.
+	 * @param locale the locale.
+	 * @return the fallback chain of the locale.
+	 */
+	public static List<String> getFallbackChain(Locale locale){
+
+		List<String> chain = new ArrayList<String>(3);
+
+		if ((locale != null) && !locale.getLanguage().isEmpty()){
+			if (!locale.getCountry().isEmpty()){
+				chain.add(locale.getLanguage()+"_"+locale.getCountry());
+			}
+			chain.add(locale.getLanguage());
+		}
+
+		chain.add(ROOT);
+
+		return chain;
+	}
+
+	/**
+	 * Get the locale tag of the given lang resource file name. The tag is read from the suffix of the name: <code>messages_fr_FR.xml</code>
+	 * is attached to <code>fr_FR</code>, <code>messages_fr.xml</code> to <code>fr</code> and <code>messages.xml</code> to the {@link #ROOT root} tag.
+	 * A compiled file named <code>[tag]{@value CompiledLangResource#EXTENSION}</code> is attached to its tag.
+	 * @param name the file name.
+	 * @return the locale tag of the file.
+	 */
+	public static String getFileTag(String name){
+
+		int index = name.lastIndexOf('.');
+		String base = index > -1 ? name.substring(0, index) : name;
+
+		if (name.endsWith(CompiledLangResource.EXTENSION)){
+			return base.equals(ROOT_NAME) ? ROOT : base;
+		}
+
+		String[] parts = base.split("_");
+
+		if ((parts.length > 1) && COUNTRIES.contains(parts[parts.length - 1]) && LANGUAGES.contains(parts[parts.length - 2])){
+			return parts[parts.length - 2]+"_"+parts[parts.length - 1];
+		}
+
+		if (LANGUAGES.contains(parts[parts.length - 1])){
+			return parts[parts.length - 1];
+		}
+
+		return ROOT;
+	}
+
+	/**
+	 * Get the name of the compiled file attached to the given tag.
+	 * @param tag the locale tag.
+	 * @return the name of the compiled file.
+	 */
+	public static String getCompiledFileName(String tag){
+		return (ROOT.equals(tag) ? ROOT_NAME : tag)+CompiledLangResource.EXTENSION;
+	}
+}
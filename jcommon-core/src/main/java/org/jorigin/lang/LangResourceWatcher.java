@@ -0,0 +1,362 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+import org.jorigin.lang.xml.LangResourceXMLLoader;
+
+/**
+ * A watcher that reloads the {@link LangResourceTable lang resource tables} of a {@link LangResource lang resource} when the files of its
+ * resource directory are modified. The watcher runs on its own daemon thread: the modified files are re-parsed on this thread, a new immutable table
+ * is built and then published to the lang resource with a single volatile write, so the threads that read the resources never lock and never see a partially loaded table.<br>
+ * <br>
+ * Only the tables that are currently cached by the lang resource are reloaded. The parsed content of each XML file is kept by the watcher so that
+ * only the modified files are parsed again. The first modification of a table parses all its files once. When an up to date compiled file (<code>{@value CompiledLangResource#EXTENSION}</code>)
+ * is available for a table, it is mapped again instead. A compiled file that is older than one of the XML files of its table is ignored, so that the edited XML files are reloaded. As editors often write a file in many steps, the events are gathered during {@link #getDelay() a delay}
+ * before the reload.<br>
+ * <br>
+ * A watcher is created and started by {@link LangResource#setReloading(boolean)}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceWatcher implements Closeable {
+
+	/**
+	 * The default delay during which the file events are gathered before a reload, in milliseconds.
+	 */
+	public static final long DEFAULT_DELAY = 200;
+
+	/**
+	 * The watched lang resource.
+	 */
+	private final LangResource resource;
+
+	/**
+	 * The watched resource directory.
+	 */
+	private final File directory;
+
+	/**
+	 * The underlying watch service.
+	 */
+	private final WatchService service;
+
+	/**
+	 * The watched directories, by watch key.
+	 */
+	private final Map<WatchKey, Path> keys = new HashMap<WatchKey, Path>();
+
+	/**
+	 * The parsed content of the XML files, by file path.
+	 */
+	private final Map<String, HashMap<String, String>> parsed = new HashMap<String, HashMap<String, String>>();
+
+	/**
+	 * The delay during which the file events are gathered before a reload, in milliseconds.
+	 */
+	private volatile long delay = DEFAULT_DELAY;
+
+	/**
+	 * The thread that processes the file events.
+	 */
+	private Thread thread = null;
+
+	/**
+	 * Create a new watcher for the given lang resource and resource directory. The watcher has to be {@link #start() started}.
+	 * @param resource the lang resource to reload.
+	 * @param directory the resource directory to watch.
+	 * @throws IOException if the directory cannot be watched.
+	 */
+	public LangResourceWatcher(LangResource resource, File directory) throws IOException {
+
+		if ((directory == null) || (!directory.isDirectory())){
+			throw new IOException("Lang resource directory "+directory+" does not exist.");
+		}
+
+		this.resource  = resource;
+		this.directory = directory;
+		this.service   = FileSystems.getDefault().newWatchService();
+
+		try {
+			register(directory.toPath());
+		} catch (IOException ex) {
+			this.service.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Get the watched resource directory.
+	 * @return the watched resource directory.
+	 */
+	public File getDirectory(){
+		return this.directory;
+	}
+
+	/**
+	 * Get the delay during which the file events are gathered before a reload, in milliseconds.
+	 * @return the delay in milliseconds.
+	 * @see #setDelay(long)
+	 */
+	public long getDelay(){
+		return this.delay;
+	}
+
+	/**
+	 * Set the delay during which the file events are gathered before a reload, in milliseconds.
+	 * @param delay the delay in milliseconds.
+	 * @see #getDelay()
+	 */
+	public void setDelay(long delay){
+		this.delay = delay;
+	}
+
+	/**
+	 * Start the watcher thread. This method has no effect if the watcher is already started.
+	 */
+	public synchronized void start(){
+		if (this.thread == null){
+			this.thread = new Thread(this::watch, "LangResourceWatcher");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+	}
+
+	/**
+	 * Stop the watcher and release the underlying watch service. This method waits for the end of a running reload.
+	 */
+	@Override
+	public synchronized void close(){
+		try {
+			this.service.close();
+		} catch (IOException ex) {
+			Common.logger.log(Level.WARNING, "Cannot close lang resource watcher", ex);
+		}
+
+		if (this.thread != null){
+			this.thread.interrupt();
+
+			// Wait for a running reload so that no table is published once the watcher is closed
+			if (this.thread != Thread.currentThread()){
+				try {
+					this.thread.join();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			this.thread = null;
+		}
+	}
+
+	/**
+	 * Register the given directory and its sub directories within the watch service.
+	 * @param root the directory to register.
+	 * @throws IOException if a directory cannot be registered.
+	 */
+	private void register(Path root) throws IOException {
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>(){
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				WatchKey key = dir.register(LangResourceWatcher.this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				LangResourceWatcher.this.keys.put(key, dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Process the file events until the watcher is closed.
+	 */
+	private void watch(){
+
+		Log.log(Level.CONFIG, "Watching lang resource directory {0}", this.directory.getPath());
+
+		try {
+			while (true){
+
+				Set<Path> changed = new HashSet<Path>();
+
+				// Wait for a first event and then gather the following ones
+				WatchKey key = this.service.take();
+				while (key != null){
+					poll(key, changed);
+					key = this.service.poll(this.delay, TimeUnit.MILLISECONDS);
+				}
+
+				if (!changed.isEmpty()){
+					reload(changed);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ex) {
+			Log.log(Level.CONFIG, "Lang resource directory {0} no more watched", this.directory.getPath());
+		}
+	}
+
+	/**
+	 * Collect the files that are concerned by the events of the given key.
+	 * @param key the watch key.
+	 * @param changed the set that receive the changed files.
+	 */
+	private void poll(WatchKey key, Set<Path> changed){
+
+		Path dir = this.keys.get(key);
+
+		for(WatchEvent<?> event : key.pollEvents()){
+
+			if ((dir == null) || (event.kind() == StandardWatchEventKinds.OVERFLOW)){
+				continue;
+			}
+
+			Path path = dir.resolve((Path) event.context());
+
+			if ((event.kind() == StandardWatchEventKinds.ENTRY_CREATE) && Files.isDirectory(path)){
+				try {
+					register(path);
+				} catch (IOException ex) {
+					Log.log(Level.WARNING, ex, "Cannot watch lang resource directory {0}", path);
+				}
+			} else {
+				String name = path.getFileName().toString();
+				if (name.endsWith(".xml") || name.endsWith(CompiledLangResource.EXTENSION)){
+					changed.add(path);
+				}
+			}
+		}
+
+		if (!key.reset()){
+			this.keys.remove(key);
+		}
+	}
+
+	/**
+	 * Reload the cached tables that are concerned by the given files.
+	 * @param changed the changed files.
+	 */
+	private void reload(Set<Path> changed){
+
+		// Changed files by locale tag
+		Map<String, Set<String>> tags = new TreeMap<String, Set<String>>();
+		for(Path path : changed){
+			tags.computeIfAbsent(LangResourceTable.getFileTag(path.getFileName().toString()), k -> new HashSet<String>()).add(path.toFile().getPath());
+		}
+
+		List<String> cached = this.resource.getCachedTags();
+
+		for(Map.Entry<String, Set<String>> entry : tags.entrySet()){
+
+			String tag = entry.getKey();
+
+			if (!cached.contains(tag)){
+				// The table will be loaded from the files when needed
+				forget(tag);
+				continue;
+			}
+
+			try {
+				LangResourceTable table = load(tag, entry.getValue());
+				if (table == null){
+					// The current table remains published
+					continue;
+				}
+
+				this.resource.publish(table);
+				Log.log(Level.INFO, "Lang resource table \"{0}\" reloaded ({1} resources)", tag, table.size());
+			} catch (RuntimeException ex) {
+				Log.log(Level.SEVERE, ex, "Cannot reload lang resource table \"{0}\"", tag);
+			}
+		}
+	}
+
+	/**
+	 * Load the table attached to the given tag, parsing only the XML files that have changed or that have never been parsed.
+	 * If a file cannot be parsed or holds no resource (for example because it is being saved), the table is not loaded, so that the current one 
+	 * remains published until the file is modified again.
+	 * @param tag the locale tag.
+	 * @param changed the paths of the changed files.
+	 * @return the loaded table or <code>null</code> if a file cannot be parsed.
+	 */
+	private LangResourceTable load(String tag, Set<String> changed){
+
+		List<String> files = LangResourceTable.listFiles(this.directory, tag);
+
+		if (LangResourceTable.getCompiledFile(this.directory, tag, files) != null){
+			return LangResourceTable.load(this.directory, tag, this.resource.isValidating());
+		}
+
+		// Forget the removed files
+		this.parsed.keySet().removeIf(path -> tag.equals(LangResourceTable.getFileTag(new File(path).getName())) && !files.contains(path));
+
+		LangResourceXMLLoader loader = new LangResourceXMLLoader(this.resource.isValidating());
+
+		HashMap<String, String> resources = new HashMap<String, String>();
+		for(String file : files){
+			HashMap<String, String> content = this.parsed.get(file);
+			if ((content == null) || changed.contains(file)){
+				content = loader.loadDocument(file);
+				if ((content == null) || content.isEmpty()){
+					Log.log(Level.WARNING, "Lang resource file {0} cannot be parsed or is empty, table \"{1}\" is not reloaded", file, tag);
+					return null;
+				}
+				this.parsed.put(file, content);
+			}
+			resources.putAll(content);
+		}
+
+		return new LangResourceTable(tag, resources);
+	}
+
+	/**
+	 * Forget the parsed content of the files attached to the given tag.
+	 * @param tag the locale tag.
+	 */
+	private void forget(String tag){
+		List<String> paths = new ArrayList<String>(this.parsed.keySet());
+		for(String path : paths){
+			if (tag.equals(LangResourceTable.getFileTag(new File(path).getName()))){
+				this.parsed.remove(path);
+			}
+		}
+	}
+}
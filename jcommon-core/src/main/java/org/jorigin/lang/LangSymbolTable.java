@@ -0,0 +1,225 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jorigin.Common;
+
+/**
+ * A symbol table that is shared by the {@link LangResourceTable lang resource tables} of all the locales. Each lang resource key is registered once
+ * and is given an integer identifier, so a table only has to store an array of values indexed by key identifier. The values that are identical for the same key
+ * within many locales (brand names, units, format strings, ...) or for many keys are also shared: the symbol table interns the {@link LangTemplate templates}
+ * by value and gives the same template to all the tables that define the value.<br>
+ * <br>
+ * The keys are never removed from the table. The interned values are only weakly referenced, so a value is released once no table uses it anymore
+ * (for example when the tables that define it are evicted from a cache).<br>
+ * <br>
+ * Looking up a key identifier does not lock, registering keys and values is synchronized.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangSymbolTable {
+
+	/**
+	 * The estimated memory footprint of a key entry, without the key characters, in bytes.
+	 */
+	private static final int KEY_OVERHEAD = 96;
+
+	/**
+	 * The estimated memory footprint of an interned value entry, without the value itself, in bytes.
+	 */
+	private static final int VALUE_OVERHEAD = 80;
+
+	/**
+	 * The initial capacity of the table.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The default symbol table.
+	 */
+	private static final LangSymbolTable DEFAULT = new LangSymbolTable();
+
+	/**
+	 * The key identifiers, by key.
+	 */
+	private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * The keys, by identifier.
+	 */
+	private volatile String[] keys = new String[INITIAL_CAPACITY];
+
+	/**
+	 * The interned values, by source. The source of a template is the key of its entry, so an entry remains as long as its template is used.
+	 */
+	private final WeakHashMap<String, WeakReference<LangTemplate>> values = new WeakHashMap<String, WeakReference<LangTemplate>>();
+
+	/**
+	 * The number of registered keys.
+	 */
+	private volatile int size = 0;
+
+	/**
+	 * The number of characters of the registered keys.
+	 */
+	private long keyChars = 0;
+
+	/**
+	 * Create a new empty symbol table.
+	 */
+	public LangSymbolTable(){
+		super();
+	}
+
+	/**
+	 * Get the default symbol table, that is used by the tables that do not specify their own.
+	 * @return the default symbol table.
+	 */
+	public static LangSymbolTable getDefault(){
+		return DEFAULT;
+	}
+
+	/**
+	 * Get the identifier of the given key.
+	 * @param key the key.
+	 * @return the identifier of the key or <code>-1</code> if the key is not registered.
+	 */
+	public int getId(String key){
+		if (key == null){
+			return -1;
+		}
+
+		Integer id = this.ids.get(key);
+		return id != null ? id.intValue() : -1;
+	}
+
+	/**
+	 * Get the key attached to the given identifier.
+	 * @param id the key identifier.
+	 * @return the key or <code>null</code> if no key is attached to the identifier.
+	 */
+	public String getKey(int id){
+		String[] array = this.keys;
+		return (id >= 0) && (id < array.length) ? array[id] : null;
+	}
+
+	/**
+	 * Get the number of registered keys.
+	 * @return the number of registered keys.
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 * Register the given key if needed and get its identifier.
+	 * @param key the key.
+	 * @return the identifier of the key.
+	 */
+	public int register(String key){
+
+		Integer id = this.ids.get(key);
+		if (id != null){
+			return id.intValue();
+		}
+
+		synchronized(this){
+
+			id = this.ids.get(key);
+			if (id != null){
+				return id.intValue();
+			}
+
+			int next = this.size;
+
+			String[] array = this.keys;
+			if (next >= array.length){
+				array = Arrays.copyOf(array, array.length * 2);
+			}
+			array[next] = key;
+
+			// The key is visible through its identifier before it is published within the map
+			this.keys      = array;
+			this.size      = next + 1;
+			this.keyChars += key.length();
+			this.ids.put(key, next);
+
+			return next;
+		}
+	}
+
+	/**
+	 * Get the template of the given value. If the value is already interned and still used, its template is returned.
+	 * Otherwise, a new template is compiled and interned.
+	 * @param value the value.
+	 * @return the template of the value or <code>null</code> if the value is <code>null</code>.
+	 */
+	public synchronized LangTemplate share(String value){
+
+		if (value == null){
+			return null;
+		}
+
+		WeakReference<LangTemplate> reference = this.values.get(value);
+		LangTemplate template = reference != null ? reference.get() : null;
+
+		if (template == null){
+			template = LangTemplate.compile(value);
+			this.values.put(template.getSource(), new WeakReference<LangTemplate>(template));
+		}
+
+		return template;
+	}
+
+	/**
+	 * Get the number of interned values that are still used.
+	 * @return the number of interned values that are still used.
+	 */
+	public synchronized int getValueCount(){
+		int count = 0;
+		Iterator<WeakReference<LangTemplate>> iter = this.values.values().iterator();
+		while(iter.hasNext()){
+			if (iter.next().get() != null){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get the estimated memory footprint of this table, in bytes. The footprint includes the keys and the entries of the interned values 
+	 * but not the values themselves, that are accounted by the tables that use them.
+	 * @return the estimated memory footprint of this table.
+	 */
+	public synchronized long getFootprint(){
+
+		return 64 + 8L * this.keys.length + (long) this.size * KEY_OVERHEAD + this.keyChars + (long) this.values.size() * VALUE_OVERHEAD;
+	}
+
+	@Override
+	public String toString(){
+		return "LangSymbolTable ["+this.size+" keys, "+getValueCount()+" values, "+getFootprint()+" bytes]";
+	}
+}
@@ -0,0 +1,276 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jorigin.Common;
+
+/**
+ * A lang resource value that is split once into literal segments and parameter slots. A parameter slot is made of a <code>%</code>
+ * (or <code>%%</code>) followed by the parameter number, starting from <code>1</code>. For example, the value <code>"Hello %1 and %2."</code>
+ * formatted with the parameters <code>"Fox"</code> and <code>"Dana"</code> gives <code>"Hello Fox and Dana."</code>.
+ * A <code>%</code> that is not followed by a digit is a literal character. A slot whose parameter is not given is replaced by an empty string.<br>
+ * <br>
+ * As the value is tokenized when the template is created, formatting does not use any regular expression. The methods {@link #format(StringBuilder, String[])}
+ * and {@link #format(Appendable, String[])} append the result to a caller supplied buffer and do not allocate any object.<br>
+ * <br>
+ * Templates are immutable and can be shared between threads.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public final class LangTemplate {
+
+	/**
+	 * The slots of the templates that have no parameter.
+	 */
+	private static final int[] NO_SLOT = new int[0];
+
+	/**
+	 * The source value.
+	 */
+	private final String source;
+
+	/**
+	 * The literal segments. The segment <code>i</code> is located before the slot <code>i</code> and the last segment follows the last slot.
+	 * A template without slot has no literal segment array, its source is used instead.
+	 */
+	private final String[] literals;
+
+	/**
+	 * The parameter index (starting from <code>0</code>) of each slot.
+	 */
+	private final int[] slots;
+
+	/**
+	 * The length of all the literal segments.
+	 */
+	private final int literalLength;
+
+	/**
+	 * The value formatted without any parameter.
+	 */
+	private final String stripped;
+
+	/**
+	 * Create a new template from the given value.
+	 * @param source the value.
+	 */
+	private LangTemplate(String source){
+
+		this.source = source;
+
+		List<String> segments = new ArrayList<String>();
+		List<Integer> indexes = new ArrayList<Integer>();
+
+		int length = source.length();
+		int start  = 0;
+		int i      = 0;
+		while (i < length){
+
+			if (source.charAt(i) == '%'){
+
+				int digits = i + 1;
+				if ((digits < length) && (source.charAt(digits) == '%')){
+					digits++;
+				}
+
+				int end    = digits;
+				int number = 0;
+				while ((end < length) && (source.charAt(end) >= '0') && (source.charAt(end) <= '9')){
+					number = number * 10 + (source.charAt(end) - '0');
+					end++;
+				}
+
+				if (end > digits){
+					segments.add(source.substring(start, i));
+					indexes.add(number - 1);
+					start = end;
+					i     = end;
+					continue;
+				}
+			}
+
+			i++;
+		}
+		segments.add(source.substring(start));
+
+		if (indexes.isEmpty()){
+			this.literals      = null;
+			this.slots         = NO_SLOT;
+			this.literalLength = source.length();
+			this.stripped      = source;
+			return;
+		}
+
+		this.literals = segments.toArray(new String[segments.size()]);
+
+		this.slots = new int[indexes.size()];
+		for(int j = 0; j < this.slots.length; j++){
+			this.slots[j] = indexes.get(j);
+		}
+
+		int sum = 0;
+		for(String literal : this.literals){
+			sum += literal.length();
+		}
+		this.literalLength = sum;
+
+		StringBuilder sb = new StringBuilder(this.literalLength);
+		for(String literal : this.literals){
+			sb.append(literal);
+		}
+		this.stripped = sb.toString();
+	}
+
+	/**
+	 * Compile the given lang resource value into a template.
+	 * @param value the value to compile.
+	 * @return the template or <code>null</code> if the value is <code>null</code>.
+	 */
+	public static LangTemplate compile(String value){
+		if (value == null){
+			return null;
+		}
+		return new LangTemplate(value);
+	}
+
+	/**
+	 * Get the value from which this template has been compiled.
+	 * @return the value from which this template has been compiled.
+	 */
+	public String getSource(){
+		return this.source;
+	}
+
+	/**
+	 * Get the number of parameter slots within this template.
+	 * @return the number of parameter slots within this template.
+	 */
+	public int getSlotCount(){
+		return this.slots.length;
+	}
+
+	/**
+	 * Get the number of parameters that are used by this template, that is the highest parameter number of its slots.
+	 * @return the number of parameters that are used by this template.
+	 */
+	public int getParameterCount(){
+		int count = 0;
+		for(int slot : this.slots){
+			count = Math.max(count, slot + 1);
+		}
+		return count;
+	}
+
+	/**
+	 * Format this template with the given parameters. If the template has no slot, the source value is returned and if no parameter is given,
+	 * the slots are removed. In these two cases, no object is allocated.
+	 * @param params the parameters, can be <code>null</code>.
+	 * @return the formatted value.
+	 */
+	public String format(String[] params){
+
+		if ((this.slots.length == 0) || (params == null) || (params.length == 0)){
+			return this.stripped;
+		}
+
+		StringBuilder sb = new StringBuilder(this.literalLength + 16 * this.slots.length);
+		format(sb, params);
+		return sb.toString();
+	}
+
+	/**
+	 * Append this template formatted with the given parameters to the given builder.
+	 * This method does not allocate any object as long as the builder has enough capacity.
+	 * @param sb the builder to append to.
+	 * @param params the parameters, can be <code>null</code>.
+	 * @return the given builder.
+	 */
+	public StringBuilder format(StringBuilder sb, String[] params){
+
+		if (this.literals == null){
+			return sb.append(this.source);
+		}
+
+		int i = 0;
+		for(; i < this.slots.length; i++){
+			sb.append(this.literals[i]);
+
+			int index = this.slots[i];
+			if ((params != null) && (index >= 0) && (index < params.length) && (params[index] != null)){
+				sb.append(params[index]);
+			}
+		}
+		sb.append(this.literals[i]);
+
+		return sb;
+	}
+
+	/**
+	 * Append this template formatted with the given parameters to the given appendable. This method does not allocate any object
+	 * but the given appendable can.
+	 * @param out the appendable to append to.
+	 * @param params the parameters, can be <code>null</code>.
+	 * @return the given appendable.
+	 * @throws IOException if an error occurs while appending.
+	 */
+	public Appendable format(Appendable out, String[] params) throws IOException {
+
+		if (this.literals == null){
+			return out.append(this.source);
+		}
+
+		int i = 0;
+		for(; i < this.slots.length; i++){
+			out.append(this.literals[i]);
+
+			int index = this.slots[i];
+			if ((params != null) && (index >= 0) && (index < params.length) && (params[index] != null)){
+				out.append(params[index]);
+			}
+		}
+		out.append(this.literals[i]);
+
+		return out;
+	}
+
+	/**
+	 * Get the estimated memory footprint of this template, in bytes. The footprint includes the source value and the literal segments.
+	 * @return the estimated memory footprint of this template.
+	 */
+	public long getFootprint(){
+
+		// Template and source value (one byte by character for latin-1 strings)
+		long footprint = 32 + 40 + this.source.length();
+
+		if (this.literals != null){
+			footprint += 16 + 4L * this.slots.length + 16 + 4L * this.literals.length + 40L * (this.literals.length + 1) + 2L * this.literalLength;
+		}
+
+		return footprint;
+	}
+
+	@Override
+	public String toString(){
+		return this.source;
+	}
+}
@@ -0,0 +1,498 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+
+/**
+ * A compact index of the classes that are available within a set of archives or directories.
+ * For each indexed class, the index stores its package, all its supertypes (super classes and implemented interfaces, transitively)
+ * and the annotations that are directly present on it.<br>
+ * <br>
+ * Index files are produced at build time by the <code>org.jorigin.lang.index.processor.ClassIndexProcessor</code> annotation processor and are stored as the <code>{@value #INDEX_RESOURCE}</code>
+ * resource. At runtime, all the index resources visible from a {@link java.lang.ClassLoader class loader} are merged by {@link #getIndex(ClassLoader)}.
+ * This enables to list classes of a package or the sub types of a given class without scanning directories or jar files.<br>
+ * <br>
+ * The binary format of an index file is:
+ * <ul>
+ * <li>the magic number <code>{@value #MAGIC}</code> and the format version (<code>int</code>, <code>int</code>)
+ * <li>the string table: the number of strings (<code>int</code>) followed by the strings (modified UTF-8)
+ * <li>the class table: the number of classes (<code>int</code>) followed, for each class, by the index of its name within the string table (<code>int</code>),
+ * the number of its supertypes (<code>short</code>) and their string indexes (<code>int</code>), the number of its annotations (<code>short</code>) and their string indexes (<code>int</code>).
+ * </ul>
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class ClassIndex {
+
+	/**
+	 * The location of the index files within archives and class directories.
+	 */
+	public static final String INDEX_RESOURCE = "META-INF/jcommon/classes.idx";
+
+	/**
+	 * The magic number that starts an index file (<code>JCIX</code>).
+	 */
+	public static final int MAGIC             = 0x4A434958;
+
+	/**
+	 * The version of the index file format.
+	 */
+	public static final int VERSION           = 1;
+
+	/**
+	 * The indexes already loaded, by class loader.
+	 */
+	private static final Map<ClassLoader, ClassIndex> indexes = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ClassIndex>());
+
+	/**
+	 * The indexed class names, by package name.
+	 */
+	private TreeMap<String, List<String>> classes     = null;
+
+	/**
+	 * The packages of the indexed classes and all their parent packages.
+	 */
+	private HashSet<String> packages                  = null;
+
+	/**
+	 * The supertypes of the indexed classes, by class name.
+	 */
+	private HashMap<String, String[]> supertypes      = null;
+
+	/**
+	 * The annotations of the indexed classes, by class name.
+	 */
+	private HashMap<String, String[]> annotations     = null;
+
+	/**
+	 * The indexed sub types, by super type name.
+	 */
+	private HashMap<String, List<String>> subtypes    = null;
+
+	/**
+	 * The indexed annotated classes, by annotation name.
+	 */
+	private HashMap<String, List<String>> annotated   = null;
+
+	/**
+	 * The roots of the class path locations (directories or archives) whose index resource has been merged within this index.
+	 */
+	private HashSet<String> locations                 = null;
+
+	/**
+	 * Create a new empty class index.
+	 */
+	public ClassIndex(){
+		this.classes     = new TreeMap<String, List<String>>();
+		this.packages    = new HashSet<String>();
+		this.supertypes  = new HashMap<String, String[]>();
+		this.annotations = new HashMap<String, String[]>();
+		this.subtypes    = new HashMap<String, List<String>>();
+		this.annotated   = new HashMap<String, List<String>>();
+		this.locations   = new HashSet<String>();
+	}
+
+	/**
+	 * Add a class to this index. If the class is already indexed, its description is replaced.
+	 * @param className the binary name of the class (for example <code>org.jorigin.Common</code> or <code>org.jorigin.Outer$Inner</code>).
+	 * @param classSupertypes the binary names of all the supertypes of the class (can be <code>null</code>).
+	 * @param classAnnotations the binary names of the annotations that are present on the class (can be <code>null</code>).
+	 */
+	public void add(String className, String[] classSupertypes, String[] classAnnotations){
+
+		if (className == null){
+			return;
+		}
+
+		if (this.supertypes.containsKey(className)){
+			remove(className);
+		}
+
+		String[] types = classSupertypes != null ? classSupertypes : new String[0];
+		String[] annots = classAnnotations != null ? classAnnotations : new String[0];
+
+		String packageName = getPackage(className);
+		this.classes.computeIfAbsent(packageName, k -> new ArrayList<String>()).add(className);
+
+		// The package and its parent packages are added until one of them is already known
+		int index = packageName.length();
+		while ((index > 0) && this.packages.add(packageName.substring(0, index))){
+			index = packageName.lastIndexOf('.', index - 1);
+		}
+		this.supertypes.put(className, types);
+		this.annotations.put(className, annots);
+
+		for(int i = 0; i < types.length; i++){
+			this.subtypes.computeIfAbsent(types[i], k -> new ArrayList<String>()).add(className);
+		}
+
+		for(int i = 0; i < annots.length; i++){
+			this.annotated.computeIfAbsent(annots[i], k -> new ArrayList<String>()).add(className);
+		}
+	}
+
+	/**
+	 * Remove the given class from this index.
+	 * @param className the binary name of the class to remove.
+	 */
+	private void remove(String className){
+
+		List<String> list = this.classes.get(getPackage(className));
+		if (list != null){
+			list.remove(className);
+		}
+
+		String[] types = this.supertypes.remove(className);
+		for(int i = 0; i < types.length; i++){
+			this.subtypes.get(types[i]).remove(className);
+		}
+
+		String[] annots = this.annotations.remove(className);
+		for(int i = 0; i < annots.length; i++){
+			this.annotated.get(annots[i]).remove(className);
+		}
+	}
+
+	/**
+	 * Add all the classes described by the given index to this one.
+	 * @param index the index to merge.
+	 */
+	public void addAll(ClassIndex index){
+		if (index != null){
+			Iterator<String> iter = index.supertypes.keySet().iterator();
+			while(iter.hasNext()){
+				String name = iter.next();
+				add(name, index.supertypes.get(name), index.annotations.get(name));
+			}
+			this.locations.addAll(index.locations);
+		}
+	}
+
+	/**
+	 * Check if the class path location (directory or archive) that holds the given resource is described by this index. 
+	 * Only the indexes that are obtained from {@link #getIndex(ClassLoader)} know the locations they describe.
+	 * @param url the URL of the resource, as given by {@link java.lang.ClassLoader#getResources(String)}.
+	 * @param name the name of the resource (for example a package path such as <code>org/jorigin/plugin</code>).
+	 * @return <code>true</code> if the location of the resource has an index that is merged within this one and <code>false</code> otherwise.
+	 */
+	public boolean isIndexed(URL url, String name){
+
+		if ((url == null) || (name == null) || this.locations.isEmpty()){
+			return false;
+		}
+
+		String location = url.toString();
+		while (location.endsWith("/")){
+			location = location.substring(0, location.length() - 1);
+		}
+
+		String suffix = name;
+		while (suffix.endsWith("/")){
+			suffix = suffix.substring(0, suffix.length() - 1);
+		}
+
+		return location.endsWith(suffix) && this.locations.contains(location.substring(0, location.length() - suffix.length()));
+	}
+
+	/**
+	 * Check if this index contains no class.
+	 * @return <code>true</code> if this index contains no class and <code>false</code> otherwise.
+	 */
+	public boolean isEmpty(){
+		return this.supertypes.isEmpty();
+	}
+
+	/**
+	 * Get the number of classes within this index.
+	 * @return the number of classes within this index.
+	 */
+	public int size(){
+		return this.supertypes.size();
+	}
+
+	/**
+	 * Check if this index contains classes from the given package or from one of its sub packages.
+	 * @param packageName the name of the package.
+	 * @return <code>true</code> if this index contains classes from the given package and <code>false</code> otherwise.
+	 */
+	public boolean containsPackage(String packageName){
+		if (packageName == null){
+			return false;
+		}
+
+		return this.packages.contains(packageName);
+	}
+
+	/**
+	 * Check if the class denoted by the given name is indexed.
+	 * @param className the binary name of the class.
+	 * @return <code>true</code> if the class is indexed and <code>false</code> otherwise.
+	 */
+	public boolean containsClass(String className){
+		return this.supertypes.containsKey(className);
+	}
+
+	/**
+	 * Get the names of the indexed classes that belong to the given package or to one of its sub packages.
+	 * @param packageName the name of the package.
+	 * @return the names of the classes that belong to the package.
+	 */
+	public List<String> getClassNames(String packageName){
+
+		List<String> names = new ArrayList<String>();
+
+		if (packageName != null){
+			Iterator<Map.Entry<String, List<String>>> iter = this.classes.tailMap(packageName, true).entrySet().iterator();
+			while(iter.hasNext()){
+				Map.Entry<String, List<String>> entry = iter.next();
+
+				if (entry.getKey().equals(packageName) || entry.getKey().startsWith(packageName+".")){
+					names.addAll(entry.getValue());
+				} else if (!entry.getKey().startsWith(packageName)){
+					break;
+				}
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * Get the names of the indexed classes that extend or implement, directly or not, the type denoted by the given name.
+	 * @param typeName the binary name of the super type.
+	 * @return the names of the indexed sub types.
+	 */
+	public List<String> getSubtypeNames(String typeName){
+		List<String> names = this.subtypes.get(typeName);
+		if (names != null){
+			return Collections.unmodifiableList(names);
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Get the names of the indexed classes on which the annotation denoted by the given name is present.
+	 * @param annotationName the binary name of the annotation.
+	 * @return the names of the annotated classes.
+	 */
+	public List<String> getAnnotatedNames(String annotationName){
+		List<String> names = this.annotated.get(annotationName);
+		if (names != null){
+			return Collections.unmodifiableList(names);
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Get the binary names of all the supertypes of the given class.
+	 * @param className the binary name of the class.
+	 * @return the supertypes of the class or <code>null</code> if the class is not indexed.
+	 */
+	public String[] getSupertypeNames(String className){
+		String[] types = this.supertypes.get(className);
+		return types != null ? types.clone() : null;
+	}
+
+	/**
+	 * Write this index to the given output stream using the index binary format. The stream is not closed by this method.
+	 * @param output the output stream.
+	 * @throws IOException if an error occurs.
+	 */
+	public void write(OutputStream output) throws IOException {
+
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		List<String> strings = new ArrayList<String>();
+
+		List<String> names = new ArrayList<String>(this.supertypes.keySet());
+		Collections.sort(names);
+
+		for(String name : names){
+			intern(name, ids, strings);
+			for(String type : this.supertypes.get(name)){
+				intern(type, ids, strings);
+			}
+			for(String annotation : this.annotations.get(name)){
+				intern(annotation, ids, strings);
+			}
+		}
+
+		DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(output));
+
+		dos.writeInt(MAGIC);
+		dos.writeInt(VERSION);
+
+		dos.writeInt(strings.size());
+		for(String str : strings){
+			dos.writeUTF(str);
+		}
+
+		dos.writeInt(names.size());
+		for(String name : names){
+			dos.writeInt(ids.get(name));
+
+			String[] types = this.supertypes.get(name);
+			dos.writeShort(types.length);
+			for(int i = 0; i < types.length; i++){
+				dos.writeInt(ids.get(types[i]));
+			}
+
+			String[] annots = this.annotations.get(name);
+			dos.writeShort(annots.length);
+			for(int i = 0; i < annots.length; i++){
+				dos.writeInt(ids.get(annots[i]));
+			}
+		}
+
+		dos.flush();
+	}
+
+	/**
+	 * Read an index from the given input stream. The stream is not closed by this method.
+	 * @param input the input stream.
+	 * @return the index read from the stream.
+	 * @throws IOException if an error occurs or if the stream does not contain a valid index.
+	 */
+	public static ClassIndex read(InputStream input) throws IOException {
+
+		DataInputStream dis = new DataInputStream(new BufferedInputStream(input));
+
+		if (dis.readInt() != MAGIC){
+			throw new IOException("Invalid class index (bad magic number)");
+		}
+
+		int version = dis.readInt();
+		if (version != VERSION){
+			throw new IOException("Unsupported class index version "+version);
+		}
+
+		String[] strings = new String[dis.readInt()];
+		for(int i = 0; i < strings.length; i++){
+			strings[i] = dis.readUTF();
+		}
+
+		ClassIndex index = new ClassIndex();
+
+		int count = dis.readInt();
+		for(int i = 0; i < count; i++){
+			String name = strings[dis.readInt()];
+
+			String[] types = new String[dis.readShort()];
+			for(int j = 0; j < types.length; j++){
+				types[j] = strings[dis.readInt()];
+			}
+
+			String[] annots = new String[dis.readShort()];
+			for(int j = 0; j < annots.length; j++){
+				annots[j] = strings[dis.readInt()];
+			}
+
+			index.add(name, types, annots);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Get the index that merges all the <code>{@value #INDEX_RESOURCE}</code> resources that are visible from the given class loader.
+	 * Indexes are loaded once by class loader and then cached. If no index resource is available, an empty index is returned.
+	 * @param loader the class loader to use.
+	 * @return the merged index.
+	 */
+	public static ClassIndex getIndex(ClassLoader loader){
+
+		if (loader == null){
+			return new ClassIndex();
+		}
+
+		ClassIndex index = indexes.get(loader);
+
+		if (index == null){
+			index = new ClassIndex();
+
+			try {
+				Enumeration<URL> resources = loader.getResources(INDEX_RESOURCE);
+				while(resources.hasMoreElements()){
+					URL url = resources.nextElement();
+
+					try (InputStream is = url.openStream()){
+						index.addAll(read(is));
+
+						String location = url.toString();
+						index.locations.add(location.substring(0, location.length() - INDEX_RESOURCE.length()));
+
+						Log.log(Level.CONFIG, "Class index {0} loaded", url);
+					} catch (IOException ex) {
+						Log.log(Level.WARNING, ex, "Cannot read class index {0}", url);
+					}
+				}
+			} catch (IOException ex) {
+				Common.logger.log(Level.WARNING, "Cannot list class indexes", ex);
+			}
+
+			indexes.put(loader, index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Get the package name of the class denoted by the given binary name.
+	 * @param className the binary name of the class.
+	 * @return the package name of the class (an empty string for the default package).
+	 */
+	private static String getPackage(String className){
+		int index = className.lastIndexOf('.');
+		return index > 0 ? className.substring(0, index) : "";
+	}
+
+	/**
+	 * Add the given string to the string table if it is not already present.
+	 * @param str the string to add.
+	 * @param ids the identifiers of the strings already within the table.
+	 * @param strings the string table.
+	 */
+	private static void intern(String str, Map<String, Integer> ids, List<String> strings){
+		if (!ids.containsKey(str)){
+			ids.put(str, strings.size());
+			strings.add(str);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang.index.processor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.jorigin.Common;
+import org.jorigin.lang.index.ClassIndex;
+
+/**
+ * An annotation processor that writes a {@link ClassIndex class index} of all the compiled classes within the
+ * <code>{@value ClassIndex#INDEX_RESOURCE}</code> resource of the compilation output.<br>
+ * <br>
+ * This processor does not claim any annotation and can run along with other processors. It is not declared as a service, so that it does not
+ * run within every compilation that depends on the jcommon-core archive. A project that needs a class index has to enable the processor explicitly
+ * within the <code>maven-compiler-plugin</code> configuration:
+ * <pre>
+ * &lt;annotationProcessorPaths&gt;
+ *   &lt;path&gt;
+ *     &lt;groupId&gt;org.jorigin&lt;/groupId&gt;
+ *     &lt;artifactId&gt;jcommon-core&lt;/artifactId&gt;
+ *     &lt;version&gt;${jcommon.version}&lt;/version&gt;
+ *   &lt;/path&gt;
+ * &lt;/annotationProcessorPaths&gt;
+ * &lt;annotationProcessors&gt;
+ *   &lt;annotationProcessor&gt;org.jorigin.lang.index.processor.ClassIndexProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ * The processor package is not exported by the module, as the processor is only used by the compiler.
+ * As the index only describes the classes that are compiled together, a partial (incremental) compilation produces a partial index.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * The index that is filled during the processing rounds.
+	 */
+	private ClassIndex index = new ClassIndex();
+
+	/**
+	 * Create a new class index processor.
+	 */
+	public ClassIndexProcessor() {
+		super();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		if (roundEnv.processingOver()){
+			if (!this.index.isEmpty()){
+				writeIndex();
+			}
+		} else {
+			for(Element element : roundEnv.getRootElements()){
+				if (element instanceof TypeElement){
+					addType((TypeElement) element);
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Add the given type and its member types to the index.
+	 * @param type the type to add.
+	 */
+	private void addType(TypeElement type){
+
+		Set<String> supertypes = new LinkedHashSet<String>();
+		collectSupertypes(type.asType(), supertypes);
+
+		List<? extends AnnotationMirror> mirrors = type.getAnnotationMirrors();
+		String[] annotations = new String[mirrors.size()];
+		for(int i = 0; i < annotations.length; i++){
+			annotations[i] = getBinaryName((TypeElement) mirrors.get(i).getAnnotationType().asElement());
+		}
+
+		this.index.add(getBinaryName(type), supertypes.toArray(new String[supertypes.size()]), annotations);
+
+		for(Element enclosed : type.getEnclosedElements()){
+			if (enclosed instanceof TypeElement){
+				addType((TypeElement) enclosed);
+			}
+		}
+	}
+
+	/**
+	 * Collect recursively the binary names of the supertypes of the given type.
+	 * @param type the type.
+	 * @param supertypes the set that receive the supertypes names.
+	 */
+	private void collectSupertypes(TypeMirror type, Set<String> supertypes){
+		for(TypeMirror supertype : this.processingEnv.getTypeUtils().directSupertypes(type)){
+			if (supertype.getKind() == TypeKind.DECLARED){
+				String name = getBinaryName((TypeElement) ((DeclaredType) supertype).asElement());
+				if (supertypes.add(name)){
+					collectSupertypes(supertype, supertypes);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the binary name of the given type.
+	 * @param type the type.
+	 * @return the binary name of the type.
+	 */
+	private String getBinaryName(TypeElement type){
+		return this.processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+
+	/**
+	 * Write the index to the class output.
+	 */
+	private void writeIndex(){
+		try {
+			FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ClassIndex.INDEX_RESOURCE);
+			try (OutputStream os = resource.openOutputStream()){
+				this.index.write(os);
+			}
+
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Class index written with "+this.index.size()+" classes");
+		} catch (IOException ex) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Cannot write class index: "+ex.getMessage());
+		}
+	}
+}
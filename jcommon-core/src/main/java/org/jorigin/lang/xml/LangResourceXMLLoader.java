@@ -0,0 +1,163 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.lang.xml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+
+/**
+ * A loader that parses a set of XML lang resource files concurrently and merges them into a single resource map.
+ * Each file is parsed by a {@link LangResourceXMLReader} that reuses the parsers of the executing thread. By default,
+ * the documents are not validated, which is faster and does not require any DTD to be loaded. Validation remains available
+ * using {@link #setValidating(boolean)}.<br>
+ * <br>
+ * The merge is deterministic: whatever the order in which the files are parsed, the resources are merged following the order of the given files,
+ * so a key that is defined by many files takes the value of the last one.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceXMLLoader {
+
+	/**
+	 * Is the XML documents are validated during parsing.
+	 */
+	private boolean validating = false;
+
+	/**
+	 * The executor that runs the parsing.
+	 */
+	private Executor executor  = null;
+
+	/**
+	 * Create a new non validating loader that uses the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 */
+	public LangResourceXMLLoader(){
+		this(false, null);
+	}
+
+	/**
+	 * Create a new loader that uses the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 * @param validating <code>true</code> if the XML documents have to be validated during parsing and <code>false</code> otherwise.
+	 */
+	public LangResourceXMLLoader(boolean validating){
+		this(validating, null);
+	}
+
+	/**
+	 * Create a new loader.
+	 * @param validating <code>true</code> if the XML documents have to be validated during parsing and <code>false</code> otherwise.
+	 * @param executor the executor that runs the parsing. If <code>null</code>, the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} is used.
+	 */
+	public LangResourceXMLLoader(boolean validating, Executor executor){
+		this.validating = validating;
+		this.executor   = executor != null ? executor : ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Get if the XML documents are validated during parsing.
+	 * @return <code>true</code> if the XML documents are validated during parsing and <code>false</code> otherwise.
+	 * @see #setValidating(boolean)
+	 */
+	public boolean isValidating(){
+		return this.validating;
+	}
+
+	/**
+	 * Set if the XML documents are validated during parsing.
+	 * @param validating <code>true</code> if the XML documents have to be validated during parsing and <code>false</code> otherwise.
+	 * @see #isValidating()
+	 */
+	public void setValidating(boolean validating){
+		this.validating = validating;
+	}
+
+	/**
+	 * Parse the given XML lang resource files and merge their resources. The documents that cannot be parsed are reported 
+	 * on the {@link org.jorigin.Common#logger common logger} and are ignored.
+	 * @param uris the URI of the XML documents to parse.
+	 * @return the merged resources.
+	 */
+	public HashMap<String, String> load(List<String> uris) {
+
+		HashMap<String, String> resources = new HashMap<String, String>();
+
+		if ((uris == null) || uris.isEmpty()){
+			return resources;
+		}
+
+		// A single document is parsed on the calling thread
+		if (uris.size() == 1){
+			HashMap<String, String> parsed = parse(uris.get(0));
+			if (parsed != null){
+				resources.putAll(parsed);
+			}
+			return resources;
+		}
+
+		List<CompletableFuture<HashMap<String, String>>> futures = new ArrayList<CompletableFuture<HashMap<String, String>>>(uris.size());
+
+		for(String uri : uris){
+			futures.add(CompletableFuture.supplyAsync(() -> parse(uri), this.executor));
+		}
+
+		// Merge following the given order
+		for(CompletableFuture<HashMap<String, String>> future : futures){
+			HashMap<String, String> parsed = future.join();
+			if (parsed != null){
+				resources.putAll(parsed);
+			}
+		}
+
+		return resources;
+	}
+
+	/**
+	 * Parse a single XML lang resource file. Unlike {@link #load(List)}, a document that cannot be parsed is not ignored: 
+	 * it is reported on the {@link org.jorigin.Common#logger common logger} and <code>null</code> is returned.
+	 * @param uri the URI of the XML document to parse.
+	 * @return the resources or <code>null</code> if the document cannot be parsed.
+	 */
+	public HashMap<String, String> loadDocument(String uri){
+		return parse(uri);
+	}
+
+	/**
+	 * Parse the given XML lang resource file.
+	 * @param uri the URI of the XML document to parse.
+	 * @return the resources or <code>null</code> if the document cannot be parsed.
+	 */
+	private HashMap<String, String> parse(String uri){
+		try {
+			HashMap<String, String> resources = new LangResourceXMLReader(this.validating).getParsedLangResource(uri);
+			Common.logger.config("Lang resource file "+uri+" loaded");
+			return resources;
+		} catch (IOException ex) {
+			Common.logger.log(Level.SEVERE, "Cannot read resource file "+uri, ex);
+			return null;
+		}
+	}
+}
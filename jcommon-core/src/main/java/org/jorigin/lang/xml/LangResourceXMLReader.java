@@ -61,6 +61,31 @@ public class LangResourceXMLReader{
 	 */
 	boolean working = false;
 
+	/**
+	 * Is the XML documents are validated during parsing.
+	 */
+	private boolean validating = true;
+
+	/**
+	 * The factory used for creating validating parsers.
+	 */
+	private static SAXParserFactory validatingFactory = null;
+
+	/**
+	 * The factory used for creating non validating parsers.
+	 */
+	private static SAXParserFactory factory = null;
+
+	/**
+	 * The validating parsers, reused by each thread.
+	 */
+	private static final ThreadLocal<XMLReader> validatingParsers = new ThreadLocal<XMLReader>();
+
+	/**
+	 * The non validating parsers, reused by each thread.
+	 */
+	private static final ThreadLocal<XMLReader> parsers = new ThreadLocal<XMLReader>();
+
 	/**
 	 * Create a new XML language resource reader.
 	 */
@@ -78,6 +103,17 @@ public class LangResourceXMLReader{
 		this.uri = uri;
 	}
 
+	/**
+	 * Create a new XML language resource reader.
+	 * @param validating <code>true</code> if the XML documents have to be validated during parsing and <code>false</code> otherwise.
+	 * @since 2.0.2
+	 */
+	public LangResourceXMLReader(boolean validating){
+		super();
+		this.uri = null;
+		this.validating = validating;
+	}
+
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
 	//AA ACCESSEURS                                                             AA
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
@@ -114,6 +150,26 @@ public class LangResourceXMLReader{
 	public boolean isWorking(){
 		return this.working;
 	}
+
+	/**
+	 * Get if the XML documents are validated during parsing. Validation is enabled by default.
+	 * @return <code>true</code> if the XML documents are validated during parsing and <code>false</code> otherwise.
+	 * @see #setValidating(boolean)
+	 * @since 2.0.2
+	 */
+	public boolean isValidating(){
+		return this.validating;
+	}
+
+	/**
+	 * Set if the XML documents are validated during parsing. Non validating parsing is faster and does not load external DTD.
+	 * @param validating <code>true</code> if the XML documents have to be validated during parsing and <code>false</code> otherwise.
+	 * @see #isValidating()
+	 * @since 2.0.2
+	 */
+	public void setValidating(boolean validating){
+		this.validating = validating;
+	}
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
 	//AA FIN ACCESSEURS                                                         AA
 	//AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA
@@ -135,11 +191,7 @@ public class LangResourceXMLReader{
 		this.working = true;
 
 		try {
-			SAXParserFactory factory = SAXParserFactory.newInstance();
-			factory.setNamespaceAware(true);
-			factory.setValidating(true);
-
-			parser = factory.newSAXParser().getXMLReader();
+			parser = getParser(this.validating);
 			xmlFilterImpl = new LangResourceXMLFilter(parser);
 
 			// Enregistrement du gestionnaire de contenu auprès du parseur
@@ -164,5 +216,58 @@ public class LangResourceXMLReader{
 		return contentHandler.getResources();
 	}
 
+	/**
+	 * Get a parser for the calling thread. The parsers are created once by thread and mode and are then reused.
+	 * @param validating <code>true</code> if the parser has to validate the documents and <code>false</code> otherwise.
+	 * @return the parser.
+	 * @throws ParserConfigurationException if the parser cannot be configured.
+	 * @throws SAXException if the parser cannot be created.
+	 */
+	private static XMLReader getParser(boolean validating) throws ParserConfigurationException, SAXException {
+
+		ThreadLocal<XMLReader> pool = validating ? validatingParsers : parsers;
+
+		XMLReader parser = pool.get();
+
+		if (parser == null){
+			SAXParserFactory parserFactory = getFactory(validating);
+			synchronized (parserFactory) {
+				parser = parserFactory.newSAXParser().getXMLReader();
+			}
+			pool.set(parser);
+		}
+
+		return parser;
+	}
+
+	/**
+	 * Get the parser factory for the given mode.
+	 * @param validating <code>true</code> if the factory has to create validating parsers and <code>false</code> otherwise.
+	 * @return the parser factory.
+	 */
+	private static synchronized SAXParserFactory getFactory(boolean validating){
+
+		if (validating){
+			if (validatingFactory == null){
+				validatingFactory = SAXParserFactory.newInstance();
+				validatingFactory.setNamespaceAware(true);
+				validatingFactory.setValidating(true);
+			}
+			return validatingFactory;
+		}
+
+		if (factory == null){
+			factory = SAXParserFactory.newInstance();
+			factory.setNamespaceAware(true);
+			factory.setValidating(false);
+			try {
+				factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			} catch (ParserConfigurationException | SAXException ex) {
+				// The feature is not supported by the parser, external DTD may be loaded
+			}
+		}
+		return factory;
+	}
+
 }
 
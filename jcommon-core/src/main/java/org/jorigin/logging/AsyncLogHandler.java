@@ -0,0 +1,540 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link Handler log handler} that publishes the records to a target handler from a dedicated writer thread. The threads that log
+ * only put the records within a bounded lock-free ring buffer and never wait for the target handler lock or for the output.<br>
+ * <br>
+ * The writer thread publishes the records by batches and flushes the target handler when {@link #getBatchSize() a batch} has been written
+ * or when the oldest unflushed record has waited for {@link #getFlushDelay() the flush delay}, so that an output write is shared by many records.
+ * When a {@link LogHandler} or a {@link RollingFileLogHandler} is used as target, its auto flush is disabled.<br>
+ * <br>
+ * When the ring buffer is full, the record is handled according to the overflow policy of the handler:
+ * <ul>
+ * <li>{@link #OVERFLOW_BLOCK}: the logging thread waits until a slot is available. No record is lost.
+ * <li>{@link #OVERFLOW_DROP}: the record is dropped.
+ * <li>{@link #OVERFLOW_DROP_BELOW_LEVEL}: the record is dropped if its level is lower than {@link #getDropLevel() the drop level}, otherwise the logging thread waits.
+ * </ul>
+ * The number of dropped records and the number of records waiting within the buffer are available using {@link #getDroppedCount()} and {@link #getQueuedCount()}.<br>
+ * <br>
+ * The records that are waiting when the handler is {@link #close() closed} are published before the target handler is closed.
+ * A call to {@link #flush()} waits until all the records published before the call are written and flushed.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class AsyncLogHandler extends Handler {
+
+	/**
+	 * The overflow policy that makes the logging thread wait until a slot is available.
+	 */
+	public static final int OVERFLOW_BLOCK            = 0;
+
+	/**
+	 * The overflow policy that drops the records that do not fit within the buffer.
+	 */
+	public static final int OVERFLOW_DROP             = 1;
+
+	/**
+	 * The overflow policy that drops the records whose level is lower than the drop level and makes the logging thread wait for the others.
+	 */
+	public static final int OVERFLOW_DROP_BELOW_LEVEL = 2;
+
+	/**
+	 * The default capacity of the ring buffer.
+	 */
+	public static final int DEFAULT_CAPACITY          = 8192;
+
+	/**
+	 * The default number of records written between two flushes.
+	 */
+	public static final int DEFAULT_BATCH_SIZE        = 256;
+
+	/**
+	 * The default delay before flushing written records, in milliseconds.
+	 */
+	public static final long DEFAULT_FLUSH_DELAY      = 100;
+
+	/**
+	 * The time a blocked logging thread waits before checking the buffer again, in nanoseconds.
+	 */
+	private static final long BLOCK_PARK_NANOS        = 50000L;
+
+	/**
+	 * The time an idle writer thread waits before checking the buffer again, in nanoseconds.
+	 */
+	private static final long IDLE_PARK_NANOS         = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * The target handler.
+	 */
+	private final Handler target;
+
+	/**
+	 * The records of the ring buffer.
+	 */
+	private final AtomicReferenceArray<LogRecord> records;
+
+	/**
+	 * The sequence of each slot of the ring buffer. A slot whose sequence is equal to a write position is free for this position,
+	 * a slot whose sequence is equal to a read position plus one holds the record of this position.
+	 */
+	private final AtomicLongArray sequences;
+
+	/**
+	 * The mask that gives a slot from a position.
+	 */
+	private final int mask;
+
+	/**
+	 * The next write position.
+	 */
+	private final AtomicLong tail = new AtomicLong(0);
+
+	/**
+	 * The next read position. Only written by the writer thread.
+	 */
+	private volatile long head = 0;
+
+	/**
+	 * The position up to which the records have been written and flushed.
+	 */
+	private volatile long flushed = 0;
+
+	/**
+	 * The overflow policy.
+	 */
+	private final int policy;
+
+	/**
+	 * The level under which the records are dropped with the {@link #OVERFLOW_DROP_BELOW_LEVEL} policy.
+	 */
+	private final Level dropLevel;
+
+	/**
+	 * The value of the drop level.
+	 */
+	private final int dropValue;
+
+	/**
+	 * The number of dropped records.
+	 */
+	private final AtomicLong dropped = new AtomicLong(0);
+
+	/**
+	 * The number of records published to the target handler.
+	 */
+	private volatile long written = 0;
+
+	/**
+	 * The number of records written between two flushes.
+	 */
+	private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * The delay before flushing written records, in nanoseconds.
+	 */
+	private volatile long flushDelay = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_DELAY);
+
+	/**
+	 * Is the writer thread parked.
+	 */
+	private volatile boolean sleeping = false;
+
+	/**
+	 * Is a flush requested.
+	 */
+	private volatile boolean flushRequested = false;
+
+	/**
+	 * Is the handler running.
+	 */
+	private volatile boolean running = true;
+
+	/**
+	 * The writer thread.
+	 */
+	private final Thread writer;
+
+	/**
+	 * Create a new asynchronous handler that publishes the records to the given target using a buffer of {@link #DEFAULT_CAPACITY} records
+	 * and the {@link #OVERFLOW_BLOCK} policy.
+	 * @param target the target handler.
+	 */
+	public AsyncLogHandler(Handler target){
+		this(target, DEFAULT_CAPACITY, OVERFLOW_BLOCK, Level.OFF);
+	}
+
+	/**
+	 * Create a new asynchronous handler that publishes the records to the given target.
+	 * @param target the target handler.
+	 * @param capacity the capacity of the ring buffer, rounded up to a power of two.
+	 * @param policy the overflow policy, {@link #OVERFLOW_BLOCK} or {@link #OVERFLOW_DROP}.
+	 */
+	public AsyncLogHandler(Handler target, int capacity, int policy){
+		this(target, capacity, policy, Level.OFF);
+	}
+
+	/**
+	 * Create a new asynchronous handler that publishes the records to the given target.
+	 * @param target the target handler.
+	 * @param capacity the capacity of the ring buffer, rounded up to a power of two.
+	 * @param policy the overflow policy, {@link #OVERFLOW_BLOCK}, {@link #OVERFLOW_DROP} or {@link #OVERFLOW_DROP_BELOW_LEVEL}.
+	 * @param dropLevel the level under which the records are dropped with the {@link #OVERFLOW_DROP_BELOW_LEVEL} policy.
+	 * @throws IllegalArgumentException if the target is <code>null</code>, if the capacity is not positive or if the policy is unknown.
+	 */
+	public AsyncLogHandler(Handler target, int capacity, int policy, Level dropLevel){
+
+		if (target == null){
+			throw new IllegalArgumentException("Target handler cannot be null.");
+		}
+
+		if ((capacity < 1) || (capacity > (1 << 30))){
+			throw new IllegalArgumentException("Invalid capacity "+capacity);
+		}
+
+		if ((policy < OVERFLOW_BLOCK) || (policy > OVERFLOW_DROP_BELOW_LEVEL)){
+			throw new IllegalArgumentException("Invalid overflow policy "+policy);
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity){
+			size = size << 1;
+		}
+
+		this.target    = target;
+		this.records   = new AtomicReferenceArray<LogRecord>(size);
+		this.sequences = new AtomicLongArray(size);
+		this.mask      = size - 1;
+		this.policy    = policy;
+		this.dropLevel = dropLevel != null ? dropLevel : Level.OFF;
+		this.dropValue = this.dropLevel.intValue();
+
+		for(int i = 0; i < size; i++){
+			this.sequences.set(i, i);
+		}
+
+		if (target instanceof LogHandler){
+			((LogHandler) target).setAutoFlush(false);
+		} else if (target instanceof RollingFileLogHandler){
+			((RollingFileLogHandler) target).setAutoFlush(false);
+		}
+
+		setLevel(target.getLevel());
+
+		this.writer = new Thread(this::write, "AsyncLogHandler");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Get the target handler.
+	 * @return the target handler.
+	 */
+	public Handler getTarget(){
+		return this.target;
+	}
+
+	/**
+	 * Get the capacity of the ring buffer.
+	 * @return the capacity of the ring buffer.
+	 */
+	public int getCapacity(){
+		return this.mask + 1;
+	}
+
+	/**
+	 * Get the overflow policy of the handler.
+	 * @return the overflow policy, {@link #OVERFLOW_BLOCK}, {@link #OVERFLOW_DROP} or {@link #OVERFLOW_DROP_BELOW_LEVEL}.
+	 */
+	public int getOverflowPolicy(){
+		return this.policy;
+	}
+
+	/**
+	 * Get the level under which the records are dropped when the buffer is full with the {@link #OVERFLOW_DROP_BELOW_LEVEL} policy.
+	 * @return the drop level.
+	 */
+	public Level getDropLevel(){
+		return this.dropLevel;
+	}
+
+	/**
+	 * Get the number of records written to the target handler between two flushes.
+	 * @return the number of records written between two flushes.
+	 */
+	public int getBatchSize(){
+		return this.batchSize;
+	}
+
+	/**
+	 * Set the number of records written to the target handler between two flushes.
+	 * @param size the number of records written between two flushes.
+	 */
+	public void setBatchSize(int size){
+		this.batchSize = Math.max(1, size);
+	}
+
+	/**
+	 * Get the delay after which the written records are flushed, in milliseconds.
+	 * @return the delay after which the written records are flushed.
+	 */
+	public long getFlushDelay(){
+		return TimeUnit.NANOSECONDS.toMillis(this.flushDelay);
+	}
+
+	/**
+	 * Set the delay after which the written records are flushed, in milliseconds.
+	 * @param delay the delay after which the written records are flushed.
+	 */
+	public void setFlushDelay(long delay){
+		this.flushDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+	}
+
+	/**
+	 * Get the number of records that are waiting within the buffer.
+	 * @return the number of records that are waiting within the buffer.
+	 */
+	public int getQueuedCount(){
+		return (int) Math.max(0, this.tail.get() - this.head);
+	}
+
+	/**
+	 * Get the number of records that have been dropped because the buffer was full.
+	 * @return the number of dropped records.
+	 */
+	public long getDroppedCount(){
+		return this.dropped.get();
+	}
+
+	/**
+	 * Get the number of records that have been published to the target handler.
+	 * @return the number of records that have been published to the target handler.
+	 */
+	public long getWrittenCount(){
+		return this.written;
+	}
+
+	/**
+	 * Publish a {@link LogRecord log record}. The record is put within the ring buffer and is published to the target handler by the writer thread.
+	 * The caller of the record is inferred before the record is buffered.
+	 * @param record description of the log event. A null record is silently ignored and is not published.
+	 */
+	@Override
+	public void publish(LogRecord record){
+
+		if ((!this.running) || (!isLoggable(record))){
+			return;
+		}
+
+		// The caller has to be inferred from the logging thread
+		record.getSourceClassName();
+
+		while (!offer(record)){
+
+			if ((this.policy == OVERFLOW_DROP) || ((this.policy == OVERFLOW_DROP_BELOW_LEVEL) && (record.getLevel().intValue() < this.dropValue))){
+				this.dropped.incrementAndGet();
+				return;
+			}
+
+			if (!this.running){
+				return;
+			}
+
+			LockSupport.unpark(this.writer);
+			LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+		}
+
+		if (this.sleeping){
+			this.sleeping = false;
+			LockSupport.unpark(this.writer);
+		}
+	}
+
+	/**
+	 * Wait until all the records published before this call are written and flushed.
+	 */
+	@Override
+	public void flush(){
+
+		long position = this.tail.get();
+
+		while ((this.flushed < position) && this.writer.isAlive() && (Thread.currentThread() != this.writer)){
+			this.flushRequested = true;
+			LockSupport.unpark(this.writer);
+			LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+		}
+	}
+
+	/**
+	 * Close the handler. The records that are waiting within the buffer are published and the target handler is closed.
+	 * The records published after this call are ignored.
+	 */
+	@Override
+	public void close() throws SecurityException {
+
+		this.running = false;
+		LockSupport.unpark(this.writer);
+
+		try {
+			this.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		this.target.close();
+	}
+
+	/**
+	 * Put the given record within the ring buffer.
+	 * @param record the record.
+	 * @return <code>true</code> if the record has been put and <code>false</code> if the buffer is full.
+	 */
+	private boolean offer(LogRecord record){
+
+		while (true){
+
+			long position = this.tail.get();
+			int slot      = (int) position & this.mask;
+			long diff     = this.sequences.get(slot) - position;
+
+			if (diff == 0){
+				if (this.tail.compareAndSet(position, position + 1)){
+					this.records.lazySet(slot, record);
+					this.sequences.set(slot, position + 1);
+					return true;
+				}
+			} else if (diff < 0){
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Take the next record from the ring buffer. Only called by the writer thread.
+	 * @return the next record or <code>null</code> if the buffer is empty.
+	 */
+	private LogRecord poll(){
+
+		long position = this.head;
+		int slot      = (int) position & this.mask;
+
+		if (this.sequences.get(slot) != position + 1){
+			return null;
+		}
+
+		LogRecord record = this.records.get(slot);
+		this.records.lazySet(slot, null);
+		this.sequences.set(slot, position + this.mask + 1);
+		this.head = position + 1;
+
+		return record;
+	}
+
+	/**
+	 * The writer thread loop.
+	 */
+	private void write(){
+
+		int pending   = 0;
+		long oldest   = 0;
+
+		while (this.running || (this.head < this.tail.get())){
+
+			LogRecord record = poll();
+
+			if (record != null){
+
+				if (pending == 0){
+					oldest = System.nanoTime();
+				}
+
+				try {
+					this.target.publish(record);
+				} catch (RuntimeException e) {
+					reportError("Cannot publish record", e, ErrorManager.WRITE_FAILURE);
+				}
+
+				this.written++;
+				pending++;
+
+				if (pending >= this.batchSize){
+					flushTarget();
+					pending = 0;
+				}
+
+				continue;
+			}
+
+			// The buffer is empty or a logging thread has not completed its write yet
+			long wait = IDLE_PARK_NANOS;
+			if (pending > 0){
+				wait = this.flushDelay - (System.nanoTime() - oldest);
+			}
+
+			if ((this.flushRequested) || ((pending > 0) && (wait <= 0))){
+				this.flushRequested = false;
+				flushTarget();
+				pending = 0;
+				continue;
+			}
+
+			if (this.head < this.tail.get()){
+				Thread.onSpinWait();
+				continue;
+			}
+
+			this.sleeping = true;
+			if ((this.head == this.tail.get()) && this.running && (!this.flushRequested)){
+				LockSupport.parkNanos(this, wait);
+			}
+			this.sleeping = false;
+		}
+
+		flushTarget();
+	}
+
+	/**
+	 * Flush the target handler and update the flushed position.
+	 */
+	private void flushTarget(){
+
+		long position = this.head;
+
+		try {
+			this.target.flush();
+		} catch (RuntimeException e) {
+			reportError("Cannot flush handler", e, ErrorManager.FLUSH_FAILURE);
+		}
+
+		this.flushed = position;
+	}
+}
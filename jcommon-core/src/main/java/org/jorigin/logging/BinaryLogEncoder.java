@@ -0,0 +1,202 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link LogEncoder log encoder} that writes the records in a compact binary form that is read back by a {@link BinaryLogReader}.
+ * An output starts with the {@link #MAGIC magic bytes} followed by the format {@link #VERSION version}. Each record is then made of
+ * (the integers are big endian):
+ * <pre>
+ * int     the length of the record, without this field
+ * long    the time in milliseconds since the epoch
+ * long    the sequence number
+ * long    the thread identifier
+ * int     the level value
+ * string  the level name
+ * string  the logger name
+ * string  the source class name
+ * string  the source method name
+ * string  the message
+ * varint  the number of parameters, followed by a string for each parameter
+ * byte    <code>1</code> if a throwable is attached and <code>0</code> otherwise. If a throwable is attached, it is written as:
+ *   string  the throwable class name
+ *   string  the throwable message
+ *   varint  the number of frames, followed for each frame by:
+ *     string  the declaring class name
+ *     string  the method name
+ *     string  the file name
+ *     int     the line number
+ *   byte    <code>1</code> if a cause is attached and <code>0</code> otherwise, followed by the cause written as a throwable
+ *   varint  the number of suppressed throwables, followed by each suppressed throwable written as a throwable
+ * </pre>
+ * A string is written as a variable length integer (7 bits by byte, least significant group first) equal to its UTF-8 length plus one, followed by its UTF-8 bytes.
+ * A <code>null</code> string is written as a single <code>0</code> byte. As each record starts with its length, a reader can skip the records it does not need.
+ * A throwable that has already been written within the record is not written again as a cause or as a suppressed throwable, so that the circular references end.<br>
+ * <br>
+ * The encoder is stateless and can be shared between threads.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class BinaryLogEncoder implements LogEncoder {
+
+	/**
+	 * The magic bytes that start a binary log output.
+	 */
+	public static final String MAGIC = "JLOG";
+
+	/**
+	 * The version of the binary format.
+	 */
+	public static final byte VERSION = 2;
+
+	/**
+	 * The header of a binary log output.
+	 */
+	private static final byte[] HEADER = {'J', 'L', 'O', 'G', VERSION};
+
+	/**
+	 * Create a new binary encoder.
+	 */
+	public BinaryLogEncoder(){
+		super();
+	}
+
+	@Override
+	public byte[] getHeader(){
+		return HEADER.clone();
+	}
+
+	@Override
+	public void encode(LogRecord record, ByteBuffer buffer) throws BufferOverflowException {
+
+		ByteOrder order = buffer.order();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+
+		try {
+			int start = buffer.position();
+			buffer.putInt(0);
+
+			buffer.putLong(record.getMillis());
+			buffer.putLong(record.getSequenceNumber());
+			buffer.putLong(record.getLongThreadID());
+			buffer.putInt(record.getLevel().intValue());
+			putString(buffer, record.getLevel().getName());
+			putString(buffer, record.getLoggerName());
+			putString(buffer, record.getSourceClassName());
+			putString(buffer, record.getSourceMethodName());
+			putString(buffer, record.getMessage());
+
+			Object[] params = record.getParameters();
+			if (params == null){
+				buffer.put((byte) 0);
+			} else {
+				EncoderUtil.putVarInt(buffer, params.length);
+				for(Object param : params){
+					putString(buffer, (param == null) || (param instanceof CharSequence) ? (CharSequence) param : String.valueOf(param));
+				}
+			}
+
+			Throwable thrown = record.getThrown();
+			if (thrown == null){
+				buffer.put((byte) 0);
+			} else {
+				buffer.put((byte) 1);
+				putThrowable(buffer, thrown, Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>()));
+			}
+
+			buffer.putInt(start, buffer.position() - start - 4);
+
+		} finally {
+			buffer.order(order);
+		}
+	}
+
+	/**
+	 * Write the given throwable, followed by its cause and its suppressed throwables that have not been written yet.
+	 * @param buffer the buffer to write to.
+	 * @param thrown the throwable.
+	 * @param written the throwables already written within the record.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putThrowable(ByteBuffer buffer, Throwable thrown, Set<Throwable> written){
+
+		written.add(thrown);
+
+		putString(buffer, thrown.getClass().getName());
+		putString(buffer, thrown.getMessage());
+
+		StackTraceElement[] elements = thrown.getStackTrace();
+		EncoderUtil.putVarInt(buffer, elements.length);
+		for(StackTraceElement element : elements){
+			putString(buffer, element.getClassName());
+			putString(buffer, element.getMethodName());
+			putString(buffer, element.getFileName());
+			buffer.putInt(element.getLineNumber());
+		}
+
+		Throwable cause = thrown.getCause();
+		if ((cause == null) || written.contains(cause)){
+			buffer.put((byte) 0);
+		} else {
+			buffer.put((byte) 1);
+			putThrowable(buffer, cause, written);
+		}
+
+		List<Throwable> suppressed = new ArrayList<Throwable>();
+		for(Throwable item : thrown.getSuppressed()){
+			if (!written.contains(item)){
+				suppressed.add(item);
+			}
+		}
+
+		EncoderUtil.putVarInt(buffer, suppressed.size());
+		for(Throwable item : suppressed){
+			putThrowable(buffer, item, written);
+		}
+	}
+
+	/**
+	 * Write a string as its UTF-8 length plus one followed by its UTF-8 bytes.
+	 * @param buffer the buffer to write to.
+	 * @param value the string, can be <code>null</code>.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putString(ByteBuffer buffer, CharSequence value){
+
+		if (value == null){
+			buffer.put((byte) 0);
+			return;
+		}
+
+		EncoderUtil.putVarInt(buffer, EncoderUtil.getUtf8Length(value) + 1);
+		EncoderUtil.putUtf8(buffer, value);
+	}
+}
@@ -0,0 +1,356 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A reader of the records written by a {@link BinaryLogEncoder}. The records are read one by one from a stream:
+ * <pre>
+ * try (BinaryLogReader reader = new BinaryLogReader(new FileInputStream("app.blog"))){
+ *   LogRecord record = null;
+ *   while ((record = reader.read()) != null){
+ *     ...
+ *   }
+ * }
+ * </pre>
+ * The standard levels are read as the {@link Level} constants and the other levels are read as levels with the same name and value.
+ * A throwable is read as a {@link Throwable} whose {@link Throwable#toString() string form} and stack trace are the ones of the original throwable,
+ * with its {@link Throwable#getCause() cause} chain and its {@link Throwable#getSuppressed() suppressed} throwables read the same way.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class BinaryLogReader implements Closeable {
+
+	/**
+	 * The input.
+	 */
+	private final DataInputStream input;
+
+	/**
+	 * The bytes of the current record.
+	 */
+	private byte[] bytes = new byte[1024];
+
+	/**
+	 * A level read from a binary log that is not a standard level.
+	 */
+	private static final class DecodedLevel extends Level {
+
+		/**
+		 * Serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Create a new level.
+		 * @param name the level name.
+		 * @param value the level value.
+		 */
+		private DecodedLevel(String name, int value){
+			super(name, value);
+		}
+	}
+
+	/**
+	 * A throwable read from a binary log.
+	 */
+	private static final class DecodedThrowable extends Throwable {
+
+		/**
+		 * Serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The class name of the original throwable.
+		 */
+		private final String type;
+
+		/**
+		 * Create a new throwable.
+		 * @param type the class name of the original throwable.
+		 * @param message the message of the original throwable.
+		 * @param cause the cause of the original throwable or <code>null</code> if none.
+		 */
+		private DecodedThrowable(String type, String message, Throwable cause){
+			super(message, cause, true, true);
+			this.type = type;
+		}
+
+		@Override
+		public String toString(){
+			return getMessage() != null ? this.type+": "+getMessage() : this.type;
+		}
+	}
+
+	/**
+	 * Create a new reader that reads the given stream. The header of the stream is read and checked.
+	 * @param is the stream to read.
+	 * @throws IOException if the stream is not a binary log or if an error occurs.
+	 */
+	public BinaryLogReader(InputStream is) throws IOException {
+
+		this.input = new DataInputStream(is instanceof BufferedInputStream ? is : new BufferedInputStream(is));
+
+		byte[] header = new byte[BinaryLogEncoder.MAGIC.length() + 1];
+		try {
+			this.input.readFully(header);
+		} catch (EOFException e) {
+			throw new IOException("Invalid binary log: missing header", e);
+		}
+
+		if (!BinaryLogEncoder.MAGIC.equals(new String(header, 0, header.length - 1, StandardCharsets.US_ASCII))){
+			throw new IOException("Invalid binary log: bad magic bytes");
+		}
+
+		if (header[header.length - 1] != BinaryLogEncoder.VERSION){
+			throw new IOException("Unsupported binary log version "+header[header.length - 1]);
+		}
+	}
+
+	/**
+	 * Read the next record.
+	 * @return the next record or <code>null</code> if the end of the stream is reached.
+	 * @throws IOException if the record is truncated or invalid or if an error occurs.
+	 */
+	public LogRecord read() throws IOException {
+
+		ByteBuffer buffer = next();
+		if (buffer == null){
+			return null;
+		}
+
+		return decode(buffer);
+	}
+
+	/**
+	 * Decode a record, without its length, from the given buffer. The buffer has to be backed by an accessible array.
+	 * @param buffer the buffer that holds the record.
+	 * @return the record.
+	 * @throws IOException if the record is truncated or invalid.
+	 */
+	static LogRecord decode(ByteBuffer buffer) throws IOException {
+
+		try {
+			long millis     = buffer.getLong();
+			long sequence   = buffer.getLong();
+			long thread     = buffer.getLong();
+			int levelValue  = buffer.getInt();
+			String levelName = getString(buffer);
+
+			LogRecord record = new LogRecord(getLevel(levelName, levelValue), null);
+			record.setInstant(Instant.ofEpochMilli(millis));
+			record.setSequenceNumber(sequence);
+			record.setLongThreadID(thread);
+			record.setLoggerName(getString(buffer));
+			record.setSourceClassName(getString(buffer));
+			record.setSourceMethodName(getString(buffer));
+			record.setMessage(getString(buffer));
+
+			int count = getVarInt(buffer);
+			if (count > 0){
+				Object[] params = new Object[count];
+				for(int i = 0; i < count; i++){
+					params[i] = getString(buffer);
+				}
+				record.setParameters(params);
+			}
+
+			if (buffer.get() != 0){
+
+				record.setThrown(getThrowable(buffer));
+			}
+
+			return record;
+
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NullPointerException e) {
+			throw new IOException("Invalid binary log record", e);
+		}
+	}
+
+	/**
+	 * Decode a throwable with its cause and its suppressed throwables from the given buffer.
+	 * @param buffer the buffer that holds the throwable.
+	 * @return the throwable.
+	 * @throws BufferUnderflowException if the throwable is truncated.
+	 */
+	private static Throwable getThrowable(ByteBuffer buffer){
+
+		String type    = getString(buffer);
+		String message = getString(buffer);
+
+		StackTraceElement[] elements = new StackTraceElement[getVarInt(buffer)];
+		for(int i = 0; i < elements.length; i++){
+			String className  = getString(buffer);
+			String methodName = getString(buffer);
+			String fileName   = getString(buffer);
+			elements[i]       = new StackTraceElement(className, methodName, fileName, buffer.getInt());
+		}
+
+		Throwable cause = (buffer.get() != 0) ? getThrowable(buffer) : null;
+
+		DecodedThrowable thrown = new DecodedThrowable(type, message, cause);
+		thrown.setStackTrace(elements);
+
+		int count = getVarInt(buffer);
+		for(int i = 0; i < count; i++){
+			thrown.addSuppressed(getThrowable(buffer));
+		}
+
+		return thrown;
+	}
+
+	/**
+	 * Skip the next record without decoding it.
+	 * @return <code>true</code> if a record has been skipped and <code>false</code> if the end of the stream is reached.
+	 * @throws IOException if the record is truncated or if an error occurs.
+	 */
+	public boolean skip() throws IOException {
+
+		int length = readLength();
+		if (length < 0){
+			return false;
+		}
+
+		this.input.skipNBytes(length);
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.input.close();
+	}
+
+	/**
+	 * Read the length of the next record.
+	 * @return the length of the next record or <code>-1</code> if the end of the stream is reached.
+	 * @throws IOException if the length is invalid or if an error occurs.
+	 */
+	private int readLength() throws IOException {
+
+		int b = this.input.read();
+		if (b < 0){
+			return -1;
+		}
+
+		int length = (b << 24) | (this.input.readUnsignedByte() << 16) | (this.input.readUnsignedByte() << 8) | this.input.readUnsignedByte();
+		if (length < 0){
+			throw new IOException("Invalid binary log record length "+length);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Read the bytes of the next record.
+	 * @return a buffer that holds the bytes of the next record or <code>null</code> if the end of the stream is reached.
+	 * @throws IOException if the record is truncated or if an error occurs.
+	 */
+	private ByteBuffer next() throws IOException {
+
+		int length = readLength();
+		if (length < 0){
+			return null;
+		}
+
+		if (this.bytes.length < length){
+			this.bytes = new byte[Math.max(length, this.bytes.length * 2)];
+		}
+
+		this.input.readFully(this.bytes, 0, length);
+
+		return ByteBuffer.wrap(this.bytes, 0, length);
+	}
+
+	/**
+	 * Read a string.
+	 * @param buffer the buffer to read.
+	 * @return the string, can be <code>null</code>.
+	 */
+	private static String getString(ByteBuffer buffer){
+
+		int length = getVarInt(buffer) - 1;
+		if (length < 0){
+			return null;
+		}
+
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	/**
+	 * Read a variable length integer.
+	 * @param buffer the buffer to read.
+	 * @return the integer.
+	 */
+	private static int getVarInt(ByteBuffer buffer){
+
+		int value = 0;
+		int shift = 0;
+
+		while (true){
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0){
+				return value;
+			}
+			shift += 7;
+			if (shift > 28){
+				throw new IllegalArgumentException("Invalid variable length integer");
+			}
+		}
+	}
+
+	/**
+	 * Get the level with the given name and value.
+	 * @param name the level name.
+	 * @param value the level value.
+	 * @return the level.
+	 */
+	private static Level getLevel(String name, int value){
+
+		if (name != null){
+			try {
+				Level level = Level.parse(name);
+				if (level.intValue() == value){
+					return level;
+				}
+			} catch (IllegalArgumentException e) {
+				// Not a known level
+			}
+		}
+
+		return new DecodedLevel(name != null ? name : Integer.toString(value), value);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import org.jorigin.Common;
+
+/**
+ * Utility methods that write characters and numbers into byte buffers without allocation. They are used by the {@link LogEncoder log encoders}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+final class EncoderUtil {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private EncoderUtil(){
+		// This class is not instantiable.
+	}
+
+	/**
+	 * Get the number of bytes of the given characters encoded in UTF-8. An unpaired surrogate counts as one byte, as it is encoded as <code>?</code>.
+	 * @param cs the characters.
+	 * @return the number of bytes of the characters encoded in UTF-8.
+	 */
+	static int getUtf8Length(CharSequence cs){
+
+		int length = cs.length();
+		int bytes  = 0;
+
+		for(int i = 0; i < length; i++){
+			char c = cs.charAt(i);
+			if (c < 0x80){
+				bytes++;
+			} else if (c < 0x800){
+				bytes += 2;
+			} else if (Character.isHighSurrogate(c) && (i + 1 < length) && Character.isLowSurrogate(cs.charAt(i + 1))){
+				bytes += 4;
+				i++;
+			} else if (Character.isSurrogate(c)){
+				bytes++;
+			} else {
+				bytes += 3;
+			}
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Write the given characters encoded in UTF-8. An unpaired surrogate is encoded as <code>?</code>.
+	 * @param buffer the buffer to write to.
+	 * @param cs the characters.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	static void putUtf8(ByteBuffer buffer, CharSequence cs){
+
+		int length = cs.length();
+
+		for(int i = 0; i < length; i++){
+			char c = cs.charAt(i);
+			if (c < 0x80){
+				buffer.put((byte) c);
+			} else {
+				i = putUtf8(buffer, cs, c, i);
+			}
+		}
+	}
+
+	/**
+	 * Write a non ASCII character encoded in UTF-8.
+	 * @param buffer the buffer to write to.
+	 * @param cs the characters.
+	 * @param c the character to write.
+	 * @param i the index of the character.
+	 * @return the index of the last character that has been written.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	static int putUtf8(ByteBuffer buffer, CharSequence cs, char c, int i){
+
+		if (c < 0x800){
+			buffer.put((byte) (0xC0 | (c >> 6)));
+			buffer.put((byte) (0x80 | (c & 0x3F)));
+		} else if (Character.isHighSurrogate(c) && (i + 1 < cs.length()) && Character.isLowSurrogate(cs.charAt(i + 1))){
+			int cp = Character.toCodePoint(c, cs.charAt(i + 1));
+			buffer.put((byte) (0xF0 | (cp >> 18)));
+			buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+			buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+			buffer.put((byte) (0x80 | (cp & 0x3F)));
+			return i + 1;
+		} else if (Character.isSurrogate(c)){
+			buffer.put((byte) '?');
+		} else {
+			buffer.put((byte) (0xE0 | (c >> 12)));
+			buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+			buffer.put((byte) (0x80 | (c & 0x3F)));
+		}
+
+		return i;
+	}
+
+	/**
+	 * Write the given ASCII characters.
+	 * @param buffer the buffer to write to.
+	 * @param ascii the characters, that have to be ASCII.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	static void putAscii(ByteBuffer buffer, String ascii){
+		int length = ascii.length();
+		for(int i = 0; i < length; i++){
+			buffer.put((byte) ascii.charAt(i));
+		}
+	}
+
+	/**
+	 * Write the decimal representation of the given value.
+	 * @param buffer the buffer to write to.
+	 * @param value the value.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	static void putDecimal(ByteBuffer buffer, long value){
+
+		if (value == Long.MIN_VALUE){
+			putAscii(buffer, "-9223372036854775808");
+			return;
+		}
+
+		if (value < 0){
+			buffer.put((byte) '-');
+			value = -value;
+		}
+
+		int digits = 1;
+		for(long v = value / 10; v > 0; v = v / 10){
+			digits++;
+		}
+
+		if (buffer.remaining() < digits){
+			throw new BufferOverflowException();
+		}
+
+		int end = buffer.position() + digits;
+		for(int i = end - 1; i >= buffer.position(); i--){
+			buffer.put(i, (byte) ('0' + (value % 10)));
+			value = value / 10;
+		}
+		buffer.position(end);
+	}
+
+	/**
+	 * Write the given value as an unsigned variable length integer (7 bits by byte, least significant group first).
+	 * @param buffer the buffer to write to.
+	 * @param value the value, that has to be positive.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	static void putVarInt(ByteBuffer buffer, int value){
+		while ((value & ~0x7F) != 0){
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value = value >>> 7;
+		}
+		buffer.put((byte) value);
+	}
+}
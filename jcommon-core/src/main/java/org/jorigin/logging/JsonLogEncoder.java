@@ -0,0 +1,257 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link LogEncoder log encoder} that writes each record as a JSON object on its own line (<a href="https://jsonlines.org">JSON lines</a>), encoded in UTF-8:
+ * <pre>
+ * {"time":1717407600000,"seq":42,"level":"SEVERE","logger":"org.jorigin.Common","thread":1,"class":"org.jorigin.plugin.DefaultPluginManager","method":"loadPlugins","message":"Cannot load %1","params":["sample.jar"],"thrown":{"type":"java.io.IOException","message":"Broken","frames":["org.jorigin.plugin.PluginToolkit.loadPlugins(PluginToolkit.java:120)"],"cause":{"type":"java.util.zip.ZipException","message":"Truncated","frames":[...]},"suppressed":[...]}}
+ * </pre>
+ * The <code>time</code> is given in milliseconds since the epoch. The fields whose value is <code>null</code> are omitted. The strings are escaped following the JSON specification,
+ * the control characters are written as <code>\\uXXXX</code> escapes. The message is written as given to the logger and its parameters (if any) are written separately.
+ * A throwable is written with its {@link Throwable#getCause() cause} chain and its {@link Throwable#getSuppressed() suppressed} throwables, with the same form.
+ * A throwable that has already been written within the record is not written again, so that the circular references end.<br>
+ * <br>
+ * The encoder is stateless and can be shared between threads.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class JsonLogEncoder implements LogEncoder {
+
+	/**
+	 * The hexadecimal digits.
+	 */
+	private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+	/**
+	 * The empty header.
+	 */
+	private static final byte[] HEADER = new byte[0];
+
+	/**
+	 * Create a new JSON lines encoder.
+	 */
+	public JsonLogEncoder(){
+		super();
+	}
+
+	@Override
+	public byte[] getHeader(){
+		return HEADER;
+	}
+
+	@Override
+	public void encode(LogRecord record, ByteBuffer buffer) throws BufferOverflowException {
+
+		EncoderUtil.putAscii(buffer, "{\"time\":");
+		EncoderUtil.putDecimal(buffer, record.getMillis());
+
+		EncoderUtil.putAscii(buffer, ",\"seq\":");
+		EncoderUtil.putDecimal(buffer, record.getSequenceNumber());
+
+		putField(buffer, "level", record.getLevel().getName());
+		putField(buffer, "logger", record.getLoggerName());
+
+		EncoderUtil.putAscii(buffer, ",\"thread\":");
+		EncoderUtil.putDecimal(buffer, record.getLongThreadID());
+
+		putField(buffer, "class", record.getSourceClassName());
+		putField(buffer, "method", record.getSourceMethodName());
+		putField(buffer, "message", record.getMessage());
+
+		Object[] params = record.getParameters();
+		if ((params != null) && (params.length > 0)){
+			EncoderUtil.putAscii(buffer, ",\"params\":[");
+			for(int i = 0; i < params.length; i++){
+				if (i > 0){
+					buffer.put((byte) ',');
+				}
+				if (params[i] == null){
+					EncoderUtil.putAscii(buffer, "null");
+				} else {
+					putString(buffer, params[i] instanceof CharSequence ? (CharSequence) params[i] : String.valueOf(params[i]));
+				}
+			}
+			buffer.put((byte) ']');
+		}
+
+		Throwable thrown = record.getThrown();
+		if (thrown != null){
+			EncoderUtil.putAscii(buffer, ",\"thrown\":");
+			putThrowable(buffer, thrown, Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>()));
+		}
+
+		EncoderUtil.putAscii(buffer, "}\n");
+	}
+
+	/**
+	 * Write the given throwable as a JSON object, followed by its cause and its suppressed throwables that have not been written yet.
+	 * @param buffer the buffer to write to.
+	 * @param thrown the throwable.
+	 * @param written the throwables already written within the record.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putThrowable(ByteBuffer buffer, Throwable thrown, Set<Throwable> written){
+
+		written.add(thrown);
+
+		EncoderUtil.putAscii(buffer, "{\"type\":");
+		putString(buffer, thrown.getClass().getName());
+
+		putField(buffer, "message", thrown.getMessage());
+
+		EncoderUtil.putAscii(buffer, ",\"frames\":[");
+		StackTraceElement[] elements = thrown.getStackTrace();
+		for(int i = 0; i < elements.length; i++){
+			if (i > 0){
+				buffer.put((byte) ',');
+			}
+			buffer.put((byte) '"');
+			putFrame(buffer, elements[i]);
+			buffer.put((byte) '"');
+		}
+		buffer.put((byte) ']');
+
+		Throwable cause = thrown.getCause();
+		if ((cause != null) && !written.contains(cause)){
+			EncoderUtil.putAscii(buffer, ",\"cause\":");
+			putThrowable(buffer, cause, written);
+		}
+
+		boolean first = true;
+		for(Throwable suppressed : thrown.getSuppressed()){
+			if (!written.contains(suppressed)){
+				EncoderUtil.putAscii(buffer, first ? ",\"suppressed\":[" : ",");
+				putThrowable(buffer, suppressed, written);
+				first = false;
+			}
+		}
+		if (!first){
+			buffer.put((byte) ']');
+		}
+
+		buffer.put((byte) '}');
+	}
+
+	/**
+	 * Write a string field. Nothing is written if the value is <code>null</code>.
+	 * @param buffer the buffer to write to.
+	 * @param name the field name.
+	 * @param value the field value.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putField(ByteBuffer buffer, String name, CharSequence value){
+
+		if (value == null){
+			return;
+		}
+
+		EncoderUtil.putAscii(buffer, ",\"");
+		EncoderUtil.putAscii(buffer, name);
+		EncoderUtil.putAscii(buffer, "\":");
+		putString(buffer, value);
+	}
+
+	/**
+	 * Write a quoted and escaped JSON string.
+	 * @param buffer the buffer to write to.
+	 * @param value the string.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putString(ByteBuffer buffer, CharSequence value){
+		buffer.put((byte) '"');
+		putEscaped(buffer, value);
+		buffer.put((byte) '"');
+	}
+
+	/**
+	 * Write the given characters escaped following the JSON specification.
+	 * @param buffer the buffer to write to.
+	 * @param value the characters.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putEscaped(ByteBuffer buffer, CharSequence value){
+
+		int length = value.length();
+
+		for(int i = 0; i < length; i++){
+
+			char c = value.charAt(i);
+
+			if (c >= 0x80){
+				i = EncoderUtil.putUtf8(buffer, value, c, i);
+			} else if ((c == '"') || (c == '\\')){
+				buffer.put((byte) '\\');
+				buffer.put((byte) c);
+			} else if (c >= 0x20){
+				buffer.put((byte) c);
+			} else if (c == '\n'){
+				buffer.put((byte) '\\');
+				buffer.put((byte) 'n');
+			} else if (c == '\r'){
+				buffer.put((byte) '\\');
+				buffer.put((byte) 'r');
+			} else if (c == '\t'){
+				buffer.put((byte) '\\');
+				buffer.put((byte) 't');
+			} else {
+				EncoderUtil.putAscii(buffer, "\\u00");
+				buffer.put(HEX[c >> 4]);
+				buffer.put(HEX[c & 0xF]);
+			}
+		}
+	}
+
+	/**
+	 * Write the given stack frame, as <code>class.method(file:line)</code>.
+	 * @param buffer the buffer to write to.
+	 * @param element the stack frame.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	private static void putFrame(ByteBuffer buffer, StackTraceElement element){
+
+		putEscaped(buffer, element.getClassName());
+		buffer.put((byte) '.');
+		putEscaped(buffer, element.getMethodName());
+		buffer.put((byte) '(');
+
+		if (element.isNativeMethod()){
+			EncoderUtil.putAscii(buffer, "Native Method");
+		} else if (element.getFileName() == null){
+			EncoderUtil.putAscii(buffer, "Unknown Source");
+		} else {
+			putEscaped(buffer, element.getFileName());
+			if (element.getLineNumber() >= 0){
+				buffer.put((byte) ':');
+				EncoderUtil.putDecimal(buffer, element.getLineNumber());
+			}
+		}
+
+		buffer.put((byte) ')');
+	}
+}
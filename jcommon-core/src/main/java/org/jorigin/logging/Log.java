@@ -0,0 +1,218 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.jorigin.Common;
+
+/**
+ * A logging facade over the {@link Common#logger common logger} whose methods return immediately when the level is disabled,
+ * so that a disabled log call neither builds its message nor allocates any object:
+ * <ul>
+ * <li>the parameterized methods take a message pattern whose <code>{0}</code>, <code>{1}</code>, ... placeholders are replaced by the parameters. The pattern and
+ * the parameters are kept within the {@link LogRecord log record} and the message is only built by the handler that writes the record
+ * (see {@link LogFormatter} and {@link LogEncoder});
+ * <li>the {@link Supplier} based methods only call the supplier if the level is enabled.
+ * </ul>
+ * For example:
+ * <pre>
+ * Log.log(Level.INFO, "Plugin {0} loaded from {1}", plugin.getName(), archive);
+ * Log.log(Level.SEVERE, ex, "Cannot open jar {0}", archive);
+ * Log.log(Level.FINE, () -&gt; "Transform: "+transform);
+ * </pre>
+ * Primitive parameters are boxed by the caller before the level is checked. On hot paths that log primitive values or many lines,
+ * the calls should be guarded by {@link #isLoggable(Level)}.<br>
+ * <br>
+ * The source class and method of the records are the ones of the caller of the facade. They are only computed when the level is enabled.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public final class Log {
+
+	/**
+	 * The walker used to find the caller of the facade.
+	 */
+	private static final StackWalker WALKER = StackWalker.getInstance();
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private Log(){
+		// This class is not instantiable.
+	}
+
+	/**
+	 * Check if a record of the given level would be logged by the {@link Common#logger common logger}.
+	 * @param level the level.
+	 * @return <code>true</code> if a record of the given level would be logged and <code>false</code> otherwise.
+	 */
+	public static boolean isLoggable(Level level){
+		Logger logger = Common.logger;
+		return (logger != null) && logger.isLoggable(level);
+	}
+
+	/**
+	 * Log a message.
+	 * @param level the level of the message.
+	 * @param message the message.
+	 */
+	public static void log(Level level, String message){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, message, null, null);
+		}
+	}
+
+	/**
+	 * Log a message with an attached throwable.
+	 * @param level the level of the message.
+	 * @param message the message.
+	 * @param thrown the throwable attached to the message.
+	 */
+	public static void log(Level level, String message, Throwable thrown){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, message, null, thrown);
+		}
+	}
+
+	/**
+	 * Log a message that is only built if the level is enabled.
+	 * @param level the level of the message.
+	 * @param supplier the supplier of the message.
+	 */
+	public static void log(Level level, Supplier<String> supplier){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, supplier.get(), null, null);
+		}
+	}
+
+	/**
+	 * Log a message that is only built if the level is enabled, with an attached throwable.
+	 * @param level the level of the message.
+	 * @param thrown the throwable attached to the message.
+	 * @param supplier the supplier of the message.
+	 */
+	public static void log(Level level, Throwable thrown, Supplier<String> supplier){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, supplier.get(), null, thrown);
+		}
+	}
+
+	/**
+	 * Log a parameterized message.
+	 * @param level the level of the message.
+	 * @param pattern the message pattern, that refers to the parameter as <code>{0}</code>.
+	 * @param param the parameter.
+	 */
+	public static void log(Level level, String pattern, Object param){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, pattern, new Object[] {param}, null);
+		}
+	}
+
+	/**
+	 * Log a parameterized message.
+	 * @param level the level of the message.
+	 * @param pattern the message pattern, that refers to the parameters as <code>{0}</code> and <code>{1}</code>.
+	 * @param param1 the first parameter.
+	 * @param param2 the second parameter.
+	 */
+	public static void log(Level level, String pattern, Object param1, Object param2){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, pattern, new Object[] {param1, param2}, null);
+		}
+	}
+
+	/**
+	 * Log a parameterized message.
+	 * @param level the level of the message.
+	 * @param pattern the message pattern, that refers to the parameters as <code>{0}</code>, <code>{1}</code> and <code>{2}</code>.
+	 * @param param1 the first parameter.
+	 * @param param2 the second parameter.
+	 * @param param3 the third parameter.
+	 */
+	public static void log(Level level, String pattern, Object param1, Object param2, Object param3){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, pattern, new Object[] {param1, param2, param3}, null);
+		}
+	}
+
+	/**
+	 * Log a parameterized message. The parameters array is allocated by the caller, the methods with one to three parameters should be preferred.
+	 * @param level the level of the message.
+	 * @param pattern the message pattern, that refers to the parameters as <code>{0}</code>, <code>{1}</code>, ...
+	 * @param params the parameters.
+	 */
+	public static void log(Level level, String pattern, Object... params){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, pattern, params, null);
+		}
+	}
+
+	/**
+	 * Log a parameterized message with an attached throwable.
+	 * @param level the level of the message.
+	 * @param thrown the throwable attached to the message.
+	 * @param pattern the message pattern, that refers to the parameters as <code>{0}</code>, <code>{1}</code>, ...
+	 * @param params the parameters.
+	 */
+	public static void log(Level level, Throwable thrown, String pattern, Object... params){
+		Logger logger = Common.logger;
+		if ((logger != null) && logger.isLoggable(level)){
+			publish(logger, level, pattern, params, thrown);
+		}
+	}
+
+	/**
+	 * Create a record, set its source from the caller of the facade and publish it.
+	 * @param logger the logger.
+	 * @param level the level of the record.
+	 * @param message the message or the message pattern.
+	 * @param params the parameters, can be <code>null</code>.
+	 * @param thrown the attached throwable, can be <code>null</code>.
+	 */
+	private static void publish(Logger logger, Level level, String message, Object[] params, Throwable thrown){
+
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(logger.getName());
+		record.setParameters(params);
+		record.setThrown(thrown);
+
+		StackWalker.StackFrame caller = WALKER.walk(frames -> frames.filter(frame -> !Log.class.getName().equals(frame.getClassName())).findFirst().orElse(null));
+		if (caller != null){
+			record.setSourceClassName(caller.getClassName());
+			record.setSourceMethodName(caller.getMethodName());
+		} else {
+			record.setSourceClassName(null);
+		}
+
+		logger.log(record);
+	}
+}
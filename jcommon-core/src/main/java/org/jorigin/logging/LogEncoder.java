@@ -0,0 +1,51 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * An encoder that writes {@link LogRecord log records} in a structured form directly into a byte buffer, without building any intermediate string.
+ * Encoders are used by the {@link RollingFileLogHandler#setLogEncoder(LogEncoder) rolling file handler} instead of its formatter.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ * @see JsonLogEncoder
+ * @see BinaryLogEncoder
+ */
+public interface LogEncoder {
+
+	/**
+	 * Get the bytes that have to be written at the beginning of an output, before the first record.
+	 * @return the header bytes, can be empty.
+	 */
+	public byte[] getHeader();
+
+	/**
+	 * Encode the given record at the position of the given buffer. If the buffer has not enough space, a {@link BufferOverflowException} is thrown
+	 * and the caller has to restore the position of the buffer before retrying with more space.
+	 * @param record the record to encode.
+	 * @param buffer the buffer to write to.
+	 * @throws BufferOverflowException if the buffer has not enough space.
+	 */
+	public void encode(LogRecord record, ByteBuffer buffer) throws BufferOverflowException;
+}
@@ -0,0 +1,318 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * The {@link Formatter formatter} used by {@link LogHandler}. A record is formatted as:
+ * <pre>
+ * (yyyy.MM.dd-HH:mm:ss) LEVEL [source class] [source method] message
+ * </pre>
+ * The <code>{0}</code>, <code>{1}</code>, ... placeholders of the message are replaced by the {@link LogRecord#getParameters() record parameters}, as done by the {@link Log} facade.
+ * When the record holds a {@link LogRecord#getThrown() throwable}, a line with the throwable message and a line for each frame of its stack trace follow.
+ * The {@link Throwable#getSuppressed() suppressed} throwables and then the {@link Throwable#getCause() cause} of the throwable follow in the same way,
+ * introduced by <code>suppressed</code> and <code>caused by</code>. A throwable that has already been written is not written again, so that the circular references end.<br>
+ * <br>
+ * The formatter is thread-safe and does not allocate while formatting a record:
+ * <ul>
+ * <li>each thread formats within its own reusable {@link StringBuilder};
+ * <li>the timestamp is formatted once per second and shared by all the records and all the threads of this second;
+ * <li>the line prefix is written once per record and copied for each stack frame, the frames are appended field by field.
+ * </ul>
+ * The method {@link #format(LogRecord, StringBuilder)} appends a record to a caller supplied builder without any allocation as long as the builder
+ * has enough capacity. The method {@link #format(LogRecord)}, required by the {@link Formatter} contract, only allocates the returned string.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LogFormatter extends Formatter {
+
+	/**
+	 * The pattern of the record timestamp.
+	 */
+	public static final String DATE_PATTERN = "yyyy.MM.dd-HH:mm:ss";
+
+	/**
+	 * The capacity above which a thread builder is not kept, so that a huge record does not retain its memory.
+	 */
+	private static final int MAX_BUILDER_CAPACITY = 16384;
+
+	/**
+	 * The builder of each thread.
+	 */
+	private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+	/**
+	 * The timestamp formatter.
+	 */
+	private final DateTimeFormatter dateFormatter;
+
+	/**
+	 * The line separator.
+	 */
+	private final String lineSeparator = System.lineSeparator();
+
+	/**
+	 * The last formatted timestamp.
+	 */
+	private volatile CachedDate date = new CachedDate(Long.MIN_VALUE, "");
+
+	/**
+	 * A timestamp formatted for a whole second.
+	 */
+	private static final class CachedDate {
+
+		/**
+		 * The second since the epoch.
+		 */
+		private final long second;
+
+		/**
+		 * The formatted timestamp.
+		 */
+		private final String text;
+
+		/**
+		 * Create a new cached timestamp.
+		 * @param second the second since the epoch.
+		 * @param text the formatted timestamp.
+		 */
+		private CachedDate(long second, String text){
+			this.second = second;
+			this.text   = text;
+		}
+	}
+
+	/**
+	 * Create a new formatter that uses the system default time zone.
+	 */
+	public LogFormatter(){
+		this(ZoneId.systemDefault());
+	}
+
+	/**
+	 * Create a new formatter that uses the given time zone.
+	 * @param zone the time zone of the timestamps.
+	 */
+	public LogFormatter(ZoneId zone){
+		this.dateFormatter = DateTimeFormatter.ofPattern(DATE_PATTERN).withZone(zone);
+	}
+
+	/**
+	 * Format the given record. The record is formatted within the builder of the calling thread and only the returned string is allocated.
+	 * The record is appended after the current content of the builder, that is not empty if the record is logged while formatting another one 
+	 * (for example by the <code>toString()</code> method of a parameter), and the builder is trimmed back afterward, so that the enclosing record is kept.
+	 * @param record the record to format.
+	 * @return the formatted record.
+	 */
+	@Override
+	public String format(LogRecord record) {
+
+		StringBuilder sb = BUILDERS.get();
+		int start = sb.length();
+
+		String str;
+		try {
+			format(record, sb);
+			str = sb.substring(start);
+		} finally {
+			sb.setLength(start);
+		}
+
+		if ((start == 0) && (sb.capacity() > MAX_BUILDER_CAPACITY)){
+			BUILDERS.remove();
+		}
+
+		return str;
+	}
+
+	/**
+	 * Append the given record to the given builder. This method does not allocate any object as long as the builder has enough capacity
+	 * and the timestamp of the record has already been formatted, except the copy of the stack trace array returned by {@link Throwable#getStackTrace()}
+	 * and, when the throwable has a cause or suppressed throwables, the set that tracks the written throwables.
+	 * @param record the record to format.
+	 * @param sb the builder to append to.
+	 * @return the given builder.
+	 */
+	public StringBuilder format(LogRecord record, StringBuilder sb) {
+
+		int start = sb.length();
+
+		sb.append('(').append(getDate(record.getMillis())).append(") ").append(record.getLevel().getName())
+		.append(" [").append(record.getSourceClassName()).append("] [").append(record.getSourceMethodName()).append("] ");
+
+		int prefix = sb.length();
+
+		appendMessage(record.getMessage(), record.getParameters(), sb);
+		sb.append(this.lineSeparator);
+
+		Throwable thrown = record.getThrown();
+		if (thrown != null){
+			appendThrowable(thrown, "caused by ", sb, start, prefix, null);
+		}
+
+		return sb;
+	}
+
+	/**
+	 * Append the given throwable to the given builder, followed by its suppressed throwables and its cause that have not been written yet.
+	 * Each line starts with the record prefix, copied from the builder.
+	 * @param thrown the throwable.
+	 * @param label the label that introduces the throwable.
+	 * @param sb the builder to append to.
+	 * @param start the start of the record prefix within the builder.
+	 * @param end the end of the record prefix within the builder.
+	 * @param written the throwables already written within the record or <code>null</code> if the given throwable is the throwable of the record.
+	 */
+	private void appendThrowable(Throwable thrown, String label, StringBuilder sb, int start, int end, Set<Throwable> written){
+
+		sb.append(sb, start, end).append(label).append(thrown.getMessage()).append(this.lineSeparator);
+
+		StackTraceElement[] elements = thrown.getStackTrace();
+		for(int i = 0; i < elements.length; i++){
+			sb.append(sb, start, end).append("at ");
+			appendFrame(elements[i], sb);
+			sb.append(this.lineSeparator);
+		}
+
+		Throwable[] suppressed = thrown.getSuppressed();
+		Throwable cause        = thrown.getCause();
+
+		if ((suppressed.length == 0) && (cause == null)){
+			return;
+		}
+
+		if (written == null){
+			written = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+			written.add(thrown);
+		}
+
+		for(Throwable item : suppressed){
+			if (written.add(item)){
+				appendThrowable(item, "suppressed ", sb, start, end, written);
+			}
+		}
+
+		if ((cause != null) && written.add(cause)){
+			appendThrowable(cause, "caused by ", sb, start, end, written);
+		}
+	}
+
+	/**
+	 * Append the given message to the given builder. The <code>{0}</code>, <code>{1}</code>, ... placeholders of the message are replaced
+	 * by the given parameters. A placeholder whose parameter is not given is kept.
+	 * @param message the message, can be <code>null</code>.
+	 * @param params the parameters, can be <code>null</code>.
+	 * @param sb the builder to append to.
+	 */
+	private static void appendMessage(String message, Object[] params, StringBuilder sb){
+
+		if ((message == null) || (params == null) || (params.length == 0)){
+			sb.append(message);
+			return;
+		}
+
+		int length = message.length();
+		int start  = 0;
+
+		for(int i = message.indexOf('{'); (i >= 0) && (i < length - 2); i = message.indexOf('{', i + 1)){
+
+			int end   = i + 1;
+			int index = 0;
+			while ((end < length) && (message.charAt(end) >= '0') && (message.charAt(end) <= '9') && (index < params.length)){
+				index = index * 10 + (message.charAt(end) - '0');
+				end++;
+			}
+
+			if ((end > i + 1) && (end < length) && (message.charAt(end) == '}') && (index < params.length)){
+				sb.append(message, start, i);
+
+				Object param = params[index];
+				if (param instanceof CharSequence){
+					sb.append((CharSequence) param);
+				} else {
+					sb.append(param);
+				}
+
+				start = end + 1;
+				i     = end;
+			}
+		}
+
+		sb.append(message, start, length);
+	}
+
+	/**
+	 * Get the formatted timestamp of the given time. The timestamp is formatted once per second.
+	 * @param millis the time in milliseconds since the epoch.
+	 * @return the formatted timestamp.
+	 */
+	private String getDate(long millis){
+
+		long second = Math.floorDiv(millis, 1000L);
+
+		CachedDate cached = this.date;
+		if (cached.second != second){
+			cached    = new CachedDate(second, this.dateFormatter.format(Instant.ofEpochSecond(second)));
+			this.date = cached;
+		}
+
+		return cached.text;
+	}
+
+	/**
+	 * Append the given stack frame to the given builder, as <code>module/class.method(file:line)</code>.
+	 * @param element the stack frame.
+	 * @param sb the builder to append to.
+	 */
+	private static void appendFrame(StackTraceElement element, StringBuilder sb){
+
+		if (element.getModuleName() != null){
+			sb.append(element.getModuleName());
+			if (element.getModuleVersion() != null){
+				sb.append('@').append(element.getModuleVersion());
+			}
+			sb.append('/');
+		}
+
+		sb.append(element.getClassName()).append('.').append(element.getMethodName()).append('(');
+
+		if (element.isNativeMethod()){
+			sb.append("Native Method");
+		} else if (element.getFileName() == null){
+			sb.append("Unknown Source");
+		} else {
+			sb.append(element.getFileName());
+			if (element.getLineNumber() >= 0){
+				sb.append(':').append(element.getLineNumber());
+			}
+		}
+
+		sb.append(')');
+	}
+}
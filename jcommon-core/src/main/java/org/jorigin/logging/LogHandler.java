@@ -18,10 +18,7 @@
 package org.jorigin.logging;
 
 import java.io.OutputStream;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.logging.Filter;
-import java.util.logging.Formatter;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.StreamHandler;
@@ -37,6 +34,11 @@ import org.jorigin.Common;
  */
 public class LogHandler extends StreamHandler {
 
+	/**
+	 * Is the handler flushed after each published record.
+	 */
+	private volatile boolean autoFlush = true;
+
 	/**
 	 * Configure the handler
 	 */
@@ -49,40 +51,19 @@ public class LogHandler extends StreamHandler {
 				return true;
 			}};
 
-			Formatter formatter = new Formatter(){
-
-				private String lineSeparator = System.getProperty("line.separator");
-
-				SimpleDateFormat sdf = new SimpleDateFormat("yyyy.MM.dd-HH:mm:ss");
-
-				@Override
-				public String format(LogRecord record) {
-					if (record.getThrown() == null){
-						return "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] "+record.getMessage()+this.lineSeparator;
-					} else {
-						String str = "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] caused by "+record.getThrown().getMessage()+this.lineSeparator;
-
-						StackTraceElement[] elements = record.getThrown().getStackTrace();
-						for(int i = 0; i < elements.length; i++){
-							str += "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] at "+elements[i]+this.lineSeparator;
-						}
-						return "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] "+record.getMessage()+this.lineSeparator+str;
-					}
-				}};  
-
-				setFilter(filter);
-				setFormatter(formatter);
-
-				try {
-					setEncoding("UTF-8");
-				} catch (Exception ex) {
-					try {
-						setEncoding(null);
-					} catch (Exception ex2) {
-						// doing a setEncoding with null should always work.
-						// assert false;
-					}
-				}
+		setFilter(filter);
+		setFormatter(new LogFormatter());
+
+		try {
+			setEncoding("UTF-8");
+		} catch (Exception ex) {
+			try {
+				setEncoding(null);
+			} catch (Exception ex2) {
+				// doing a setEncoding with null should always work.
+				// assert false;
+			}
+		}
 	}
 
 	/**
@@ -127,7 +108,28 @@ public class LogHandler extends StreamHandler {
 	 */
 	public void publish(LogRecord record) {
 		super.publish(record);  
-		flush();
+		if (this.autoFlush){
+			flush();
+		}
+	}
+
+	/**
+	 * Get if the handler is flushed after each published record.
+	 * @return <code>true</code> if the handler is flushed after each published record and <code>false</code> otherwise.
+	 * @since 2.0.2
+	 */
+	public boolean isAutoFlush() {
+		return this.autoFlush;
+	}
+
+	/**
+	 * Set if the handler is flushed after each published record. When the auto flush is disabled, the records are
+	 * written to the output when {@link #flush()} is called, for example by an {@link AsyncLogHandler asynchronous handler}.
+	 * @param autoFlush <code>true</code> if the handler is flushed after each published record and <code>false</code> otherwise.
+	 * @since 2.0.2
+	 */
+	public void setAutoFlush(boolean autoFlush) {
+		this.autoFlush = autoFlush;
 	}
 
 	/**
@@ -0,0 +1,636 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link Handler log handler} that keeps the most recent records in memory, so that the context of a failure can be retrieved
+ * even if the records are not written anywhere. For example, the following configuration writes the warnings to a file
+ * but keeps the last 4 MB of records of any level:
+ * <pre>
+ * RollingFileLogHandler file = new RollingFileLogHandler(new File("app.log"));
+ * file.setLevel(Level.WARNING);
+ *
+ * MemoryLogHandler memory = new MemoryLogHandler();
+ * memory.setDumpDirectory(new File("dumps"));
+ *
+ * Common.logger.setLevel(Level.ALL);
+ * Common.logger.addHandler(file);
+ * Common.logger.addHandler(memory);
+ * </pre>
+ * The records are {@link BinaryLogEncoder encoded} by the publishing thread within a reusable buffer and copied within a fixed size off-heap ring buffer.
+ * The time, the level and the logger of the records are also kept within primitive arrays, so that the records can be selected
+ * without being decoded. When the ring buffer is full, the oldest records are overwritten. The records are only decoded when they are
+ * {@link #getRecords(Level, String, long, long) queried} or {@link #dump(File, long, long) dumped}.<br>
+ * <br>
+ * When a {@link #setDumpDirectory(File) dump directory} is set, a record whose level is at least the {@link #getDumpLevel() dump level}
+ * (by default {@link Level#SEVERE SEVERE}) triggers the dump of the records of the last {@link #getDumpDuration() dump duration} within a file
+ * <code>dump-[yyyyMMdd-HHmmss-SSS].log</code> of the directory. The records are formatted using the {@link #getFormatter() formatter} of the handler
+ * (a {@link LogFormatter} by default) and the dump is written on a background thread. A record that occurs within the dump duration of the previous
+ * trigger does not trigger another dump.<br>
+ * <br>
+ * The parameters of the records are kept as their string form.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class MemoryLogHandler extends Handler {
+
+	/**
+	 * The default capacity of the ring buffer, in bytes.
+	 */
+	public static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+
+	/**
+	 * The default duration of the dumps, in milliseconds.
+	 */
+	public static final long DEFAULT_DUMP_DURATION = 60000L;
+
+	/**
+	 * The minimum capacity of the ring buffer, in bytes.
+	 */
+	private static final int MIN_CAPACITY = 4096;
+
+	/**
+	 * The average size of a record used to compute the number of records that can be indexed.
+	 */
+	private static final int RECORD_SIZE = 64;
+
+	/**
+	 * The formatter of the dump file timestamps.
+	 */
+	private static final DateTimeFormatter DUMP_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+	/**
+	 * The encoder of the records.
+	 */
+	private static final BinaryLogEncoder ENCODER = new BinaryLogEncoder();
+
+	/**
+	 * The encoding buffer of each thread.
+	 */
+	private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
+
+	/**
+	 * The ring buffer that holds the encoded records.
+	 */
+	private final ByteBuffer ring;
+
+	/**
+	 * The capacity of the ring buffer.
+	 */
+	private final int capacity;
+
+	/**
+	 * The position of each indexed record within the stream of all the written bytes.
+	 */
+	private final long[] starts;
+
+	/**
+	 * The length of each indexed record.
+	 */
+	private final int[] lengths;
+
+	/**
+	 * The time of each indexed record.
+	 */
+	private final long[] times;
+
+	/**
+	 * The level value of each indexed record.
+	 */
+	private final int[] levels;
+
+	/**
+	 * The logger identifier of each indexed record.
+	 */
+	private final int[] loggers;
+
+	/**
+	 * The logger names, by identifier.
+	 */
+	private final List<String> loggerNames = new ArrayList<String>();
+
+	/**
+	 * The logger identifiers, by name.
+	 */
+	private final Map<String, Integer> loggerIds = new HashMap<String, Integer>();
+
+	/**
+	 * The number of the oldest record.
+	 */
+	private long first = 0;
+
+	/**
+	 * The number of the next record.
+	 */
+	private long next = 0;
+
+	/**
+	 * The position of the end of the last record within the stream of all the written bytes.
+	 */
+	private long position = 0;
+
+	/**
+	 * The number of records that have been dropped because they do not fit within the ring buffer.
+	 */
+	private long droppedCount = 0;
+
+	/**
+	 * The directory of the dumps.
+	 */
+	private volatile File dumpDirectory = null;
+
+	/**
+	 * The level that triggers a dump.
+	 */
+	private volatile Level dumpLevel = Level.SEVERE;
+
+	/**
+	 * The duration of the dumps.
+	 */
+	private volatile long dumpDuration = DEFAULT_DUMP_DURATION;
+
+	/**
+	 * The time of the last dump trigger.
+	 */
+	private long lastDump = Long.MIN_VALUE;
+
+	/**
+	 * The background dump executor.
+	 */
+	private ExecutorService dumper = null;
+
+	/**
+	 * Is the handler closed.
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Create a new memory handler with a ring buffer of {@link #DEFAULT_CAPACITY} bytes.
+	 */
+	public MemoryLogHandler(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new memory handler.
+	 * @param capacity the capacity of the ring buffer, in bytes.
+	 */
+	public MemoryLogHandler(int capacity){
+
+		this.capacity = Math.max(MIN_CAPACITY, capacity);
+		this.ring     = ByteBuffer.allocateDirect(this.capacity);
+
+		int slots     = this.capacity / RECORD_SIZE;
+		this.starts   = new long[slots];
+		this.lengths  = new int[slots];
+		this.times    = new long[slots];
+		this.levels   = new int[slots];
+		this.loggers  = new int[slots];
+
+		setFormatter(new LogFormatter());
+		setLevel(Level.ALL);
+	}
+
+	/**
+	 * Get the capacity of the ring buffer, in bytes.
+	 * @return the capacity of the ring buffer, in bytes.
+	 */
+	public int getCapacity(){
+		return this.capacity;
+	}
+
+	/**
+	 * Get the number of records held by the handler.
+	 * @return the number of records held by the handler.
+	 */
+	public synchronized int getRecordCount(){
+		return (int) (this.next - this.first);
+	}
+
+	/**
+	 * Get the number of records that have been dropped because they do not fit within the ring buffer.
+	 * @return the number of dropped records.
+	 */
+	public synchronized long getDroppedCount(){
+		return this.droppedCount;
+	}
+
+	/**
+	 * Get the directory of the dumps.
+	 * @return the directory of the dumps or <code>null</code> if the dumps are disabled.
+	 */
+	public File getDumpDirectory(){
+		return this.dumpDirectory;
+	}
+
+	/**
+	 * Set the directory of the dumps.
+	 * @param directory the directory of the dumps or <code>null</code> to disable the dumps.
+	 */
+	public void setDumpDirectory(File directory){
+		this.dumpDirectory = directory;
+	}
+
+	/**
+	 * Get the level from which a record triggers a dump.
+	 * @return the level from which a record triggers a dump.
+	 */
+	public Level getDumpLevel(){
+		return this.dumpLevel;
+	}
+
+	/**
+	 * Set the level from which a record triggers a dump.
+	 * @param level the level from which a record triggers a dump.
+	 */
+	public void setDumpLevel(Level level){
+
+		if (level == null){
+			throw new IllegalArgumentException("Dump level cannot be null.");
+		}
+
+		this.dumpLevel = level;
+	}
+
+	/**
+	 * Get the duration of the dumps, in milliseconds.
+	 * @return the duration of the dumps.
+	 */
+	public long getDumpDuration(){
+		return this.dumpDuration;
+	}
+
+	/**
+	 * Set the duration of the dumps, in milliseconds. A dump holds the records that occur within this duration before the triggering record.
+	 * @param duration the duration of the dumps.
+	 */
+	public void setDumpDuration(long duration){
+		this.dumpDuration = Math.max(0, duration);
+	}
+
+	/**
+	 * Publish a {@link LogRecord log record}. The record is encoded by the calling thread and copied within the ring buffer.
+	 * @param record description of the log event. A null record is silently ignored and is not published.
+	 */
+	@Override
+	public void publish(LogRecord record){
+
+		if (!isLoggable(record)){
+			return;
+		}
+
+		ByteBuffer buffer = encode(record);
+
+		File directory = this.dumpDirectory;
+		long duration  = this.dumpDuration;
+		boolean dump   = false;
+
+		synchronized (this) {
+
+			if (this.closed){
+				return;
+			}
+
+			if (buffer != null){
+				store(buffer, record);
+			} else {
+				this.droppedCount++;
+			}
+
+			if ((directory != null) && (record.getLevel().intValue() >= this.dumpLevel.intValue())
+					&& ((this.lastDump == Long.MIN_VALUE) || (record.getMillis() >= this.lastDump + duration))){
+				this.lastDump = record.getMillis();
+				dump          = true;
+			}
+		}
+
+		if (dump){
+			scheduleDump(directory, record.getMillis(), duration);
+		}
+	}
+
+	/**
+	 * Get the records held by the handler, from the oldest to the newest.
+	 * @return the records held by the handler.
+	 */
+	public List<LogRecord> getRecords(){
+		return getRecords(null, null, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Get the records held by the handler that match the given criteria, from the oldest to the newest.
+	 * @param level the minimum level of the records or <code>null</code> for any level.
+	 * @param loggerName the name of the logger of the records or <code>null</code> for any logger. The records of the child loggers
+	 * (whose name starts with the given one followed by a dot) also match.
+	 * @param from the minimum time of the records, in milliseconds since the epoch (inclusive).
+	 * @param to the maximum time of the records, in milliseconds since the epoch (inclusive).
+	 * @return the matching records.
+	 */
+	public List<LogRecord> getRecords(Level level, String loggerName, long from, long to){
+
+		int levelValue = level != null ? level.intValue() : Integer.MIN_VALUE;
+
+		byte[] bytes = null;
+		int[] offsets = null;
+		int count = 0;
+
+		synchronized (this) {
+
+			boolean[] loggerMatches = null;
+			if (loggerName != null){
+				loggerMatches = new boolean[this.loggerNames.size()];
+				for(int i = 0; i < loggerMatches.length; i++){
+					String name      = this.loggerNames.get(i);
+					loggerMatches[i] = (name != null) && name.startsWith(loggerName)
+							&& ((name.length() == loggerName.length()) || (name.charAt(loggerName.length()) == '.'));
+				}
+			}
+
+			int size = 0;
+			offsets  = new int[(int) (this.next - this.first) + 1];
+
+			for(long number = this.first; number < this.next; number++){
+
+				int slot = (int) (number % this.starts.length);
+
+				if ((this.levels[slot] >= levelValue) && (this.times[slot] >= from) && (this.times[slot] <= to)
+						&& ((loggerMatches == null) || loggerMatches[this.loggers[slot]])){
+
+					if ((bytes == null) || (bytes.length < size + this.lengths[slot])){
+						byte[] grown = new byte[Math.max(size + this.lengths[slot], (bytes == null) ? 4096 : bytes.length * 2)];
+						if (bytes != null){
+							System.arraycopy(bytes, 0, grown, 0, size);
+						}
+						bytes = grown;
+					}
+
+					this.ring.get((int) (this.starts[slot] % this.capacity), bytes, size, this.lengths[slot]);
+
+					offsets[count++] = size;
+					size            += this.lengths[slot];
+					offsets[count]   = size;
+				}
+			}
+		}
+
+		List<LogRecord> records = new ArrayList<LogRecord>(count);
+
+		for(int i = 0; i < count; i++){
+
+			// Skip the length of the record
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, offsets[i] + 4, offsets[i + 1] - offsets[i] - 4);
+
+			try {
+				records.add(BinaryLogReader.decode(buffer.slice()));
+			} catch (IOException e) {
+				reportError("Cannot decode record", e, ErrorManager.GENERIC_FAILURE);
+			}
+		}
+
+		return records;
+	}
+
+	/**
+	 * Write the records of the given time range within the given file. The records are formatted using the {@link #getFormatter() formatter} of the handler.
+	 * @param file the file to write.
+	 * @param from the minimum time of the records, in milliseconds since the epoch (inclusive).
+	 * @param to the maximum time of the records, in milliseconds since the epoch (inclusive).
+	 * @return the number of written records.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public int dump(File file, long from, long to) throws IOException {
+
+		List<LogRecord> records = getRecords(null, null, from, to);
+
+		File directory = file.getAbsoluteFile().getParentFile();
+		if ((directory != null) && (!directory.isDirectory())){
+			Files.createDirectories(directory.toPath());
+		}
+
+		Formatter formatter = getFormatter();
+
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)){
+
+			String head = formatter.getHead(this);
+			if (head != null){
+				writer.write(head);
+			}
+
+			if (formatter instanceof LogFormatter){
+				StringBuilder sb = new StringBuilder(512);
+				for(LogRecord record : records){
+					sb.setLength(0);
+					((LogFormatter) formatter).format(record, sb);
+					writer.append(sb);
+				}
+			} else {
+				for(LogRecord record : records){
+					writer.write(formatter.format(record));
+				}
+			}
+
+			String tail = formatter.getTail(this);
+			if (tail != null){
+				writer.write(tail);
+			}
+		}
+
+		return records.size();
+	}
+
+	/**
+	 * Remove all the records held by the handler.
+	 */
+	public synchronized void clear(){
+		this.first = this.next;
+	}
+
+	/**
+	 * This method does nothing as the records are kept in memory.
+	 */
+	@Override
+	public void flush(){
+		// Nothing to flush
+	}
+
+	/**
+	 * Close the handler. The pending dumps are completed and the records that are published after this call are ignored.
+	 * The records held by the handler can still be queried.
+	 */
+	@Override
+	public void close() throws SecurityException {
+
+		ExecutorService dumper;
+
+		synchronized (this) {
+			this.closed = true;
+			dumper      = this.dumper;
+		}
+
+		if (dumper != null){
+			dumper.shutdown();
+			try {
+				dumper.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Encode the given record within the buffer of the calling thread.
+	 * @param record the record to encode.
+	 * @return the buffer that holds the encoded record or <code>null</code> if the record does not fit within the ring buffer.
+	 */
+	private ByteBuffer encode(LogRecord record){
+
+		ByteBuffer buffer = BUFFERS.get();
+
+		while (true){
+			try {
+				buffer.clear();
+				ENCODER.encode(record, buffer);
+				buffer.flip();
+				return buffer;
+			} catch (BufferOverflowException e) {
+				if (buffer.capacity() >= this.capacity){
+					return null;
+				}
+				buffer = ByteBuffer.allocate(Math.min(this.capacity, buffer.capacity() * 2));
+				BUFFERS.set(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Copy the given encoded record within the ring buffer and index it. The oldest records are overwritten if needed.
+	 * @param buffer the encoded record.
+	 * @param record the record.
+	 */
+	private void store(ByteBuffer buffer, LogRecord record){
+
+		int length = buffer.remaining();
+
+		// A record is never split at the end of the ring buffer
+		long start = this.position;
+		int offset = (int) (start % this.capacity);
+		if (offset + length > this.capacity){
+			start += this.capacity - offset;
+			offset = 0;
+		}
+
+		long end = start + length;
+
+		while ((this.first < this.next)
+				&& ((this.starts[(int) (this.first % this.starts.length)] < end - this.capacity) || (this.next - this.first >= this.starts.length))){
+			this.first++;
+		}
+
+		this.ring.put(offset, buffer, buffer.position(), length);
+
+		int slot = (int) (this.next % this.starts.length);
+		this.starts[slot]  = start;
+		this.lengths[slot] = length;
+		this.times[slot]   = record.getMillis();
+		this.levels[slot]  = record.getLevel().intValue();
+		this.loggers[slot] = getLoggerId(record.getLoggerName());
+
+		this.next++;
+		this.position = end;
+	}
+
+	/**
+	 * Get the identifier of the given logger name.
+	 * @param name the logger name, can be <code>null</code>.
+	 * @return the identifier of the logger name.
+	 */
+	private int getLoggerId(String name){
+
+		Integer id = this.loggerIds.get(name);
+		if (id == null){
+			id = Integer.valueOf(this.loggerNames.size());
+			this.loggerNames.add(name);
+			this.loggerIds.put(name, id);
+		}
+
+		return id.intValue();
+	}
+
+	/**
+	 * Schedule the dump of the records that occur within the given duration before the given time.
+	 * @param directory the directory of the dump.
+	 * @param time the time of the triggering record.
+	 * @param duration the duration of the dump.
+	 */
+	private void scheduleDump(File directory, long time, long duration){
+
+		ExecutorService dumper;
+
+		synchronized (this) {
+
+			if (this.closed){
+				return;
+			}
+
+			if (this.dumper == null){
+				this.dumper = Executors.newSingleThreadExecutor(r -> {
+					Thread thread = new Thread(r, "MemoryLogHandler");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+
+			dumper = this.dumper;
+		}
+
+		dumper.execute(() -> {
+			File file = new File(directory, "dump-"+DUMP_FORMATTER.format(Instant.ofEpochMilli(time))+".log");
+			try {
+				dump(file, time - duration, time);
+			} catch (IOException e) {
+				reportError("Cannot write dump "+file.getPath(), e, ErrorManager.WRITE_FAILURE);
+			}
+		});
+	}
+}
@@ -0,0 +1,505 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link Filter log filter} that limits the number of similar records. Two records are similar when they have the same message template
+ * (the message as given to the logger, before any parameter substitution), the same level and the same source class and method.
+ * Within each time window, only the first {@link #getMaxRecords() records} of a kind are loggable and the following ones are suppressed.
+ * The {@link Level#SEVERE severe} records are never suppressed.<br>
+ * <br>
+ * The suppressed records are counted and, every window, a summary record is published for each kind of suppressed records:
+ * <pre>
+ * (2024.03.05-10:20:30) WARNING [org.jorigin.lang.LangResource] [getResource] Suppressed 1250 similar records: No resource value available for key {0}
+ * </pre>
+ * The summary record has the level, the logger and the source of the suppressed records and is always loggable by a rate limit filter.
+ * The summaries are published by a daemon thread that is started on the first suppressed record and stopped by {@link #close()}.<br>
+ * <br>
+ * The filter is meant to be set on a {@link Logger logger}, so that the suppressed records do not reach the handlers, but can also be set on a
+ * {@link java.util.logging.Handler handler}. It is thread-safe and lock-free: the counters are found without any allocation through a concurrent map
+ * of the message templates whose values are linked lists of counters (one for each source and level) extended by compare and set, and each counter holds its window
+ * and its number of records within a single atomic value. The windows are computed from the {@link LogRecord#getInstant() record time}.
+ * When {@link #MAX_TEMPLATES} templates are tracked, the templates that have not been seen since the previous window are forgotten, at most once a window.<br>
+ * <br>
+ * When the records are logged without an explicit source (as done by {@link Logger#log(Level, String)}), the source is inferred from the stack
+ * of the calling thread. The {@link Log} facade sets the source of the records and uses message templates, allowing the cheapest filtering.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class RateLimitFilter implements Filter {
+
+	/**
+	 * The default maximum number of similar records within a window.
+	 */
+	public static final int DEFAULT_MAX_RECORDS = 10;
+
+	/**
+	 * The default window duration in milliseconds.
+	 */
+	public static final long DEFAULT_WINDOW = 10000L;
+
+	/**
+	 * The maximum number of message templates that are tracked. The records of the other templates are not limited.
+	 */
+	public static final int MAX_TEMPLATES = 4096;
+
+	/**
+	 * The message of the summary records.
+	 */
+	public static final String SUMMARY_MESSAGE = "Suppressed {0} similar records: {1}";
+
+	/**
+	 * The number of bits of a counter state that hold the number of records within the window.
+	 */
+	private static final int COUNT_BITS = 20;
+
+	/**
+	 * The mask of the number of records within a counter state.
+	 */
+	private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+	/**
+	 * The maximum number of similar records within a window.
+	 */
+	private final int maxRecords;
+
+	/**
+	 * The window duration in milliseconds.
+	 */
+	private final long window;
+
+	/**
+	 * The counters of each message template.
+	 */
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+
+	/**
+	 * The window of the last eviction of the idle templates.
+	 */
+	private final AtomicLong evicted = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * The executor that publishes the summaries.
+	 */
+	private volatile ScheduledExecutorService executor = null;
+
+	/**
+	 * Is the filter closed.
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * The counter of the records of a message template that come from a source.
+	 */
+	private static final class Counter {
+
+		/**
+		 * The source class name.
+		 */
+		private final String sourceClassName;
+
+		/**
+		 * The source method name.
+		 */
+		private final String sourceMethodName;
+
+		/**
+		 * The logger name.
+		 */
+		private final String loggerName;
+
+		/**
+		 * The level of the records.
+		 */
+		private final Level level;
+
+		/**
+		 * The current window within the high bits and the number of records within the current window within the low bits.
+		 */
+		private final AtomicLong state = new AtomicLong(0);
+
+		/**
+		 * The number of records suppressed since the last summary.
+		 */
+		private final AtomicLong suppressed = new AtomicLong(0);
+
+		/**
+		 * The counter of the next source of the same message template.
+		 */
+		private final AtomicReference<Counter> next = new AtomicReference<Counter>(null);
+
+		/**
+		 * Create a new counter for the source of the given record.
+		 * @param record the record.
+		 */
+		private Counter(LogRecord record){
+			this.sourceClassName  = record.getSourceClassName();
+			this.sourceMethodName = record.getSourceMethodName();
+			this.loggerName       = record.getLoggerName();
+			this.level            = record.getLevel();
+		}
+
+		/**
+		 * Check if this counter is the one of the given source and level.
+		 * @param sourceClassName the source class name.
+		 * @param sourceMethodName the source method name.
+		 * @param level the level of the records.
+		 * @return <code>true</code> if this counter is the one of the given source and level and <code>false</code> otherwise.
+		 */
+		private boolean matches(String sourceClassName, String sourceMethodName, Level level){
+			return (this.level == level) && Objects.equals(this.sourceClassName, sourceClassName) && Objects.equals(this.sourceMethodName, sourceMethodName);
+		}
+
+		/**
+		 * Count a record of the given window.
+		 * @param window the window of the record.
+		 * @param maxRecords the maximum number of records within a window.
+		 * @return <code>true</code> if the record is loggable and <code>false</code> if it is suppressed.
+		 */
+		private boolean acquire(long window, int maxRecords){
+
+			while (true){
+
+				long state   = this.state.get();
+				long current = state >>> COUNT_BITS;
+
+				if (window > current){
+					if (this.state.compareAndSet(state, (window << COUNT_BITS) | 1)){
+						return true;
+					}
+				} else if ((state & COUNT_MASK) < maxRecords){
+					if (this.state.compareAndSet(state, state + 1)){
+						return true;
+					}
+				} else {
+					this.suppressed.incrementAndGet();
+					return false;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A summary record.
+	 */
+	private static final class SummaryRecord extends LogRecord {
+
+		/**
+		 * Serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Create a new summary record.
+		 * @param counter the counter of the suppressed records.
+		 * @param message the message template of the suppressed records.
+		 * @param count the number of suppressed records.
+		 */
+		private SummaryRecord(Counter counter, String message, long count){
+			super(counter.level, SUMMARY_MESSAGE);
+			setParameters(new Object[] {Long.valueOf(count), message});
+			setLoggerName(counter.loggerName);
+			setSourceClassName(counter.sourceClassName);
+			setSourceMethodName(counter.sourceMethodName);
+		}
+	}
+
+	/**
+	 * Create a new filter that allows {@value #DEFAULT_MAX_RECORDS} similar records within a window of {@value #DEFAULT_WINDOW} milliseconds.
+	 */
+	public RateLimitFilter(){
+		this(DEFAULT_MAX_RECORDS, DEFAULT_WINDOW);
+	}
+
+	/**
+	 * Create a new filter.
+	 * @param maxRecords the maximum number of similar records within a window.
+	 * @param window the window duration in milliseconds.
+	 * @throws IllegalArgumentException if the maximum number of records or the window duration is not strictly positive.
+	 */
+	public RateLimitFilter(int maxRecords, long window){
+
+		if ((maxRecords < 1) || (maxRecords > COUNT_MASK)){
+			throw new IllegalArgumentException("Invalid maximum number of records "+maxRecords);
+		}
+
+		if (window < 1){
+			throw new IllegalArgumentException("Invalid window duration "+window);
+		}
+
+		this.maxRecords = maxRecords;
+		this.window     = window;
+	}
+
+	/**
+	 * Get the maximum number of similar records within a window.
+	 * @return the maximum number of similar records within a window.
+	 */
+	public int getMaxRecords(){
+		return this.maxRecords;
+	}
+
+	/**
+	 * Get the window duration in milliseconds.
+	 * @return the window duration in milliseconds.
+	 */
+	public long getWindow(){
+		return this.window;
+	}
+
+	/**
+	 * Get the number of records suppressed since the last summary.
+	 * @return the number of records suppressed since the last summary.
+	 */
+	public long getSuppressedCount(){
+
+		long count = 0;
+
+		for(Counter head : this.counters.values()){
+			for(Counter counter = head; counter != null; counter = counter.next.get()){
+				count += counter.suppressed.get();
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public boolean isLoggable(LogRecord record) {
+
+		if ((record instanceof SummaryRecord) || (record.getLevel().intValue() >= Level.SEVERE.intValue())){
+			return true;
+		}
+
+		String message = record.getMessage();
+		if (message == null){
+			return true;
+		}
+
+		String sourceClassName  = record.getSourceClassName();
+		String sourceMethodName = record.getSourceMethodName();
+		Level level             = record.getLevel();
+
+		Counter counter = this.counters.get(message);
+		while ((counter != null) && !counter.matches(sourceClassName, sourceMethodName, level)){
+			counter = counter.next.get();
+		}
+
+		if (counter == null){
+			counter = register(message, record);
+			if (counter == null){
+				return true;
+			}
+		}
+
+		if (counter.acquire(Math.floorDiv(record.getMillis(), this.window), this.maxRecords)){
+			return true;
+		}
+
+		if (this.executor == null){
+			start();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Publish a summary for each kind of records that have been suppressed since the last summary
+	 * and forget the kinds of records that have not been seen since the previous window.
+	 */
+	public void summarize(){
+
+		long window = Math.floorDiv(System.currentTimeMillis(), this.window);
+
+		for(Map.Entry<String, Counter> entry : this.counters.entrySet()){
+
+			boolean idle = isIdle(entry.getValue(), window);
+
+			for(Counter counter = entry.getValue(); counter != null; counter = counter.next.get()){
+
+				long count = counter.suppressed.getAndSet(0);
+				if (count > 0){
+					Logger logger = counter.loggerName != null ? Logger.getLogger(counter.loggerName) : Common.logger;
+					if (logger != null){
+						logger.log(new SummaryRecord(counter, entry.getKey(), count));
+					}
+				}
+			}
+
+			if (idle){
+				removeIdle(entry.getKey(), window);
+			}
+		}
+	}
+
+	/**
+	 * Forget the given message template if its counters are still idle. The check and the removal are made atomically within the map, so that
+	 * the counters that have been used since a previous check are kept.
+	 * @param message the message template.
+	 * @param window the current window.
+	 */
+	private void removeIdle(String message, long window){
+		this.counters.computeIfPresent(message, (key, head) -> isIdle(head, window) ? null : head);
+	}
+
+	/**
+	 * Check if the given counters have no pending suppressed record and have not been seen since the previous window.
+	 * @param head the first counter of a message template.
+	 * @param window the current window.
+	 * @return <code>true</code> if the counters are idle and <code>false</code> otherwise.
+	 */
+	private static boolean isIdle(Counter head, long window){
+
+		for(Counter counter = head; counter != null; counter = counter.next.get()){
+			if ((counter.suppressed.get() > 0) || ((counter.state.get() >>> COUNT_BITS) >= window - 1)){
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Forget the idle message templates, at most once a window, so that new templates can be tracked.
+	 * @param window the current window.
+	 */
+	private void evict(long window){
+
+		long last = this.evicted.get();
+		if ((window <= last) || !this.evicted.compareAndSet(last, window)){
+			return;
+		}
+
+		for(String message : this.counters.keySet()){
+			removeIdle(message, window);
+		}
+	}
+
+	/**
+	 * Publish the pending summaries and stop the summary thread. The filter remains usable but no more summary is published.
+	 */
+	public void close(){
+
+		ScheduledExecutorService executor;
+
+		synchronized (this) {
+			this.closed = true;
+			executor    = this.executor;
+		}
+
+		if (executor != null){
+			executor.shutdown();
+			try {
+				executor.awaitTermination(this.window, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		summarize();
+	}
+
+	/**
+	 * Register a new counter for the source of the given record.
+	 * @param message the message template of the record.
+	 * @param record the record.
+	 * @return the counter of the source of the record or <code>null</code> if the maximum number of tracked templates is reached.
+	 */
+	private Counter register(String message, LogRecord record){
+
+		String sourceClassName  = record.getSourceClassName();
+		String sourceMethodName = record.getSourceMethodName();
+		Level level             = record.getLevel();
+
+		Counter created = null;
+
+		while (true){
+
+			Counter head = this.counters.get(message);
+
+			if (head == null){
+
+				if (this.counters.size() >= MAX_TEMPLATES){
+					evict(Math.floorDiv(record.getMillis(), this.window));
+					if (this.counters.size() >= MAX_TEMPLATES){
+						return null;
+					}
+				}
+
+				if (created == null){
+					created = new Counter(record);
+				}
+
+				head = this.counters.putIfAbsent(message, created);
+				if (head == null){
+					return created;
+				}
+			}
+
+			Counter last = head;
+			for(Counter counter = head; counter != null; counter = counter.next.get()){
+				if (counter.matches(sourceClassName, sourceMethodName, level)){
+					return counter;
+				}
+				last = counter;
+			}
+
+			if (created == null){
+				created = new Counter(record);
+			}
+
+			if (last.next.compareAndSet(null, created)){
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Start the thread that publishes the summaries.
+	 */
+	private synchronized void start(){
+
+		if ((this.executor != null) || this.closed){
+			return;
+		}
+
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "RateLimitFilter");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		this.executor.scheduleAtFixedRate(this::summarize, this.window, this.window, TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,929 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Filter;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link Handler log handler} that writes the records to a file and rotates it when it reaches {@link #getMaxSize() a maximum size}
+ * or at the end of {@link #getPeriod() a period} (for example every day at midnight). The records are formatted using a {@link LogFormatter} by default.<br>
+ * <br>
+ * The file is opened once in append mode and the records are encoded within a reusable buffer that is written to the file channel
+ * when it is full or when the handler is {@link #flush() flushed}. If {@link #isAutoFlush() auto flush} is enabled, the handler is flushed after each record.<br>
+ * <br>
+ * When the file is rotated, it is renamed into a segment <code>[name]-[yyyyMMdd-HHmmss].[extension]</code> and a new file is opened. The rotated segment is then
+ * compressed (<code>.gz</code>) on a background thread, so that the rotation never stalls the logging thread. After a segment is compressed, the oldest segments are
+ * deleted in order to respect {@link #getMaxSegments() the maximum number of segments} and {@link #getMaxTotalSize() the maximum size of all the segments}.<br>
+ * <br>
+ * If the file exists when the handler is created, the records are appended to it. If it has been modified before the beginning of the current period,
+ * it is rotated first. The records can also be written in a structured form using {@link #setLogEncoder(LogEncoder) a log encoder}. The segments that have not been compressed (for example because the application has been stopped during a compression) are compressed
+ * when the handler is created.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class RollingFileLogHandler extends Handler {
+
+	/**
+	 * The period that disables the time based rotation.
+	 */
+	public static final long PERIOD_NONE         = 0;
+
+	/**
+	 * The period that rotates the file every hour.
+	 */
+	public static final long PERIOD_HOURLY       = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * The period that rotates the file every day at midnight.
+	 */
+	public static final long PERIOD_DAILY        = TimeUnit.DAYS.toMillis(1);
+
+	/**
+	 * The default maximum size of the file, in bytes.
+	 */
+	public static final long DEFAULT_MAX_SIZE    = 10L * 1024L * 1024L;
+
+	/**
+	 * The default maximum number of segments.
+	 */
+	public static final int DEFAULT_MAX_SEGMENTS = 10;
+
+	/**
+	 * The extension of the compressed segments.
+	 */
+	public static final String COMPRESSED_EXTENSION = ".gz";
+
+	/**
+	 * The size of the write buffer, in bytes.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The formatter of the segment timestamps.
+	 */
+	private static final DateTimeFormatter SEGMENT_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	/**
+	 * The pattern of the segment keys, that is the time stamp of the segment followed by an optional index.
+	 */
+	private static final Pattern SEGMENT_PATTERN = Pattern.compile("\\d{8}-\\d{6}(-\\d+)?");
+
+	/**
+	 * The log file.
+	 */
+	private final File file;
+
+	/**
+	 * The name of the log file without its extension.
+	 */
+	private final String baseName;
+
+	/**
+	 * The extension of the log file, including the dot, or an empty string.
+	 */
+	private final String extension;
+
+	/**
+	 * The maximum size of the file.
+	 */
+	private final long maxSize;
+
+	/**
+	 * The rotation period.
+	 */
+	private final long period;
+
+	/**
+	 * The maximum number of segments.
+	 */
+	private volatile int maxSegments = DEFAULT_MAX_SEGMENTS;
+
+	/**
+	 * The maximum size of all the segments.
+	 */
+	private volatile long maxTotalSize = 0;
+
+	/**
+	 * Are the segments compressed.
+	 */
+	private volatile boolean compressing = true;
+
+	/**
+	 * Is the handler flushed after each published record.
+	 */
+	private volatile boolean autoFlush = true;
+
+	/**
+	 * The channel of the log file.
+	 */
+	private FileChannel channel = null;
+
+	/**
+	 * The size of the log file, including the buffered bytes.
+	 */
+	private long size = 0;
+
+	/**
+	 * The time of the next rotation or {@link Long#MAX_VALUE} if the time based rotation is disabled.
+	 */
+	private long nextRotation = Long.MAX_VALUE;
+
+	/**
+	 * The builder used to format the records.
+	 */
+	private final StringBuilder builder = new StringBuilder(512);
+
+	/**
+	 * The characters of the formatted record.
+	 */
+	private char[] chars = new char[512];
+
+	/**
+	 * The encoded bytes waiting to be written.
+	 */
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * The encoder of the records.
+	 */
+	private CharsetEncoder encoder;
+
+	/**
+	 * The structured encoder of the records.
+	 */
+	private LogEncoder logEncoder = null;
+
+	/**
+	 * The background compression executor.
+	 */
+	private final ExecutorService compressor;
+
+	/**
+	 * Create a new rolling handler that writes to the given file. The file is rotated when it reaches {@link #DEFAULT_MAX_SIZE} bytes
+	 * and {@link #DEFAULT_MAX_SEGMENTS} segments are kept.
+	 * @param file the log file.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public RollingFileLogHandler(File file) throws IOException {
+		this(file, DEFAULT_MAX_SIZE, PERIOD_NONE, DEFAULT_MAX_SEGMENTS);
+	}
+
+	/**
+	 * Create a new rolling handler that writes to the given file.
+	 * @param file the log file.
+	 * @param maxSize the size in bytes from which the file is rotated or <code>0</code> to disable the size based rotation.
+	 * @param period the period in milliseconds after which the file is rotated ({@link #PERIOD_DAILY}, {@link #PERIOD_HOURLY}, ...) or {@link #PERIOD_NONE}.
+	 * The periods are aligned on the local time, so that a daily period ends at midnight.
+	 * @param maxSegments the maximum number of segments that are kept or <code>0</code> for no limit.
+	 * @throws IOException if the file cannot be opened.
+	 */
+	public RollingFileLogHandler(File file, long maxSize, long period, int maxSegments) throws IOException {
+
+		if (file == null){
+			throw new IllegalArgumentException("Log file cannot be null.");
+		}
+
+		this.file        = file.getAbsoluteFile();
+		this.maxSize     = Math.max(0, maxSize);
+		this.period      = Math.max(0, period);
+		this.maxSegments = Math.max(0, maxSegments);
+
+		String name = this.file.getName();
+		int dot     = name.lastIndexOf('.');
+		if (dot > 0){
+			this.baseName  = name.substring(0, dot);
+			this.extension = name.substring(dot);
+		} else {
+			this.baseName  = name;
+			this.extension = "";
+		}
+
+		this.encoder = newEncoder(StandardCharsets.UTF_8);
+
+		this.compressor = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "RollingFileLogHandler");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		Filter filter = r -> true;
+		setFilter(filter);
+		setFormatter(new LogFormatter());
+		setLevel(Level.CONFIG);
+
+		File directory = this.file.getParentFile();
+		if ((directory != null) && (!directory.isDirectory())){
+			Files.createDirectories(directory.toPath());
+		}
+
+		long now = System.currentTimeMillis();
+
+		// A file of a previous period is rotated before any write
+		if ((this.period > 0) && this.file.isFile() && (this.file.length() > 0) && (this.file.lastModified() < getPeriodStart(now))){
+			File segment = rename(this.file.lastModified());
+			if (segment != null){
+				schedule(segment);
+			}
+		}
+
+		open(now);
+
+		for(File segment : getSegments()){
+			if (!segment.getName().endsWith(COMPRESSED_EXTENSION)){
+				schedule(segment);
+			}
+		}
+	}
+
+	/**
+	 * Get the log file.
+	 * @return the log file.
+	 */
+	public File getFile(){
+		return this.file;
+	}
+
+	/**
+	 * Get the size in bytes from which the file is rotated.
+	 * @return the size from which the file is rotated or <code>0</code> if the size based rotation is disabled.
+	 */
+	public long getMaxSize(){
+		return this.maxSize;
+	}
+
+	/**
+	 * Get the period in milliseconds after which the file is rotated.
+	 * @return the rotation period or {@link #PERIOD_NONE} if the time based rotation is disabled.
+	 */
+	public long getPeriod(){
+		return this.period;
+	}
+
+	/**
+	 * Get the maximum number of segments that are kept.
+	 * @return the maximum number of segments or <code>0</code> if the number of segments is not limited.
+	 */
+	public int getMaxSegments(){
+		return this.maxSegments;
+	}
+
+	/**
+	 * Set the maximum number of segments that are kept. The limit is applied after the next rotation.
+	 * @param maxSegments the maximum number of segments or <code>0</code> for no limit.
+	 */
+	public void setMaxSegments(int maxSegments){
+		this.maxSegments = Math.max(0, maxSegments);
+	}
+
+	/**
+	 * Get the maximum size in bytes of all the segments.
+	 * @return the maximum size of all the segments or <code>0</code> if the size is not limited.
+	 */
+	public long getMaxTotalSize(){
+		return this.maxTotalSize;
+	}
+
+	/**
+	 * Set the maximum size in bytes of all the segments. The limit is applied after the next rotation.
+	 * @param maxTotalSize the maximum size of all the segments or <code>0</code> for no limit.
+	 */
+	public void setMaxTotalSize(long maxTotalSize){
+		this.maxTotalSize = Math.max(0, maxTotalSize);
+	}
+
+	/**
+	 * Get if the segments are compressed.
+	 * @return <code>true</code> if the segments are compressed and <code>false</code> otherwise.
+	 */
+	public boolean isCompressing(){
+		return this.compressing;
+	}
+
+	/**
+	 * Set if the segments are compressed.
+	 * @param compressing <code>true</code> if the segments are compressed and <code>false</code> otherwise.
+	 */
+	public void setCompressing(boolean compressing){
+		this.compressing = compressing;
+	}
+
+	/**
+	 * Get if the handler is flushed after each published record.
+	 * @return <code>true</code> if the handler is flushed after each published record and <code>false</code> otherwise.
+	 */
+	public boolean isAutoFlush(){
+		return this.autoFlush;
+	}
+
+	/**
+	 * Set if the handler is flushed after each published record. When the auto flush is disabled, the records are written
+	 * when the buffer is full or when {@link #flush()} is called, for example by an {@link AsyncLogHandler asynchronous handler}.
+	 * @param autoFlush <code>true</code> if the handler is flushed after each published record and <code>false</code> otherwise.
+	 */
+	public void setAutoFlush(boolean autoFlush){
+		this.autoFlush = autoFlush;
+	}
+
+	/**
+	 * Get the structured encoder of the records.
+	 * @return the structured encoder of the records or <code>null</code> if the records are written using the formatter.
+	 */
+	public synchronized LogEncoder getLogEncoder(){
+		return this.logEncoder;
+	}
+
+	/**
+	 * Set the structured encoder of the records, for example a {@link JsonLogEncoder} or a {@link BinaryLogEncoder}. When an encoder is set,
+	 * the records are encoded directly into the write buffer and the formatter and the encoding of the handler are not used.
+	 * The {@link LogEncoder#getHeader() header} of the encoder is written at the beginning of each file. An encoder should be set before any record is published,
+	 * as the records already written to the current file are not encoded again.
+	 * @param logEncoder the structured encoder or <code>null</code> to use the formatter.
+	 */
+	public synchronized void setLogEncoder(LogEncoder logEncoder){
+		this.logEncoder = logEncoder;
+		try {
+			writeHeader();
+		} catch (IOException e) {
+			reportError("Cannot write log header", e, ErrorManager.WRITE_FAILURE);
+		}
+	}
+
+	/**
+	 * Get the segments of the log file, from the oldest to the most recent one. Only the files named <code>[name]-[yyyyMMdd-HHmmss](-[index]).[extension](.gz)</code>
+	 * are segments, so that the other files of the directory that share the same prefix (for example <code>app-error.log</code> next to <code>app.log</code>) are 
+	 * neither compressed nor deleted.
+	 * @return the segments of the log file.
+	 */
+	public List<File> getSegments(){
+
+		List<File> segments = new ArrayList<File>();
+
+		File[] files = this.file.getParentFile().listFiles();
+		if (files != null){
+
+			for(File candidate : files){
+				if (isSegment(candidate.getName()) && (!candidate.equals(this.file))){
+					segments.add(candidate);
+				}
+			}
+
+			segments.sort((f1, f2) -> compareSegments(f1.getName(), f2.getName()));
+		}
+
+		return segments;
+	}
+
+	@Override
+	public synchronized void setEncoding(String encoding) throws SecurityException, UnsupportedEncodingException {
+		super.setEncoding(encoding);
+		flush();
+		this.encoder = newEncoder(encoding != null ? Charset.forName(encoding) : Charset.defaultCharset());
+	}
+
+	/**
+	 * Publish a {@link LogRecord log record}. The record is formatted and encoded within the write buffer and the file is rotated if needed.
+	 * @param record description of the log event. A null record is silently ignored and is not published.
+	 */
+	@Override
+	public synchronized void publish(LogRecord record){
+
+		if ((this.channel == null) || (!isLoggable(record))){
+			return;
+		}
+
+		try {
+
+			if (record.getMillis() >= this.nextRotation){
+				rotate(record.getMillis());
+			}
+
+			LogEncoder logEncoder = this.logEncoder;
+			if (logEncoder != null){
+				encode(record, logEncoder);
+			} else {
+				// A record logged while formatting this one is appended after it and trimmed back
+				StringBuilder sb = this.builder;
+				int start = sb.length();
+				try {
+					Formatter formatter = getFormatter();
+					if (formatter instanceof LogFormatter){
+						((LogFormatter) formatter).format(record, sb);
+					} else {
+						sb.append(formatter.format(record));
+					}
+
+					encode(sb, start);
+				} finally {
+					sb.setLength(start);
+				}
+			}
+
+			if ((this.maxSize > 0) && (this.size >= this.maxSize)){
+				rotate(record.getMillis());
+			} else if (this.autoFlush){
+				flushBuffer();
+			}
+
+		} catch (Exception e) {
+			reportError("Cannot write record", e, ErrorManager.WRITE_FAILURE);
+		}
+	}
+
+	/**
+	 * Write the buffered records to the file.
+	 */
+	@Override
+	public synchronized void flush(){
+		try {
+			flushBuffer();
+		} catch (IOException e) {
+			reportError("Cannot flush log file", e, ErrorManager.FLUSH_FAILURE);
+		}
+	}
+
+	/**
+	 * Rotate the log file now.
+	 */
+	public synchronized void rotate(){
+		try {
+			rotate(System.currentTimeMillis());
+		} catch (IOException e) {
+			reportError("Cannot rotate log file", e, ErrorManager.GENERIC_FAILURE);
+		}
+	}
+
+	/**
+	 * Close the handler. The buffered records are written, the file is closed and the pending compressions are completed.
+	 */
+	@Override
+	public void close() throws SecurityException {
+
+		synchronized(this){
+			try {
+				if (this.channel != null){
+					flushBuffer();
+					this.channel.close();
+				}
+			} catch (IOException e) {
+				reportError("Cannot close log file", e, ErrorManager.CLOSE_FAILURE);
+			}
+			this.channel = null;
+		}
+
+		this.compressor.shutdown();
+		try {
+			this.compressor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Encode the given characters within the write buffer.
+	 * @param sb the characters to encode.
+	 * @param start the index of the first character to encode.
+	 * @throws IOException if an error occurs while writing the buffer.
+	 */
+	private void encode(StringBuilder sb, int start) throws IOException {
+
+		int length = sb.length() - start;
+		if (this.chars.length < length){
+			this.chars = new char[Math.max(length, this.chars.length * 2)];
+		}
+		sb.getChars(start, sb.length(), this.chars, 0);
+
+		CharBuffer input = CharBuffer.wrap(this.chars, 0, length);
+
+		int before = this.buffer.position();
+		long written = 0;
+
+		this.encoder.reset();
+		while (true){
+			CoderResult result = this.encoder.encode(input, this.buffer, true);
+			if (result.isOverflow()){
+				written += this.buffer.position() - before;
+				writeBuffer();
+				before = 0;
+				continue;
+			}
+			break;
+		}
+		while (this.encoder.flush(this.buffer).isOverflow()){
+			written += this.buffer.position() - before;
+			writeBuffer();
+			before = 0;
+		}
+
+		written += this.buffer.position() - before;
+
+		this.size += written;
+	}
+
+	/**
+	 * Write the buffer and force the channel if needed.
+	 * @throws IOException if an error occurs.
+	 */
+	private void flushBuffer() throws IOException {
+		if ((this.channel != null) && (this.buffer.position() > 0)){
+			writeBuffer();
+		}
+	}
+
+	/**
+	 * Write the content of the buffer to the channel.
+	 * @throws IOException if an error occurs.
+	 */
+	private void writeBuffer() throws IOException {
+		this.buffer.flip();
+		while (this.buffer.hasRemaining()){
+			this.channel.write(this.buffer);
+		}
+		this.buffer.clear();
+	}
+
+	/**
+	 * Open the log file in append mode.
+	 * @param now the current time.
+	 * @throws IOException if an error occurs.
+	 */
+	private void open(long now) throws IOException {
+		this.channel      = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		this.size         = this.channel.size();
+		this.nextRotation = this.period > 0 ? getPeriodStart(now) + this.period : Long.MAX_VALUE;
+
+		writeHeader();
+	}
+
+	/**
+	 * Write the header of the structured encoder if the file is empty.
+	 * @throws IOException if an error occurs.
+	 */
+	private void writeHeader() throws IOException {
+
+		if ((this.logEncoder == null) || (this.channel == null) || (this.size > 0)){
+			return;
+		}
+
+		byte[] header = this.logEncoder.getHeader();
+		if (this.buffer.remaining() < header.length){
+			writeBuffer();
+		}
+		this.buffer.put(header);
+		this.size += header.length;
+	}
+
+	/**
+	 * Encode the given record within the write buffer using the given structured encoder. If the record does not fit within the buffer,
+	 * the buffer is written and the record is encoded again. A record that is larger than the buffer is encoded within a temporary buffer.
+	 * @param record the record to encode.
+	 * @param logEncoder the structured encoder.
+	 * @throws IOException if an error occurs while writing the buffer.
+	 */
+	private void encode(LogRecord record, LogEncoder logEncoder) throws IOException {
+
+		int start = this.buffer.position();
+		try {
+			logEncoder.encode(record, this.buffer);
+			this.size += this.buffer.position() - start;
+			return;
+		} catch (BufferOverflowException e) {
+			this.buffer.position(start);
+		}
+
+		if (start > 0){
+			writeBuffer();
+			try {
+				logEncoder.encode(record, this.buffer);
+				this.size += this.buffer.position();
+				return;
+			} catch (BufferOverflowException e) {
+				this.buffer.clear();
+			}
+		}
+
+		for(int capacity = BUFFER_SIZE * 2; capacity > 0; capacity = capacity * 2){
+			ByteBuffer large = ByteBuffer.allocate(capacity);
+			try {
+				logEncoder.encode(record, large);
+			} catch (BufferOverflowException e) {
+				continue;
+			}
+
+			large.flip();
+			this.size += large.remaining();
+			while (large.hasRemaining()){
+				this.channel.write(large);
+			}
+			return;
+		}
+	}
+
+	/**
+	 * Rotate the log file. The file is renamed into a segment, a new file is opened and the segment is scheduled for compression.
+	 * If the file cannot be rotated, the records are still appended to it and the size counter is reset, so that the next attempt
+	 * is made once the maximum size has been written again (or at the end of the next period) instead of at every record.
+	 * @param now the current time.
+	 * @throws IOException if an error occurs.
+	 */
+	private void rotate(long now) throws IOException {
+
+		if (this.channel != null){
+			flushBuffer();
+			this.channel.close();
+			this.channel = null;
+		}
+
+		File segment = null;
+		boolean failed = false;
+		if (this.size > 0){
+			segment = rename(now);
+			failed = (segment == null);
+		}
+
+		open(now);
+
+		if (segment != null){
+			schedule(segment);
+		} else if (failed){
+			this.size = 0;
+		}
+	}
+
+	/**
+	 * Rename the log file into a new segment. If the file cannot be renamed (for example because it is opened by another process), 
+	 * it is copied into the segment and then truncated.
+	 * @param time the time of the segment.
+	 * @return the segment or <code>null</code> if the file can neither be renamed nor copied.
+	 */
+	private File rename(long time){
+
+		String stamp = SEGMENT_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()));
+
+		// The index follows the most recent segment of the same time stamp, so that the name of a deleted segment is never reused
+		int index = 0;
+		for(File existing : getSegments()){
+			String key = getSegmentKey(existing.getName());
+			if (key.startsWith(stamp)){
+				index = Math.max(index, getSegmentIndex(key, key.length() > stamp.length() ? stamp.length() : -1) + 1);
+			}
+		}
+
+		File segment = new File(this.file.getParentFile(), this.baseName+"-"+stamp+(index > 0 ? "-"+index : "")+this.extension);
+		for(int i = index + 1; segment.exists() || new File(segment.getPath()+COMPRESSED_EXTENSION).exists(); i++){
+			segment = new File(this.file.getParentFile(), this.baseName+"-"+stamp+"-"+i+this.extension);
+		}
+
+		try {
+			Files.move(this.file.toPath(), segment.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			return segment;
+		} catch (IOException e) {
+			// Copy and truncate
+			try {
+				Files.copy(this.file.toPath(), segment.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+				try (FileChannel truncated = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE)){
+					truncated.truncate(0);
+				}
+				return segment;
+			} catch (IOException ex) {
+				ex.addSuppressed(e);
+				reportError("Cannot rotate log file "+this.file+" to "+segment, ex, ErrorManager.GENERIC_FAILURE);
+				segment.delete();
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Schedule the compression of the given segment and the cleaning of the old segments on the background thread.
+	 * @param segment the segment.
+	 */
+	private void schedule(File segment){
+		this.compressor.execute(() -> {
+			if (this.compressing){
+				compress(segment);
+			}
+			clean();
+		});
+	}
+
+	/**
+	 * Compress the given segment. The compressed data is written within a temporary file that is renamed when complete.
+	 * @param segment the segment to compress.
+	 */
+	private void compress(File segment){
+
+		if (!segment.isFile()){
+			return;
+		}
+
+		File target    = new File(segment.getPath()+COMPRESSED_EXTENSION);
+		File temporary = new File(segment.getPath()+COMPRESSED_EXTENSION+".tmp");
+
+		try {
+			try (InputStream is = Files.newInputStream(segment.toPath()); OutputStream os = new GZIPOutputStream(Files.newOutputStream(temporary.toPath()), BUFFER_SIZE)){
+				is.transferTo(os);
+			}
+
+			Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			target.setLastModified(segment.lastModified());
+			Files.delete(segment.toPath());
+
+		} catch (IOException e) {
+			reportError("Cannot compress log segment "+segment, e, ErrorManager.GENERIC_FAILURE);
+			temporary.delete();
+		}
+	}
+
+	/**
+	 * Delete the oldest segments that exceed the retention limits.
+	 */
+	private void clean(){
+
+		List<File> segments = getSegments();
+
+		long total = 0;
+		for(File segment : segments){
+			total += segment.length();
+		}
+
+		int count = segments.size();
+		for(File segment : segments){
+
+			boolean exceeded = ((this.maxSegments > 0) && (count > this.maxSegments)) || ((this.maxTotalSize > 0) && (total > this.maxTotalSize));
+			if (!exceeded){
+				break;
+			}
+
+			long length = segment.length();
+			if (segment.delete()){
+				count--;
+				total -= length;
+			} else {
+				reportError("Cannot delete log segment "+segment, null, ErrorManager.GENERIC_FAILURE);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Compare the given segment names by time stamp and then by index.
+	 * @param name1 the first segment name.
+	 * @param name2 the second segment name.
+	 * @return a negative integer, zero, or a positive integer as the first segment is older than, as old as, or more recent than the second one.
+	 */
+	private int compareSegments(String name1, String name2){
+
+		String key1 = getSegmentKey(name1);
+		String key2 = getSegmentKey(name2);
+
+		int index1 = key1.indexOf('-', 9);
+		int index2 = key2.indexOf('-', 9);
+
+		String stamp1 = index1 < 0 ? key1 : key1.substring(0, index1);
+		String stamp2 = index2 < 0 ? key2 : key2.substring(0, index2);
+
+		int result = stamp1.compareTo(stamp2);
+		if (result != 0){
+			return result;
+		}
+
+		return Integer.compare(getSegmentIndex(key1, index1), getSegmentIndex(key2, index2));
+	}
+
+	/**
+	 * Check if the given file name is the name of a segment of the log file.
+	 * @param name the file name.
+	 * @return <code>true</code> if the name is the name of a segment and <code>false</code> otherwise.
+	 */
+	private boolean isSegment(String name){
+
+		if (!name.startsWith(this.baseName+"-")){
+			return false;
+		}
+
+		String key = name.substring(this.baseName.length() + 1);
+
+		if (key.endsWith(COMPRESSED_EXTENSION)){
+			key = key.substring(0, key.length() - COMPRESSED_EXTENSION.length());
+		}
+
+		if (!key.endsWith(this.extension)){
+			return false;
+		}
+
+		return SEGMENT_PATTERN.matcher(key.substring(0, key.length() - this.extension.length())).matches();
+	}
+
+	/**
+	 * Get the time stamp and the index of the given segment name, that is the name without the base name and the extensions.
+	 * @param name the segment name.
+	 * @return the time stamp and the index of the segment.
+	 */
+	private String getSegmentKey(String name){
+
+		String key = name.substring(this.baseName.length() + 1);
+
+		if (key.endsWith(COMPRESSED_EXTENSION)){
+			key = key.substring(0, key.length() - COMPRESSED_EXTENSION.length());
+		}
+
+		if ((this.extension.length() > 0) && key.endsWith(this.extension)){
+			key = key.substring(0, key.length() - this.extension.length());
+		}
+
+		return key;
+	}
+
+	/**
+	 * Get the index of a segment from its key.
+	 * @param key the segment key.
+	 * @param separator the position of the index separator or <code>-1</code> if the segment has no index.
+	 * @return the index of the segment.
+	 */
+	private static int getSegmentIndex(String key, int separator){
+		if (separator < 0){
+			return 0;
+		}
+		try {
+			return Integer.parseInt(key.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Get the start of the period that contains the given time. The periods are aligned on the local time.
+	 * @param time the time.
+	 * @return the start of the period that contains the time.
+	 */
+	private long getPeriodStart(long time){
+		long offset = TimeZone.getDefault().getOffset(time);
+		return Math.floorDiv(time + offset, this.period) * this.period - offset;
+	}
+
+	/**
+	 * Create a new encoder for the given charset.
+	 * @param charset the charset.
+	 * @return the encoder.
+	 */
+	private static CharsetEncoder newEncoder(Charset charset){
+		return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	@Override
+	public String toString(){
+		return "RollingFileLogHandler ["+this.file.getPath()+"]";
+	}
+}
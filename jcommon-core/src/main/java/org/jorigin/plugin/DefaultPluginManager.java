@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.logging.Level;
 
 import org.jorigin.Common;
+import org.jorigin.logging.Log;
+import org.jorigin.trace.Tracer;
 
 /**
  * This class is a default implementation of the {@link org.jorigin.plugin.IPluginManager IPluginManager} interface. 
@@ -184,7 +186,7 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 
 
 		// Initialisation des plugins en des moins dépendant aux plus dépendants
-		Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()] Init plugins");
+		Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()] Init plugins");
 		iter = this.plugins.iterator();
 		while(iter.hasNext()){
 			plugin = iter.next();
@@ -196,7 +198,7 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 				matcher = pattern.matcher(plugin.getName());
 
 				if(matcher.matches()){
-					Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - NOT Init "+plugin.getName()+" (explicitely excluded by "+this.excludes.get(j)+")");
+					Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - NOT Init {0} (explicitely excluded by {1})", plugin.getName(), this.excludes.get(j));
 					isExcluded = true;
 				}
 
@@ -213,28 +215,28 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 					if(matcher.matches()){
 						isIncluded = true;
 						try {
-							if (plugin.pluginInit(this.plugger)){
-								Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" (included) [OK]");
+							if (init(plugin)){
+								Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init {0} (included) [OK]", plugin.getName());
 							} else {
-								Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" (included) [FAIL]");
+								Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init {0} (included) [FAIL]", plugin.getName());
 							}
 						} catch (Exception ex) {
-							Common.logger.log(Level.SEVERE, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" (included) [FAIL]", ex);
+							Log.log(Level.SEVERE, ex, "[DefaultPluginManager][pluginAllInit()]  - Init {0} (included) [FAIL]", plugin.getName());
 						}
 					}
 				}
 			}
 
 			if ((!isExcluded)&&(!isIncluded)){
-				Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" Plugin is not included / excluded, loading by default");
+				Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init {0} Plugin is not included / excluded, loading by default", plugin.getName());
 				try {
-					if (plugin.pluginInit(this.plugger)){
-						Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" Plugin is not included / excluded, loading by default [OK]");
+					if (init(plugin)){
+						Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init {0} Plugin is not included / excluded, loading by default [OK]", plugin.getName());
 					} else {
-						Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" Plugin is not included / excluded, loading by default [FAIL]");
+						Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init {0} Plugin is not included / excluded, loading by default [FAIL]", plugin.getName());
 					}
 				} catch (Exception ex) {
-					Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()]  - Init "+plugin.getName()+" Plugin is not included / excluded, loading by default [FAIL]", ex);
+					Log.log(Level.INFO, ex, "[DefaultPluginManager][pluginAllInit()]  - Init {0} Plugin is not included / excluded, loading by default [FAIL]", plugin.getName());
 				}
 			}
 		}
@@ -260,7 +262,7 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 			return;
 		}
 
-		Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()] Start plugins");
+		Log.log(Level.INFO, "[DefaultPluginManager][pluginAllInit()] Start plugins");
 
 
 		this.pluginCount     = this.plugins.size();
@@ -272,17 +274,17 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 			plugin = iter.next();
 
 			if (plugin.isPluginInitialized()){
-				if (plugin.pluginStart()){
+				if (start(plugin)){
 					pluginStarted(plugin);
 					this.pluginProcessed++;
-					Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Start "+plugin.getName()+" [OK]");
+					Log.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Start {0} [OK]", plugin.getName());
 				} else {
 					pluginStartError(plugin);
-					Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Start "+plugin.getName()+" [FAIL]");
+					Log.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Start {0} [FAIL]", plugin.getName());
 				}  
 			} else {
 				pluginStartError(plugin);
-				Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Cannot start "+plugin.getName()+" because it is not initialized [FAIL]");
+				Log.log(Level.INFO, "[DefaultPluginManager][pluginAllStart()]  - Cannot start {0} because it is not initialized [FAIL]", plugin.getName());
 			}
 
 			startProgress(plugin, (float)( ((float)i) / ((float)this.pluginCount)));
@@ -306,9 +308,9 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 			plugin = iter.next();
 
 			if (plugin.pluginStop()){
-				Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllStop()] Stop "+plugin.getName()+" [OK] ");
+				Log.log(Level.INFO, "[DefaultPluginManager][pluginAllStop()] Stop {0} [OK] ", plugin.getName());
 			} else {
-				Common.logger.log(Level.INFO, "[DefaultPluginManager][pluginAllStop()] Stop "+plugin.getName()+" [FAIL] ");
+				Log.log(Level.INFO, "[DefaultPluginManager][pluginAllStop()] Stop {0} [FAIL] ", plugin.getName());
 			}
 		}  
 	}
@@ -316,9 +318,9 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 	@Override
 	public void pluginInit(IPlugin plugin) {
 		try {
-			plugin.pluginInit(this.plugger);
+			init(plugin);
 		} catch (Exception ex) {
-			Common.logger.log(Level.INFO, plugin.getName()+" initialization error", ex);
+			Log.log(Level.INFO, ex, "{0} initialization error", plugin.getName());
 		}
 	}
 
@@ -332,12 +334,12 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 	@Override
 	public void pluginRestart(IPlugin plugin) {
 		plugin.pluginStop();
-		plugin.pluginStart();
+		start(plugin);
 	}
 
 	@Override
 	public void pluginStart(IPlugin plugin) {
-		plugin.pluginStart();
+		start(plugin);
 	}
 
 	@Override
@@ -459,6 +461,35 @@ public class DefaultPluginManager implements org.jorigin.plugin.IPluginManager{
 		}
 	}
 
+	/**
+	 * Initialize the given plugin and record the initialization within the {@link Tracer tracer}.
+	 * @param plugin the plugin to initialize.
+	 * @return <code>true</code> if the plugin is initialized and <code>false</code> otherwise.
+	 * @throws Exception if the plugin initialization fails.
+	 */
+	private boolean init(IPlugin plugin) throws Exception {
+		long start = Tracer.start();
+		try {
+			return plugin.pluginInit(this.plugger);
+		} finally {
+			Tracer.end(Tracer.PLUGIN, "pluginInit", plugin.getName(), start);
+		}
+	}
+
+	/**
+	 * Start the given plugin and record the start within the {@link Tracer tracer}.
+	 * @param plugin the plugin to start.
+	 * @return <code>true</code> if the plugin is started and <code>false</code> otherwise.
+	 */
+	private boolean start(IPlugin plugin){
+		long start = Tracer.start();
+		try {
+			return plugin.pluginStart();
+		} finally {
+			Tracer.end(Tracer.PLUGIN, "pluginStart", plugin.getName(), start);
+		}
+	}
+
 	/**
 	 * Method called when a plugin is started
 	 * @param plugin the started plugin
@@ -19,20 +19,28 @@ package org.jorigin.plugin;
 
 import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import java.util.logging.Level;
 
 import javax.swing.event.EventListenerList;
 
 import org.jorigin.Common;
+import org.jorigin.event.EventBus;
 import org.jorigin.lang.PathUtil;
+import org.jorigin.logging.Log;
+import org.jorigin.trace.Tracer;
 
 
 /**
@@ -82,18 +90,38 @@ public class PluginToolkit {
 	 */
 	protected EventListenerList idListenerList = new EventListenerList();
 
+	/**
+	 * The event bus that routes the events to the listeners.
+	 */
+	private final EventBus<PluginToolkitListener, PluginToolkitEvent> bus = new EventBus<PluginToolkitListener, PluginToolkitEvent>(PluginToolkitListener::eventDispatched);
+
+	/**
+	 * The executor that runs the discovery of the plugin locations.
+	 */
+	private final Executor executor;
+
 
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
 	//CC CONSTRUCTEUR                                             CC
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
 	/**
-	 * Constuct a new default plugin toolkit.
+	 * Constuct a new default plugin toolkit. The plugin locations are discovered in parallel using the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
 	 */
 	public PluginToolkit(){
+		this(null);
+	}
+
+	/**
+	 * Constuct a new plugin toolkit.
+	 * @param executor the executor that runs the discovery of the plugin locations in parallel. If <code>null</code>, the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool} is used.
+	 * @since 2.0.2
+	 */
+	public PluginToolkit(Executor executor){
 		this.plugins        = null;
 
 		this.pluginDirs     = new ArrayList<File>();
 
+		this.executor       = executor != null ? executor : ForkJoinPool.commonPool();
 	}
 	//CCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCCC
 	//CC FIN CONSTRUCTEUR                                         CC
@@ -177,6 +205,20 @@ public class PluginToolkit {
 	 */
 	public void addPluginToolkitListener(PluginToolkitListener l) {
 		this.idListenerList.add(PluginToolkitListener.class, l);
+		this.bus.subscribe(l);
+	}
+
+	/**
+	 * Add a Plugin Toolkit Listener to this plugin toolkit that is only notified of the events with the given identifiers
+	 * (for example {@link PluginToolkitEvent#PLUGIN_LOADING_ERROR}).
+	 * @param l the listener to add to the toolkit
+	 * @param ids the identifiers of the events to notify
+	 * @see #removePluginToolkitListener(PluginToolkitListener)
+	 * @since 2.0.2
+	 */
+	public void addPluginToolkitListener(PluginToolkitListener l, int... ids) {
+		this.idListenerList.add(PluginToolkitListener.class, l);
+		this.bus.subscribe(l, PluginToolkitEvent.class, ids);
 	}
 
 	/**
@@ -186,21 +228,17 @@ public class PluginToolkit {
 	 */
 	public void removePluginToolkitListener(PluginToolkitListener l) {
 		this.idListenerList.remove(PluginToolkitListener.class, l);
+		this.bus.unsubscribe(l);
 	}
 
 	/**
-	 * Fire a new plugin toolkit event to all registered listeners
+	 * Fire a new plugin toolkit event to the registered listeners that expect it
 	 * @param e the event to fire.
 	 * @see #addPluginToolkitListener(PluginToolkitListener)
 	 * @see #removePluginToolkitListener(PluginToolkitListener)
 	 */
 	protected void fireEvent(PluginToolkitEvent e) {
-		Object[] listeners = this.idListenerList.getListenerList();
-		for (int i = listeners.length - 2; i >= 0; i -= 2) {
-			if (listeners[i] == PluginToolkitListener.class) {
-				((PluginToolkitListener) listeners[i + 1]).eventDispatched(e);
-			}
-		}
+		this.bus.dispatch(e);
 	}
 	//EEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEE
 	//EE FIN EVENEMENT                                            EE
@@ -210,6 +248,8 @@ public class PluginToolkit {
 	 * Load all plugins available in the locations given to the toolkit. This method scan the available locations
 	 * and looks for plugins with given package name. When available plugins are detected, the method instanciate them
 	 * and store the instanciated plugins in the returned list. 
+	 * The locations are discovered in parallel and the jar archives are read through their central directory. The discovered plugins are
+	 * instanciated following the order of the locations, then the order of the archive entries or of the class file names.
 	 * @return ArrayList&lt;{@link org.jorigin.plugin.IPlugin IPlugin}&gt; the plugins availables and instanciated.
 	 * @see #addPluginDir(String)
 	 * @see #addPluginDir(File)
@@ -224,213 +264,78 @@ public class PluginToolkit {
 
 		String pluginClass                 = null;
 
-		Iterator<File> fileIter            = null;
 		File pluginDir                     = null;
 
-		ArrayList<String> pluginClassNames = null;
-		String[] corePluginFiles           = null;
-
-		String archive                     = null;
-		String path                        = null;
-
-		File jarFile                       = null;
-		JarInputStream jis                 = null;
-
-		JarEntry jarEntry                  = null;
-
-		// Parcours des répertoires de plugin pour trouver les plugins.
-		fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_START, "Plugin discovering", this.pluginDirs.size()));
-
-		fileIter = this.pluginDirs.iterator();
-		while(fileIter.hasNext()){
-
-			pluginDir = fileIter.next();
-
-			// Verifie si les classes sont contenues dans un jar
-			if (pluginDir.getPath().contains("!")){
-				archive = pluginDir.getPath().split("!")[0];
-				path    = pluginDir.getPath().split("!")[1];
-
-				archive = PathUtil.URIToPath(archive);
-				path    = path.replace("\\", "/");
-
-				if (path.startsWith("/")){
-					path = path.substring(1);
-				}
-			} 
-
-			// Chargement depuis une archive
-			if (archive != null){
-
-				if (archive.endsWith(".jar")){
-					Common.logger.log(Level.INFO, "[PluginToolKit][loadPlugins()] Plugin load from jar file: "+archive);
-					Common.logger.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - directory             : "+path);
-					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_ARCHIVE, archive));
-					try {
-
-						switch (PathUtil.getProtocol(archive)) {
-						case PathUtil.SYSTEM:
-						case PathUtil.URL_FILE:
-							jarFile = new File(PathUtil.URIToPath(archive));
-							jis = new JarInputStream(new BufferedInputStream(new FileInputStream(jarFile)));
-							break;
-
-						case PathUtil.URL_HTTP:
-							jis = new JarInputStream(new BufferedInputStream(PathUtil.pathToURL(archive).openStream()));
-							break;
-
-						case PathUtil.URL_FTP:
-						case PathUtil.URL_SFTP:
-							break;
-						}
-
-						if (jis != null){
-							if (pluginClassNames == null){
-								pluginClassNames = new ArrayList<String>();
-							}
-
-							jarEntry = jis.getNextJarEntry();
-							while (jarEntry != null){
-
-								if ((jarEntry.getName().startsWith(path) && (jarEntry.getName().toUpperCase().endsWith("PLUGIN.CLASS")))){
-
-									pluginClass = jarEntry.getName().substring(0, jarEntry.getName().lastIndexOf("."));
-									pluginClass = pluginClass.replace("/", ".");
-
-									pluginClassNames.add(pluginClass);
-
-									Common.logger.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - Found plugin: "+pluginClass);
-								}
-
-								jarEntry = jis.getNextJarEntry();
-							}
-
-							if (pluginClassNames.size() < 1){
-								Common.logger.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - No plugin available");
-								fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_NO_DISCOVERY, archive));
-							}
-						} else {
-							Common.logger.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Unable to open stream from archive "+archive);
-						}
-
-					} catch (IOException ex) {
-						Common.logger.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Cannot open jar "+archive, ex);
-					}
-				}
-
-				// Chargement directement depuis un répertoire de classes  
-			} else {
-				Common.logger.log(Level.INFO, "[PluginToolKit][initPlugins()] Plugin load from dir : "+pluginDir.getPath());
-				fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_DIR, pluginDir.getPath()));
-
-				// Recuperation des fichiers presents dans le repertoire plugin d'ametist
-				try {
-					corePluginFiles = pluginDir.list(new FilenameFilter(){
-						public boolean accept(File dir, String name) {
-
-
-							if (name.endsWith("Plugin.class")){
-								if (name.equals("IPlugin.class")){
-									return false;
-								}
-								return true;
-							} else {
-								return false;
-							}
-						}});
-
-					if (corePluginFiles != null){
-						if (pluginClassNames == null){
-							pluginClassNames = new ArrayList<String>();
-						}
-
-						for(int i = 0; i < corePluginFiles.length; i++){
-							pluginClass = corePluginFiles[i].replace(File.separatorChar, '.');
-							pluginClass = pluginClass.substring(0, pluginClass.length() - 6);
-							pluginClass = this.corePackage + "." + pluginClass;
-
-
-
-							if (pluginClass != null){
-								pluginClassNames.add(pluginClass);
-							}
-
-							Common.logger.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - Found plugin: "+pluginClass);
-						} 
-					} else {
-						Common.logger.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Unable to list plugin dir: "+pluginDir.getPath());
-					}
-
-				} catch (Exception ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Unable to list plugin dir: "+pluginDir.getPath(), ex);
-				}
-			}
-		}
-
-		fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_FINISHED, "Plugin discovering finished"));
+		ArrayList<String> pluginClassNames = discoverPlugins();
 
 		if ((pluginClassNames != null) && (pluginClassNames.size() > 0)){
 
+			// Les erreurs de chargement sont rapportées sur le dernier emplacement parcouru
+			pluginDir = this.pluginDirs.get(this.pluginDirs.size() - 1);
+
 			fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_START, "", pluginClassNames.size()));
 			for(int i = 0; i < pluginClassNames.size(); i++){
+				long loading = Tracer.start();
 				try {
 
 					pluginClass = pluginClassNames.get(i);
 
-					Common.logger.log(Level.INFO, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass);
+					Log.log(Level.INFO, "[PluginToolkit][loadPlugins()]  - Load {0}", pluginClass);
 					ap = (IPlugin) Class.forName(pluginClass).getDeclaredConstructor().newInstance();
 					this.plugins.add(ap);
 					this.taskCurrentTime += 1;
 
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_LOADED, ap, this.taskCurrentTime));
 
-					Common.logger.log(Level.INFO, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [OK]");
+					Log.log(Level.INFO, "[PluginToolkit][loadPlugins()]  - Load {0} [OK]", pluginClass);
 				} catch (ClassNotFoundException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "PluginToolkit Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin is not available", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "PluginToolkit Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin is not available", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 
 				} catch (IllegalAccessException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be accessed (illegal access)", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be accessed (illegal access)", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 
 				} catch (InstantiationException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
 
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 				} catch (IllegalArgumentException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 				} catch (InvocationTargetException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 				} catch (NoSuchMethodException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
 				} catch (SecurityException ex) {
-					Common.logger.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load "+pluginClass+" [FAIL]");
-					Common.logger.log(Level.SEVERE, "Cannot register plugin "+pluginClass);
-					Common.logger.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
+					Log.log(Level.SEVERE, "[PluginToolkit][loadPlugins()]  - Load {0} [FAIL]", pluginClass);
+					Log.log(Level.SEVERE, "Cannot register plugin {0}", pluginClass);
+					Log.log(Level.SEVERE, "the plugin cannot be instanciated", ex);
 					this.taskCurrentTime += 1;
 					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_LOADING_ERROR, pluginDir.getPath(), this.taskCurrentTime));
-				}   
+				} finally {
+					Tracer.end(Tracer.PLUGIN, "loadPlugin", pluginClass, loading);
+				}
 			}
 		} else{
 			this.plugins = null;
@@ -439,4 +344,232 @@ public class PluginToolkit {
 		return this.plugins;
 	}
 
+
+	/**
+	 * Discover the plugin classes available in the locations given to the toolkit. The locations are discovered in parallel
+	 * and their plugin classes are merged following the order of the locations.
+	 * @return the names of the discovered plugin classes or <code>null</code> if no location can be read.
+	 */
+	ArrayList<String> discoverPlugins(){
+
+		ArrayList<String> pluginClassNames = null;
+
+		long discovery = Tracer.start();
+
+		// Parcours des répertoires de plugin pour trouver les plugins.
+		fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_START, "Plugin discovering", this.pluginDirs.size()));
+
+		// Les emplacements sont parcourus en parallèle
+		List<File> locations = new ArrayList<File>(this.pluginDirs);
+		List<CompletableFuture<List<String>>> discoveries = new ArrayList<CompletableFuture<List<String>>>(locations.size());
+		for(File location : locations){
+			discoveries.add(CompletableFuture.supplyAsync(() -> discover(location), this.executor));
+		}
+
+		// Fusion suivant l'ordre des emplacements
+		for(int i = 0; i < locations.size(); i++){
+
+			File pluginDir = locations.get(i);
+
+			String archive = getArchive(pluginDir);
+			if (archive != null){
+				fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_ARCHIVE, archive));
+			} else {
+				fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_DIR, pluginDir.getPath()));
+			}
+
+			List<String> found = discoveries.get(i).join();
+			if (found != null){
+				if (pluginClassNames == null){
+					pluginClassNames = new ArrayList<String>();
+				}
+
+				pluginClassNames.addAll(found);
+
+				if ((archive != null) && found.isEmpty()){
+					fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_NO_DISCOVERY, archive));
+				}
+			}
+		}
+
+		Tracer.end(Tracer.PLUGIN, "discovery", discovery);
+
+		fireEvent(new PluginToolkitEvent(this, PluginToolkitEvent.PLUGIN_DISCOVERING_FINISHED, "Plugin discovering finished"));
+
+		return pluginClassNames;
+	}
+
+	/**
+	 * Get the archive that contains the given plugin location.
+	 * @param pluginDir the plugin location.
+	 * @return the path of the archive or <code>null</code> if the location is not within an archive.
+	 */
+	private static String getArchive(File pluginDir){
+
+		// Verifie si les classes sont contenues dans un jar
+		if (pluginDir.getPath().contains("!")){
+			return PathUtil.URIToPath(pluginDir.getPath().split("!")[0]);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Get the path of the given plugin location within its archive.
+	 * @param pluginDir the plugin location.
+	 * @return the path of the location within its archive, without leading separator.
+	 */
+	private static String getArchivePath(File pluginDir){
+
+		String path = pluginDir.getPath().split("!")[1].replace("\\", "/");
+
+		if (path.startsWith("/")){
+			path = path.substring(1);
+		}
+
+		return path;
+	}
+
+	/**
+	 * Discover the plugin classes available within the given location. This method can be called concurrently for different locations.
+	 * @param pluginDir the plugin location, that is a directory or a directory within a jar archive.
+	 * @return the names of the plugin classes, in the archive order for an archive and in the name order for a directory,
+	 * or <code>null</code> if the location cannot be read.
+	 */
+	private List<String> discover(File pluginDir){
+
+		long start = Tracer.start();
+		try {
+			String archive = getArchive(pluginDir);
+
+			// Chargement depuis une archive
+			if (archive != null){
+				if (archive.endsWith(".jar")){
+					return discoverArchive(archive, getArchivePath(pluginDir));
+				}
+				return null;
+			}
+
+			// Chargement directement depuis un répertoire de classes
+			return discoverDir(pluginDir);
+
+		} finally {
+			Tracer.end(Tracer.PLUGIN, "discoverLocation", pluginDir.getPath(), start);
+		}
+	}
+
+	/**
+	 * Discover the plugin classes available within the given directory of a jar archive. A local archive is read through its central directory
+	 * using a {@link JarFile}, without reading the content of the entries. A remote archive is read sequentially.
+	 * @param archive the path of the archive.
+	 * @param path the directory within the archive.
+	 * @return the names of the plugin classes or <code>null</code> if the archive cannot be read.
+	 */
+	private List<String> discoverArchive(String archive, String path){
+
+		Log.log(Level.INFO, "[PluginToolKit][loadPlugins()] Plugin load from jar file: {0}", archive);
+		Log.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - directory             : {0}", path);
+
+		List<String> pluginClassNames = new ArrayList<String>();
+
+		try {
+
+			switch (PathUtil.getProtocol(archive)) {
+			case PathUtil.SYSTEM:
+			case PathUtil.URL_FILE:
+				try (JarFile jar = new JarFile(new File(PathUtil.URIToPath(archive)), false)){
+					Enumeration<JarEntry> entries = jar.entries();
+					while (entries.hasMoreElements()){
+						addArchiveEntry(entries.nextElement(), path, pluginClassNames);
+					}
+				}
+				break;
+
+			case PathUtil.URL_HTTP:
+				try (JarInputStream jis = new JarInputStream(new BufferedInputStream(PathUtil.pathToURL(archive).openStream()))){
+					JarEntry jarEntry = jis.getNextJarEntry();
+					while (jarEntry != null){
+						addArchiveEntry(jarEntry, path, pluginClassNames);
+						jarEntry = jis.getNextJarEntry();
+					}
+				}
+				break;
+
+			default:
+				Log.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Unable to open stream from archive {0}", archive);
+				return null;
+			}
+
+		} catch (IOException ex) {
+			Log.log(Level.SEVERE, ex, "[PluginToolKit][loadPlugins()] Cannot open jar {0}", archive);
+			return null;
+		}
+
+		if (pluginClassNames.size() < 1){
+			Log.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - No plugin available");
+		}
+
+		return pluginClassNames;
+	}
+
+	/**
+	 * Add the plugin class described by the given archive entry to the given list, if the entry is a plugin class located within the given directory.
+	 * @param jarEntry the archive entry.
+	 * @param path the directory within the archive.
+	 * @param pluginClassNames the names of the plugin classes.
+	 */
+	private static void addArchiveEntry(JarEntry jarEntry, String path, List<String> pluginClassNames){
+
+		if ((jarEntry.getName().startsWith(path) && (jarEntry.getName().toUpperCase().endsWith("PLUGIN.CLASS")))){
+
+			String pluginClass = jarEntry.getName().substring(0, jarEntry.getName().lastIndexOf("."));
+			pluginClass = pluginClass.replace("/", ".");
+
+			pluginClassNames.add(pluginClass);
+
+			Log.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - Found plugin: {0}", pluginClass);
+		}
+	}
+
+	/**
+	 * Discover the plugin classes available within the given directory.
+	 * @param pluginDir the directory.
+	 * @return the names of the plugin classes, in the name order, or <code>null</code> if the directory cannot be listed.
+	 */
+	private List<String> discoverDir(File pluginDir){
+
+		Log.log(Level.INFO, "[PluginToolKit][initPlugins()] Plugin load from dir : {0}", pluginDir.getPath());
+
+		// Recuperation des fichiers presents dans le repertoire plugin d'ametist
+		try {
+			String[] corePluginFiles = pluginDir.list(new FilenameFilter(){
+				public boolean accept(File dir, String name) {
+					return name.endsWith("Plugin.class") && !name.equals("IPlugin.class");
+				}});
+
+			if (corePluginFiles == null){
+				Log.log(Level.SEVERE, "[PluginToolKit][loadPlugins()] Unable to list plugin dir: {0}", pluginDir.getPath());
+				return null;
+			}
+
+			Arrays.sort(corePluginFiles);
+
+			List<String> pluginClassNames = new ArrayList<String>(corePluginFiles.length);
+			for(int i = 0; i < corePluginFiles.length; i++){
+				String pluginClass = corePluginFiles[i].replace(File.separatorChar, '.');
+				pluginClass = pluginClass.substring(0, pluginClass.length() - 6);
+				pluginClass = this.corePackage + "." + pluginClass;
+
+				pluginClassNames.add(pluginClass);
+
+				Log.log(Level.INFO, "[PluginToolKit][loadPlugins()]  - Found plugin: {0}", pluginClass);
+			}
+
+			return pluginClassNames;
+
+		} catch (Exception ex) {
+			Log.log(Level.SEVERE, ex, "[PluginToolKit][loadPlugins()] Unable to list plugin dir: {0}", pluginDir.getPath());
+			return null;
+		}
+	}
 }
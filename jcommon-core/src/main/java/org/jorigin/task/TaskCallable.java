@@ -0,0 +1,39 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import org.jorigin.Common;
+
+/**
+ * A task run by a {@link TaskExecutor task executor}. The task reports its progress, runs its subtasks and checks its cancellation through its {@link TaskContext context}.
+ * @param <V> the type of the result of the task.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+@FunctionalInterface
+public interface TaskCallable<V> {
+
+	/**
+	 * Run the task.
+	 * @param context the context of the task.
+	 * @return the result of the task.
+	 * @throws Exception if the task fails.
+	 */
+	public V call(TaskContext context) throws Exception;
+}
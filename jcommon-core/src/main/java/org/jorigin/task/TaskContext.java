@@ -0,0 +1,252 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.concurrent.CancellationException;
+
+import org.jorigin.Common;
+
+/**
+ * The context of a task run by a {@link TaskExecutor task executor}. The context enables the task to report its progress,
+ * to run nested subtasks and to check if it has been cancelled. Each call that changes the progress of the task fires a
+ * {@link TaskEvent#TASK_PROGRESS progress event} if the progress, rounded to an integer, has changed.<br>
+ * <br>
+ * A subtask has a weight that is the part of the progress of its parent that it represents, in the units of the parent size.
+ * For example, a task of size 100 that runs a subtask of weight 30 and size 1000 progresses from its current progress to its current progress plus 30 while the subtask progresses from 0 to 1000.
+ * The subtasks fire their own start, progress and finish events.<br>
+ * <br>
+ * The cancellation is cooperative: a task that has been {@link TaskHandle#cancel(boolean) cancelled} or whose timeout has elapsed has to stop as soon as possible,
+ * for example by calling {@link #checkCancelled()} regularly. A context is only used by the thread that runs its task.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskContext {
+
+	/**
+	 * The executor that runs the task.
+	 */
+	private final TaskExecutor executor;
+
+	/**
+	 * The handle of the root task.
+	 */
+	private final TaskHandle<?> handle;
+
+	/**
+	 * The context of the parent task or <code>null</code> if the task is a root task.
+	 */
+	private final TaskContext parent;
+
+	/**
+	 * The name of the task.
+	 */
+	private final String name;
+
+	/**
+	 * The size of the task.
+	 */
+	private final int size;
+
+	/**
+	 * The part of the progress of the parent represented by the task.
+	 */
+	private final double weight;
+
+	/**
+	 * The progress of the parent when the task started.
+	 */
+	private final double base;
+
+	/**
+	 * The progress of the task.
+	 */
+	private volatile double progress = 0.0d;
+
+	/**
+	 * The last progress reported by an event.
+	 */
+	private int reported = 0;
+
+	/**
+	 * Create a new context.
+	 * @param executor the executor that runs the task.
+	 * @param handle the handle of the root task.
+	 * @param parent the context of the parent task or <code>null</code> if the task is a root task.
+	 * @param name the name of the task.
+	 * @param size the size of the task.
+	 * @param weight the part of the progress of the parent represented by the task.
+	 */
+	TaskContext(TaskExecutor executor, TaskHandle<?> handle, TaskContext parent, String name, int size, double weight){
+		this.executor = executor;
+		this.handle   = handle;
+		this.parent   = parent;
+		this.name     = name;
+		this.size     = size;
+		this.weight   = weight;
+		this.base     = (parent != null) ? parent.progress : 0.0d;
+	}
+
+	/**
+	 * Get the name of the task.
+	 * @return the name of the task.
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Get the size of the task.
+	 * @return the size of the task or a negative value if the size is unknown.
+	 */
+	public int getSize(){
+		return this.size;
+	}
+
+	/**
+	 * Get the progress of the task.
+	 * @return the progress of the task, between <code>0</code> and its size.
+	 */
+	public double getProgress(){
+		return this.progress;
+	}
+
+	/**
+	 * Get the handle of the root task.
+	 * @return the handle of the root task.
+	 */
+	TaskHandle<?> getHandle(){
+		return this.handle;
+	}
+
+	/**
+	 * Get the context of the parent task.
+	 * @return the context of the parent task or <code>null</code> if the task is a root task.
+	 */
+	public TaskContext getParent(){
+		return this.parent;
+	}
+
+	/**
+	 * Set the progress of the task.
+	 * @param progress the progress of the task, between <code>0</code> and its size.
+	 */
+	public void setProgress(int progress){
+		update(progress, null);
+	}
+
+	/**
+	 * Set the progress of the task and describe the current step. The description is attached to the progress event.
+	 * @param progress the progress of the task, between <code>0</code> and its size.
+	 * @param description the description of the current step.
+	 */
+	public void setProgress(int progress, String description){
+		update(progress, description);
+	}
+
+	/**
+	 * Advance the progress of the task.
+	 * @param amount the amount of progress to add.
+	 */
+	public void advance(int amount){
+		update(this.progress + amount, null);
+	}
+
+	/**
+	 * Fire a {@link TaskEvent#TASK_WARNING warning event} for this task.
+	 * @param description the description of the warning.
+	 */
+	public void warning(String description){
+		this.executor.fire(new TaskEvent(this.executor, TaskEvent.TASK_WARNING, this, this.name, description, -1));
+	}
+
+	/**
+	 * Fire an {@link TaskEvent#TASK_INFO information event} for this task.
+	 * @param description the information.
+	 */
+	public void info(String description){
+		this.executor.fire(new TaskEvent(this.executor, TaskEvent.TASK_INFO, this, this.name, description, -1));
+	}
+
+	/**
+	 * Check if the task has been cancelled or if its timeout has elapsed.
+	 * @return <code>true</code> if the task has to stop and <code>false</code> otherwise.
+	 */
+	public boolean isCancelled(){
+		return this.handle.isStopping();
+	}
+
+	/**
+	 * Throw a {@link CancellationException} if the task has been cancelled or if its timeout has elapsed.
+	 * @throws CancellationException if the task has to stop.
+	 */
+	public void checkCancelled() throws CancellationException {
+		if (this.handle.isStopping()){
+			throw new CancellationException("Task "+this.name+" cancelled");
+		}
+	}
+
+	/**
+	 * Run a subtask within the current thread. The subtask fires its own events and its progress is added to the progress of this task according to its weight.
+	 * When the subtask ends, the progress of this task is its progress when the subtask started plus the weight of the subtask.
+	 * @param <V> the type of the result of the subtask.
+	 * @param name the name of the subtask.
+	 * @param weight the part of the progress of this task represented by the subtask, in the units of the size of this task.
+	 * @param size the size of the subtask or a negative value if the size is unknown.
+	 * @param task the subtask.
+	 * @return the result of the subtask.
+	 * @throws Exception if the subtask fails.
+	 * @throws CancellationException if the task has been cancelled.
+	 */
+	public <V> V subtask(String name, double weight, int size, TaskCallable<V> task) throws Exception {
+
+		checkCancelled();
+
+		TaskContext context = new TaskContext(this.executor, this.handle, this, name, size, weight);
+
+		V result = this.executor.run(context, task);
+
+		update(context.base + weight, null);
+
+		return result;
+	}
+
+	/**
+	 * Update the progress of the task and of its parents.
+	 * @param progress the progress of the task.
+	 * @param description the description of the current step or <code>null</code>.
+	 */
+	private void update(double progress, String description){
+
+		if (this.size > 0){
+			progress = Math.max(0.0d, Math.min(progress, this.size));
+		}
+
+		this.progress = progress;
+
+		int value = (int) progress;
+		if ((value != this.reported) || (description != null)){
+			this.reported = value;
+			this.executor.fire(new TaskEvent(this.executor, TaskEvent.TASK_PROGRESS, this, this.name, description, value));
+		}
+
+		if ((this.parent != null) && (this.size > 0)){
+			this.parent.update(this.base + this.weight * progress / this.size, null);
+		}
+	}
+}
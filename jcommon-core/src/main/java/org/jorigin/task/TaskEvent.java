@@ -91,6 +91,11 @@ public class TaskEvent extends AWTEvent{
 	 */
 	private int size = -1;
 
+	/**
+	 * The identity of the task run that fired this event or <code>null</code> if it is unknown.
+	 */
+	private transient Object task = null;
+
 	/**
 	 * Create a new task event.
 	 * @param source the source (task) of the event.
@@ -165,6 +170,21 @@ public class TaskEvent extends AWTEvent{
 		this.size = size;
 	}
 
+	/**
+	 * Create a new task event attached to a task run. The task run distinguishes the tasks that have the same name and that run at the same time.
+	 * @param source the source (task) of the event.
+	 * @param id the identifier of the task.
+	 * @param task the identity of the task run that fires the event, for example its {@link TaskContext context}.
+	 * @param name the name of the task.
+	 * @param description the description of the event.
+	 * @param size the size of the event in case of progress monitoring. If the event is {@link #TASK_STARTED}, the size is the size of the task. If the event is {@link #TASK_PROGRESS}, the size is the actually accomplished part of the task.
+	 * @since 2.0.2
+	 */
+	public TaskEvent(Object source, int id, Object task, String name, String description, int size){
+		this(source, id, name, description, size);
+		this.task = task;
+	}
+
 
 	/**
 	 * Get the name of the task attached to this event
@@ -189,4 +209,13 @@ public class TaskEvent extends AWTEvent{
 	public int getSize(){
 		return this.size;  
 	}
+
+	/**
+	 * Get the identity of the task run that fired this event. All the events of a task run share the same identity.
+	 * @return the identity of the task run that fired this event or <code>null</code> if it is unknown.
+	 * @since 2.0.2
+	 */
+	public Object getTask(){
+		return this.task;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+
+/**
+ * A {@link TaskListener task listener} that coalesces the {@link TaskEvent#TASK_PROGRESS progress events} before forwarding them to another listener:
+ * <pre>
+ * task.addTaskListener(new TaskEventCoalescer(monitor, 100L));
+ * </pre>
+ * Only the latest progress event of each task, identified by its {@link TaskEvent#getTaskName() name}, is kept and the kept progress events are forwarded
+ * at most once per interval by a background thread. The other events (start, finish, warning, error, ...) are forwarded immediately by the thread
+ * that dispatches them, after the pending progress of their task, so that the listener receives the events of a task in their order.
+ * The listener is never notified by two threads at the same time.<br>
+ * <br>
+ * The background thread is started on the first progress event and stopped by {@link #close()}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskEventCoalescer implements TaskListener {
+
+	/**
+	 * The default interval between two deliveries of the progress events, in milliseconds.
+	 */
+	public static final long DEFAULT_INTERVAL = 100L;
+
+	/**
+	 * The listener that receives the events.
+	 */
+	private final TaskListener listener;
+
+	/**
+	 * The interval between two deliveries of the progress events, in milliseconds.
+	 */
+	private final long interval;
+
+	/**
+	 * The latest progress event of each task, in the order of their first progress.
+	 */
+	private final Map<String, TaskEvent> pending = new LinkedHashMap<String, TaskEvent>();
+
+	/**
+	 * The lock that serializes the notifications of the listener.
+	 */
+	private final Object delivery = new Object();
+
+	/**
+	 * The number of progress events replaced by a more recent one.
+	 */
+	private long coalescedCount = 0;
+
+	/**
+	 * The executor that delivers the progress events.
+	 */
+	private volatile ScheduledExecutorService executor = null;
+
+	/**
+	 * Is the coalescer closed.
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * Create a new coalescer that forwards the progress events to the given listener every {@link #DEFAULT_INTERVAL} milliseconds.
+	 * @param listener the listener that receives the events.
+	 */
+	public TaskEventCoalescer(TaskListener listener){
+		this(listener, DEFAULT_INTERVAL);
+	}
+
+	/**
+	 * Create a new coalescer.
+	 * @param listener the listener that receives the events.
+	 * @param interval the interval between two deliveries of the progress events, in milliseconds.
+	 * @throws IllegalArgumentException if the listener is <code>null</code> or if the interval is not strictly positive.
+	 */
+	public TaskEventCoalescer(TaskListener listener, long interval){
+
+		if (listener == null){
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+
+		if (interval < 1){
+			throw new IllegalArgumentException("Invalid interval "+interval);
+		}
+
+		this.listener = listener;
+		this.interval = interval;
+	}
+
+	/**
+	 * Get the listener that receives the events.
+	 * @return the listener that receives the events.
+	 */
+	public TaskListener getListener(){
+		return this.listener;
+	}
+
+	/**
+	 * Get the interval between two deliveries of the progress events.
+	 * @return the interval between two deliveries of the progress events, in milliseconds.
+	 */
+	public long getInterval(){
+		return this.interval;
+	}
+
+	/**
+	 * Get the number of progress events that have been replaced by a more recent one and that have not been forwarded.
+	 * @return the number of coalesced progress events.
+	 */
+	public long getCoalescedCount(){
+		synchronized (this.pending) {
+			return this.coalescedCount;
+		}
+	}
+
+	@Override
+	public void eventDispatched(TaskEvent event){
+
+		if (event == null){
+			return;
+		}
+
+		if ((event.getID() == TaskEvent.TASK_PROGRESS) && !this.closed){
+
+			synchronized (this.pending) {
+				if (this.pending.put(event.getTaskName(), event) != null){
+					this.coalescedCount++;
+				}
+			}
+
+			if (this.closed){
+				flush();
+			} else if (this.executor == null){
+				start();
+			}
+
+			return;
+		}
+
+		synchronized (this.delivery) {
+
+			TaskEvent progress;
+			synchronized (this.pending) {
+				progress = this.pending.remove(event.getTaskName());
+			}
+
+			if (progress != null){
+				deliver(progress);
+			}
+
+			deliver(event);
+		}
+	}
+
+	/**
+	 * Forward the pending progress events to the listener.
+	 */
+	public void flush(){
+
+		synchronized (this.delivery) {
+
+			List<TaskEvent> events;
+			synchronized (this.pending) {
+				if (this.pending.isEmpty()){
+					return;
+				}
+
+				events = new ArrayList<TaskEvent>(this.pending.values());
+				this.pending.clear();
+			}
+
+			for(TaskEvent event : events){
+				deliver(event);
+			}
+		}
+	}
+
+	/**
+	 * Forward the pending progress events and stop the background thread. The progress events received after this call are forwarded immediately.
+	 */
+	public void close(){
+
+		synchronized (this) {
+			this.closed = true;
+			if (this.executor != null){
+				this.executor.shutdownNow();
+				this.executor = null;
+			}
+		}
+
+		flush();
+	}
+
+	/**
+	 * Forward the given event to the listener.
+	 * @param event the event.
+	 */
+	private void deliver(TaskEvent event){
+		try {
+			this.listener.eventDispatched(event);
+		} catch (RuntimeException e) {
+			Log.log(Level.SEVERE, e, "Listener {0} failed to process event {1}", this.listener, event);
+		}
+	}
+
+	/**
+	 * Start the thread that delivers the progress events.
+	 */
+	private synchronized void start(){
+
+		if ((this.executor != null) || this.closed){
+			return;
+		}
+
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "TaskEventCoalescer");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		this.executor.scheduleAtFixedRate(this::flush, this.interval, this.interval, TimeUnit.MILLISECONDS);
+	}
+}
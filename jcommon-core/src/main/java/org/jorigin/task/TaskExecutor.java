@@ -0,0 +1,305 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.event.EventBus;
+import org.jorigin.logging.Log;
+
+/**
+ * An executor that runs {@link TaskCallable tasks} on a thread pool and fires their {@link TaskEvent task events}:
+ * <pre>
+ * TaskExecutor executor = new TaskExecutor();
+ * executor.addTaskListener(monitor.createTaskListener(100L));
+ *
+ * TaskHandle&lt;Integer&gt; handle = executor.submit("Import", 100, context -&gt; {
+ *   List&lt;File&gt; files = context.subtask("Scan", 10, -1, scan -&gt; listFiles());
+ *   return context.subtask("Read", 90, files.size(), read -&gt; {
+ *     for(File file : files){
+ *       read.checkCancelled();
+ *       load(file);
+ *       read.advance(1);
+ *     }
+ *     return files.size();
+ *   });
+ * });
+ * </pre>
+ * For each task and subtask, the executor fires a {@link TaskEvent#TASK_STARTED start event} whose description is the task name, the {@link TaskEvent#TASK_PROGRESS progress events}
+ * reported through the {@link TaskContext task context} and a {@link TaskEvent#TASK_FINISHED finish event}, whatever the outcome of the task is.
+ * A failed task fires a {@link TaskEvent#TASK_ERROR error event} before its finish event and a cancelled task fires a {@link TaskEvent#TASK_WARNING warning event}.
+ * The events are fired by the thread that runs the task. Listeners that update a user interface should be wrapped within a {@link TaskEventCoalescer coalescer}.<br>
+ * <br>
+ * The timeout of a task starts when the task starts running.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskExecutor {
+
+	/**
+	 * The executor that runs the tasks.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * The event bus that routes the task events to the listeners.
+	 */
+	private final EventBus<TaskListener, TaskEvent> bus = new EventBus<TaskListener, TaskEvent>(TaskListener::eventDispatched);
+
+	/**
+	 * The executor that expires the tasks whose timeout has elapsed, shared by all the task executors.
+	 */
+	private static ScheduledExecutorService timer = null;
+
+	/**
+	 * Create a new task executor that runs the tasks on as many daemon threads as available processors.
+	 */
+	public TaskExecutor(){
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a new task executor that runs the tasks on the given number of daemon threads.
+	 * @param threads the number of threads.
+	 * @throws IllegalArgumentException if the number of threads is not strictly positive.
+	 */
+	public TaskExecutor(int threads){
+
+		if (threads < 1){
+			throw new IllegalArgumentException("Invalid number of threads "+threads);
+		}
+
+		AtomicInteger count = new AtomicInteger(0);
+
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "TaskExecutor-"+count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Create a new task executor that runs the tasks on the given executor. The given executor is shut down by {@link #shutdown()}.
+	 * @param executor the executor that runs the tasks.
+	 * @throws IllegalArgumentException if the executor is <code>null</code>.
+	 */
+	public TaskExecutor(ExecutorService executor){
+
+		if (executor == null){
+			throw new IllegalArgumentException("Executor cannot be null.");
+		}
+
+		this.executor = executor;
+	}
+
+	/**
+	 * Add a task listener to this executor.
+	 * @param listener the listener to add.
+	 */
+	public void addTaskListener(TaskListener listener){
+		this.bus.subscribe(listener);
+	}
+
+	/**
+	 * Add a task listener to this executor that is only notified of the task events with the given identifiers.
+	 * @param listener the listener to add.
+	 * @param ids the identifiers of the task events to notify.
+	 */
+	public void addTaskListener(TaskListener listener, int... ids){
+		this.bus.subscribe(listener, TaskEvent.class, ids);
+	}
+
+	/**
+	 * Remove a task listener from this executor.
+	 * @param listener the listener to remove.
+	 */
+	public void removeTaskListener(TaskListener listener){
+		this.bus.unsubscribe(listener);
+	}
+
+	/**
+	 * Submit a task of unknown size.
+	 * @param <V> the type of the result of the task.
+	 * @param name the name of the task.
+	 * @param task the task.
+	 * @return the handle of the task.
+	 */
+	public <V> TaskHandle<V> submit(String name, Callable<V> task){
+		return submit(name, -1, context -> task.call(), 0L, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Submit a task.
+	 * @param <V> the type of the result of the task.
+	 * @param name the name of the task.
+	 * @param size the size of the task or a negative value if the size is unknown.
+	 * @param task the task.
+	 * @return the handle of the task.
+	 */
+	public <V> TaskHandle<V> submit(String name, int size, TaskCallable<V> task){
+		return submit(name, size, task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Submit a task with a timeout. When the timeout elapses, the task is asked to stop, its thread is interrupted and its handle fails with a {@link java.util.concurrent.TimeoutException TimeoutException}.
+	 * @param <V> the type of the result of the task.
+	 * @param name the name of the task.
+	 * @param size the size of the task or a negative value if the size is unknown.
+	 * @param task the task.
+	 * @param timeout the maximum duration of the task or <code>0</code> for no timeout.
+	 * @param unit the unit of the timeout.
+	 * @return the handle of the task.
+	 * @throws java.util.concurrent.RejectedExecutionException if the executor is shut down.
+	 */
+	public <V> TaskHandle<V> submit(String name, int size, TaskCallable<V> task, long timeout, TimeUnit unit){
+
+		TaskHandle<V> handle = new TaskHandle<V>(name);
+		TaskContext context  = new TaskContext(this, handle, null, name, size, 0.0d);
+		handle.setContext(context);
+
+		long duration = unit.toMillis(timeout);
+
+		this.executor.execute(() -> {
+
+			if (handle.isStopping()){
+				return;
+			}
+
+			ScheduledFuture<?> expiration = null;
+			if (duration > 0){
+				expiration = timer().schedule(() -> handle.expire(duration), duration, TimeUnit.MILLISECONDS);
+			}
+
+			handle.start(Thread.currentThread(), expiration);
+			try {
+				handle.complete(run(context, task));
+			} catch (Exception | Error e) {
+				handle.fail(e);
+			} finally {
+				handle.stop();
+			}
+		});
+
+		return handle;
+	}
+
+	/**
+	 * Stop accepting new tasks. The submitted tasks are still run.
+	 */
+	public void shutdown(){
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Wait until all the tasks have completed after a {@link #shutdown()}.
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return <code>true</code> if all the tasks have completed and <code>false</code> if the timeout elapsed.
+	 * @throws InterruptedException if the current thread is interrupted while waiting.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Run a task or a subtask within the current thread and fire its events.
+	 * @param <V> the type of the result of the task.
+	 * @param context the context of the task.
+	 * @param task the task.
+	 * @return the result of the task.
+	 * @throws Exception if the task fails.
+	 */
+	<V> V run(TaskContext context, TaskCallable<V> task) throws Exception {
+
+		TaskHandle<?> handle = context.getHandle();
+
+		fire(new TaskEvent(this, TaskEvent.TASK_STARTED, context, context.getName(), context.getName(), context.getSize()));
+		try {
+			V value = task.call(context);
+
+			// A task that ignores its interruption and returns after its timeout has still failed
+			if (handle.isTimedOut()){
+				fireTimeout(context, handle);
+			}
+
+			return value;
+		} catch (Exception | Error e) {
+			if (handle.report(e)){
+				if (handle.isTimedOut()){
+					fireTimeout(context, handle);
+				} else if (handle.isStopping()){
+					fire(new TaskEvent(this, TaskEvent.TASK_WARNING, context, context.getName(), "Task "+context.getName()+" cancelled", -1));
+				} else {
+					fire(new TaskEvent(this, TaskEvent.TASK_ERROR, context, context.getName(), "Task "+context.getName()+" failed: "+e.getMessage(), -1));
+				}
+			}
+			throw e;
+		} finally {
+			fire(new TaskEvent(this, TaskEvent.TASK_FINISHED, context, context.getName(), null, -1));
+		}
+	}
+
+	/**
+	 * Fire the error event of a task whose timeout has elapsed, if it has not already been fired for the task or one of its subtasks.
+	 * @param context the context of the task.
+	 * @param handle the handle of the task.
+	 */
+	private void fireTimeout(TaskContext context, TaskHandle<?> handle){
+		if (handle.reportTimeout()){
+			fire(new TaskEvent(this, TaskEvent.TASK_ERROR, context, context.getName(), "Task "+context.getName()+" timed out", -1));
+		}
+	}
+
+	/**
+	 * Fire the given event to the listeners.
+	 * @param event the event to fire.
+	 */
+	void fire(TaskEvent event){
+		try {
+			this.bus.dispatch(event);
+		} catch (RuntimeException e) {
+			Log.log(Level.SEVERE, e, "Cannot dispatch task event {0}", event);
+		}
+	}
+
+	/**
+	 * Get the executor that expires the tasks, creating it if needed.
+	 * @return the executor that expires the tasks.
+	 */
+	private static synchronized ScheduledExecutorService timer(){
+
+		if (timer == null){
+			timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "TaskExecutor-timer");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		return timer;
+	}
+}
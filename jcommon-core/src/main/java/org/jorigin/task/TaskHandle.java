@@ -0,0 +1,269 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jorigin.Common;
+
+/**
+ * The handle of a task submitted to a {@link TaskExecutor task executor}. The handle is a {@link Future future} of the result of the task
+ * that also gives the progress of the task.<br>
+ * <br>
+ * Cancelling the task or reaching its timeout completes the handle immediately and asks the task to stop: the task sees that it is
+ * {@link TaskContext#isCancelled() cancelled} and its thread is interrupted if requested. A handle whose timeout has elapsed fails with a {@link TimeoutException}.
+ * @param <V> the type of the result of the task.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskHandle<V> implements Future<V> {
+
+	/**
+	 * The name of the task.
+	 */
+	private final String name;
+
+	/**
+	 * The result of the task.
+	 */
+	private final CompletableFuture<V> result = new CompletableFuture<V>();
+
+	/**
+	 * The context of the task.
+	 */
+	private TaskContext context = null;
+
+	/**
+	 * Is the task cancelled.
+	 */
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Is the timeout of the task elapsed.
+	 */
+	private volatile boolean timedOut = false;
+
+	/**
+	 * The thread that runs the task, <code>null</code> if the task is not running.
+	 */
+	private Thread thread = null;
+
+	/**
+	 * The timeout of the task or <code>null</code> if the task has no timeout.
+	 */
+	private ScheduledFuture<?> timeout = null;
+
+	/**
+	 * The last failure that has been reported by an event.
+	 */
+	private Throwable reported = null;
+
+	/**
+	 * Has the timeout of the task been reported by an event.
+	 */
+	private boolean timeoutReported = false;
+
+	/**
+	 * Create a new handle.
+	 * @param name the name of the task.
+	 */
+	TaskHandle(String name){
+		this.name = name;
+	}
+
+	/**
+	 * Get the name of the task.
+	 * @return the name of the task.
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Get the size of the task.
+	 * @return the size of the task or a negative value if the size is unknown.
+	 */
+	public int getSize(){
+		return this.context.getSize();
+	}
+
+	/**
+	 * Get the progress of the task.
+	 * @return the progress of the task, between <code>0</code> and its size.
+	 */
+	public double getProgress(){
+		return this.context.getProgress();
+	}
+
+	/**
+	 * Check if the timeout of the task has elapsed.
+	 * @return <code>true</code> if the timeout of the task has elapsed and <code>false</code> otherwise.
+	 */
+	public boolean isTimedOut(){
+		return this.timedOut;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning){
+
+		if (this.result.isDone()){
+			return false;
+		}
+
+		this.cancelled = true;
+
+		if (mayInterruptIfRunning){
+			interrupt();
+		}
+
+		return this.result.cancel(mayInterruptIfRunning);
+	}
+
+	@Override
+	public boolean isCancelled(){
+		return this.result.isCancelled();
+	}
+
+	@Override
+	public boolean isDone(){
+		return this.result.isDone();
+	}
+
+	@Override
+	public V get() throws InterruptedException, ExecutionException {
+		return this.result.get();
+	}
+
+	@Override
+	public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		return this.result.get(timeout, unit);
+	}
+
+	/**
+	 * Set the context of the task.
+	 * @param context the context of the task.
+	 */
+	void setContext(TaskContext context){
+		this.context = context;
+	}
+
+	/**
+	 * Check if the task has to stop because it has been cancelled or because its timeout has elapsed.
+	 * @return <code>true</code> if the task has to stop and <code>false</code> otherwise.
+	 */
+	boolean isStopping(){
+		return this.cancelled || this.timedOut;
+	}
+
+	/**
+	 * Mark the given failure as reported and check if it was already reported.
+	 * @param failure the failure.
+	 * @return <code>true</code> if the failure has to be reported and <code>false</code> if it was already reported.
+	 */
+	boolean report(Throwable failure){
+
+		if (this.reported == failure){
+			return false;
+		}
+
+		this.reported = failure;
+		return true;
+	}
+
+	/**
+	 * Mark the timeout of the task as reported and check if it was already reported.
+	 * @return <code>true</code> if the timeout has to be reported and <code>false</code> if it was already reported.
+	 */
+	boolean reportTimeout(){
+
+		if (this.timeoutReported){
+			return false;
+		}
+
+		this.timeoutReported = true;
+		return true;
+	}
+
+	/**
+	 * Attach the task to the given running thread.
+	 * @param thread the thread that runs the task.
+	 * @param timeout the timeout of the task or <code>null</code>.
+	 */
+	synchronized void start(Thread thread, ScheduledFuture<?> timeout){
+		this.thread  = thread;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Detach the task from its thread and clear the interruption requested for the task.
+	 */
+	void stop(){
+
+		synchronized (this) {
+			this.thread = null;
+			if (this.timeout != null){
+				this.timeout.cancel(false);
+				this.timeout = null;
+			}
+		}
+
+		// No interruption can be requested once the thread is detached
+		Thread.interrupted();
+	}
+
+	/**
+	 * Complete the task with the given result.
+	 * @param value the result of the task.
+	 */
+	void complete(V value){
+		this.result.complete(value);
+	}
+
+	/**
+	 * Complete the task with the given failure.
+	 * @param failure the failure.
+	 */
+	void fail(Throwable failure){
+		this.result.completeExceptionally(failure);
+	}
+
+	/**
+	 * Stop the task because its timeout has elapsed.
+	 * @param duration the duration of the timeout, in milliseconds.
+	 */
+	void expire(long duration){
+		this.timedOut = true;
+		this.result.completeExceptionally(new TimeoutException("Task "+this.name+" timed out after "+duration+" ms"));
+		interrupt();
+	}
+
+	/**
+	 * Interrupt the thread that runs the task.
+	 */
+	private synchronized void interrupt(){
+		if (this.thread != null){
+			this.thread.interrupt();
+		}
+	}
+}
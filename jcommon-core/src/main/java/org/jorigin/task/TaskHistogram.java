@@ -0,0 +1,263 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jorigin.Common;
+
+/**
+ * A histogram of positive long values with a fixed memory footprint. The values are counted within log-linear buckets: the values lower than {@value #SUB_BUCKET_COUNT}
+ * have their own bucket and each power of two above is divided in {@value #SUB_BUCKET_COUNT}/2 buckets, so that any value is known within a relative error lower than 1.6%.
+ * A histogram that covers the whole range of the long values has {@value #BUCKET_COUNT} counters. A histogram created with a highest value only has the counters
+ * up to this value, for example 2001 counters for the durations up to one day in microseconds.<br>
+ * <br>
+ * Recording a value is lock-free and does not allocate. The statistics can be read while values are recorded, in which case they may not include the latest values.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskHistogram {
+
+	/**
+	 * The number of buckets below the first power of two that is divided.
+	 */
+	public static final int SUB_BUCKET_COUNT = 128;
+
+	/**
+	 * The number of buckets per power of two above {@value #SUB_BUCKET_COUNT}.
+	 */
+	private static final int HALF_COUNT      = SUB_BUCKET_COUNT / 2;
+
+	/**
+	 * The number of bits of the values lower than {@value #SUB_BUCKET_COUNT}.
+	 */
+	private static final int SUB_BUCKET_BITS = 7;
+
+	/**
+	 * The number of buckets.
+	 */
+	public static final int BUCKET_COUNT     = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+	/**
+	 * The highest value that can be recorded.
+	 */
+	private final long highest;
+
+	/**
+	 * The number of values of each bucket.
+	 */
+	private final AtomicLongArray counts;
+
+	/**
+	 * The number of recorded values.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * The sum of the recorded values.
+	 */
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * The minimum recorded value.
+	 */
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+	/**
+	 * The maximum recorded value.
+	 */
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * Create a new empty histogram that covers the whole range of the long values.
+	 */
+	public TaskHistogram(){
+		this(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new empty histogram that covers the values up to the given one.
+	 * @param highest the highest value that can be recorded. The higher values are recorded as this value.
+	 * @throws IllegalArgumentException if the highest value is negative.
+	 */
+	public TaskHistogram(long highest){
+
+		if (highest < 0){
+			throw new IllegalArgumentException("Invalid highest value "+highest);
+		}
+
+		this.highest = highest;
+		this.counts  = new AtomicLongArray(index(highest) + 1);
+	}
+
+	/**
+	 * Get the highest value that can be recorded.
+	 * @return the highest value that can be recorded.
+	 */
+	public long getHighestValue(){
+		return this.highest;
+	}
+
+	/**
+	 * Record the given value. The negative values are recorded as <code>0</code> and the values above the {@link #getHighestValue() highest value} as the highest value.
+	 * @param value the value to record.
+	 */
+	public void record(long value){
+
+		if (value < 0){
+			value = 0;
+		} else if (value > this.highest){
+			value = this.highest;
+		}
+
+		this.counts.incrementAndGet(index(value));
+		this.count.increment();
+		this.total.add(value);
+
+		long current = this.min.get();
+		while ((value < current) && !this.min.compareAndSet(current, value)){
+			current = this.min.get();
+		}
+
+		current = this.max.get();
+		while ((value > current) && !this.max.compareAndSet(current, value)){
+			current = this.max.get();
+		}
+	}
+
+	/**
+	 * Get the number of recorded values.
+	 * @return the number of recorded values.
+	 */
+	public long getCount(){
+		return this.count.sum();
+	}
+
+	/**
+	 * Get the sum of the recorded values.
+	 * @return the sum of the recorded values.
+	 */
+	public long getTotal(){
+		return this.total.sum();
+	}
+
+	/**
+	 * Get the minimum recorded value.
+	 * @return the minimum recorded value or <code>0</code> if no value is recorded.
+	 */
+	public long getMin(){
+		long value = this.min.get();
+		return value == Long.MAX_VALUE ? 0 : value;
+	}
+
+	/**
+	 * Get the maximum recorded value.
+	 * @return the maximum recorded value or <code>0</code> if no value is recorded.
+	 */
+	public long getMax(){
+		long value = this.max.get();
+		return value == Long.MIN_VALUE ? 0 : value;
+	}
+
+	/**
+	 * Get the mean of the recorded values.
+	 * @return the mean of the recorded values or <code>0</code> if no value is recorded.
+	 */
+	public double getMean(){
+		long count = this.count.sum();
+		return count > 0 ? (double) this.total.sum() / count : 0.0d;
+	}
+
+	/**
+	 * Get the value below which the given percentage of the recorded values are. The value is the highest value of its bucket, bounded by the maximum recorded value.
+	 * @param percentile the percentage, between <code>0</code> and <code>100</code>.
+	 * @return the value at the given percentile or <code>0</code> if no value is recorded.
+	 */
+	public long getValueAtPercentile(double percentile){
+
+		long count = 0;
+		for(int i = 0; i < this.counts.length(); i++){
+			count += this.counts.get(i);
+		}
+
+		if (count == 0){
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100.0d, Math.max(0.0d, percentile)) / 100.0d * count));
+
+		long seen = 0;
+		for(int i = 0; i < this.counts.length(); i++){
+			seen += this.counts.get(i);
+			if (seen >= rank){
+				return Math.min(highest(i), getMax());
+			}
+		}
+
+		return getMax();
+	}
+
+	/**
+	 * Remove all the recorded values.
+	 */
+	public void reset(){
+		for(int i = 0; i < this.counts.length(); i++){
+			this.counts.set(i, 0);
+		}
+		this.count.reset();
+		this.total.reset();
+		this.min.set(Long.MAX_VALUE);
+		this.max.set(Long.MIN_VALUE);
+	}
+
+	/**
+	 * Get the bucket of the given value.
+	 * @param value the value.
+	 * @return the bucket of the given value.
+	 */
+	static int index(long value){
+
+		if (value < SUB_BUCKET_COUNT){
+			return (int) value;
+		}
+
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+
+		return SUB_BUCKET_COUNT + (shift - 1) * HALF_COUNT + (int) (value >>> shift) - HALF_COUNT;
+	}
+
+	/**
+	 * Get the highest value of the given bucket.
+	 * @param index the bucket.
+	 * @return the highest value of the given bucket.
+	 */
+	static long highest(int index){
+
+		if (index < SUB_BUCKET_COUNT){
+			return index;
+		}
+
+		int shift = (index - SUB_BUCKET_COUNT) / HALF_COUNT + 1;
+		long sub  = (index - SUB_BUCKET_COUNT) % HALF_COUNT + HALF_COUNT;
+
+		return ((sub + 1) << shift) - 1;
+	}
+}
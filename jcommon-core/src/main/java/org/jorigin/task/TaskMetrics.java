@@ -0,0 +1,431 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jorigin.Common;
+
+/**
+ * A {@link TaskListener task listener} that records the duration, the throughput and the outcome of the tasks, per task name:
+ * <pre>
+ * TaskMetrics metrics = new TaskMetrics();
+ * metrics.register();
+ * executor.addTaskListener(metrics);
+ * ...
+ * TaskStatistics statistics = metrics.getTaskStatistics("Import");
+ * </pre>
+ * A task is measured from its {@link TaskEvent#TASK_STARTED start event} to its {@link TaskEvent#TASK_FINISHED finish event}. Its items are the size of its last
+ * {@link TaskEvent#TASK_PROGRESS progress event} and it has failed if an {@link TaskEvent#TASK_ERROR error event} has been received while it was running.
+ * The events of a task run are matched by their {@link TaskEvent#getTask() task identity}, so that the tasks of the same name that run at the same time are measured
+ * separately. The events without task identity are matched by task name and a finish event then ends the oldest running task of that name.<br>
+ * <br>
+ * The durations and the throughputs are recorded within {@link TaskHistogram histograms} whose memory footprint is fixed, so that the metrics can be recorded
+ * for the whole life of an application. At most {@value #MAX_TASK_NAMES} task names are recorded, the other tasks are recorded under the name {@value #OTHER_TASKS}.
+ * The metrics are available from {@link #getStatistics()} and through the platform MBean server once {@link #register() registered}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskMetrics implements TaskListener, TaskMetricsMXBean {
+
+	/**
+	 * The default object name of the MBean.
+	 */
+	public static final String DEFAULT_OBJECT_NAME = "org.jorigin:type=TaskMetrics";
+
+	/**
+	 * The maximum number of task names.
+	 */
+	public static final int MAX_TASK_NAMES = 256;
+
+	/**
+	 * The name under which the tasks are recorded when the maximum number of task names is reached.
+	 */
+	public static final String OTHER_TASKS = "<other>";
+
+	/**
+	 * The highest recorded duration, one day in microseconds.
+	 */
+	private static final long DURATION_HIGHEST   = 86400000000L;
+
+	/**
+	 * The highest recorded throughput, in items per second.
+	 */
+	private static final long THROUGHPUT_HIGHEST = Integer.MAX_VALUE;
+
+	/**
+	 * The metrics of each task name.
+	 */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * The running tasks, by task identity.
+	 */
+	private final Map<Object, Run> runs = new ConcurrentHashMap<Object, Run>();
+
+	/**
+	 * The object name of the MBean or <code>null</code> if the metrics are not registered.
+	 */
+	private ObjectName objectName = null;
+
+	/**
+	 * A running task.
+	 */
+	private static final class Run {
+
+		/**
+		 * The metrics under which the task is recorded, chosen when the task starts.
+		 */
+		private final Entry entry;
+
+		/**
+		 * The start time, as a {@link System#nanoTime()} value.
+		 */
+		private final long start = System.nanoTime();
+
+		/**
+		 * The number of processed items.
+		 */
+		private volatile long items = 0;
+
+		/**
+		 * Has the task reported an error.
+		 */
+		private volatile boolean failed = false;
+
+		/**
+		 * Create a new running task.
+		 * @param entry the metrics under which the task is recorded.
+		 */
+		private Run(Entry entry){
+			this.entry = entry;
+		}
+	}
+
+	/**
+	 * The metrics of a task name.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The running tasks without task identity, from the oldest to the newest.
+		 */
+		private final ConcurrentLinkedDeque<Run> running = new ConcurrentLinkedDeque<Run>();
+
+		/**
+		 * The number of running tasks.
+		 */
+		private final AtomicInteger active = new AtomicInteger();
+
+		/**
+		 * The durations, in microseconds.
+		 */
+		private final TaskHistogram durations = new TaskHistogram(DURATION_HIGHEST);
+
+		/**
+		 * The throughputs, in items per second.
+		 */
+		private final TaskHistogram throughputs = new TaskHistogram(THROUGHPUT_HIGHEST);
+
+		/**
+		 * The number of failed tasks.
+		 */
+		private final LongAdder failed = new LongAdder();
+
+		/**
+		 * The number of warnings.
+		 */
+		private final LongAdder warnings = new LongAdder();
+
+		/**
+		 * The number of processed items.
+		 */
+		private final LongAdder items = new LongAdder();
+
+		/**
+		 * The total duration of the tasks that processed items, in nanoseconds.
+		 */
+		private final LongAdder itemsDuration = new LongAdder();
+
+		/**
+		 * Remove the recorded metrics.
+		 */
+		private void reset(){
+			this.durations.reset();
+			this.throughputs.reset();
+			this.failed.reset();
+			this.warnings.reset();
+			this.items.reset();
+			this.itemsDuration.reset();
+		}
+	}
+
+	/**
+	 * Create new empty task metrics.
+	 */
+	public TaskMetrics(){
+		// Nothing to initialize
+	}
+
+	@Override
+	public void eventDispatched(TaskEvent event){
+
+		if (event == null){
+			return;
+		}
+
+		int id      = event.getID();
+		Object task = event.getTask();
+
+		if (id == TaskEvent.TASK_STARTED){
+			start(task, event.getTaskName());
+			return;
+		}
+
+		if (id == TaskEvent.TASK_FINISHED){
+			Run run = (task != null) ? this.runs.remove(task) : pollRun(event.getTaskName());
+			if (run != null){
+				finish(run);
+			}
+			return;
+		}
+
+		Run run = (task != null) ? this.runs.get(task) : peekRun(event.getTaskName());
+		if (run == null){
+			return;
+		}
+
+		if (id == TaskEvent.TASK_PROGRESS){
+			if (event.getSize() >= 0){
+				run.items = event.getSize();
+			}
+		} else if (id == TaskEvent.TASK_ERROR){
+			run.failed = true;
+		} else if (id == TaskEvent.TASK_WARNING){
+			run.entry.warnings.increment();
+		}
+	}
+
+	@Override
+	public List<String> getTaskNames(){
+		List<String> names = new ArrayList<String>(this.entries.keySet());
+		names.sort(null);
+		return names;
+	}
+
+	@Override
+	public List<TaskStatistics> getStatistics(){
+
+		List<TaskStatistics> statistics = new ArrayList<TaskStatistics>();
+		for(String name : getTaskNames()){
+			TaskStatistics item = getTaskStatistics(name);
+			if (item != null){
+				statistics.add(item);
+			}
+		}
+
+		return statistics;
+	}
+
+	@Override
+	public TaskStatistics getTaskStatistics(String name){
+
+		Entry entry = this.entries.get(key(name));
+		if (entry == null){
+			return null;
+		}
+
+		long items         = entry.items.sum();
+		long itemsDuration = entry.itemsDuration.sum();
+
+		return new TaskStatistics(name, entry.durations.getCount(), entry.failed.sum(), entry.warnings.sum(), entry.active.get(), items,
+				entry.durations.getMean() / 1000.0d, entry.durations.getMax() / 1000.0d,
+				entry.durations.getValueAtPercentile(50) / 1000.0d, entry.durations.getValueAtPercentile(90) / 1000.0d, entry.durations.getValueAtPercentile(99) / 1000.0d,
+				itemsDuration > 0 ? items * 1e9d / itemsDuration : 0.0d, entry.throughputs.getValueAtPercentile(50), entry.throughputs.getValueAtPercentile(1));
+	}
+
+	@Override
+	public void reset(){
+		for(Entry entry : this.entries.values()){
+			entry.reset();
+		}
+	}
+
+	/**
+	 * Register these metrics within the platform MBean server with the {@link #DEFAULT_OBJECT_NAME default object name}.
+	 * @throws JMException if the metrics cannot be registered, for example if other metrics are already registered with the same name.
+	 */
+	public void register() throws JMException {
+		register(DEFAULT_OBJECT_NAME);
+	}
+
+	/**
+	 * Register these metrics within the platform MBean server with the given object name.
+	 * @param name the object name, for example <code>org.jorigin:type=TaskMetrics,name=import</code>.
+	 * @throws JMException if the metrics cannot be registered, for example if the name is invalid or already used.
+	 */
+	public synchronized void register(String name) throws JMException {
+
+		unregister();
+
+		ObjectName objectName = new ObjectName(name);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		this.objectName = objectName;
+	}
+
+	/**
+	 * Unregister these metrics from the platform MBean server. This method does nothing if the metrics are not registered.
+	 * @throws JMException if the metrics cannot be unregistered.
+	 */
+	public synchronized void unregister() throws JMException {
+
+		if (this.objectName != null){
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(this.objectName)){
+				server.unregisterMBean(this.objectName);
+			}
+			this.objectName = null;
+		}
+	}
+
+	/**
+	 * Record a started task.
+	 * @param task the identity of the task or <code>null</code> if it is unknown.
+	 * @param name the name of the task.
+	 */
+	private void start(Object task, String name){
+
+		Entry entry = entry(name);
+		Run run     = new Run(entry);
+
+		entry.active.incrementAndGet();
+
+		if (task != null){
+			Run previous = this.runs.put(task, run);
+			if (previous != null){
+				// The task has been started again without having finished
+				previous.entry.active.decrementAndGet();
+			}
+		} else {
+			entry.running.addLast(run);
+		}
+	}
+
+	/**
+	 * Get the oldest running task of the given name that has no task identity.
+	 * @param name the name of the task.
+	 * @return the oldest running task of the given name or <code>null</code> if there is none.
+	 */
+	private Run peekRun(String name){
+		Entry entry = find(name);
+		return (entry != null) ? entry.running.peekFirst() : null;
+	}
+
+	/**
+	 * Remove the oldest running task of the given name that has no task identity.
+	 * @param name the name of the task.
+	 * @return the removed task or <code>null</code> if there is none.
+	 */
+	private Run pollRun(String name){
+		Entry entry = find(name);
+		return (entry != null) ? entry.running.pollFirst() : null;
+	}
+
+	/**
+	 * Find the metrics under which the tasks of the given name are recorded.
+	 * @param name the name of the task.
+	 * @return the metrics of the given task name, the metrics of the {@value #OTHER_TASKS other tasks} or <code>null</code> if there is none.
+	 */
+	private Entry find(String name){
+
+		Entry entry = this.entries.get(key(name));
+		if (entry == null){
+			// The task has been recorded under the other tasks if the maximum number of names was reached
+			entry = this.entries.get(OTHER_TASKS);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Record a finished task.
+	 * @param run the finished task.
+	 */
+	private static void finish(Run run){
+
+		Entry entry   = run.entry;
+		long duration = System.nanoTime() - run.start;
+
+		entry.active.decrementAndGet();
+
+		entry.durations.record(duration / 1000L);
+
+		if (run.failed){
+			entry.failed.increment();
+		}
+
+		long items = run.items;
+		if ((items > 0) && (duration > 0)){
+			entry.items.add(items);
+			entry.itemsDuration.add(duration);
+			entry.throughputs.record((long) (items * 1e9d / duration));
+		}
+	}
+
+	/**
+	 * Get the metrics of the given task name, creating them if needed.
+	 * @param name the task name.
+	 * @return the metrics of the given task name.
+	 */
+	private Entry entry(String name){
+
+		String key = key(name);
+
+		Entry entry = this.entries.get(key);
+		if (entry != null){
+			return entry;
+		}
+
+		if (this.entries.size() >= MAX_TASK_NAMES){
+			key = OTHER_TASKS;
+		}
+
+		return this.entries.computeIfAbsent(key, k -> new Entry());
+	}
+
+	/**
+	 * Get the key of the given task name.
+	 * @param name the task name.
+	 * @return the key of the given task name.
+	 */
+	private static String key(String name){
+		return (name != null) ? name : "";
+	}
+}
@@ -0,0 +1,55 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.List;
+
+import org.jorigin.Common;
+
+/**
+ * The management interface of {@link TaskMetrics}. The statistics are exposed as composite data whose items are the properties of {@link TaskStatistics}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public interface TaskMetricsMXBean {
+
+	/**
+	 * Get the names of the recorded tasks.
+	 * @return the names of the recorded tasks, sorted.
+	 */
+	public List<String> getTaskNames();
+
+	/**
+	 * Get the statistics of all the recorded tasks.
+	 * @return the statistics of all the recorded tasks, sorted by task name.
+	 */
+	public List<TaskStatistics> getStatistics();
+
+	/**
+	 * Get the statistics of the tasks with the given name.
+	 * @param name the name of the tasks.
+	 * @return the statistics of the tasks with the given name or <code>null</code> if no such task has been recorded.
+	 */
+	public TaskStatistics getTaskStatistics(String name);
+
+	/**
+	 * Remove all the recorded metrics. The running tasks are still measured.
+	 */
+	public void reset();
+}
@@ -0,0 +1,209 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jorigin.Common;
+
+/**
+ * The progress of a task published on a {@link TaskProgressChannel progress channel}. The progress is a counter that the workers of the task update
+ * without allocation and without contention, whereas the consumers read it at their own rate.
+ * A task progress is {@link TaskProgressChannel#open(String, long) opened} once and ends with {@link #finish()} or {@link #fail(String)}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskProgress {
+
+	/**
+	 * The state of a running task.
+	 */
+	public static final int RUNNING  = 0;
+
+	/**
+	 * The state of a task that has finished.
+	 */
+	public static final int FINISHED = 1;
+
+	/**
+	 * The state of a task that has failed.
+	 */
+	public static final int FAILED   = 2;
+
+	/**
+	 * The channel of the task.
+	 */
+	private final TaskProgressChannel channel;
+
+	/**
+	 * The name of the task.
+	 */
+	private final String name;
+
+	/**
+	 * The size of the task.
+	 */
+	private volatile long size;
+
+	/**
+	 * The accomplished part of the task.
+	 */
+	private final LongAdder done = new LongAdder();
+
+	/**
+	 * The description of the current step.
+	 */
+	private volatile String description = null;
+
+	/**
+	 * The state of the task.
+	 */
+	private volatile int state = RUNNING;
+
+	/**
+	 * Create a new task progress.
+	 * @param channel the channel of the task.
+	 * @param name the name of the task.
+	 * @param size the size of the task or a negative value if the size is unknown.
+	 */
+	TaskProgress(TaskProgressChannel channel, String name, long size){
+		this.channel = channel;
+		this.name    = name;
+		this.size    = size;
+	}
+
+	/**
+	 * Get the name of the task.
+	 * @return the name of the task.
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Get the size of the task.
+	 * @return the size of the task or a negative value if the size is unknown.
+	 */
+	public long getSize(){
+		return this.size;
+	}
+
+	/**
+	 * Set the size of the task.
+	 * @param size the size of the task or a negative value if the size is unknown.
+	 */
+	public void setSize(long size){
+		this.size = size;
+	}
+
+	/**
+	 * Get the accomplished part of the task.
+	 * @return the accomplished part of the task.
+	 */
+	public long getDone(){
+		return this.done.sum();
+	}
+
+	/**
+	 * Add one to the accomplished part of the task. This method can be called by several threads at the same time.
+	 */
+	public void advance(){
+		this.done.increment();
+	}
+
+	/**
+	 * Add the given amount to the accomplished part of the task. This method can be called by several threads at the same time.
+	 * @param amount the amount to add.
+	 */
+	public void advance(long amount){
+		this.done.add(amount);
+	}
+
+	/**
+	 * Set the accomplished part of the task. Unlike {@link #advance(long)}, this method is not atomic and has to be called by a single thread.
+	 * @param done the accomplished part of the task.
+	 */
+	public void setDone(long done){
+		this.done.add(done - this.done.sum());
+	}
+
+	/**
+	 * Get the description of the current step.
+	 * @return the description of the current step or <code>null</code>.
+	 */
+	public String getDescription(){
+		return this.description;
+	}
+
+	/**
+	 * Set the description of the current step.
+	 * @param description the description of the current step.
+	 */
+	public void setDescription(String description){
+		this.description = description;
+	}
+
+	/**
+	 * Get the state of the task.
+	 * @return the state of the task ({@link #RUNNING}, {@link #FINISHED} or {@link #FAILED}).
+	 */
+	public int getState(){
+		return this.state;
+	}
+
+	/**
+	 * Check if the task has ended.
+	 * @return <code>true</code> if the task has finished or failed and <code>false</code> if it is running.
+	 */
+	public boolean isEnded(){
+		return this.state != RUNNING;
+	}
+
+	/**
+	 * End the task successfully and remove it from the running tasks of its channel.
+	 */
+	public void finish(){
+		end(FINISHED);
+	}
+
+	/**
+	 * End the task with a failure and remove it from the running tasks of its channel.
+	 * @param description the description of the failure.
+	 */
+	public void fail(String description){
+		this.description = description;
+		end(FAILED);
+	}
+
+	/**
+	 * End the task.
+	 * @param state the final state of the task.
+	 */
+	private void end(int state){
+		if (this.state == RUNNING){
+			this.state = state;
+			this.channel.remove(this);
+		}
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName()+"[name="+this.name+", done="+getDone()+"/"+this.size+", state="+this.state+"]";
+	}
+}
@@ -0,0 +1,199 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+
+/**
+ * An adapter that polls a {@link TaskProgressChannel progress channel} and fires the corresponding {@link TaskEvent task events} to a {@link TaskListener task listener}.
+ * At each {@link #poll() poll}, the adapter fires:
+ * <ul>
+ * <li>a {@link TaskEvent#TASK_STARTED start event} for each task that appeared on the channel since the previous poll;
+ * <li>a {@link TaskEvent#TASK_PROGRESS progress event} for each task whose accomplished part has changed since the previous poll;
+ * <li>an {@link TaskEvent#TASK_ERROR error event} for each task that has failed and a {@link TaskEvent#TASK_FINISHED finish event} for each task that has ended since the previous poll.
+ * </ul>
+ * The events are only created when the progress changes, at the rate of the polls. A task that is opened and ended between two polls is reported
+ * by the next poll, with all its events. The adapter collects the ended tasks of the channel, so a channel has to be polled by a single adapter.
+ * The adapter can be polled by the consumer itself, for example by a Swing timer, or by a background thread started with {@link #start(long)}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskProgressAdapter {
+
+	/**
+	 * The polled channel.
+	 */
+	private final TaskProgressChannel channel;
+
+	/**
+	 * The listener that receives the events.
+	 */
+	private final TaskListener listener;
+
+	/**
+	 * The last reported progress of the known tasks, in their order of appearance, and whether they have been collected as ended.
+	 */
+	private final Map<TaskProgress, long[]> reported = new LinkedHashMap<TaskProgress, long[]>();
+
+	/**
+	 * The executor that polls the channel or <code>null</code> if the adapter is not started.
+	 */
+	private ScheduledExecutorService executor = null;
+
+	/**
+	 * Create a new adapter.
+	 * @param channel the polled channel.
+	 * @param listener the listener that receives the events.
+	 * @throws IllegalArgumentException if the channel or the listener is <code>null</code>.
+	 */
+	public TaskProgressAdapter(TaskProgressChannel channel, TaskListener listener){
+
+		if ((channel == null) || (listener == null)){
+			throw new IllegalArgumentException("Channel and listener cannot be null.");
+		}
+
+		this.channel  = channel;
+		this.listener = listener;
+	}
+
+	/**
+	 * Poll the channel and fire the events of the changes since the previous poll.
+	 */
+	public synchronized void poll(){
+
+		// The ended tasks are collected before the running ones, so that a task cannot be missed by both
+		TaskProgress[] ended = this.channel.collect();
+		TaskProgress[] tasks = this.channel.snapshot();
+
+		for(int i = 0; i < ended.length; i++){
+			appear(ended[i])[1] = 1L;
+		}
+
+		for(int i = 0; i < tasks.length; i++){
+			appear(tasks[i]);
+		}
+
+		Iterator<Map.Entry<TaskProgress, long[]>> iterator = this.reported.entrySet().iterator();
+		while (iterator.hasNext()){
+
+			Map.Entry<TaskProgress, long[]> entry = iterator.next();
+			TaskProgress task = entry.getKey();
+
+			// Only the collected tasks are ended, their final progress and state are reported
+			int state = (entry.getValue()[1] != 0L) ? task.getState() : TaskProgress.RUNNING;
+
+			long done = task.getDone();
+			if (done != entry.getValue()[0]){
+				entry.getValue()[0] = done;
+				fire(new TaskEvent(this.channel, TaskEvent.TASK_PROGRESS, task, task.getName(), null, size(done)));
+			}
+
+			if (state != TaskProgress.RUNNING){
+				if (state == TaskProgress.FAILED){
+					fire(new TaskEvent(this.channel, TaskEvent.TASK_ERROR, task, task.getName(), task.getDescription(), -1));
+				}
+				fire(new TaskEvent(this.channel, TaskEvent.TASK_FINISHED, task, task.getName(), null, -1));
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Get the reported progress of the given task, firing its start event if the task has not been reported yet.
+	 * @param task the task.
+	 * @return the reported progress of the task.
+	 */
+	private long[] appear(TaskProgress task){
+
+		long[] reported = this.reported.get(task);
+
+		if (reported == null){
+			reported = new long[] {0L, 0L};
+			this.reported.put(task, reported);
+			fire(new TaskEvent(this.channel, TaskEvent.TASK_STARTED, task, task.getName(),
+					(task.getDescription() != null) ? task.getDescription() : task.getName(), size(task.getSize())));
+		}
+
+		return reported;
+	}
+
+	/**
+	 * Poll the channel periodically within a background thread.
+	 * @param period the period of the polls, in milliseconds.
+	 */
+	public synchronized void start(long period){
+
+		if (this.executor != null){
+			return;
+		}
+
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "TaskProgressAdapter");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		this.executor.scheduleAtFixedRate(this::poll, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stop the background thread started by {@link #start(long)} and poll the channel a last time.
+	 */
+	public void stop(){
+
+		synchronized (this) {
+			if (this.executor != null){
+				this.executor.shutdownNow();
+				this.executor = null;
+			}
+		}
+
+		poll();
+	}
+
+	/**
+	 * Fire the given event to the listener.
+	 * @param event the event.
+	 */
+	private void fire(TaskEvent event){
+		try {
+			this.listener.eventDispatched(event);
+		} catch (RuntimeException e) {
+			Log.log(Level.SEVERE, e, "Listener {0} failed to process event {1}", this.listener, event);
+		}
+	}
+
+	/**
+	 * Convert the given size to the size of a task event.
+	 * @param size the size.
+	 * @return the size of the task event.
+	 */
+	private static int size(long size){
+		return (int) Math.max(-1L, Math.min(size, Integer.MAX_VALUE));
+	}
+}
@@ -0,0 +1,142 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jorigin.Common;
+
+/**
+ * A channel that publishes the progress of running tasks without creating an event for each progress step:
+ * <pre>
+ * TaskProgress progress = channel.open("Import", files.size());
+ * try {
+ *   for(File file : files){
+ *     load(file);
+ *     progress.advance();
+ *   }
+ *   progress.finish();
+ * } catch (IOException e) {
+ *   progress.fail(e.getMessage());
+ * }
+ * </pre>
+ * The workers update the counters of their {@link TaskProgress task progress} and the consumers poll the channel at their own rate, for example at the
+ * frame rate of a user interface. A {@link TaskProgressAdapter progress adapter} converts the polled progress into {@link TaskEvent task events} for the existing listeners.<br>
+ * <br>
+ * The running tasks are held within a copy-on-write array that is only changed when a task is opened or ended. The ended tasks are kept until
+ * they are collected by the {@link TaskProgressAdapter progress adapter} of the channel, so that the tasks that are opened and ended between two polls
+ * are still reported. At most {@link #MAX_ENDED} ended tasks are kept when the channel is not polled.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskProgressChannel {
+
+	/**
+	 * The maximum number of ended tasks that are kept until they are collected. The oldest ended tasks are discarded first.
+	 */
+	public static final int MAX_ENDED = 1024;
+
+	/**
+	 * The running tasks, in their opening order.
+	 */
+	private volatile TaskProgress[] tasks = new TaskProgress[0];
+
+	/**
+	 * The ended tasks that have not been collected, in their ending order.
+	 */
+	private TaskProgress[] ended = new TaskProgress[0];
+
+	/**
+	 * Create a new empty channel.
+	 */
+	public TaskProgressChannel(){
+		// Nothing to initialize
+	}
+
+	/**
+	 * Open the progress of a new running task.
+	 * @param name the name of the task.
+	 * @param size the size of the task or a negative value if the size is unknown.
+	 * @return the progress of the task.
+	 */
+	public synchronized TaskProgress open(String name, long size){
+
+		TaskProgress task = new TaskProgress(this, name, size);
+
+		TaskProgress[] tasks = Arrays.copyOf(this.tasks, this.tasks.length + 1);
+		tasks[tasks.length - 1] = task;
+		this.tasks = tasks;
+
+		return task;
+	}
+
+	/**
+	 * Get the running tasks.
+	 * @return the running tasks, in their opening order.
+	 */
+	public List<TaskProgress> getTasks(){
+		return List.of(this.tasks);
+	}
+
+	/**
+	 * Get the running tasks without copying them.
+	 * @return the running tasks, in their opening order. The array must not be modified.
+	 */
+	TaskProgress[] snapshot(){
+		return this.tasks;
+	}
+
+	/**
+	 * Collect the ended tasks. The collected tasks are no longer held by the channel.
+	 * @return the tasks that have ended since the previous collection, in their ending order.
+	 */
+	synchronized TaskProgress[] collect(){
+
+		TaskProgress[] ended = this.ended;
+
+		if (ended.length > 0){
+			this.ended = new TaskProgress[0];
+		}
+
+		return ended;
+	}
+
+	/**
+	 * Move the given ended task from the running tasks to the ended tasks.
+	 * @param task the ended task.
+	 */
+	synchronized void remove(TaskProgress task){
+
+		for(int i = 0; i < this.tasks.length; i++){
+			if (this.tasks[i] == task){
+				TaskProgress[] tasks = new TaskProgress[this.tasks.length - 1];
+				System.arraycopy(this.tasks, 0, tasks, 0, i);
+				System.arraycopy(this.tasks, i + 1, tasks, i, tasks.length - i);
+				this.tasks = tasks;
+
+				int from = this.ended.length < MAX_ENDED ? 0 : this.ended.length - MAX_ENDED + 1;
+				TaskProgress[] ended = Arrays.copyOfRange(this.ended, from, this.ended.length + 1);
+				ended[ended.length - 1] = task;
+				this.ended = ended;
+				return;
+			}
+		}
+	}
+}
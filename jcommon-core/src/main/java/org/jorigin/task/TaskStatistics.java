@@ -0,0 +1,259 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.task;
+
+import java.beans.ConstructorProperties;
+
+import org.jorigin.Common;
+
+/**
+ * A snapshot of the metrics of the tasks of a given name recorded by {@link TaskMetrics}. The durations are expressed in milliseconds
+ * and the throughputs in items per second, the items of a task being the size of its last {@link TaskEvent#TASK_PROGRESS progress event}.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskStatistics {
+
+	/**
+	 * The name of the tasks.
+	 */
+	private final String name;
+
+	/**
+	 * The number of finished tasks.
+	 */
+	private final long finishedCount;
+
+	/**
+	 * The number of finished tasks that reported an error.
+	 */
+	private final long failedCount;
+
+	/**
+	 * The number of warnings.
+	 */
+	private final long warningCount;
+
+	/**
+	 * The number of running tasks.
+	 */
+	private final long runningCount;
+
+	/**
+	 * The number of items processed by the finished tasks.
+	 */
+	private final long itemCount;
+
+	/**
+	 * The mean duration.
+	 */
+	private final double durationMean;
+
+	/**
+	 * The maximum duration.
+	 */
+	private final double durationMax;
+
+	/**
+	 * The median duration.
+	 */
+	private final double durationP50;
+
+	/**
+	 * The 90th percentile of the durations.
+	 */
+	private final double durationP90;
+
+	/**
+	 * The 99th percentile of the durations.
+	 */
+	private final double durationP99;
+
+	/**
+	 * The overall throughput.
+	 */
+	private final double throughput;
+
+	/**
+	 * The median throughput.
+	 */
+	private final double throughputP50;
+
+	/**
+	 * The 1st percentile of the throughputs.
+	 */
+	private final double throughputP1;
+
+	/**
+	 * Create a new statistics snapshot.
+	 * @param name the name of the tasks.
+	 * @param finishedCount the number of finished tasks.
+	 * @param failedCount the number of finished tasks that reported an error.
+	 * @param warningCount the number of warnings.
+	 * @param runningCount the number of running tasks.
+	 * @param itemCount the number of items processed by the finished tasks.
+	 * @param durationMean the mean duration, in milliseconds.
+	 * @param durationMax the maximum duration, in milliseconds.
+	 * @param durationP50 the median duration, in milliseconds.
+	 * @param durationP90 the 90th percentile of the durations, in milliseconds.
+	 * @param durationP99 the 99th percentile of the durations, in milliseconds.
+	 * @param throughput the number of items processed by the finished tasks divided by their total duration, in items per second.
+	 * @param throughputP50 the median throughput of the finished tasks, in items per second.
+	 * @param throughputP1 the 1st percentile of the throughputs of the finished tasks (the slowest tasks), in items per second.
+	 */
+	@ConstructorProperties({"name", "finishedCount", "failedCount", "warningCount", "runningCount", "itemCount",
+		"durationMean", "durationMax", "durationP50", "durationP90", "durationP99", "throughput", "throughputP50", "throughputP1"})
+	public TaskStatistics(String name, long finishedCount, long failedCount, long warningCount, long runningCount, long itemCount,
+			double durationMean, double durationMax, double durationP50, double durationP90, double durationP99,
+			double throughput, double throughputP50, double throughputP1){
+		this.name          = name;
+		this.finishedCount = finishedCount;
+		this.failedCount   = failedCount;
+		this.warningCount  = warningCount;
+		this.runningCount  = runningCount;
+		this.itemCount     = itemCount;
+		this.durationMean  = durationMean;
+		this.durationMax   = durationMax;
+		this.durationP50   = durationP50;
+		this.durationP90   = durationP90;
+		this.durationP99   = durationP99;
+		this.throughput    = throughput;
+		this.throughputP50 = throughputP50;
+		this.throughputP1  = throughputP1;
+	}
+
+	/**
+	 * Get the name of the tasks.
+	 * @return the name of the tasks.
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Get the number of finished tasks.
+	 * @return the number of finished tasks.
+	 */
+	public long getFinishedCount(){
+		return this.finishedCount;
+	}
+
+	/**
+	 * Get the number of finished tasks that reported an error.
+	 * @return the number of failed tasks.
+	 */
+	public long getFailedCount(){
+		return this.failedCount;
+	}
+
+	/**
+	 * Get the number of warnings reported by the tasks.
+	 * @return the number of warnings.
+	 */
+	public long getWarningCount(){
+		return this.warningCount;
+	}
+
+	/**
+	 * Get the number of running tasks.
+	 * @return the number of running tasks.
+	 */
+	public long getRunningCount(){
+		return this.runningCount;
+	}
+
+	/**
+	 * Get the number of items processed by the finished tasks.
+	 * @return the number of items processed by the finished tasks.
+	 */
+	public long getItemCount(){
+		return this.itemCount;
+	}
+
+	/**
+	 * Get the mean duration of the finished tasks.
+	 * @return the mean duration, in milliseconds.
+	 */
+	public double getDurationMean(){
+		return this.durationMean;
+	}
+
+	/**
+	 * Get the maximum duration of the finished tasks.
+	 * @return the maximum duration, in milliseconds.
+	 */
+	public double getDurationMax(){
+		return this.durationMax;
+	}
+
+	/**
+	 * Get the median duration of the finished tasks.
+	 * @return the median duration, in milliseconds.
+	 */
+	public double getDurationP50(){
+		return this.durationP50;
+	}
+
+	/**
+	 * Get the 90th percentile of the durations of the finished tasks.
+	 * @return the 90th percentile of the durations, in milliseconds.
+	 */
+	public double getDurationP90(){
+		return this.durationP90;
+	}
+
+	/**
+	 * Get the 99th percentile of the durations of the finished tasks.
+	 * @return the 99th percentile of the durations, in milliseconds.
+	 */
+	public double getDurationP99(){
+		return this.durationP99;
+	}
+
+	/**
+	 * Get the number of items processed by the finished tasks divided by their total duration.
+	 * @return the overall throughput, in items per second.
+	 */
+	public double getThroughput(){
+		return this.throughput;
+	}
+
+	/**
+	 * Get the median throughput of the finished tasks that processed items.
+	 * @return the median throughput, in items per second.
+	 */
+	public double getThroughputP50(){
+		return this.throughputP50;
+	}
+
+	/**
+	 * Get the 1st percentile of the throughputs of the finished tasks that processed items, that is the throughput of the slowest tasks.
+	 * @return the 1st percentile of the throughputs, in items per second.
+	 */
+	public double getThroughputP1(){
+		return this.throughputP1;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName()+"[name="+this.name+", finished="+this.finishedCount+", failed="+this.failedCount+", warnings="+this.warningCount
+				+", running="+this.runningCount+", items="+this.itemCount+", duration mean="+this.durationMean+" ms, p50="+this.durationP50+" ms, p90="+this.durationP90
+				+" ms, p99="+this.durationP99+" ms, max="+this.durationMax+" ms, throughput="+this.throughput+" items/s, p50="+this.throughputP50+" items/s, p1="+this.throughputP1+" items/s]";
+	}
+}
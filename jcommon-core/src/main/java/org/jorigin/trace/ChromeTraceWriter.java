@@ -0,0 +1,179 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jorigin.Common;
+
+/**
+ * A writer of {@link TraceSpan spans} to the Chrome trace event JSON format. The written files can be opened with <code>chrome://tracing</code>,
+ * <a href="https://ui.perfetto.dev">Perfetto</a> or any viewer of this format. Each span is written as a complete (<code>X</code>) event and each
+ * thread is named by a metadata (<code>M</code>) event.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class ChromeTraceWriter {
+
+	/**
+	 * The hexadecimal digits.
+	 */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The process identifier written within the events.
+	 */
+	private final long pid;
+
+	/**
+	 * Create a new writer that uses the identifier of the current process.
+	 */
+	public ChromeTraceWriter(){
+		this(ProcessHandle.current().pid());
+	}
+
+	/**
+	 * Create a new writer.
+	 * @param pid the process identifier written within the events.
+	 */
+	public ChromeTraceWriter(long pid){
+		this.pid = pid;
+	}
+
+	/**
+	 * Write the given spans as a Chrome trace event JSON object. The writer is not closed.
+	 * @param spans the spans to write.
+	 * @param writer the writer to write to.
+	 * @throws IOException if an I/O error occurs.
+	 */
+	public void write(List<TraceSpan> spans, Writer writer) throws IOException {
+
+		Map<Long, String> threads = new LinkedHashMap<Long, String>();
+
+		StringBuilder builder = new StringBuilder(256);
+
+		writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+		boolean first = true;
+		for(TraceSpan span : spans){
+
+			threads.putIfAbsent(span.getThreadId(), span.getThreadName());
+
+			builder.setLength(0);
+			if (!first){
+				builder.append(",");
+			}
+			builder.append("\n{\"ph\":\"X\",\"name\":");
+			appendString(builder, span.getName());
+			builder.append(",\"cat\":");
+			appendString(builder, span.getCategory());
+			builder.append(",\"ts\":");
+			appendMicros(builder, span.getStart());
+			builder.append(",\"dur\":");
+			appendMicros(builder, span.getDuration());
+			builder.append(",\"pid\":").append(this.pid);
+			builder.append(",\"tid\":").append(span.getThreadId());
+			if (span.getArgument() != null){
+				builder.append(",\"args\":{\"argument\":");
+				appendString(builder, span.getArgument());
+				builder.append("}");
+			}
+			builder.append("}");
+
+			writer.append(builder);
+			first = false;
+		}
+
+		for(Map.Entry<Long, String> thread : threads.entrySet()){
+
+			builder.setLength(0);
+			if (!first){
+				builder.append(",");
+			}
+			builder.append("\n{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":").append(this.pid);
+			builder.append(",\"tid\":").append(thread.getKey());
+			builder.append(",\"args\":{\"name\":");
+			appendString(builder, thread.getValue());
+			builder.append("}}");
+
+			writer.append(builder);
+			first = false;
+		}
+
+		writer.write("\n]}\n");
+		writer.flush();
+	}
+
+	/**
+	 * Append the given nanoseconds as microseconds with a fractional part.
+	 * @param builder the builder to append to.
+	 * @param nanos the nanoseconds.
+	 */
+	private static void appendMicros(StringBuilder builder, long nanos){
+
+		builder.append(nanos / 1000L).append('.');
+
+		long fraction = Math.abs(nanos % 1000L);
+		if (fraction < 100L){
+			builder.append('0');
+		}
+		if (fraction < 10L){
+			builder.append('0');
+		}
+		builder.append(fraction);
+	}
+
+	/**
+	 * Append a quoted and escaped JSON string.
+	 * @param builder the builder to append to.
+	 * @param value the string.
+	 */
+	private static void appendString(StringBuilder builder, String value){
+
+		if (value == null){
+			builder.append("null");
+			return;
+		}
+
+		builder.append('"');
+		for(int i = 0; i < value.length(); i++){
+
+			char c = value.charAt(i);
+
+			if ((c == '"') || (c == '\\')){
+				builder.append('\\').append(c);
+			} else if (c >= 0x20){
+				builder.append(c);
+			} else if (c == '\n'){
+				builder.append("\\n");
+			} else if (c == '\r'){
+				builder.append("\\r");
+			} else if (c == '\t'){
+				builder.append("\\t");
+			} else {
+				builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+			}
+		}
+		builder.append('"');
+	}
+}
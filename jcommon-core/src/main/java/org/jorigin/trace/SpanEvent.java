@@ -0,0 +1,162 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import java.util.ArrayDeque;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.jorigin.Common;
+
+/**
+ * The JDK Flight Recorder event that publishes a {@link TraceSpan span}. The event begins when the span opens and is committed when the span ends,
+ * so that its start time and its duration are the ones of the span. The spans opened by {@link Tracer#start()} are nested within their thread,
+ * their events are kept within a per thread stack until the matching {@link Tracer#end(String, String, String, long) end}.<br>
+ * <br>
+ * This class is only loaded when the flight recorder export is {@link Tracer#setFlightRecorder(boolean) enabled}, so that
+ * the <code>jdk.jfr</code> module remains optional.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+@Name("org.jorigin.Span")
+@Label("Span")
+@Category("JOrigin")
+@Description("An operation traced by JOrigin Common")
+@StackTrace(false)
+class SpanEvent extends Event {
+
+	/**
+	 * The category of the span.
+	 */
+	@Label("Category")
+	String category;
+
+	/**
+	 * The name of the span.
+	 */
+	@Label("Name")
+	String name;
+
+	/**
+	 * The argument of the span.
+	 */
+	@Label("Argument")
+	String argument;
+
+	/**
+	 * The name of the thread of the span.
+	 */
+	@Label("Span Thread")
+	String spanThread;
+
+	/**
+	 * The events of the spans opened within the current thread, from the innermost to the outermost.
+	 */
+	private static final ThreadLocal<ArrayDeque<Open>> opened = ThreadLocal.withInitial(ArrayDeque::new);
+
+	/**
+	 * An event attached to the start of a span opened within the current thread.
+	 */
+	private static final class Open {
+
+		/**
+		 * The start of the span, as returned by {@link Tracer#start()}.
+		 */
+		private final long start;
+
+		/**
+		 * The begun event.
+		 */
+		private final SpanEvent event;
+
+		/**
+		 * Create a new opened span.
+		 * @param start the start of the span, as returned by {@link Tracer#start()}.
+		 * @param event the begun event.
+		 */
+		private Open(long start, SpanEvent event){
+			this.start = start;
+			this.event = event;
+		}
+	}
+
+	/**
+	 * Begin an event if the event is enabled within a running recording.
+	 * @return the begun event or <code>null</code> if the event is not enabled.
+	 */
+	static SpanEvent start(){
+
+		SpanEvent event = new SpanEvent();
+		if (event.isEnabled()){
+			event.begin();
+			return event;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Begin the event of a span opened within the current thread.
+	 * @param start the start of the span, as returned by {@link Tracer#start()}.
+	 */
+	static void open(long start){
+
+		SpanEvent event = start();
+		if (event != null){
+			opened.get().push(new Open(start, event));
+		}
+	}
+
+	/**
+	 * Commit the event of a span opened within the current thread. The events of the inner spans that have not been ended are discarded.
+	 * Nothing is committed if no event has begun with the span.
+	 * @param start the start of the span, as returned by {@link Tracer#start()}.
+	 * @param span the ended span.
+	 */
+	static void close(long start, TraceSpan span){
+
+		ArrayDeque<Open> stack = opened.get();
+
+		while (!stack.isEmpty() && (stack.peek().start > start)){
+			stack.pop();
+		}
+
+		if (!stack.isEmpty() && (stack.peek().start == start)){
+			commit(stack.pop().event, span);
+		}
+	}
+
+	/**
+	 * Commit a begun event for the given span.
+	 * @param event the event, as returned by {@link #start()}.
+	 * @param span the ended span.
+	 */
+	static void commit(SpanEvent event, TraceSpan span){
+		event.category   = span.getCategory();
+		event.name       = span.getName();
+		event.argument   = span.getArgument();
+		event.spanThread = span.getThreadName();
+		event.commit();
+	}
+}
@@ -0,0 +1,161 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jorigin.Common;
+import org.jorigin.task.TaskEvent;
+import org.jorigin.task.TaskListener;
+
+/**
+ * A {@link TaskListener task listener} that records the lifecycle of the tasks as {@link Tracer tracer} spans. A span of the
+ * {@link Tracer#TASK task category} is recorded from the {@link TaskEvent#TASK_STARTED start} of a task to its {@link TaskEvent#TASK_FINISHED end},
+ * within the thread that started the task. The span argument is the description of the task or, if the task has failed, its {@link TaskEvent#TASK_ERROR error}.
+ * The tasks that share the same name and that run at the same time are paired with their ends in their start order.<br>
+ * <br>
+ * The listener can be added to any task event source, for example a {@link org.jorigin.task.TaskExecutor task executor}. Nothing is recorded while the tracer is disabled.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskTracer implements TaskListener {
+
+	/**
+	 * The starts of the running tasks, by task name.
+	 */
+	private final Map<String, ArrayDeque<Start>> running = new HashMap<String, ArrayDeque<Start>>();
+
+	/**
+	 * Create a new task tracer.
+	 */
+	public TaskTracer(){
+		// Nothing to initialize
+	}
+
+	@Override
+	public void eventDispatched(TaskEvent event){
+
+		if (event.getID() == TaskEvent.TASK_STARTED){
+
+			if (Tracer.isEnabled()){
+				Thread thread = Thread.currentThread();
+				Start start = new Start(System.nanoTime(), thread.getId(), thread.getName(), event.getDescription());
+
+				if (Tracer.isFlightRecorder()){
+					start.event = SpanEvent.start();
+				}
+
+				synchronized (this.running) {
+					this.running.computeIfAbsent(event.getTaskName(), name -> new ArrayDeque<Start>()).add(start);
+				}
+			}
+
+		} else if (event.getID() == TaskEvent.TASK_ERROR){
+
+			synchronized (this.running) {
+				ArrayDeque<Start> starts = this.running.get(event.getTaskName());
+				if (starts != null){
+					starts.peek().argument = "error: "+event.getDescription();
+				}
+			}
+
+		} else if (event.getID() == TaskEvent.TASK_FINISHED){
+
+			Start start = null;
+			synchronized (this.running) {
+				ArrayDeque<Start> starts = this.running.get(event.getTaskName());
+				if (starts != null){
+					start = starts.poll();
+					if (starts.isEmpty()){
+						this.running.remove(event.getTaskName());
+					}
+				}
+			}
+
+			if ((start != null) && Tracer.isEnabled()){
+				TraceSpan span = Tracer.record(Tracer.TASK, event.getTaskName(), start.argument, start.time, System.nanoTime(), start.threadId, start.threadName);
+
+				if (start.event != null){
+					SpanEvent.commit(start.event, span);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the number of the running tasks known by the tracer.
+	 * @return the number of the running tasks.
+	 */
+	public int getRunningCount(){
+		synchronized (this.running) {
+			int count = 0;
+			for(ArrayDeque<Start> starts : this.running.values()){
+				count += starts.size();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * The start of a running task.
+	 */
+	private static class Start {
+
+		/**
+		 * The start time, as given by {@link System#nanoTime()}.
+		 */
+		private final long time;
+
+		/**
+		 * The identifier of the starting thread.
+		 */
+		private final long threadId;
+
+		/**
+		 * The name of the starting thread.
+		 */
+		private final String threadName;
+
+		/**
+		 * The argument of the span.
+		 */
+		private String argument;
+
+		/**
+		 * The flight recorder event begun with the task or <code>null</code> if none.
+		 */
+		private SpanEvent event = null;
+
+		/**
+		 * Create a new start.
+		 * @param time the start time, as given by {@link System#nanoTime()}.
+		 * @param threadId the identifier of the starting thread.
+		 * @param threadName the name of the starting thread.
+		 * @param argument the argument of the span.
+		 */
+		private Start(long time, long threadId, String threadName, String argument){
+			this.time       = time;
+			this.threadId   = threadId;
+			this.threadName = threadName;
+			this.argument   = argument;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jorigin.Common;
+
+/**
+ * A lock-free ring buffer of {@link TraceSpan spans}. The recording threads claim a slot with a single atomic increment and never wait for each other
+ * nor for the readers. When the buffer is full, the oldest spans are overwritten.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TraceBuffer {
+
+	/**
+	 * The default capacity of a buffer.
+	 */
+	public static final int DEFAULT_CAPACITY = 65536;
+
+	/**
+	 * The slots of the buffer.
+	 */
+	private final AtomicReferenceArray<TraceSpan> slots;
+
+	/**
+	 * The mask that converts a sequence number into a slot index.
+	 */
+	private final int mask;
+
+	/**
+	 * The sequence number of the next recorded span.
+	 */
+	private final AtomicLong next = new AtomicLong();
+
+	/**
+	 * The sequence number of the first span recorded since the last {@link #clear() clear}.
+	 */
+	private volatile long first = 0L;
+
+	/**
+	 * Create a new buffer with the {@link #DEFAULT_CAPACITY default capacity}.
+	 */
+	public TraceBuffer(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new buffer.
+	 * @param capacity the capacity of the buffer, rounded up to the next power of two.
+	 * @throws IllegalArgumentException if the capacity is not within [1, 2<sup>30</sup>].
+	 */
+	public TraceBuffer(int capacity){
+
+		if ((capacity < 1) || (capacity > (1 << 30))){
+			throw new IllegalArgumentException("Invalid capacity "+capacity);
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity){
+			size = size << 1;
+		}
+
+		this.slots = new AtomicReferenceArray<TraceSpan>(size);
+		this.mask  = size - 1;
+	}
+
+	/**
+	 * Get the capacity of the buffer.
+	 * @return the capacity of the buffer.
+	 */
+	public int getCapacity(){
+		return this.slots.length();
+	}
+
+	/**
+	 * Record the given span, overwriting the oldest span if the buffer is full.
+	 * @param span the span to record.
+	 */
+	public void record(TraceSpan span){
+		this.slots.set((int) (this.next.getAndIncrement() & this.mask), span);
+	}
+
+	/**
+	 * Get the number of spans recorded since the last {@link #clear() clear}, including the overwritten spans.
+	 * @return the number of spans recorded since the last clear.
+	 */
+	public long getRecordedCount(){
+		return this.next.get() - this.first;
+	}
+
+	/**
+	 * Get the number of spans that have been overwritten since the last {@link #clear() clear}.
+	 * @return the number of overwritten spans.
+	 */
+	public long getDroppedCount(){
+		return Math.max(0L, getRecordedCount() - this.slots.length());
+	}
+
+	/**
+	 * Get the spans held by the buffer. The spans that are recorded while this method is running may or may not be returned.
+	 * @return the spans held by the buffer, sorted by start.
+	 */
+	public List<TraceSpan> getSpans(){
+
+		long end   = this.next.get();
+		long start = Math.max(this.first, end - this.slots.length());
+
+		List<TraceSpan> spans = new ArrayList<TraceSpan>((int) (end - start));
+		for(long sequence = start; sequence < end; sequence++){
+			TraceSpan span = this.slots.get((int) (sequence & this.mask));
+			if (span != null){
+				spans.add(span);
+			}
+		}
+
+		spans.sort(Comparator.comparingLong(TraceSpan::getStart));
+
+		return spans;
+	}
+
+	/**
+	 * Remove all the spans from the buffer.
+	 */
+	public synchronized void clear(){
+
+		this.first = this.next.get();
+
+		for(int i = 0; i < this.slots.length(); i++){
+			this.slots.set(i, null);
+		}
+	}
+}
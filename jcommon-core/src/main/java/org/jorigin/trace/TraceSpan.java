@@ -0,0 +1,146 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import org.jorigin.Common;
+
+/**
+ * A span recorded by the {@link Tracer tracer}. A span is an immutable time interval spent by a thread within an operation,
+ * for example the initialization of a plugin or the loading of a lang resource table.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TraceSpan {
+
+	/**
+	 * The category of the span.
+	 */
+	private final String category;
+
+	/**
+	 * The name of the span.
+	 */
+	private final String name;
+
+	/**
+	 * The argument of the span.
+	 */
+	private final String argument;
+
+	/**
+	 * The start of the span, in nanoseconds since the tracer origin.
+	 */
+	private final long start;
+
+	/**
+	 * The duration of the span, in nanoseconds.
+	 */
+	private final long duration;
+
+	/**
+	 * The identifier of the thread of the span.
+	 */
+	private final long threadId;
+
+	/**
+	 * The name of the thread of the span.
+	 */
+	private final String threadName;
+
+	/**
+	 * Create a new span.
+	 * @param category the category of the span.
+	 * @param name the name of the span.
+	 * @param argument the argument of the span or <code>null</code>.
+	 * @param start the start of the span, in nanoseconds since the {@link Tracer#getOrigin() tracer origin}.
+	 * @param duration the duration of the span, in nanoseconds.
+	 * @param threadId the identifier of the thread of the span.
+	 * @param threadName the name of the thread of the span.
+	 */
+	public TraceSpan(String category, String name, String argument, long start, long duration, long threadId, String threadName){
+		this.category   = category;
+		this.name       = name;
+		this.argument   = argument;
+		this.start      = start;
+		this.duration   = duration;
+		this.threadId   = threadId;
+		this.threadName = threadName;
+	}
+
+	/**
+	 * Get the category of the span.
+	 * @return the category of the span.
+	 */
+	public String getCategory(){
+		return this.category;
+	}
+
+	/**
+	 * Get the name of the span.
+	 * @return the name of the span.
+	 */
+	public String getName(){
+		return this.name;
+	}
+
+	/**
+	 * Get the argument of the span, for example the name of the initialized plugin.
+	 * @return the argument of the span or <code>null</code>.
+	 */
+	public String getArgument(){
+		return this.argument;
+	}
+
+	/**
+	 * Get the start of the span.
+	 * @return the start of the span, in nanoseconds since the {@link Tracer#getOrigin() tracer origin}.
+	 */
+	public long getStart(){
+		return this.start;
+	}
+
+	/**
+	 * Get the duration of the span.
+	 * @return the duration of the span, in nanoseconds.
+	 */
+	public long getDuration(){
+		return this.duration;
+	}
+
+	/**
+	 * Get the identifier of the thread of the span.
+	 * @return the identifier of the thread of the span.
+	 */
+	public long getThreadId(){
+		return this.threadId;
+	}
+
+	/**
+	 * Get the name of the thread of the span.
+	 * @return the name of the thread of the span.
+	 */
+	public String getThreadName(){
+		return this.threadName;
+	}
+
+	@Override
+	public String toString(){
+		return getClass().getSimpleName()+"[category="+this.category+", name="+this.name+", argument="+this.argument+", start="+this.start+", duration="+this.duration+", thread="+this.threadName+"]";
+	}
+}
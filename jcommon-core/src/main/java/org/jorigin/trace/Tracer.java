@@ -0,0 +1,245 @@
+/*
+  This file is part of JOrigin Common Library.
+
+    JOrigin Common is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    JOrigin Common is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with JOrigin Common.  If not, see <http://www.gnu.org/licenses/>.
+
+ */
+package org.jorigin.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+
+import org.jorigin.Common;
+import org.jorigin.logging.Log;
+
+/**
+ * The tracer records the timeline of the library operations, such as the plugin discovery and loading, the plugin initialization and start,
+ * the lang resource loading and the {@link TaskTracer tasks}. A traced operation is surrounded by a {@link #start() start} and an {@link #end(String, String, String, long) end}:
+ * <pre>
+ * long start = Tracer.start();
+ * try {
+ *   plugin.pluginInit(plugger);
+ * } finally {
+ *   Tracer.end(Tracer.PLUGIN, "pluginInit", plugin.getName(), start);
+ * }
+ * </pre>
+ * The tracer is disabled by default and can be enabled using {@link #setEnabled(boolean)} or the system property <code>trace.enabled</code>.
+ * When disabled, a traced operation only costs a volatile read. When enabled, the {@link TraceSpan spans} are recorded within a lock-free {@link TraceBuffer buffer}
+ * (whose capacity can be set with the system property <code>trace.buffer.size</code>) and can be exported to the Chrome trace event format
+ * using {@link #writeChromeTrace(File)}. The spans can also be published as JDK Flight Recorder events (named <code>org.jorigin.Span</code>) using
+ * {@link #setFlightRecorder(boolean)} or the system property <code>trace.jfr</code>.
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class Tracer {
+
+	/**
+	 * The category of the plugin spans.
+	 */
+	public static final String PLUGIN = "plugin";
+
+	/**
+	 * The category of the lang resource spans.
+	 */
+	public static final String LANG   = "lang";
+
+	/**
+	 * The category of the task spans.
+	 */
+	public static final String TASK   = "task";
+
+	/**
+	 * The origin of the span times, as given by {@link System#nanoTime()}.
+	 */
+	private static final long ORIGIN = System.nanoTime();
+
+	/**
+	 * The buffer that holds the recorded spans.
+	 */
+	private static final TraceBuffer buffer = new TraceBuffer(Integer.getInteger("trace.buffer.size", TraceBuffer.DEFAULT_CAPACITY));
+
+	/**
+	 * Is the tracer enabled.
+	 */
+	private static volatile boolean enabled = Boolean.getBoolean("trace.enabled");
+
+	/**
+	 * Are the spans published as flight recorder events.
+	 */
+	private static volatile boolean flightRecorder = false;
+
+	static {
+		if (Boolean.getBoolean("trace.jfr")){
+			setFlightRecorder(true);
+		}
+	}
+
+	/**
+	 * This class is not instantiable.
+	 */
+	private Tracer(){
+		// Static members only
+	}
+
+	/**
+	 * Check if the tracer is enabled.
+	 * @return <code>true</code> if the tracer is enabled and <code>false</code> otherwise.
+	 */
+	public static boolean isEnabled(){
+		return enabled;
+	}
+
+	/**
+	 * Set if the tracer is enabled.
+	 * @param enabled <code>true</code> if the tracer is enabled and <code>false</code> otherwise.
+	 */
+	public static void setEnabled(boolean enabled){
+		Tracer.enabled = enabled;
+	}
+
+	/**
+	 * Check if the spans are published as JDK Flight Recorder events.
+	 * @return <code>true</code> if the spans are published as flight recorder events and <code>false</code> otherwise.
+	 */
+	public static boolean isFlightRecorder(){
+		return flightRecorder;
+	}
+
+	/**
+	 * Set if the spans are published as JDK Flight Recorder events. The events are only recorded when the tracer is {@link #setEnabled(boolean) enabled}
+	 * and when a running recording enables the <code>org.jorigin.Span</code> event. If the <code>jdk.jfr</code> module is not available, the flight recorder
+	 * publication remains disabled.
+	 * @param flightRecorder <code>true</code> if the spans are published as flight recorder events and <code>false</code> otherwise.
+	 */
+	public static void setFlightRecorder(boolean flightRecorder){
+
+		if (flightRecorder && ModuleLayer.boot().findModule("jdk.jfr").isEmpty()){
+			Log.log(Level.WARNING, "Module jdk.jfr is not available, trace spans cannot be published as flight recorder events");
+			return;
+		}
+
+		Tracer.flightRecorder = flightRecorder;
+	}
+
+	/**
+	 * Get the buffer that holds the recorded spans.
+	 * @return the buffer that holds the recorded spans.
+	 */
+	public static TraceBuffer getBuffer(){
+		return buffer;
+	}
+
+	/**
+	 * Get the origin of the span times.
+	 * @return the origin of the span times, as given by {@link System#nanoTime()}.
+	 */
+	public static long getOrigin(){
+		return ORIGIN;
+	}
+
+	/**
+	 * Start a traced operation.
+	 * @return the start of the operation, to give to {@link #end(String, String, String, long) end}, or <code>0</code> if the tracer is disabled.
+	 */
+	public static long start(){
+
+		if (!enabled){
+			return 0L;
+		}
+
+		long start = System.nanoTime();
+
+		if (flightRecorder){
+			SpanEvent.open(start);
+		}
+
+		return start;
+	}
+
+	/**
+	 * End a traced operation that has no argument.
+	 * @param category the category of the operation.
+	 * @param name the name of the operation.
+	 * @param start the start of the operation, as returned by {@link #start()}.
+	 * @see #end(String, String, String, long)
+	 */
+	public static void end(String category, String name, long start){
+		end(category, name, null, start);
+	}
+
+	/**
+	 * End a traced operation and record its span within the current thread. Nothing is recorded if the tracer was disabled when the operation started.
+	 * @param category the category of the operation.
+	 * @param name the name of the operation.
+	 * @param argument the argument of the operation, for example the name of the initialized plugin, or <code>null</code>.
+	 * @param start the start of the operation, as returned by {@link #start()}.
+	 */
+	public static void end(String category, String name, String argument, long start){
+		if ((start != 0L) && enabled){
+			Thread thread  = Thread.currentThread();
+			TraceSpan span = record(category, name, argument, start, System.nanoTime(), thread.getId(), thread.getName());
+
+			if (flightRecorder){
+				SpanEvent.close(start, span);
+			}
+		}
+	}
+
+	/**
+	 * Record a span within the buffer. The flight recorder event of the span, if any, has to be committed by the caller.
+	 * @param category the category of the span.
+	 * @param name the name of the span.
+	 * @param argument the argument of the span or <code>null</code>.
+	 * @param start the start of the span, as given by {@link System#nanoTime()}.
+	 * @param end the end of the span, as given by {@link System#nanoTime()}.
+	 * @param threadId the identifier of the thread of the span.
+	 * @param threadName the name of the thread of the span.
+	 * @return the recorded span.
+	 */
+	static TraceSpan record(String category, String name, String argument, long start, long end, long threadId, String threadName){
+
+		TraceSpan span = new TraceSpan(category, name, argument, start - ORIGIN, end - start, threadId, threadName);
+
+		buffer.record(span);
+
+		return span;
+	}
+
+	/**
+	 * Write the recorded spans to the given file, using the Chrome trace event JSON format.
+	 * @param file the file to write.
+	 * @throws IOException if an I/O error occurs.
+	 * @see ChromeTraceWriter
+	 */
+	public static void writeChromeTrace(File file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)){
+			writeChromeTrace(writer);
+		}
+	}
+
+	/**
+	 * Write the recorded spans to the given writer, using the Chrome trace event JSON format. The writer is not closed.
+	 * @param writer the writer to write to.
+	 * @throws IOException if an I/O error occurs.
+	 * @see ChromeTraceWriter
+	 */
+	public static void writeChromeTrace(Writer writer) throws IOException {
+		new ChromeTraceWriter().write(buffer.getSpans(), writer);
+	}
+}
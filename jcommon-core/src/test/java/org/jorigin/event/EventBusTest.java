@@ -0,0 +1,141 @@
+package org.jorigin.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.AWTEvent;
+import java.awt.event.AWTEventListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jorigin.Common;
+import org.jorigin.task.TaskEvent;
+import org.jorigin.task.TaskListener;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link EventBus}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class EventBusTest {
+
+	/**
+	 * Testing the routing of the events by type and identifier
+	 */
+	@Test
+	public void routingTest() {
+
+		EventBus<TaskListener, TaskEvent> bus = new EventBus<TaskListener, TaskEvent>(TaskListener::eventDispatched);
+
+		List<String> received = new ArrayList<String>();
+
+		bus.subscribe(event -> received.add("all:"+event.getID()));
+		bus.subscribe(event -> received.add("progress:"+event.getID()), TaskEvent.class, TaskEvent.TASK_PROGRESS);
+		bus.subscribe(event -> received.add("errors:"+event.getID()), TaskEvent.class, TaskEvent.TASK_WARNING, TaskEvent.TASK_ERROR);
+
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_PROGRESS, 10));
+		assertEquals(List.of("progress:"+TaskEvent.TASK_PROGRESS, "all:"+TaskEvent.TASK_PROGRESS), received, "Invalid progress notification");
+
+		received.clear();
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_ERROR));
+		assertEquals(List.of("errors:"+TaskEvent.TASK_ERROR, "all:"+TaskEvent.TASK_ERROR), received, "Invalid error notification");
+
+		received.clear();
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_INFO));
+		assertEquals(List.of("all:"+TaskEvent.TASK_INFO), received, "Unsubscribed identifier should only reach the listeners of all the events");
+
+		assertEquals(3, bus.getSubscriptionCount(), "Invalid subscription count");
+		assertTrue(bus.hasListeners(TaskEvent.class, TaskEvent.TASK_FINISHED), "Listener of all the events should be found");
+	}
+
+	/**
+	 * Testing the routing of the events to the listeners of their super types
+	 */
+	@Test
+	public void hierarchyTest() {
+
+		EventBus<AWTEventListener, AWTEvent> bus = new EventBus<AWTEventListener, AWTEvent>(AWTEventListener::eventDispatched);
+
+		List<String> received = new ArrayList<String>();
+
+		bus.subscribe(event -> received.add("awt"), AWTEvent.class);
+		bus.subscribe(event -> received.add("task"), TaskEvent.class, TaskEvent.TASK_STARTED);
+
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_STARTED));
+		assertEquals(List.of("task", "awt"), received, "Task event should reach the listeners of its super types");
+
+		received.clear();
+		bus.dispatch(new AWTEvent(this, TaskEvent.TASK_STARTED){
+
+			private static final long serialVersionUID = 1L;
+		});
+		assertEquals(List.of("awt"), received, "AWT event should not reach the task listeners");
+
+		assertTrue(bus.hasListeners(TaskEvent.class, TaskEvent.TASK_INFO), "Listener of the super type should be found for any identifier");
+	}
+
+	/**
+	 * Testing the subscription changes
+	 */
+	@Test
+	public void unsubscribeTest() {
+
+		EventBus<TaskListener, TaskEvent> bus = new EventBus<TaskListener, TaskEvent>(TaskListener::eventDispatched);
+
+		List<Integer> received = new ArrayList<Integer>();
+
+		TaskListener listener = event -> received.add(Integer.valueOf(event.getID()));
+		bus.subscribe(listener, TaskEvent.class, TaskEvent.TASK_FINISHED);
+
+		assertFalse(bus.hasListeners(TaskEvent.class, TaskEvent.TASK_STARTED), "No listener should be found");
+
+		// The routing table of the event class is computed before the new subscription
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_STARTED));
+		bus.subscribe(listener, TaskEvent.class, TaskEvent.TASK_STARTED);
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_STARTED));
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_FINISHED));
+
+		assertEquals(List.of(Integer.valueOf(TaskEvent.TASK_STARTED), Integer.valueOf(TaskEvent.TASK_FINISHED)), received, "New subscription should be taken into account");
+
+		// Only the most recent subscription is removed
+		bus.unsubscribe(listener);
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_STARTED));
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_FINISHED));
+
+		assertEquals(List.of(Integer.valueOf(TaskEvent.TASK_STARTED), Integer.valueOf(TaskEvent.TASK_FINISHED), Integer.valueOf(TaskEvent.TASK_FINISHED)), received, "Only the most recent subscription should be removed");
+		assertEquals(1, bus.getSubscriptionCount(), "One subscription should remain");
+
+		bus.unsubscribe(listener);
+		bus.dispatch(new TaskEvent(this, TaskEvent.TASK_FINISHED));
+
+		assertEquals(3, received.size(), "Unsubscribed listener should not be notified");
+		assertEquals(0, bus.getSubscriptionCount(), "All the subscriptions should be removed");
+	}
+
+	/**
+	 * Testing the routing of an event pool
+	 */
+	@Test
+	public void eventPoolTest() {
+
+		EventPool pool = new EventPool();
+
+		List<Integer> received = new ArrayList<Integer>();
+
+		AWTEventListener listener = event -> received.add(Integer.valueOf(event.getID()));
+		pool.addListener(listener, TaskEvent.class, TaskEvent.TASK_ERROR);
+
+		pool.dispatchEvent(new TaskEvent(this, TaskEvent.TASK_PROGRESS));
+		pool.dispatchEvent(new TaskEvent(this, TaskEvent.TASK_ERROR));
+
+		assertEquals(List.of(Integer.valueOf(TaskEvent.TASK_ERROR)), received, "Only the error should be notified");
+
+		pool.removeListener(listener);
+		pool.dispatchEvent(new TaskEvent(this, TaskEvent.TASK_ERROR));
+
+		assertEquals(1, received.size(), "Removed listener should not be notified");
+	}
+}
@@ -0,0 +1,196 @@
+package org.jorigin.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.AWTEvent;
+import java.awt.event.AWTEventListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link EventPool}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class EventPoolTest {
+
+	/**
+	 * Create an event.
+	 * @param id the event identifier.
+	 * @return the event.
+	 */
+	private static AWTEvent event(int id){
+		return new AWTEvent(EventPoolTest.class, id){
+
+			private static final long serialVersionUID = 1L;
+		};
+	}
+
+	/**
+	 * Testing the synchronous dispatch
+	 */
+	@Test
+	public void synchronousTest() {
+
+		EventPool pool = new EventPool();
+
+		List<Integer> received = new ArrayList<Integer>();
+		pool.addListener(event -> received.add(Integer.valueOf(event.getID())));
+
+		pool.dispatchEvent(event(1));
+		pool.dispatchEvent(event(2));
+
+		assertEquals(List.of(Integer.valueOf(1), Integer.valueOf(2)), received, "Invalid received events");
+		assertTrue(pool.getStatistics().isEmpty(), "Synchronous pool should not have statistics");
+	}
+
+	/**
+	 * Testing the asynchronous dispatch order and statistics
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void asynchronousTest() throws InterruptedException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			EventPool pool = new EventPool(executor, 16, EventPool.OVERFLOW_BLOCK);
+
+			List<Integer> first  = Collections.synchronizedList(new ArrayList<Integer>());
+			List<Integer> second = Collections.synchronizedList(new ArrayList<Integer>());
+
+			AWTEventListener firstListener = event -> first.add(Integer.valueOf(event.getID()));
+			pool.addListener(firstListener);
+			pool.addListener(event -> second.add(Integer.valueOf(event.getID())));
+
+			for(int i = 0; i < 1000; i++){
+				pool.dispatchEvent(event(i));
+			}
+
+			assertTrue(pool.awaitDispatch(10, TimeUnit.SECONDS), "Events should be dispatched");
+
+			assertEquals(1000, first.size(), "Invalid number of events of the first listener");
+			assertEquals(1000, second.size(), "Invalid number of events of the second listener");
+			for(int i = 0; i < 1000; i++){
+				assertEquals(i, first.get(i).intValue(), "Events of the first listener are not ordered");
+				assertEquals(i, second.get(i).intValue(), "Events of the second listener are not ordered");
+			}
+
+			List<EventListenerStatistics> statistics = pool.getStatistics();
+			assertEquals(2, statistics.size(), "Invalid number of statistics");
+			assertEquals(firstListener, statistics.get(1).getListener(), "Statistics should follow the notification order");
+			assertEquals(1000, statistics.get(1).getDispatchedCount(), "Invalid dispatched count");
+			assertEquals(0, statistics.get(1).getDroppedCount(), "Invalid dropped count");
+			assertEquals(0, statistics.get(1).getQueueDepth(), "Invalid queue depth");
+			assertTrue(statistics.get(1).getMaxLatency() >= statistics.get(1).getAverageLatency(), "Invalid latencies");
+
+			pool.removeListener(firstListener);
+			pool.dispatchEvent(event(1000));
+			assertTrue(pool.awaitDispatch(10, TimeUnit.SECONDS), "Events should be dispatched");
+			assertEquals(1000, first.size(), "Removed listener should not be notified");
+			assertEquals(1001, second.size(), "Remaining listener should be notified");
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Testing the overflow policies with a blocked listener
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void overflowTest() throws InterruptedException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			for(int policy : new int[] {EventPool.OVERFLOW_DROP, EventPool.OVERFLOW_DROP_OLDEST}){
+
+				EventPool pool = new EventPool(executor, 4, policy);
+
+				CountDownLatch started = new CountDownLatch(1);
+				CountDownLatch release = new CountDownLatch(1);
+				List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+
+				pool.addListener(event -> {
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					received.add(Integer.valueOf(event.getID()));
+				});
+
+				pool.dispatchEvent(event(0));
+				assertTrue(started.await(10, TimeUnit.SECONDS), "Listener should be notified");
+
+				// The producer is never blocked by the slow listener
+				for(int i = 1; i <= 10; i++){
+					pool.dispatchEvent(event(i));
+				}
+
+				assertEquals(4, pool.getStatistics().get(0).getQueueDepth(), "Queue should be full");
+				assertEquals(6, pool.getStatistics().get(0).getDroppedCount(), "Invalid dropped count");
+
+				release.countDown();
+				assertTrue(pool.awaitDispatch(10, TimeUnit.SECONDS), "Events should be dispatched");
+
+				if (policy == EventPool.OVERFLOW_DROP){
+					assertEquals(List.of(Integer.valueOf(0), Integer.valueOf(1), Integer.valueOf(2), Integer.valueOf(3), Integer.valueOf(4)), received, "Newest events should be dropped");
+				} else {
+					assertEquals(List.of(Integer.valueOf(0), Integer.valueOf(7), Integer.valueOf(8), Integer.valueOf(9), Integer.valueOf(10)), received, "Oldest events should be dropped");
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Testing that an error thrown by a listener does not stall its queue
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void errorTest() throws InterruptedException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			EventPool pool = new EventPool(executor, 16, EventPool.OVERFLOW_BLOCK);
+
+			List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+			pool.addListener(event -> {
+				if (event.getID() == 1){
+					throw new Error("Listener failure");
+				}
+				received.add(Integer.valueOf(event.getID()));
+			});
+
+			for(int i = 0; i < 4; i++){
+				pool.dispatchEvent(event(i));
+			}
+
+			assertTrue(pool.awaitDispatch(10, TimeUnit.SECONDS), "Events should be dispatched after an error");
+
+			pool.dispatchEvent(event(4));
+			assertTrue(pool.awaitDispatch(10, TimeUnit.SECONDS), "Events should be dispatched after an error");
+
+			assertEquals(List.of(Integer.valueOf(0), Integer.valueOf(2), Integer.valueOf(3), Integer.valueOf(4)), received, "Invalid received events");
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
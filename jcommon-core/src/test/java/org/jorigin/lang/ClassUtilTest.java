@@ -0,0 +1,44 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link ClassUtil}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class ClassUtilTest {
+
+	/**
+	 * Testing {@link ClassUtil#listClasses(String)} on a package that belongs to a named module
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void listModuleClassesTest() throws Exception {
+
+		List<Class<?>> classes = ClassUtil.listClasses("java.util.concurrent.atomic");
+
+		assertTrue(classes.contains(java.util.concurrent.atomic.AtomicInteger.class), "Public class not found within the module");
+		assertTrue(classes.contains(java.util.concurrent.atomic.LongAdder.class), "Public class not found within the module");
+		assertTrue(classes.stream().anyMatch(c -> c.getName().equals("java.util.concurrent.atomic.Striped64")), "Package private class not found within the module");
+
+		for(Class<?> c : classes){
+			assertTrue(c.getName().startsWith("java.util.concurrent.atomic."), "Class outside of the package "+c.getName());
+		}
+	}
+
+	/**
+	 * Testing {@link ClassUtil#listClasses(String)} on a package that is not available
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void listUnknownPackageTest() throws Exception {
+		assertTrue(ClassUtil.listClasses("org.jorigin.unknown").isEmpty(), "Classes found within an unknown package");
+	}
+}
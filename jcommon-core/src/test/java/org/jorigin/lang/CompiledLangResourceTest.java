@@ -0,0 +1,97 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link CompiledLangResource}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class CompiledLangResourceTest {
+
+	/**
+	 * Testing the replacement of a compiled file that is memory mapped
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void rewriteMappedTest() throws IOException {
+
+		File file = File.createTempFile("lang", CompiledLangResource.EXTENSION);
+
+		try {
+			Map<String, String> resources = new HashMap<String, String>();
+			for(int i = 0; i < 1000; i++){
+				resources.put("key."+i, "A long enough value for the key number "+i);
+			}
+			CompiledLangResource.write(resources, file);
+
+			CompiledLangResource mapped = CompiledLangResource.open(file);
+
+			// A smaller file replaces the mapped one
+			CompiledLangResource.write(Map.of("key.0", "new"), file);
+
+			assertEquals(1000, mapped.size(), "Mapped resources should not be modified");
+			assertEquals("A long enough value for the key number 999", mapped.get("key.999"), "Mapped resources should remain readable");
+
+			CompiledLangResource reopened = CompiledLangResource.open(file);
+			assertEquals("new", reopened.get("key.0"), "Invalid rewritten value");
+			assertNull(reopened.get("key.999"), "Rewritten file should only hold the new resources");
+
+			File[] remaining = file.getParentFile().listFiles((dir, name) -> name.startsWith(file.getName()) && name.endsWith(".tmp"));
+			assertEquals(0, remaining.length, "Temporary file should be moved");
+
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Testing that a compiled file older than the XML files of its table is ignored
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void staleCompiledTest() throws IOException {
+
+		Path directory = Files.createTempDirectory("lang");
+		File xml = directory.resolve("messages_fr.xml").toFile();
+		File compiled = directory.resolve("fr"+CompiledLangResource.EXTENSION).toFile();
+
+		try {
+			Files.writeString(xml.toPath(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?><resources><resource key=\"greeting\" value=\"Bonjour\"/></resources>");
+			CompiledLangResource.write(Map.of("greeting", "Salut"), compiled);
+
+			xml.setLastModified(System.currentTimeMillis() - 60000L);
+			compiled.setLastModified(System.currentTimeMillis() - 30000L);
+
+			LangResourceTable table = LangResourceTable.load(directory.toFile(), "fr", false);
+			assertTrue(table.isCompiled(), "Up to date compiled file should be used");
+			assertEquals("Salut", table.get("greeting"), "Invalid compiled value");
+
+			// The XML file is edited after the compilation
+			xml.setLastModified(System.currentTimeMillis());
+
+			table = LangResourceTable.load(directory.toFile(), "fr", false);
+			assertFalse(table.isCompiled(), "Stale compiled file should be ignored");
+			assertEquals("Bonjour", table.get("greeting"), "Invalid XML value");
+
+		} finally {
+			xml.delete();
+			compiled.delete();
+			directory.toFile().delete();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LangResourceIndex} and to the lang resources loaded from the classpath
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceIndexTest {
+
+	/**
+	 * Write a lang resource file that holds a single resource.
+	 * @param file the file to write.
+	 * @param key the key of the resource.
+	 * @param value the value of the resource.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void write(Path file, String key, String value) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, "<?xml version=\"1.0\" encoding=\"UTF-8\"?><resources><resource key=\""+key+"\" value=\""+value+"\"/></resources>");
+	}
+
+	/**
+	 * Delete the given directory and its content.
+	 * @param directory the directory to delete.
+	 * @throws IOException if the directory cannot be listed.
+	 */
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)){
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	/**
+	 * Testing the lookup of the files attached to a tag and their sorted insertion
+	 */
+	@Test
+	public void lookupTest() {
+
+		LangResourceIndex index = new LangResourceIndex();
+		index.add("messages_fr.xml");
+		index.add("gui/gui_fr.xml");
+		index.add("messages.xml");
+		index.add("about/about_fr.xml");
+		index.add("messages_fr_FR.xml");
+		index.add("gui/gui_fr.xml");
+		index.add("readme.txt");
+
+		assertEquals(Set.of(LangResourceTable.ROOT, "fr", "fr_FR"), index.getTags(), "Invalid tags");
+		assertEquals(List.of("about/about_fr.xml", "gui/gui_fr.xml", "messages_fr.xml"), index.getFiles("fr"), "Files should be sorted and not duplicated");
+		assertEquals(List.of("messages.xml"), index.getFiles(LangResourceTable.ROOT), "Invalid root files");
+		assertTrue(index.getFiles("de").isEmpty(), "Unknown tag should have no file");
+	}
+
+	/**
+	 * Testing {@link LangResourceIndex#write(java.io.OutputStream)} and {@link LangResourceIndex#read(java.io.InputStream)}
+	 * @throws IOException if the test fails
+	 */
+	@Test
+	public void writeReadTest() throws IOException {
+
+		LangResourceIndex index = new LangResourceIndex();
+		index.addAll(List.of("messages_fr.xml", "messages.xml", "gui/gui_fr.xml"));
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		index.write(bos);
+
+		LangResourceIndex read = LangResourceIndex.read(new ByteArrayInputStream(bos.toByteArray()));
+		assertEquals(index.getTags(), read.getTags(), "Invalid tags");
+		assertEquals(index.getFiles("fr"), read.getFiles("fr"), "Invalid files");
+		assertEquals(List.of("messages.xml"), read.getFiles(LangResourceTable.ROOT), "Invalid root files");
+
+		assertThrows(IOException.class, () -> LangResourceIndex.read(new ByteArrayInputStream("fr messages_fr.xml".getBytes(StandardCharsets.UTF_8))), "Invalid line should be rejected");
+	}
+
+	/**
+	 * Testing the lang resources loaded from the classpath, with and without an index file
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void classpathTest() throws Exception {
+
+		Path directory = Files.createTempDirectory("classpath");
+		Path root      = directory.resolve("testlang");
+
+		write(root.resolve("messages.xml"), "unit", "km");
+		write(root.resolve("messages_fr.xml"), "hello", "Bonjour");
+		write(root.resolve("gui/gui_fr.xml"), "open", "Ouvrir");
+
+		ClassLoader previous = Thread.currentThread().getContextClassLoader();
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, previous)){
+
+			Thread.currentThread().setContextClassLoader(loader);
+
+			// The resources are enumerated
+			LangResource enumerated = new LangResource(LangResource.CLASSPATH_PREFIX+"testlang", Locale.FRANCE);
+			assertEquals("Bonjour", enumerated.getString("hello"), "Invalid enumerated language value");
+			assertEquals("Ouvrir", enumerated.getString("open"), "Invalid enumerated value from a sub directory");
+			assertEquals("km", enumerated.getString("unit"), "Invalid enumerated root value");
+
+			// The index lists a part of the resources
+			LangResourceIndex index = new LangResourceIndex();
+			index.addAll(List.of("messages.xml", "messages_fr.xml"));
+			index.write(root.resolve(LangResourceIndex.INDEX_NAME).toFile());
+
+			LangResource indexed = new LangResource(LangResource.CLASSPATH_PREFIX+"/testlang/", Locale.FRANCE);
+			assertEquals("Bonjour", indexed.getString("hello"), "Invalid indexed language value");
+			assertEquals("km", indexed.getString("unit"), "Invalid indexed root value");
+			assertEquals("open", indexed.getString("open"), "Files that are not indexed should not be loaded");
+
+		} finally {
+			Thread.currentThread().setContextClassLoader(previous);
+			delete(directory);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LangResourceStore}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceStoreTest {
+
+	/**
+	 * Testing the fallback chains resolved for various locales
+	 */
+	@Test
+	public void fallbackTest() {
+
+		LangSymbolTable symbols = new LangSymbolTable();
+
+		LangResourceStore store = new LangResourceStore(List.of(
+				new LangResourceTable(LangResourceTable.ROOT, Map.of("hello", "Hello", "unit", "km", "brand", "JOrigin"), symbols),
+				new LangResourceTable("fr", Map.of("hello", "Bonjour", "unit", "kilomètre"), symbols),
+				new LangResourceTable("fr_CA", Map.of("hello", "Allô"), symbols)));
+
+		assertEquals("Allô", store.getString(Locale.CANADA_FRENCH, "hello"), "Invalid most specific value");
+		assertEquals("kilomètre", store.getString(Locale.CANADA_FRENCH, "unit"), "Invalid language fallback");
+		assertEquals("JOrigin", store.getString(Locale.CANADA_FRENCH, "brand"), "Invalid root fallback");
+
+		assertEquals("Bonjour", store.getString(Locale.FRANCE, "hello"), "Locale without table should use its language");
+		assertEquals("Bonjour", store.getString(new Locale("fr", "FR", "POSIX"), "hello"), "Variant should be ignored");
+		assertEquals("Hello", store.getString(Locale.GERMANY, "hello"), "Unknown language should use the root table");
+		assertEquals("Hello", store.getString(null, "hello"), "Null locale should use the root table");
+		assertEquals("missing", store.getString(Locale.FRANCE, "missing"), "Missing key should be returned");
+
+		assertEquals("Allô", store.getString(Locale.CANADA_FRENCH, "hello"), "Invalid value from a cached chain");
+		assertEquals("Hello", store.getString(Locale.GERMANY, "hello"), "Invalid root fallback from a cached chain");
+	}
+}
@@ -0,0 +1,70 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to the in-memory {@link LangResourceTable lang resource tables} and their {@link LangSymbolTable symbol table}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceTableTest {
+
+	/**
+	 * Testing the values shared between tables whatever their loading order
+	 */
+	@Test
+	public void sharingTest() {
+
+		LangSymbolTable symbols = new LangSymbolTable();
+
+		LangResourceTable fr = new LangResourceTable("fr", Map.of("unit", "km", "brand", "JOrigin", "hello", "Bonjour"), symbols);
+		LangResourceTable en = new LangResourceTable("en", Map.of("unit", "Km", "brand", "JOrigin", "hello", "Hello"), symbols);
+		LangResourceTable de = new LangResourceTable("de", Map.of("unit", "km", "brand", "JOrigin", "hello", "Hallo", "alias", "Hallo"), symbols);
+
+		assertSame(fr.getTemplate("unit"), de.getTemplate("unit"), "Identical values should be shared across an intermediate table");
+		assertSame(fr.getTemplate("brand"), en.getTemplate("brand"), "Identical values should be shared");
+		assertSame(de.getTemplate("hello"), de.getTemplate("alias"), "Identical values of different keys should be shared");
+		assertEquals("Km", en.get("unit"), "Invalid value");
+
+		assertEquals(fr.getFootprint(), new LangResourceTable("fr", Map.of("unit", "km", "brand", "JOrigin", "hello", "Bonjour"), symbols).getFootprint(),
+				"The footprint should not depend on the loading order");
+	}
+
+	/**
+	 * Testing a small table whose key identifiers are sparse
+	 */
+	@Test
+	public void sparseTest() {
+
+		LangSymbolTable symbols = new LangSymbolTable();
+
+		Map<String, String> values = new HashMap<String, String>();
+		for(int i = 0; i < 1000; i++){
+			values.put("key"+i, "value"+i);
+		}
+		LangResourceTable large = new LangResourceTable("", values, symbols);
+
+		LangResourceTable small = new LangResourceTable("fr", Map.of("key999", "valeur", "other", "autre"), symbols);
+
+		assertEquals(1000, large.size(), "Invalid large table size");
+		assertEquals("valeur", small.get("key999"), "Invalid value");
+		assertEquals("autre", small.get("other"), "Invalid value");
+		assertNull(small.get("key0"), "Key found within the wrong table");
+		assertEquals(2, small.keySet().size(), "Invalid key set");
+		assertTrue(small.getFootprint() < 1000, "Small table footprint should not depend on the number of keys "+small.getFootprint());
+
+		Map<String, String> copy = new HashMap<String, String>();
+		small.copyTo(copy);
+		assertEquals(Map.of("key999", "valeur", "other", "autre"), copy, "Invalid copy");
+	}
+}
@@ -0,0 +1,129 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LangResource}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceTest {
+
+	/**
+	 * Write a lang resource file.
+	 * @param file the file to write.
+	 * @param resources the keys and the values of the resources.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void write(Path file, String... resources) throws IOException {
+		StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><resources>");
+		for(int i = 0; i < resources.length; i += 2){
+			sb.append("<resource key=\"").append(resources[i]).append("\" value=\"").append(resources[i + 1]).append("\"/>");
+		}
+		sb.append("</resources>");
+		Files.writeString(file, sb.toString());
+	}
+
+	/**
+	 * Delete the given directory and its content.
+	 * @param directory the directory to delete.
+	 * @throws IOException if the directory cannot be listed.
+	 */
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)){
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	/**
+	 * Testing the <code>fr_FR</code>, <code>fr</code> and root fallback chain
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void fallbackTest() throws IOException {
+
+		Path directory = Files.createTempDirectory("lang");
+		try {
+			write(directory.resolve("messages.xml"), "hello", "Hello", "unit", "km", "brand", "JOrigin");
+			write(directory.resolve("messages_fr.xml"), "hello", "Bonjour", "unit", "kilomètre");
+			write(directory.resolve("messages_fr_FR.xml"), "hello", "Salut");
+
+			LangResource resource = new LangResource(directory.toString(), Locale.FRANCE);
+
+			assertEquals("Salut", resource.getString("hello"), "Invalid country value");
+			assertEquals("kilomètre", resource.getString("unit"), "Invalid language fallback");
+			assertEquals("JOrigin", resource.getString("brand"), "Invalid root fallback");
+			assertEquals("missing", resource.getString("missing"), "Missing key should be returned");
+			assertEquals(Set.of(LangResourceTable.ROOT, "fr", "fr_FR"), new HashSet<String>(resource.getCachedTags()), "Invalid cached tables");
+
+			resource.setLocale(Locale.CANADA_FRENCH);
+			assertEquals("Bonjour", resource.getString("hello"), "Country without table should use its language");
+
+			resource.setLocale(Locale.GERMAN);
+			assertEquals("Hello", resource.getString("hello"), "Unknown language should use the root table");
+			assertEquals("Hello", resource.getResources().get("hello"), "Invalid merged resources");
+		} finally {
+			delete(directory);
+		}
+	}
+
+	/**
+	 * Testing the eviction of the least recently used tables when the cache budget is exceeded
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void evictionTest() throws IOException {
+
+		Path directory = Files.createTempDirectory("lang");
+		try {
+			write(directory.resolve("messages.xml"), "hello", "Hello", "unit", "km");
+			for(String language : List.of("de", "en", "es", "fr")){
+				write(directory.resolve("messages_"+language+".xml"), "hello", "hello "+language, "unit", "unit "+language);
+			}
+
+			LangResource resource = new LangResource(directory.toString(), Locale.GERMAN);
+			resource.setCacheBudget(Long.MAX_VALUE);
+
+			resource.setLocale(Locale.ENGLISH);
+			resource.setLocale(new Locale("es"));
+			resource.setLocale(Locale.FRENCH);
+
+			assertEquals(Set.of(LangResourceTable.ROOT, "de", "en", "es", "fr"), new HashSet<String>(resource.getCachedTags()), "All the tables should be cached");
+			assertEquals("de", resource.getCachedTags().get(0), "Invalid least recently used table");
+
+			// Only the least recently used table has to be removed
+			resource.setCacheBudget(resource.getCacheFootprint() - 1);
+			assertFalse(resource.getCachedTags().contains("de"), "Least recently used table should be evicted");
+			assertTrue(resource.getCachedTags().containsAll(List.of("en", "es", "fr", LangResourceTable.ROOT)), "Recently used tables should be kept");
+
+			// The tables of the current locale are always kept
+			resource.setCacheBudget(1);
+			assertEquals(Set.of(LangResourceTable.ROOT, "fr"), new HashSet<String>(resource.getCachedTags()), "Only the current chain should be kept");
+			assertEquals("hello fr", resource.getString("hello"), "Invalid value after eviction");
+
+			// An evicted table is loaded again
+			resource.setLocale(Locale.GERMAN);
+			assertEquals("hello de", resource.getString("hello"), "Invalid value of a reloaded table");
+			assertEquals(Set.of(LangResourceTable.ROOT, "de"), new HashSet<String>(resource.getCachedTags()), "Previous chain should be evicted");
+		} finally {
+			delete(directory);
+		}
+	}
+}
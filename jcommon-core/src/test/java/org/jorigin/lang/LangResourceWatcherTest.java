@@ -0,0 +1,92 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LangResourceWatcher}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangResourceWatcherTest {
+
+	/**
+	 * Write a lang resource file that holds a single resource.
+	 * @param file the file to write.
+	 * @param key the key of the resource.
+	 * @param value the value of the resource.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void write(File file, String key, String value) throws IOException {
+		Files.writeString(file.toPath(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?><resources><resource key=\""+key+"\" value=\""+value+"\"/></resources>");
+	}
+
+	/**
+	 * Wait until the given key resolves to the given value.
+	 * @param resource the lang resource.
+	 * @param key the key.
+	 * @param value the expected value.
+	 * @return <code>true</code> if the value is resolved before the timeout and <code>false</code> otherwise.
+	 * @throws InterruptedException if the test is interrupted.
+	 */
+	private static boolean await(LangResource resource, String key, String value) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000L;
+		while (System.currentTimeMillis() < deadline){
+			if (value.equals(resource.getString(key))){
+				return true;
+			}
+			Thread.sleep(20);
+		}
+		return false;
+	}
+
+	/**
+	 * Testing that a malformed file does not replace the published table and that a valid file does
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void malformedReloadTest() throws Exception {
+
+		Path directory = Files.createTempDirectory("lang");
+		File root = directory.resolve("messages.xml").toFile();
+		File fr   = directory.resolve("messages_fr.xml").toFile();
+
+		write(root, "unit", "km");
+		write(fr, "greeting", "Bonjour");
+
+		LangResource resource = new LangResource(directory.toString(), Locale.FRENCH);
+		try {
+			resource.setReloading(true);
+			assertTrue(resource.isReloading(), "Reloading should be enabled");
+			assertEquals("Bonjour", resource.getString("greeting"), "Invalid initial value");
+
+			// A malformed save of the table, followed by a valid modification of another table
+			Files.writeString(fr.toPath(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?><resources><resource key=\"greeting\" value=\"Sal");
+			Thread.sleep(LangResourceWatcher.DEFAULT_DELAY * 2);
+			write(root, "unit", "kilometer");
+
+			assertTrue(await(resource, "unit", "kilometer"), "Valid modification should be reloaded");
+			assertEquals("Bonjour", resource.getString("greeting"), "Malformed file should not replace the published values");
+
+			// The file is saved again
+			write(fr, "greeting", "Salut");
+			assertTrue(await(resource, "greeting", "Salut"), "Fixed file should be reloaded");
+
+		} finally {
+			resource.setReloading(false);
+			root.delete();
+			fr.delete();
+			directory.toFile().delete();
+		}
+	}
+}
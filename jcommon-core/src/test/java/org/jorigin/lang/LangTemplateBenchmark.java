@@ -0,0 +1,128 @@
+package org.jorigin.lang;
+
+import java.util.Locale;
+
+import org.jorigin.Common;
+
+/**
+ * A micro benchmark that compares the {@link LangTemplate} formatting with the historical regular expression based formatting
+ * of {@link LangResource#getResource(String, String[])}. This class is not a test and is run from the command line:
+ * <pre>
+ * java -cp target/classes:target/test-classes org.jorigin.lang.LangTemplateBenchmark [iterations]
+ * </pre>
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangTemplateBenchmark {
+
+	/**
+	 * The values used by the benchmark.
+	 */
+	private static final String[] VALUES = {
+			"File",
+			"Open the selected project",
+			"Hello %1 and %2.",
+			"%1 of %2 tasks completed (%3)"
+	};
+
+	/**
+	 * The parameters used by the benchmark.
+	 */
+	private static final String[] PARAMS = {"Fox", "Dana", "75%"};
+
+	/**
+	 * Prevent the results from being optimized away.
+	 */
+	private static long sink = 0;
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private LangTemplateBenchmark() {
+		// This class is not instantiable.
+	}
+
+	/**
+	 * The historical formatting: a regular expression for parameterless calls and a <code>replace</code> by parameter.
+	 * The result of <code>replace</code> is kept so that both implementations produce the same output.
+	 * @param value the value to format.
+	 * @param params the parameters.
+	 * @return the formatted value.
+	 */
+	private static String legacy(String value, String[] params){
+		if ((params == null)||(params.length < 1)){
+			return value.replaceAll("%%\\d++", "");
+		}
+
+		String result = value;
+		for(int i = 0; i < params.length; i++){
+			result = result.replace("%"+(i+1), params[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Run the historical formatting.
+	 * @param iterations the number of iterations.
+	 * @param params the parameters.
+	 * @return the duration in nanoseconds.
+	 */
+	private static long runLegacy(int iterations, String[] params){
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){
+			sink += legacy(VALUES[i & 3], params).length();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Run the template formatting.
+	 * @param iterations the number of iterations.
+	 * @param templates the templates.
+	 * @param params the parameters.
+	 * @param sb the builder that receive the formatted values.
+	 * @return the duration in nanoseconds.
+	 */
+	private static long runTemplate(int iterations, LangTemplate[] templates, String[] params, StringBuilder sb){
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){
+			sb.setLength(0);
+			sink += templates[i & 3].format(sb, params).length();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args the number of iterations (optional).
+	 */
+	public static void main(String[] args){
+
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+
+		LangTemplate[] templates = new LangTemplate[VALUES.length];
+		for(int i = 0; i < VALUES.length; i++){
+			templates[i] = LangTemplate.compile(VALUES[i]);
+		}
+
+		StringBuilder sb = new StringBuilder(256);
+
+		// Warm up
+		for(int i = 0; i < 5; i++){
+			runLegacy(iterations / 10, null);
+			runLegacy(iterations / 10, PARAMS);
+			runTemplate(iterations / 10, templates, null, sb);
+			runTemplate(iterations / 10, templates, PARAMS, sb);
+		}
+
+		long legacyNoParam   = runLegacy(iterations, null);
+		long templateNoParam = runTemplate(iterations, templates, null, sb);
+		long legacyParam     = runLegacy(iterations, PARAMS);
+		long templateParam   = runTemplate(iterations, templates, PARAMS, sb);
+
+		System.out.println(String.format(Locale.ROOT, "without parameters: legacy %8.1f ns/op, template %8.1f ns/op", (double)legacyNoParam / iterations, (double)templateNoParam / iterations));
+		System.out.println(String.format(Locale.ROOT, "with parameters   : legacy %8.1f ns/op, template %8.1f ns/op", (double)legacyParam / iterations, (double)templateParam / iterations));
+		System.out.println("(checksum "+sink+")");
+	}
+}
@@ -0,0 +1,57 @@
+package org.jorigin.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LangTemplate}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LangTemplateTest {
+
+	/**
+	 * Testing {@link LangTemplate#format(String[])}
+	 */
+	@Test
+	public void formatTest() {
+
+		LangTemplate template = LangTemplate.compile("Hello %1 and %2.");
+
+		assertEquals(2, template.getSlotCount(), "Invalid slot count");
+		assertEquals("Hello Fox and Dana.", template.format(new String[] {"Fox", "Dana"}), "Invalid formatting");
+		assertEquals("Hello Fox and .", template.format(new String[] {"Fox"}), "Invalid formatting with missing parameter");
+		assertEquals("Hello  and .", template.format(null), "Invalid formatting without parameter");
+
+		assertEquals("Dana then Fox", LangTemplate.compile("%%2 then %%1").format(new String[] {"Fox", "Dana"}), "Invalid formatting of %% slots");
+		assertEquals("100% of 10%", LangTemplate.compile("100% of %1%").format(new String[] {"10"}), "Invalid formatting of literal %");
+
+		String source = "No parameter";
+		assertSame(source, LangTemplate.compile(source).format(new String[] {"Fox"}), "Parameterless value is copied");
+	}
+
+	/**
+	 * Testing {@link LangTemplate#format(StringBuilder, String[])} and {@link LangTemplate#format(Appendable, String[])}
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void appendTest() throws IOException {
+
+		LangTemplate template = LangTemplate.compile("%1 items in %2");
+
+		StringBuilder sb = new StringBuilder("> ");
+		template.format(sb, new String[] {"3", "cart"});
+		assertEquals("> 3 items in cart", sb.toString(), "Invalid builder formatting");
+
+		StringWriter writer = new StringWriter();
+		template.format(writer, new String[] {"4", "box"});
+		assertEquals("4 items in box", writer.toString(), "Invalid appendable formatting");
+	}
+}
@@ -0,0 +1,107 @@
+package org.jorigin.lang.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link ClassIndex}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class ClassIndexTest {
+
+	/**
+	 * Testing {@link ClassIndex#write(java.io.OutputStream)} and {@link ClassIndex#read(java.io.InputStream)}
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void writeReadTest() throws IOException {
+
+		ClassIndex index = new ClassIndex();
+		index.add("a.b.First", new String[] {"java.lang.Object", "java.lang.Runnable"}, new String[] {"java.lang.Deprecated"});
+		index.add("a.b.c.Second", new String[] {"a.b.First", "java.lang.Object", "java.lang.Runnable"}, null);
+		index.add("a.bc.Third", null, null);
+		index.add("x.y$z.Fourth", null, null);
+		index.add("x.y.w.Fifth", null, null);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		index.write(bos);
+
+		ClassIndex read = ClassIndex.read(new ByteArrayInputStream(bos.toByteArray()));
+
+		assertEquals(5, read.size(), "Invalid index size");
+
+		assertTrue(read.containsPackage("a.b"), "Package a.b not found");
+		assertTrue(read.containsPackage("a"), "Package a not found");
+		assertFalse(read.containsPackage("a.b.d"), "Package a.b.d found");
+		assertTrue(read.containsPackage("x.y"), "Package x.y not found next to a package that sorts before its sub packages");
+		assertFalse(read.containsPackage("x.y$"), "Partial package name found");
+
+		assertEquals(2, read.getClassNames("a.b").size(), "Invalid number of classes within a.b");
+		assertEquals(1, read.getClassNames("a.bc").size(), "Invalid number of classes within a.bc");
+
+		assertEquals(2, read.getSubtypeNames("java.lang.Runnable").size(), "Invalid number of Runnable sub types");
+		assertEquals("a.b.c.Second", read.getSubtypeNames("a.b.First").get(0), "Invalid sub type");
+
+		assertEquals("a.b.First", read.getAnnotatedNames("java.lang.Deprecated").get(0), "Invalid annotated class");
+	}
+
+	/**
+	 * Testing the locations described by the merged index of a class loader
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void locationTest() throws IOException {
+
+		Path indexed   = Files.createTempDirectory("indexed");
+		Path unindexed = Files.createTempDirectory("unindexed");
+
+		Files.createDirectories(indexed.resolve("a/b"));
+		Files.createDirectories(unindexed.resolve("a/b"));
+
+		File file = indexed.resolve(ClassIndex.INDEX_RESOURCE).toFile();
+		file.getParentFile().mkdirs();
+
+		ClassIndex written = new ClassIndex();
+		written.add("a.b.First", null, null);
+		try (OutputStream os = new FileOutputStream(file)){
+			written.write(os);
+		}
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {indexed.toUri().toURL(), unindexed.toUri().toURL()}, null)){
+
+			ClassIndex index = ClassIndex.getIndex(loader);
+			assertTrue(index.containsClass("a.b.First"), "Class a.b.First not found");
+
+			int count = 0;
+			for(URL url : Collections.list(loader.getResources("a/b"))){
+				if (index.isIndexed(url, "a/b")){
+					assertTrue(url.toString().startsWith(indexed.toUri().toURL().toString()), "Invalid indexed location "+url);
+					count++;
+				}
+			}
+			assertEquals(1, count, "Invalid number of indexed locations");
+
+			assertFalse(index.isIndexed(unindexed.resolve("a").toUri().toURL(), "a"), "Location without index found as indexed");
+		}
+
+		file.delete();
+	}
+}
@@ -0,0 +1,249 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link AsyncLogHandler}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class AsyncLogHandlerTest {
+
+	/**
+	 * A target handler that keeps the published messages and that can be blocked on its first record.
+	 */
+	private static class TargetHandler extends Handler {
+
+		/**
+		 * The published messages.
+		 */
+		private final List<String> messages = new ArrayList<String>();
+
+		/**
+		 * Counted down when the first record is published.
+		 */
+		private final CountDownLatch entered = new CountDownLatch(1);
+
+		/**
+		 * The latch that has to be released before the first record is published.
+		 */
+		private final CountDownLatch gate;
+
+		/**
+		 * The number of flushes.
+		 */
+		private volatile int flushes = 0;
+
+		/**
+		 * Is the handler closed.
+		 */
+		private volatile boolean closed = false;
+
+		/**
+		 * Create a new target handler.
+		 * @param blocked <code>true</code> if the first record is blocked until {@link #release()} is called.
+		 */
+		private TargetHandler(boolean blocked){
+			this.gate = new CountDownLatch(blocked ? 1 : 0);
+		}
+
+		@Override
+		public void publish(LogRecord record){
+			this.entered.countDown();
+			try {
+				this.gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized(this.messages){
+				this.messages.add(record.getMessage());
+			}
+		}
+
+		@Override
+		public void flush(){
+			this.flushes++;
+		}
+
+		@Override
+		public void close(){
+			this.closed = true;
+		}
+
+		/**
+		 * Wait until the writer thread is blocked on the first record.
+		 * @throws InterruptedException if the test is interrupted.
+		 */
+		private void awaitBlocked() throws InterruptedException {
+			assertTrue(this.entered.await(10, TimeUnit.SECONDS), "The first record has not been published");
+		}
+
+		/**
+		 * Release the first record.
+		 */
+		private void release(){
+			this.gate.countDown();
+		}
+
+		/**
+		 * Get a copy of the published messages.
+		 * @return the published messages.
+		 */
+		private List<String> getMessages(){
+			synchronized(this.messages){
+				return new ArrayList<String>(this.messages);
+			}
+		}
+	}
+
+	/**
+	 * Testing that the records of each logging thread are published in order
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void orderTest() throws Exception {
+
+		TargetHandler target = new TargetHandler(false);
+		AsyncLogHandler handler = new AsyncLogHandler(target, 64, AsyncLogHandler.OVERFLOW_BLOCK);
+
+		Thread[] threads = new Thread[4];
+		for(int t = 0; t < threads.length; t++){
+			String name = "t"+t;
+			threads[t] = new Thread(() -> {
+				for(int i = 0; i < 1000; i++){
+					handler.publish(new LogRecord(Level.INFO, name+":"+i));
+				}
+			});
+			threads[t].start();
+		}
+		for(Thread thread : threads){
+			thread.join();
+		}
+
+		handler.flush();
+
+		List<String> messages = target.getMessages();
+		assertEquals(4000, messages.size(), "Records lost with the blocking policy");
+		assertEquals(0, handler.getDroppedCount(), "Records dropped with the blocking policy");
+
+		int[] last = new int[threads.length];
+		Arrays.fill(last, -1);
+		for(String message : messages){
+			int t = message.charAt(1) - '0';
+			int i = Integer.parseInt(message.substring(3));
+			assertEquals(last[t] + 1, i, "Records of thread "+t+" out of order");
+			last[t] = i;
+		}
+
+		handler.close();
+	}
+
+	/**
+	 * Testing the {@link AsyncLogHandler#OVERFLOW_DROP} policy
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void dropTest() throws Exception {
+
+		TargetHandler target = new TargetHandler(true);
+		AsyncLogHandler handler = new AsyncLogHandler(target, 4, AsyncLogHandler.OVERFLOW_DROP);
+
+		handler.publish(new LogRecord(Level.INFO, "blocked"));
+		target.awaitBlocked();
+
+		for(int i = 0; i < 10; i++){
+			handler.publish(new LogRecord(Level.INFO, "record "+i));
+		}
+
+		assertEquals(4, handler.getQueuedCount(), "The buffer should be full");
+		assertEquals(6, handler.getDroppedCount(), "Invalid number of dropped records");
+
+		target.release();
+		handler.flush();
+
+		assertEquals(List.of("blocked", "record 0", "record 1", "record 2", "record 3"), target.getMessages(), "The oldest records should be kept");
+
+		handler.close();
+	}
+
+	/**
+	 * Testing the {@link AsyncLogHandler#OVERFLOW_DROP_BELOW_LEVEL} policy
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void dropBelowLevelTest() throws Exception {
+
+		TargetHandler target = new TargetHandler(true);
+		AsyncLogHandler handler = new AsyncLogHandler(target, 2, AsyncLogHandler.OVERFLOW_DROP_BELOW_LEVEL, Level.WARNING);
+
+		handler.publish(new LogRecord(Level.INFO, "blocked"));
+		target.awaitBlocked();
+
+		handler.publish(new LogRecord(Level.INFO, "first"));
+		handler.publish(new LogRecord(Level.INFO, "second"));
+		handler.publish(new LogRecord(Level.INFO, "dropped"));
+		assertEquals(1, handler.getDroppedCount(), "Record below the drop level should be dropped");
+
+		Thread severe = new Thread(() -> handler.publish(new LogRecord(Level.SEVERE, "severe")));
+		severe.start();
+		severe.join(200);
+		assertTrue(severe.isAlive(), "Record above the drop level should wait for a free slot");
+
+		target.release();
+		severe.join(10000);
+		handler.flush();
+
+		assertEquals(1, handler.getDroppedCount(), "Record above the drop level should not be dropped");
+		assertEquals(List.of("blocked", "first", "second", "severe"), target.getMessages(), "Invalid published records");
+
+		handler.close();
+	}
+
+	/**
+	 * Testing that {@link AsyncLogHandler#flush()} and {@link AsyncLogHandler#close()} publish the pending records and that the records published after closing are ignored
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void flushCloseTest() throws Exception {
+
+		TargetHandler target = new TargetHandler(false);
+		AsyncLogHandler handler = new AsyncLogHandler(target, 1024, AsyncLogHandler.OVERFLOW_BLOCK);
+		handler.setFlushDelay(TimeUnit.MINUTES.toMillis(1));
+
+		for(int i = 0; i < 100; i++){
+			handler.publish(new LogRecord(Level.INFO, "record "+i));
+		}
+
+		handler.flush();
+		assertEquals(100, target.getMessages().size(), "Pending records should be published when flushing");
+		assertTrue(target.flushes > 0, "Target should be flushed");
+
+		for(int i = 100; i < 200; i++){
+			handler.publish(new LogRecord(Level.INFO, "record "+i));
+		}
+
+		handler.close();
+		assertEquals(200, target.getMessages().size(), "Pending records should be published when closing");
+		assertEquals(200, handler.getWrittenCount(), "Invalid written count");
+		assertTrue(target.closed, "Target should be closed");
+
+		handler.publish(new LogRecord(Level.SEVERE, "after close"));
+		handler.flush();
+		assertEquals(200, target.getMessages().size(), "Records published after closing should be ignored");
+		assertEquals(0, handler.getQueuedCount(), "Records published after closing should not be queued");
+	}
+}
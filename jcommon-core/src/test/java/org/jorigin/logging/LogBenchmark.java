@@ -0,0 +1,132 @@
+package org.jorigin.logging;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jorigin.Common;
+
+/**
+ * A micro benchmark that compares the allocations and the duration of disabled log calls made directly on the {@link Common#logger common logger}
+ * with an eagerly built message and made through the {@link Log} facade.
+ * The allocations are measured per call using the allocated bytes counter of the current thread. This class is not a test and is run from the command line:
+ * <pre>
+ * java -cp target/classes:target/test-classes org.jorigin.logging.LogBenchmark [iterations]
+ * </pre>
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LogBenchmark {
+
+	/**
+	 * A log call to measure.
+	 */
+	private interface Call {
+
+		/**
+		 * Make the call.
+		 * @param i the iteration.
+		 */
+		void run(int i);
+	}
+
+	/**
+	 * Prevent the results from being optimized away.
+	 */
+	private static long sink = 0;
+
+	/**
+	 * The logged plugin name.
+	 */
+	private static String name = "org.jorigin.sample.SamplePlugin";
+
+	/**
+	 * The logged scale.
+	 */
+	private static double scale = 1.5d;
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private LogBenchmark() {
+		// This class is not instantiable.
+	}
+
+	/**
+	 * Get the number of bytes allocated by the current thread.
+	 * @return the number of bytes allocated by the current thread.
+	 */
+	private static long allocated(){
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Run the given call.
+	 * @param call the call.
+	 * @param iterations the number of iterations.
+	 * @return the duration in nanoseconds and the allocated bytes.
+	 */
+	private static long[] run(Call call, int iterations){
+		long bytes = allocated();
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){
+			call.run(i);
+		}
+		long duration = System.nanoTime() - start;
+		return new long[] {duration, allocated() - bytes};
+	}
+
+	/**
+	 * Print a result.
+	 * @param name the name of the run.
+	 * @param result the duration and the allocated bytes.
+	 * @param iterations the number of iterations.
+	 */
+	private static void print(String name, long[] result, int iterations){
+		System.out.println(String.format(Locale.ROOT, "%-32s %10.1f ns/call %10.1f bytes/call", name, (double)result[0] / iterations, (double)result[1] / iterations));
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args the number of iterations (optional).
+	 */
+	public static void main(String[] args){
+
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+
+		Logger logger = Logger.getLogger("org.jorigin.logging.LogBenchmark");
+		logger.setUseParentHandlers(false);
+		logger.setLevel(Level.INFO);
+		Common.logger = logger;
+
+		Call legacy = i -> Common.logger.log(Level.FINE, "Plugin "+name+" scale "+(scale + i));
+		Call param  = i -> Log.log(Level.FINE, "Plugin {0} loaded", name);
+		Call boxed  = i -> Log.log(Level.FINE, "Plugin {0} scale {1}", name, scale + i);
+		Call lambda = i -> Log.log(Level.FINE, () -> "Plugin "+name+" scale "+(scale + i));
+		Call guard  = i -> {
+			if (Log.isLoggable(Level.FINE)){
+				Common.logger.log(Level.FINE, "Plugin "+name+" scale "+(scale + i));
+			}
+			sink++;
+		};
+
+		Call[] calls = {legacy, param, boxed, lambda, guard};
+
+		// Warm up
+		for(int i = 0; i < 5; i++){
+			for(Call call : calls){
+				run(call, iterations / 10);
+			}
+		}
+
+		print("disabled, eager concatenation", run(legacy, iterations), iterations);
+		print("disabled, Log pattern", run(param, iterations), iterations);
+		print("disabled, Log pattern (double)", run(boxed, iterations), iterations);
+		print("disabled, Log supplier", run(lambda, iterations), iterations);
+		print("disabled, isLoggable guard", run(guard, iterations), iterations);
+
+		System.out.println("(checksum "+sink+")");
+	}
+}
@@ -0,0 +1,178 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link JsonLogEncoder}, {@link BinaryLogEncoder} and {@link BinaryLogReader}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LogEncoderTest {
+
+	/**
+	 * Create the record used by the tests.
+	 * @return the record used by the tests.
+	 */
+	private static LogRecord createRecord(){
+
+		Exception exception = new IllegalStateException("Broken");
+		exception.setStackTrace(new StackTraceElement[] {
+				new StackTraceElement("org.jorigin.Sample", "run", "Sample.java", 42)
+		});
+
+		LogRecord record = new LogRecord(Level.WARNING, "Line \"one\"\n\u00e9t\u00e9 \\ \u0001");
+		record.setInstant(Instant.ofEpochMilli(1717407600123L));
+		record.setSequenceNumber(7);
+		record.setLongThreadID(3);
+		record.setLoggerName("org.jorigin.Common");
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setParameters(new Object[] {"a", Integer.valueOf(12), null});
+		record.setThrown(exception);
+
+		return record;
+	}
+
+	/**
+	 * Create a record whose throwable has a cause chain, a suppressed throwable and a circular reference.
+	 * @return the record.
+	 */
+	private static LogRecord createChainedRecord(){
+
+		StackTraceElement[] frames = new StackTraceElement[] {
+				new StackTraceElement("org.jorigin.Sample", "run", "Sample.java", 42)
+		};
+
+		Exception root       = new IllegalArgumentException("Root");
+		Exception cause      = new IllegalStateException("Cause", root);
+		Exception suppressed = new UnsupportedOperationException("Suppressed");
+		Exception exception  = new RuntimeException("Top", cause);
+
+		exception.addSuppressed(suppressed);
+		suppressed.addSuppressed(exception);
+		root.initCause(cause);
+
+		for(Exception e : new Exception[] {root, cause, suppressed, exception}){
+			e.setStackTrace(frames);
+		}
+
+		LogRecord record = new LogRecord(Level.SEVERE, "Failure");
+		record.setInstant(Instant.ofEpochMilli(1717407600123L));
+		record.setThrown(exception);
+
+		return record;
+	}
+
+	/**
+	 * Testing {@link JsonLogEncoder#encode(LogRecord, ByteBuffer)}
+	 */
+	@Test
+	public void jsonTest() {
+
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		new JsonLogEncoder().encode(createRecord(), buffer);
+
+		String json = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+
+		assertEquals("{\"time\":1717407600123,\"seq\":7,\"level\":\"WARNING\",\"logger\":\"org.jorigin.Common\",\"thread\":3,"
+				+"\"class\":\"org.jorigin.Sample\",\"method\":\"run\",\"message\":\"Line \\\"one\\\"\\n\u00e9t\u00e9 \\\\ \\u0001\","
+				+"\"params\":[\"a\",\"12\",null],"
+				+"\"thrown\":{\"type\":\"java.lang.IllegalStateException\",\"message\":\"Broken\",\"frames\":[\"org.jorigin.Sample.run(Sample.java:42)\"]}}\n", json, "Invalid JSON line");
+	}
+
+	/**
+	 * Testing {@link BinaryLogEncoder} and {@link BinaryLogReader}
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void binaryTest() throws IOException {
+
+		BinaryLogEncoder encoder = new BinaryLogEncoder();
+		LogRecord original       = createRecord();
+
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		buffer.put(encoder.getHeader());
+		encoder.encode(original, buffer);
+		encoder.encode(new LogRecord(Level.FINE, "Second"), buffer);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		bos.write(buffer.array(), 0, buffer.position());
+
+		try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(bos.toByteArray()))){
+
+			LogRecord record = reader.read();
+
+			assertEquals(original.getMillis(), record.getMillis(), "Invalid time");
+			assertEquals(7, record.getSequenceNumber(), "Invalid sequence");
+			assertEquals(3, record.getLongThreadID(), "Invalid thread");
+			assertEquals(Level.WARNING, record.getLevel(), "Invalid level");
+			assertEquals(original.getLoggerName(), record.getLoggerName(), "Invalid logger");
+			assertEquals(original.getSourceClassName(), record.getSourceClassName(), "Invalid class");
+			assertEquals(original.getSourceMethodName(), record.getSourceMethodName(), "Invalid method");
+			assertEquals(original.getMessage(), record.getMessage(), "Invalid message");
+			assertArrayEquals(new Object[] {"a", "12", null}, record.getParameters(), "Invalid parameters");
+			assertEquals("java.lang.IllegalStateException: Broken", record.getThrown().toString(), "Invalid throwable");
+			assertArrayEquals(original.getThrown().getStackTrace(), record.getThrown().getStackTrace(), "Invalid stack trace");
+
+			assertEquals(true, reader.skip(), "Cannot skip record");
+			assertNull(reader.read(), "End of stream expected");
+		}
+	}
+
+	/**
+	 * Testing the encoding of the cause chain and of the suppressed throwables by {@link JsonLogEncoder} and {@link BinaryLogEncoder}
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void throwableChainTest() throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.allocate(2048);
+		new JsonLogEncoder().encode(createChainedRecord(), buffer);
+
+		String json  = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+		String frame = "\"frames\":[\"org.jorigin.Sample.run(Sample.java:42)\"]";
+
+		assertTrue(json.endsWith("\"thrown\":{\"type\":\"java.lang.RuntimeException\",\"message\":\"Top\","+frame
+				+",\"cause\":{\"type\":\"java.lang.IllegalStateException\",\"message\":\"Cause\","+frame
+				+",\"cause\":{\"type\":\"java.lang.IllegalArgumentException\",\"message\":\"Root\","+frame+"}}"
+				+",\"suppressed\":[{\"type\":\"java.lang.UnsupportedOperationException\",\"message\":\"Suppressed\","+frame+"}]}}\n"), "Invalid JSON throwable "+json);
+
+		BinaryLogEncoder encoder = new BinaryLogEncoder();
+
+		buffer.clear();
+		buffer.put(encoder.getHeader());
+		encoder.encode(createChainedRecord(), buffer);
+
+		try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(buffer.array(), 0, buffer.position()))){
+
+			Throwable thrown = reader.read().getThrown();
+			assertEquals("java.lang.RuntimeException: Top", thrown.toString(), "Invalid throwable");
+
+			Throwable cause = thrown.getCause();
+			assertEquals("java.lang.IllegalStateException: Cause", cause.toString(), "Invalid cause");
+			assertEquals(42, cause.getStackTrace()[0].getLineNumber(), "Invalid cause stack trace");
+			assertEquals("java.lang.IllegalArgumentException: Root", cause.getCause().toString(), "Invalid root cause");
+			assertNull(cause.getCause().getCause(), "Circular cause should not be written again");
+
+			assertEquals(1, thrown.getSuppressed().length, "Invalid suppressed count");
+			assertEquals("java.lang.UnsupportedOperationException: Suppressed", thrown.getSuppressed()[0].toString(), "Invalid suppressed throwable");
+			assertEquals(0, thrown.getSuppressed()[0].getSuppressed().length, "Circular suppressed throwable should not be written again");
+		}
+	}
+}
\ No newline at end of file
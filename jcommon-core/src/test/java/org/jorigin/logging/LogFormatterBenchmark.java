@@ -0,0 +1,163 @@
+package org.jorigin.logging;
+
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+
+/**
+ * A micro benchmark that compares the allocations and the duration of {@link LogFormatter} with the historical {@link LogHandler} formatter.
+ * The allocations are measured per record using the allocated bytes counter of the current thread. This class is not a test and is run from the command line:
+ * <pre>
+ * java -cp target/classes:target/test-classes org.jorigin.logging.LogFormatterBenchmark [iterations]
+ * </pre>
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LogFormatterBenchmark {
+
+	/**
+	 * Prevent the results from being optimized away.
+	 */
+	private static long sink = 0;
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private LogFormatterBenchmark() {
+		// This class is not instantiable.
+	}
+
+	/**
+	 * The historical formatter of {@link LogHandler}.
+	 */
+	private static final Formatter LEGACY = new Formatter(){
+
+		private String lineSeparator = System.getProperty("line.separator");
+
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy.MM.dd-HH:mm:ss");
+
+		@Override
+		public String format(LogRecord record) {
+			if (record.getThrown() == null){
+				return "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] "+record.getMessage()+this.lineSeparator;
+			} else {
+				String str = "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] caused by "+record.getThrown().getMessage()+this.lineSeparator;
+
+				StackTraceElement[] elements = record.getThrown().getStackTrace();
+				for(int i = 0; i < elements.length; i++){
+					str += "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] at "+elements[i]+this.lineSeparator;
+				}
+				return "("+this.sdf.format(new Date(record.getMillis()))+") "+record.getLevel()+" ["+record.getSourceClassName()+"] ["+record.getSourceMethodName()+"] "+record.getMessage()+this.lineSeparator+str;
+			}
+		}};
+
+	/**
+	 * Get the number of bytes allocated by the current thread.
+	 * @return the number of bytes allocated by the current thread.
+	 */
+	private static long allocated(){
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Run the <code>format(LogRecord)</code> method of the given formatter.
+	 * @param formatter the formatter.
+	 * @param record the record to format.
+	 * @param iterations the number of iterations.
+	 * @return the duration in nanoseconds and the allocated bytes.
+	 */
+	private static long[] run(Formatter formatter, LogRecord record, int iterations){
+		long bytes = allocated();
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){
+			sink += formatter.format(record).length();
+		}
+		long duration = System.nanoTime() - start;
+		return new long[] {duration, allocated() - bytes};
+	}
+
+	/**
+	 * Run the <code>format(LogRecord, StringBuilder)</code> method of the given formatter.
+	 * @param formatter the formatter.
+	 * @param record the record to format.
+	 * @param iterations the number of iterations.
+	 * @param sb the builder that receive the formatted records.
+	 * @return the duration in nanoseconds and the allocated bytes.
+	 */
+	private static long[] runAppend(LogFormatter formatter, LogRecord record, int iterations, StringBuilder sb){
+		long bytes = allocated();
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++){
+			sb.setLength(0);
+			sink += formatter.format(record, sb).length();
+		}
+		long duration = System.nanoTime() - start;
+		return new long[] {duration, allocated() - bytes};
+	}
+
+	/**
+	 * Print a result.
+	 * @param name the name of the run.
+	 * @param result the duration and the allocated bytes.
+	 * @param iterations the number of iterations.
+	 */
+	private static void print(String name, long[] result, int iterations){
+		System.out.println(String.format(Locale.ROOT, "%-28s %10.1f ns/record %10.1f bytes/record", name, (double)result[0] / iterations, (double)result[1] / iterations));
+	}
+
+	/**
+	 * Run the benchmark.
+	 * @param args the number of iterations (optional).
+	 */
+	public static void main(String[] args){
+
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+		LogRecord simple = new LogRecord(Level.INFO, "Plugin org.jorigin.sample.SamplePlugin loaded");
+		simple.setSourceClassName("org.jorigin.plugin.DefaultPluginManager");
+		simple.setSourceMethodName("loadPlugins");
+
+		LogRecord thrown = new LogRecord(Level.SEVERE, "Cannot load plugin");
+		thrown.setSourceClassName("org.jorigin.plugin.DefaultPluginManager");
+		thrown.setSourceMethodName("loadPlugins");
+		thrown.setThrown(new IllegalStateException("Invalid plugin descriptor"));
+
+		StackTraceElement[] frames = new StackTraceElement[20];
+		for(int i = 0; i < frames.length; i++){
+			frames[i] = new StackTraceElement("org.jorigin.plugin.DefaultPluginManager", "loadPlugin"+i, "DefaultPluginManager.java", 100 + i);
+		}
+		thrown.getThrown().setStackTrace(frames);
+
+		LogFormatter formatter = new LogFormatter();
+		StringBuilder sb = new StringBuilder(8192);
+
+		// Warm up
+		for(int i = 0; i < 5; i++){
+			run(LEGACY, simple, iterations / 10);
+			run(formatter, simple, iterations / 10);
+			runAppend(formatter, simple, iterations / 10, sb);
+			run(LEGACY, thrown, iterations / 100);
+			run(formatter, thrown, iterations / 100);
+			runAppend(formatter, thrown, iterations / 100, sb);
+		}
+
+		print("message, legacy", run(LEGACY, simple, iterations), iterations);
+		print("message, format(record)", run(formatter, simple, iterations), iterations);
+		print("message, format(record, sb)", runAppend(formatter, simple, iterations, sb), iterations);
+
+		iterations = iterations / 10;
+
+		print("thrown ("+frames.length+" frames), legacy", run(LEGACY, thrown, iterations), iterations);
+		print("thrown, format(record)", run(formatter, thrown, iterations), iterations);
+		print("thrown, format(record, sb)", runAppend(formatter, thrown, iterations, sb), iterations);
+
+		System.out.println("(checksum "+sink+")");
+	}
+}
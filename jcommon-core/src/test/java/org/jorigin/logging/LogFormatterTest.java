@@ -0,0 +1,176 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link LogFormatter}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class LogFormatterTest {
+
+	/**
+	 * Testing {@link LogFormatter#format(LogRecord)}
+	 */
+	@Test
+	public void formatTest() {
+
+		LogFormatter formatter = new LogFormatter(ZoneOffset.UTC);
+
+		LogRecord record = new LogRecord(Level.INFO, "Hello");
+		record.setInstant(Instant.parse("2024-03-05T10:20:30.450Z"));
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+
+		String nl = System.lineSeparator();
+
+		assertEquals("(2024.03.05-10:20:30) INFO [org.jorigin.Sample] [run] Hello"+nl, formatter.format(record), "Invalid record formatting");
+
+		record.setInstant(record.getInstant().plusSeconds(1));
+		assertEquals("(2024.03.05-10:20:31) INFO [org.jorigin.Sample] [run] Hello"+nl, formatter.format(record), "Invalid timestamp after a second");
+	}
+
+	/**
+	 * Testing {@link LogFormatter#format(LogRecord, StringBuilder)} with a throwable
+	 */
+	@Test
+	public void formatThrownTest() {
+
+		LogFormatter formatter = new LogFormatter(ZoneOffset.UTC);
+
+		Exception exception = new IllegalStateException("Broken");
+		exception.setStackTrace(new StackTraceElement[] {
+				new StackTraceElement("org.jorigin.Sample", "run", "Sample.java", 42),
+				new StackTraceElement("org.jorigin.Main", "main", null, -1)
+		});
+
+		LogRecord record = new LogRecord(Level.SEVERE, "Failure");
+		record.setInstant(Instant.parse("2024-03-05T10:20:30Z"));
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setThrown(exception);
+
+		String nl     = System.lineSeparator();
+		String prefix = "(2024.03.05-10:20:30) SEVERE [org.jorigin.Sample] [run] ";
+
+		StringBuilder sb = new StringBuilder("> ");
+		formatter.format(record, sb);
+
+		assertEquals("> "+prefix+"Failure"+nl
+				+prefix+"caused by Broken"+nl
+				+prefix+"at org.jorigin.Sample.run(Sample.java:42)"+nl
+				+prefix+"at org.jorigin.Main.main(Unknown Source)"+nl, sb.toString(), "Invalid throwable formatting");
+
+		assertTrue(formatter.format(record).startsWith(prefix), "Invalid record prefix");
+	}
+
+	/**
+	 * Testing {@link LogFormatter#format(LogRecord)} with a throwable that has a cause chain, a suppressed throwable and a circular reference
+	 */
+	@Test
+	public void formatThrownChainTest() {
+
+		LogFormatter formatter = new LogFormatter(ZoneOffset.UTC);
+
+		StackTraceElement[] frames = new StackTraceElement[] {
+				new StackTraceElement("org.jorigin.Sample", "run", "Sample.java", 42)
+		};
+
+		Exception root       = new IllegalArgumentException("Root");
+		Exception cause      = new IllegalStateException("Cause", root);
+		Exception suppressed = new UnsupportedOperationException("Suppressed");
+		Exception exception  = new RuntimeException("Top", cause);
+
+		exception.addSuppressed(suppressed);
+		root.initCause(cause);
+
+		for(Exception e : new Exception[] {root, cause, suppressed, exception}){
+			e.setStackTrace(frames);
+		}
+
+		LogRecord record = new LogRecord(Level.SEVERE, "Failure");
+		record.setInstant(Instant.parse("2024-03-05T10:20:30Z"));
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setThrown(exception);
+
+		String nl     = System.lineSeparator();
+		String prefix = "(2024.03.05-10:20:30) SEVERE [org.jorigin.Sample] [run] ";
+		String frame  = prefix+"at org.jorigin.Sample.run(Sample.java:42)"+nl;
+
+		assertEquals(prefix+"Failure"+nl
+				+prefix+"caused by Top"+nl+frame
+				+prefix+"suppressed Suppressed"+nl+frame
+				+prefix+"caused by Cause"+nl+frame
+				+prefix+"caused by Root"+nl+frame, formatter.format(record), "Invalid throwable chain formatting");
+	}
+
+	/**
+	 * Testing the parameter substitution of {@link LogFormatter#format(LogRecord)}
+	 */
+	@Test
+	public void formatParametersTest() {
+
+		LogFormatter formatter = new LogFormatter(ZoneOffset.UTC);
+
+		LogRecord record = new LogRecord(Level.INFO, "Plugin {0} loaded from {1} ({0}, {2}, {x}, {})");
+		record.setInstant(Instant.parse("2024-03-05T10:20:30Z"));
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setParameters(new Object[] {"sample", Integer.valueOf(42)});
+
+		String nl = System.lineSeparator();
+
+		assertEquals("(2024.03.05-10:20:30) INFO [org.jorigin.Sample] [run] Plugin sample loaded from 42 (sample, {2}, {x}, {})"+nl, formatter.format(record), "Invalid parameter substitution");
+
+		record.setParameters(null);
+		assertEquals("(2024.03.05-10:20:30) INFO [org.jorigin.Sample] [run] Plugin {0} loaded from {1} ({0}, {2}, {x}, {})"+nl, formatter.format(record), "Invalid message without parameters");
+	}
+
+	/**
+	 * Testing {@link LogFormatter#format(LogRecord)} with a parameter that logs a record while being formatted
+	 */
+	@Test
+	public void formatReentrantTest() {
+
+		LogFormatter formatter = new LogFormatter(ZoneOffset.UTC);
+
+		String[] logged = new String[1];
+
+		Object parameter = new Object() {
+			@Override
+			public String toString() {
+				LogRecord inner = new LogRecord(Level.FINE, "Computing {0}");
+				inner.setInstant(Instant.parse("2024-03-05T10:20:31Z"));
+				inner.setSourceClassName("org.jorigin.Parameter");
+				inner.setSourceMethodName("toString");
+				inner.setParameters(new Object[] {"value"});
+				logged[0] = formatter.format(inner);
+				return "value";
+			}
+		};
+
+		LogRecord record = new LogRecord(Level.INFO, "Parameter is {0}.");
+		record.setInstant(Instant.parse("2024-03-05T10:20:30Z"));
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setParameters(new Object[] {parameter});
+
+		String nl = System.lineSeparator();
+
+		assertEquals("(2024.03.05-10:20:30) INFO [org.jorigin.Sample] [run] Parameter is value."+nl, formatter.format(record), "Enclosing record corrupted by the inner record");
+		assertEquals("(2024.03.05-10:20:31) FINE [org.jorigin.Parameter] [toString] Computing value"+nl, logged[0], "Invalid inner record");
+
+		assertEquals("(2024.03.05-10:20:30) INFO [org.jorigin.Sample] [run] Parameter is value."+nl, formatter.format(record), "Builder not trimmed back after a reentrant call");
+	}
+}
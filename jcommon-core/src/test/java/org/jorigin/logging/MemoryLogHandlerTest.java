@@ -0,0 +1,148 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link MemoryLogHandler}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class MemoryLogHandlerTest {
+
+	/**
+	 * Create a record.
+	 * @param level the record level.
+	 * @param logger the logger name.
+	 * @param message the message.
+	 * @param millis the record time.
+	 * @return the record.
+	 */
+	private static LogRecord record(Level level, String logger, String message, long millis){
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(logger);
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		record.setInstant(Instant.ofEpochMilli(millis));
+		return record;
+	}
+
+	/**
+	 * Testing {@link MemoryLogHandler#getRecords(Level, String, long, long)}
+	 */
+	@Test
+	public void getRecordsTest() {
+
+		MemoryLogHandler handler = new MemoryLogHandler();
+
+		handler.publish(record(Level.FINE, "org.jorigin", "first", 1000L));
+		handler.publish(record(Level.WARNING, "org.jorigin.lang", "second", 2000L));
+		handler.publish(record(Level.SEVERE, "org.jorigin.langx", "third", 3000L));
+		handler.publish(record(Level.INFO, "other", "fourth", 4000L));
+
+		assertEquals(4, handler.getRecordCount(), "Invalid record count");
+
+		List<LogRecord> records = handler.getRecords();
+		assertEquals(4, records.size(), "Invalid number of records");
+		assertEquals("first", records.get(0).getMessage(), "Invalid first record");
+		assertEquals(Level.FINE, records.get(0).getLevel(), "Invalid first record level");
+		assertEquals(1000L, records.get(0).getMillis(), "Invalid first record time");
+		assertEquals("org.jorigin.Sample", records.get(0).getSourceClassName(), "Invalid first record source");
+		assertEquals("fourth", records.get(3).getMessage(), "Invalid last record");
+
+		records = handler.getRecords(Level.WARNING, null, Long.MIN_VALUE, Long.MAX_VALUE);
+		assertEquals(2, records.size(), "Invalid number of records by level");
+
+		records = handler.getRecords(null, "org.jorigin.lang", Long.MIN_VALUE, Long.MAX_VALUE);
+		assertEquals(1, records.size(), "Invalid number of records by logger");
+		assertEquals("second", records.get(0).getMessage(), "Invalid record by logger");
+
+		records = handler.getRecords(null, "org.jorigin", Long.MIN_VALUE, Long.MAX_VALUE);
+		assertEquals(3, records.size(), "Child loggers should match");
+
+		records = handler.getRecords(null, null, 2000L, 3000L);
+		assertEquals(2, records.size(), "Invalid number of records by time");
+
+		handler.clear();
+		assertEquals(0, handler.getRecords().size(), "Records should be cleared");
+
+		handler.close();
+	}
+
+	/**
+	 * Testing the overwriting of the oldest records
+	 */
+	@Test
+	public void overwriteTest() {
+
+		MemoryLogHandler handler = new MemoryLogHandler(4096);
+
+		for(int i = 0; i < 1000; i++){
+			handler.publish(record(Level.INFO, "org.jorigin", "Record "+i, i));
+		}
+
+		List<LogRecord> records = handler.getRecords();
+
+		assertTrue((records.size() > 10) && (records.size() < 1000), "Oldest records should be overwritten");
+		assertEquals("Record 999", records.get(records.size() - 1).getMessage(), "Newest record should be kept");
+
+		for(int i = 1; i < records.size(); i++){
+			assertEquals(records.get(i - 1).getMillis() + 1, records.get(i).getMillis(), "Records should be contiguous");
+		}
+
+		StringBuilder large = new StringBuilder();
+		for(int i = 0; i < 5000; i++){
+			large.append('x');
+		}
+		handler.publish(record(Level.INFO, "org.jorigin", large.toString(), 1000L));
+		assertEquals(1, handler.getDroppedCount(), "Too large record should be dropped");
+
+		handler.close();
+	}
+
+	/**
+	 * Testing the dump triggered by a severe record
+	 * @throws IOException if an error occurs
+	 */
+	@Test
+	public void dumpTest() throws IOException {
+
+		File directory = Files.createTempDirectory("jcommon-dump").toFile();
+
+		MemoryLogHandler handler = new MemoryLogHandler();
+		handler.setDumpDirectory(directory);
+		handler.setDumpDuration(10000L);
+
+		long now = System.currentTimeMillis();
+
+		handler.publish(record(Level.FINE, "org.jorigin", "too old", now - 20000L));
+		handler.publish(record(Level.FINE, "org.jorigin", "context", now - 5000L));
+		handler.publish(record(Level.SEVERE, "org.jorigin", "failure", now));
+		handler.publish(record(Level.SEVERE, "org.jorigin", "repeated failure", now + 1));
+
+		handler.close();
+
+		File[] dumps = directory.listFiles();
+		assertEquals(1, dumps.length, "A single dump should be written");
+
+		String content = new String(Files.readAllBytes(dumps[0].toPath()), StandardCharsets.UTF_8);
+		assertTrue(content.contains("context") && content.contains("failure"), "Dump should contain the records of the duration");
+		assertTrue(!content.contains("too old") && !content.contains("repeated"), "Dump should not contain the records out of the duration");
+
+		dumps[0].delete();
+		directory.delete();
+	}
+}
@@ -0,0 +1,178 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link RateLimitFilter}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class RateLimitFilterTest {
+
+	/**
+	 * Create a record.
+	 * @param message the message template.
+	 * @param method the source method.
+	 * @param time the record time.
+	 * @return the record.
+	 */
+	private static LogRecord record(String message, String method, Instant time){
+		return record(Level.WARNING, message, method, time);
+	}
+
+	/**
+	 * Create a record.
+	 * @param level the level of the record.
+	 * @param message the message template.
+	 * @param method the source method.
+	 * @param time the record time.
+	 * @return the record.
+	 */
+	private static LogRecord record(Level level, String message, String method, Instant time){
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName("org.jorigin.logging.RateLimitFilterTest");
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName(method);
+		record.setParameters(new Object[] {"key"});
+		record.setInstant(time);
+		return record;
+	}
+
+	/**
+	 * Testing {@link RateLimitFilter#isLoggable(LogRecord)}
+	 */
+	@Test
+	public void isLoggableTest() {
+
+		// The summaries published when the filter is closed are not displayed
+		Logger logger = Logger.getLogger("org.jorigin.logging.RateLimitFilterTest");
+		logger.setUseParentHandlers(false);
+
+		RateLimitFilter filter = new RateLimitFilter(3, 1000L);
+
+		Instant time = Instant.parse("2024-03-05T10:20:30Z");
+
+		for(int i = 0; i < 3; i++){
+			assertTrue(filter.isLoggable(record("Missing {0}", "run", time)), "Record "+i+" should be loggable");
+		}
+
+		assertFalse(filter.isLoggable(record("Missing {0}", "run", time)), "Record above the limit should be suppressed");
+		assertFalse(filter.isLoggable(record("Missing {0}", "run", time.plusMillis(999))), "Record within the window should be suppressed");
+
+		assertTrue(filter.isLoggable(record("Missing {0}", "stop", time)), "Record from another source should be loggable");
+		assertTrue(filter.isLoggable(record("Unknown {0}", "run", time)), "Record with another template should be loggable");
+		assertTrue(filter.isLoggable(record(null, "run", time)), "Record without message should be loggable");
+		assertTrue(filter.isLoggable(record(Level.INFO, "Missing {0}", "run", time)), "Record with another level should be loggable");
+		for(int i = 0; i < 10; i++){
+			assertTrue(filter.isLoggable(record(Level.SEVERE, "Missing {0}", "run", time)), "Severe record should never be suppressed");
+		}
+
+		assertEquals(2, filter.getSuppressedCount(), "Invalid suppressed count");
+
+		assertTrue(filter.isLoggable(record("Missing {0}", "run", time.plusMillis(1000))), "Record of the next window should be loggable");
+
+		filter.close();
+	}
+
+	/**
+	 * Testing the eviction of the idle templates when the maximum number of templates is reached
+	 */
+	@Test
+	public void evictionTest() {
+
+		RateLimitFilter filter = new RateLimitFilter(1, 1000L);
+
+		Instant time = Instant.parse("2024-03-05T10:20:30Z");
+
+		for(int i = 0; i < RateLimitFilter.MAX_TEMPLATES; i++){
+			assertTrue(filter.isLoggable(record("Message "+i, "run", time)), "Record "+i+" should be loggable");
+		}
+
+		assertTrue(filter.isLoggable(record("Missing {0}", "run", time)), "Record should be loggable");
+		assertTrue(filter.isLoggable(record("Missing {0}", "run", time)), "Record above the maximum number of templates should not be limited");
+
+		Instant later = time.plusMillis(2000);
+		assertTrue(filter.isLoggable(record("Missing {0}", "run", later)), "Record should be loggable");
+		assertFalse(filter.isLoggable(record("Missing {0}", "run", later)), "Idle templates should be evicted to track the new ones");
+
+		filter.close();
+	}
+
+	/**
+	 * Testing {@link RateLimitFilter#summarize()}
+	 */
+	@Test
+	public void summarizeTest() {
+
+		List<LogRecord> published = new ArrayList<LogRecord>();
+
+		Logger logger = Logger.getLogger("org.jorigin.logging.RateLimitFilterTest");
+		logger.setUseParentHandlers(false);
+		logger.setLevel(Level.ALL);
+
+		RateLimitFilter filter = new RateLimitFilter(1, 60000L);
+		logger.setFilter(filter);
+
+		Handler handler = new Handler(){
+
+			@Override
+			public void publish(LogRecord record) {
+				published.add(record);
+			}
+
+			@Override
+			public void flush() {
+				// Nothing to flush
+			}
+
+			@Override
+			public void close() {
+				// Nothing to close
+			}
+		};
+		logger.addHandler(handler);
+
+		try {
+			Instant time = Instant.now();
+			for(int i = 0; i < 5; i++){
+				logger.log(record("Missing {0}", "run", time));
+			}
+
+			assertEquals(1, published.size(), "Only the first record should be published");
+
+			filter.summarize();
+
+			assertEquals(2, published.size(), "A summary should be published");
+
+			LogRecord summary = published.get(1);
+			assertEquals(RateLimitFilter.SUMMARY_MESSAGE, summary.getMessage(), "Invalid summary message");
+			assertEquals(Long.valueOf(4), summary.getParameters()[0], "Invalid summary count");
+			assertEquals("Missing {0}", summary.getParameters()[1], "Invalid summary template");
+			assertEquals(Level.WARNING, summary.getLevel(), "Invalid summary level");
+			assertEquals("run", summary.getSourceMethodName(), "Invalid summary source");
+			assertEquals(0, filter.getSuppressedCount(), "Suppressed count should be reset");
+
+			filter.summarize();
+			assertEquals(2, published.size(), "No summary should be published without suppressed records");
+
+		} finally {
+			filter.close();
+			logger.removeHandler(handler);
+			logger.setFilter(null);
+		}
+	}
+}
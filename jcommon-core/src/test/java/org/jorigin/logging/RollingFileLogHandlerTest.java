@@ -0,0 +1,189 @@
+package org.jorigin.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link RollingFileLogHandler}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class RollingFileLogHandlerTest {
+
+	/**
+	 * Create a record.
+	 * @param message the message.
+	 * @return the record.
+	 */
+	private static LogRecord record(String message){
+		LogRecord record = new LogRecord(Level.INFO, message);
+		record.setLoggerName("org.jorigin");
+		record.setSourceClassName("org.jorigin.Sample");
+		record.setSourceMethodName("run");
+		return record;
+	}
+
+	/**
+	 * Read the content of a log file or of a compressed segment.
+	 * @param file the file to read.
+	 * @return the content of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private static String read(File file) throws IOException {
+		if (file.getName().endsWith(RollingFileLogHandler.COMPRESSED_EXTENSION)){
+			try (InputStream is = new GZIPInputStream(Files.newInputStream(file.toPath()))){
+				return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+			}
+		}
+		return Files.readString(file.toPath());
+	}
+
+	/**
+	 * Delete the given directory and its content.
+	 * @param directory the directory to delete.
+	 * @throws IOException if the directory cannot be listed.
+	 */
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)){
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	/**
+	 * Testing the size based rotation
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void rotationTest() throws Exception {
+
+		Path directory = Files.createTempDirectory("log");
+		try {
+			File file = directory.resolve("app.log").toFile();
+
+			RollingFileLogHandler handler = new RollingFileLogHandler(file, 256, RollingFileLogHandler.PERIOD_NONE, 0);
+			handler.setCompressing(false);
+
+			for(int i = 0; i < 20; i++){
+				handler.publish(record("message "+i));
+			}
+			handler.close();
+
+			List<File> segments = handler.getSegments();
+			assertTrue(segments.size() > 1, "The file should have been rotated");
+
+			StringBuilder content = new StringBuilder();
+			for(File segment : segments){
+				assertFalse(segment.getName().endsWith(RollingFileLogHandler.COMPRESSED_EXTENSION), "Segment should not be compressed "+segment);
+				assertTrue(segment.length() >= 256, "Segment rotated before its maximum size "+segment);
+				content.append(read(segment));
+			}
+			content.append(read(file));
+
+			int previous = -1;
+			for(int i = 0; i < 20; i++){
+				int index = content.indexOf("message "+i+System.lineSeparator());
+				assertTrue(index > previous, "Record "+i+" is missing or out of order");
+				previous = index;
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+
+	/**
+	 * Testing the compression of the rotated segments
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void compressionTest() throws Exception {
+
+		Path directory = Files.createTempDirectory("log");
+		try {
+			File file = directory.resolve("app.log").toFile();
+
+			RollingFileLogHandler handler = new RollingFileLogHandler(file, 0, RollingFileLogHandler.PERIOD_NONE, 0);
+
+			handler.publish(record("first"));
+			handler.rotate();
+			handler.publish(record("second"));
+			handler.rotate();
+			handler.publish(record("third"));
+			handler.close();
+
+			List<File> segments = handler.getSegments();
+			assertEquals(2, segments.size(), "Invalid number of segments");
+			for(File segment : segments){
+				assertTrue(segment.getName().endsWith(".log"+RollingFileLogHandler.COMPRESSED_EXTENSION), "Segment should be compressed "+segment);
+			}
+
+			assertTrue(read(segments.get(0)).contains("first"), "Invalid oldest segment");
+			assertTrue(read(segments.get(1)).contains("second"), "Invalid most recent segment");
+			assertTrue(read(file).contains("third"), "Invalid current file");
+
+			try (Stream<Path> paths = Files.list(directory)){
+				assertEquals(0, paths.filter(p -> p.toString().endsWith(".tmp")).count(), "Temporary files should be removed");
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+
+	/**
+	 * Testing the retention of the segments and that the files that are not segments are kept
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void retentionTest() throws Exception {
+
+		Path directory = Files.createTempDirectory("log");
+		try {
+			File file    = directory.resolve("app.log").toFile();
+			File error   = directory.resolve("app-error.log").toFile();
+			File archive = directory.resolve("app-2024.log").toFile();
+			File other   = directory.resolve("app-20240101-120000.txt").toFile();
+
+			Files.writeString(error.toPath(), "error");
+			Files.writeString(archive.toPath(), "archive");
+			Files.writeString(other.toPath(), "other");
+
+			RollingFileLogHandler handler = new RollingFileLogHandler(file, 0, RollingFileLogHandler.PERIOD_NONE, 2);
+
+			for(int i = 0; i < 5; i++){
+				handler.publish(record("message "+i));
+				handler.rotate();
+			}
+			handler.publish(record("last"));
+			handler.close();
+
+			List<File> segments = handler.getSegments();
+			assertEquals(2, segments.size(), "Invalid number of kept segments");
+			assertTrue(read(segments.get(0)).contains("message 3"), "The oldest segments should be deleted");
+			assertTrue(read(segments.get(1)).contains("message 4"), "The most recent segment should be kept");
+
+			assertEquals("error", Files.readString(error.toPath()), "Sibling log should not be modified");
+			assertEquals("archive", Files.readString(archive.toPath()), "Sibling log should not be modified");
+			assertEquals("other", Files.readString(other.toPath()), "File with another extension should not be modified");
+			assertFalse(new File(error.getPath()+RollingFileLogHandler.COMPRESSED_EXTENSION).exists(), "Sibling log should not be compressed");
+		} finally {
+			delete(directory);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package org.jorigin.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to the plugin discovery of {@link PluginToolkit}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class PluginToolkitTest {
+
+	/**
+	 * Create a jar archive that contains the given empty entries.
+	 * @param file the archive to create.
+	 * @param entries the names of the entries.
+	 * @throws IOException if the archive cannot be written.
+	 */
+	private static void createJar(File file, String... entries) throws IOException {
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(file))){
+			for(String entry : entries){
+				jos.putNextEntry(new JarEntry(entry));
+				jos.write(new byte[] {(byte) 0xCA, (byte) 0xFE});
+				jos.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * Testing the parallel discovery of archives and directories and the order of the discovered plugins
+	 * @throws IOException if the test files cannot be created
+	 */
+	@Test
+	public void discoveryTest() throws IOException {
+
+		Path root = Files.createTempDirectory("plugins");
+
+		File first = root.resolve("first.jar").toFile();
+		createJar(first, "org/sample/plugin/ZuluPlugin.class", "org/sample/plugin/Helper.class", "org/sample/plugin/AlphaPlugin.class", "org/other/OtherPlugin.class");
+
+		File empty = root.resolve("empty.jar").toFile();
+		createJar(empty, "org/sample/plugin/Helper.class");
+
+		File dir = Files.createDirectory(root.resolve("classes")).toFile();
+		for(String name : new String[] {"MikePlugin.class", "IPlugin.class", "BravoPlugin.class", "Util.class"}){
+			Files.write(new File(dir, name).toPath(), new byte[0]);
+		}
+
+		List<Integer> events = new ArrayList<Integer>();
+
+		PluginToolkit toolkit = new PluginToolkit();
+		toolkit.setPluginPackage("org.sample.core");
+		toolkit.addPluginDir(new File(first.getPath()+"!/org/sample/plugin"));
+		toolkit.addPluginDir(dir);
+		toolkit.addPluginDir(new File(empty.getPath()+"!/org/sample/plugin"));
+		toolkit.addPluginDir(root.resolve("missing").toFile());
+		toolkit.addPluginToolkitListener(event -> events.add(event.getID()));
+
+		for(int i = 0; i < 5; i++){
+			assertEquals(List.of("org.sample.plugin.ZuluPlugin", "org.sample.plugin.AlphaPlugin", "org.sample.core.BravoPlugin", "org.sample.core.MikePlugin"),
+					toolkit.discoverPlugins(), "Invalid discovered plugins");
+		}
+
+		assertEquals(List.of(PluginToolkitEvent.PLUGIN_DISCOVERING_START,
+				PluginToolkitEvent.PLUGIN_DISCOVERING_ARCHIVE,
+				PluginToolkitEvent.PLUGIN_DISCOVERING_DIR,
+				PluginToolkitEvent.PLUGIN_DISCOVERING_ARCHIVE,
+				PluginToolkitEvent.PLUGIN_NO_DISCOVERY,
+				PluginToolkitEvent.PLUGIN_DISCOVERING_DIR,
+				PluginToolkitEvent.PLUGIN_DISCOVERING_FINISHED), events.subList(0, 7), "Invalid discovery events");
+
+		for(File file : dir.listFiles()){
+			file.delete();
+		}
+		dir.delete();
+		first.delete();
+		empty.delete();
+		root.toFile().delete();
+	}
+}
@@ -0,0 +1,118 @@
+package org.jorigin.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link TaskEventCoalescer}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskEventCoalescerTest {
+
+	/**
+	 * Describe an event.
+	 * @param event the event.
+	 * @return the description of the event.
+	 */
+	private static String describe(TaskEvent event){
+
+		String type = "other";
+		if (event.getID() == TaskEvent.TASK_STARTED){
+			type = "started";
+		} else if (event.getID() == TaskEvent.TASK_PROGRESS){
+			type = "progress";
+		} else if (event.getID() == TaskEvent.TASK_FINISHED){
+			type = "finished";
+		} else if (event.getID() == TaskEvent.TASK_ERROR){
+			type = "error";
+		}
+
+		return event.getTaskName()+":"+type+":"+event.getSize();
+	}
+
+	/**
+	 * Testing the coalescing and the order of the events
+	 */
+	@Test
+	public void coalesceTest() {
+
+		List<String> received = new ArrayList<String>();
+
+		// A long interval so that the progress is only delivered by the explicit flushes
+		TaskEventCoalescer coalescer = new TaskEventCoalescer(event -> received.add(describe(event)), 60000L);
+
+		try {
+			coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "a", 1000));
+			coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "b", 10));
+
+			for(int i = 1; i <= 1000; i++){
+				coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "a", i));
+				if (i <= 10){
+					coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "b", i));
+				}
+			}
+
+			assertEquals(List.of("a:started:1000", "b:started:10"), received, "Start events should be forwarded immediately");
+			assertEquals(1008, coalescer.getCoalescedCount(), "Invalid coalesced count");
+
+			// The pending progress of the task is forwarded before its error
+			coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_ERROR, "b", -1));
+			assertEquals(List.of("a:started:1000", "b:started:10", "b:progress:10", "b:error:-1"), received, "Invalid order of the error");
+
+			coalescer.flush();
+			assertEquals("a:progress:1000", received.get(4), "Latest progress should be forwarded");
+			assertEquals(5, received.size(), "Only the latest progress should be forwarded");
+
+			coalescer.flush();
+			assertEquals(5, received.size(), "No progress should be pending");
+
+			coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "a", -1));
+			assertEquals("a:finished:-1", received.get(5), "Finish event should be forwarded immediately");
+
+		} finally {
+			coalescer.close();
+		}
+	}
+
+	/**
+	 * Testing the periodic delivery of the progress events
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void deliveryTest() throws InterruptedException {
+
+		List<String> received = Collections.synchronizedList(new ArrayList<String>());
+
+		TaskEventCoalescer coalescer = new TaskEventCoalescer(event -> received.add(describe(event)), 10L);
+
+		try {
+			for(int i = 1; i <= 100; i++){
+				coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "a", i));
+			}
+
+			long deadline = System.currentTimeMillis() + 10000L;
+			while (received.isEmpty() && (System.currentTimeMillis() < deadline)){
+				Thread.sleep(10);
+			}
+
+			assertTrue(received.contains("a:progress:100"), "Latest progress should be delivered");
+
+		} finally {
+			coalescer.close();
+		}
+
+		// Once closed, the progress events are forwarded immediately
+		int count = received.size();
+		coalescer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "a", 101));
+		assertEquals(count + 1, received.size(), "Progress should be forwarded by a closed coalescer");
+	}
+}
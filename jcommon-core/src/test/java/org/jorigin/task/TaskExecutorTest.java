@@ -0,0 +1,183 @@
+package org.jorigin.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link TaskExecutor}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskExecutorTest {
+
+	/**
+	 * Describe an event.
+	 * @param event the event.
+	 * @return the description of the event.
+	 */
+	private static String describe(TaskEvent event){
+
+		if (event.getID() == TaskEvent.TASK_STARTED){
+			return event.getTaskName()+":started:"+event.getSize();
+		} else if (event.getID() == TaskEvent.TASK_PROGRESS){
+			return event.getTaskName()+":progress:"+event.getSize();
+		} else if (event.getID() == TaskEvent.TASK_FINISHED){
+			return event.getTaskName()+":finished";
+		} else if (event.getID() == TaskEvent.TASK_ERROR){
+			return event.getTaskName()+":error";
+		} else if (event.getID() == TaskEvent.TASK_WARNING){
+			return event.getTaskName()+":warning";
+		}
+
+		return event.getTaskName()+":other";
+	}
+
+	/**
+	 * Testing the events and the weighted progress of nested subtasks
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void subtaskTest() throws Exception {
+
+		TaskExecutor executor = new TaskExecutor(2);
+
+		List<String> received = Collections.synchronizedList(new ArrayList<String>());
+		executor.addTaskListener(event -> received.add(describe(event)));
+
+		try {
+			TaskHandle<Integer> handle = executor.submit("root", 100, context -> {
+
+				context.subtask("scan", 20, -1, scan -> null);
+
+				return context.subtask("read", 80, 4, read -> {
+					for(int i = 0; i < 4; i++){
+						read.advance(1);
+					}
+					return Integer.valueOf(4);
+				});
+			});
+
+			assertEquals(4, handle.get(10, TimeUnit.SECONDS).intValue(), "Invalid result");
+			assertEquals(100.0d, handle.getProgress(), 0.0d, "Task should be complete");
+
+			assertEquals(List.of("root:started:100",
+			                     "scan:started:-1", "scan:finished", "root:progress:20",
+			                     "read:started:4",
+			                     "read:progress:1", "root:progress:40",
+			                     "read:progress:2", "root:progress:60",
+			                     "read:progress:3", "root:progress:80",
+			                     "read:progress:4", "root:progress:100",
+			                     "read:finished",
+			                     "root:finished"), received, "Invalid events");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Testing a failed task
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void errorTest() throws InterruptedException {
+
+		TaskExecutor executor = new TaskExecutor(1);
+
+		List<String> received = Collections.synchronizedList(new ArrayList<String>());
+		executor.addTaskListener(event -> received.add(describe(event)));
+
+		try {
+			TaskHandle<Object> handle = executor.submit("root", -1, context -> context.subtask("child", 1, -1, child -> {
+				throw new IllegalStateException("Broken");
+			}));
+
+			ExecutionException exception = assertThrows(ExecutionException.class, () -> handle.get(10, TimeUnit.SECONDS), "Task should fail");
+			assertTrue(exception.getCause() instanceof IllegalStateException, "Invalid failure");
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Executor should terminate");
+
+			// The failure is reported once, by the subtask that raised it
+			assertEquals(List.of("root:started:-1", "child:started:-1", "child:error", "child:finished", "root:finished"), received, "Invalid events");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Testing the cancellation and the timeout of the tasks
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void cancelTest() throws InterruptedException {
+
+		TaskExecutor executor = new TaskExecutor(2);
+
+		List<String> received = Collections.synchronizedList(new ArrayList<String>());
+		executor.addTaskListener(event -> received.add(describe(event)), TaskEvent.TASK_WARNING, TaskEvent.TASK_ERROR);
+
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+
+			TaskHandle<Object> cancelled = executor.submit("cancelled", -1, context -> {
+				started.countDown();
+				while (true){
+					context.checkCancelled();
+					Thread.yield();
+				}
+			});
+
+			assertTrue(started.await(10, TimeUnit.SECONDS), "Task should start");
+			assertTrue(cancelled.cancel(false), "Task should be cancelled");
+			assertThrows(CancellationException.class, () -> cancelled.get(), "Cancelled task should not have a result");
+
+			TaskHandle<Object> expired = executor.submit("expired", -1, context -> {
+				Thread.sleep(60000L);
+				return null;
+			}, 50, TimeUnit.MILLISECONDS);
+
+			ExecutionException exception = assertThrows(ExecutionException.class, () -> expired.get(10, TimeUnit.SECONDS), "Task should time out");
+			assertTrue(exception.getCause() instanceof TimeoutException, "Invalid failure");
+			assertTrue(expired.isTimedOut(), "Task should be timed out");
+
+			// The task swallows its interruption and returns normally
+			CountDownLatch returned = new CountDownLatch(1);
+			TaskHandle<Object> ignored = executor.submit("ignored", -1, context -> {
+				try {
+					Thread.sleep(60000L);
+				} catch (InterruptedException e) {
+					// The timeout is ignored
+				}
+				returned.countDown();
+				return "late";
+			}, 50, TimeUnit.MILLISECONDS);
+
+			exception = assertThrows(ExecutionException.class, () -> ignored.get(10, TimeUnit.SECONDS), "Task should time out");
+			assertTrue(exception.getCause() instanceof TimeoutException, "Invalid failure");
+			assertTrue(returned.await(10, TimeUnit.SECONDS), "Task should return");
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Interrupted task should stop");
+
+			assertTrue(received.contains("cancelled:warning"), "Cancellation should be reported");
+			assertTrue(received.contains("expired:error"), "Timeout should be reported");
+			assertEquals(1, Collections.frequency(received, "ignored:error"), "Timeout of a task that returns normally should be reported once");
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
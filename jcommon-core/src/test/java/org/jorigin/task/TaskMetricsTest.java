@@ -0,0 +1,200 @@
+package org.jorigin.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link TaskMetrics} and {@link TaskHistogram}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskMetricsTest {
+
+	/**
+	 * Testing the histogram percentiles and precision
+	 */
+	@Test
+	public void histogramTest() {
+
+		TaskHistogram histogram = new TaskHistogram();
+
+		for(long value = 1; value <= 10000; value++){
+			histogram.record(value);
+		}
+
+		assertEquals(10000, histogram.getCount(), "Invalid count");
+		assertEquals(1, histogram.getMin(), "Invalid min");
+		assertEquals(10000, histogram.getMax(), "Invalid max");
+		assertEquals(5000.5d, histogram.getMean(), 0.0d, "Invalid mean");
+
+		for(double percentile : new double[] {1, 50, 90, 99, 99.9}){
+			double expected = percentile * 100;
+			assertEquals(expected, histogram.getValueAtPercentile(percentile), expected / 64, "Invalid value at percentile "+percentile);
+		}
+
+		assertEquals(10000, histogram.getValueAtPercentile(100), "Invalid value at percentile 100");
+
+		TaskHistogram bounded = new TaskHistogram(1000);
+		bounded.record(Long.MAX_VALUE);
+		bounded.record(-5);
+		assertEquals(1000, bounded.getMax(), "Value should be bounded");
+		assertEquals(0, bounded.getMin(), "Negative value should be recorded as 0");
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount(), "Histogram should be empty");
+		assertEquals(0, histogram.getValueAtPercentile(50), "Empty histogram should not have percentiles");
+	}
+
+	/**
+	 * Testing the metrics recorded from task events
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void metricsTest() throws InterruptedException {
+
+		TaskMetrics metrics = new TaskMetrics();
+
+		for(int i = 0; i < 3; i++){
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "import", 100));
+			Thread.sleep(5);
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "import", 50));
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, "import", 100));
+			if (i == 2){
+				metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_WARNING, "import", "Slow disk"));
+				metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_ERROR, "import", "Broken file"));
+			}
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "import"));
+		}
+
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "export", -1));
+
+		assertEquals(List.of("export", "import"), metrics.getTaskNames(), "Invalid task names");
+
+		TaskStatistics statistics = metrics.getTaskStatistics("import");
+		assertEquals(3, statistics.getFinishedCount(), "Invalid finished count");
+		assertEquals(1, statistics.getFailedCount(), "Invalid failed count");
+		assertEquals(1, statistics.getWarningCount(), "Invalid warning count");
+		assertEquals(0, statistics.getRunningCount(), "Invalid running count");
+		assertEquals(300, statistics.getItemCount(), "Invalid item count");
+		assertTrue(statistics.getDurationP50() >= 5.0d, "Invalid median duration "+statistics.getDurationP50());
+		assertTrue(statistics.getDurationMax() >= statistics.getDurationP50(), "Invalid max duration");
+		assertTrue((statistics.getThroughput() > 0) && (statistics.getThroughput() <= 20000.0d), "Invalid throughput "+statistics.getThroughput());
+
+		assertEquals(1, metrics.getTaskStatistics("export").getRunningCount(), "Invalid running count");
+		assertNull(metrics.getTaskStatistics("unknown"), "Unknown task should not have statistics");
+
+		metrics.reset();
+		assertEquals(0, metrics.getTaskStatistics("import").getFinishedCount(), "Metrics should be reset");
+		assertEquals(1, metrics.getTaskStatistics("export").getRunningCount(), "Running tasks should still be measured");
+	}
+
+	/**
+	 * Testing that the tasks of the same name that run at the same time are matched by their task identity
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void concurrentRunsTest() throws InterruptedException {
+
+		TaskMetrics metrics = new TaskMetrics();
+
+		Object slow = new Object();
+		Object fast = new Object();
+
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, slow, "import", null, 10));
+		Thread.sleep(50);
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, fast, "import", null, 10));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_ERROR, fast, "import", "Broken file", -1));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, fast, "import", null, -1));
+
+		TaskStatistics statistics = metrics.getTaskStatistics("import");
+		assertEquals(1, statistics.getFinishedCount(), "Invalid finished count");
+		assertEquals(1, statistics.getFailedCount(), "The error should be attached to the fast task");
+		assertEquals(1, statistics.getRunningCount(), "The slow task should still be running");
+		assertTrue(statistics.getDurationMax() < 50.0d, "The fast task should not be measured from the start of the slow task "+statistics.getDurationMax());
+
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, slow, "import", null, -1));
+
+		statistics = metrics.getTaskStatistics("import");
+		assertEquals(2, statistics.getFinishedCount(), "Invalid finished count");
+		assertEquals(1, statistics.getFailedCount(), "The slow task should not have failed");
+		assertEquals(0, statistics.getRunningCount(), "Invalid running count");
+		assertTrue(statistics.getDurationMax() >= 50.0d, "Invalid duration of the slow task "+statistics.getDurationMax());
+	}
+
+	/**
+	 * Testing the tasks recorded under {@value TaskMetrics#OTHER_TASKS} when the maximum number of task names is reached
+	 */
+	@Test
+	public void otherTasksTest() {
+
+		TaskMetrics metrics = new TaskMetrics();
+
+		for(int i = 0; i < TaskMetrics.MAX_TASK_NAMES; i++){
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "task "+i, 1));
+			metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "task "+i));
+		}
+
+		Object first  = new Object();
+		Object second = new Object();
+
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, first, "first", null, 10));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, second, "second", null, 10));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_PROGRESS, second, "second", null, 10));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, second, "second", null, -1));
+
+		assertNull(metrics.getTaskStatistics("second"), "Task should be recorded under the other tasks");
+
+		TaskStatistics statistics = metrics.getTaskStatistics(TaskMetrics.OTHER_TASKS);
+		assertEquals(1, statistics.getFinishedCount(), "Invalid finished count");
+		assertEquals(10, statistics.getItemCount(), "The items should be attached to the second task");
+		assertEquals(1, statistics.getRunningCount(), "The first task should still be running");
+
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, first, "first", null, -1));
+		assertEquals(0, metrics.getTaskStatistics(TaskMetrics.OTHER_TASKS).getRunningCount(), "Invalid running count");
+	}
+
+	/**
+	 * Testing the registration of the metrics within the platform MBean server
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void mbeanTest() throws Exception {
+
+		TaskMetrics metrics = new TaskMetrics();
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "import", 10));
+		metrics.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "import"));
+
+		String name = "org.jorigin:type=TaskMetrics,name=test";
+		metrics.register(name);
+
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+			String[] names = (String[]) server.getAttribute(new ObjectName(name), "TaskNames");
+			assertEquals("import", names[0], "Invalid task names");
+
+			CompositeData[] statistics = (CompositeData[]) server.getAttribute(new ObjectName(name), "Statistics");
+			assertEquals(1L, statistics[0].get("finishedCount"), "Invalid finished count");
+
+			CompositeData item = (CompositeData) server.invoke(new ObjectName(name), "getTaskStatistics", new Object[] {"import"}, new String[] {String.class.getName()});
+			assertEquals("import", item.get("name"), "Invalid statistics");
+
+		} finally {
+			metrics.unregister();
+		}
+
+		assertTrue(!ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(name)), "Metrics should be unregistered");
+	}
+}
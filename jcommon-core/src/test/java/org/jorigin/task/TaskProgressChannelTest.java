@@ -0,0 +1,148 @@
+package org.jorigin.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jorigin.Common;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test dedicated to {@link TaskProgressChannel} and {@link TaskProgressAdapter}
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TaskProgressChannelTest {
+
+	/**
+	 * Describe an event.
+	 * @param event the event.
+	 * @return the description of the event.
+	 */
+	private static String describe(TaskEvent event){
+
+		if (event.getID() == TaskEvent.TASK_STARTED){
+			return event.getTaskName()+":started:"+event.getSize();
+		} else if (event.getID() == TaskEvent.TASK_PROGRESS){
+			return event.getTaskName()+":progress:"+event.getSize();
+		} else if (event.getID() == TaskEvent.TASK_ERROR){
+			return event.getTaskName()+":error:"+event.getDescription();
+		} else if (event.getID() == TaskEvent.TASK_FINISHED){
+			return event.getTaskName()+":finished";
+		}
+
+		return event.getTaskName()+":other";
+	}
+
+	/**
+	 * Testing the counters updated by several threads
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void advanceTest() throws InterruptedException {
+
+		TaskProgressChannel channel = new TaskProgressChannel();
+		TaskProgress progress = channel.open("import", 400000);
+
+		List<Thread> threads = new ArrayList<Thread>();
+		for(int i = 0; i < 4; i++){
+			Thread thread = new Thread(() -> {
+				for(int j = 0; j < 100000; j++){
+					progress.advance();
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+
+		for(Thread thread : threads){
+			thread.join();
+		}
+
+		assertEquals(400000, progress.getDone(), "Invalid progress");
+		assertEquals(List.of(progress), channel.getTasks(), "Task should be running");
+
+		progress.setDone(10);
+		assertEquals(10, progress.getDone(), "Invalid progress");
+
+		progress.finish();
+		assertTrue(progress.isEnded(), "Task should be ended");
+		assertTrue(channel.getTasks().isEmpty(), "Ended task should be removed");
+	}
+
+	/**
+	 * Testing the events fired by the adapter
+	 */
+	@Test
+	public void adapterTest() {
+
+		TaskProgressChannel channel = new TaskProgressChannel();
+
+		List<String> received = new ArrayList<String>();
+		TaskProgressAdapter adapter = new TaskProgressAdapter(channel, event -> received.add(describe(event)));
+
+		TaskProgress first  = channel.open("first", 100);
+		TaskProgress second = channel.open("second", -1);
+
+		adapter.poll();
+		assertEquals(List.of("first:started:100", "second:started:-1"), received, "Invalid start events");
+
+		received.clear();
+		for(int i = 0; i < 1000; i++){
+			first.advance();
+		}
+		adapter.poll();
+		assertEquals(List.of("first:progress:1000"), received, "Progress should be reported once per poll");
+
+		received.clear();
+		adapter.poll();
+		assertTrue(received.isEmpty(), "Unchanged progress should not be reported");
+
+		first.advance(5);
+		first.finish();
+		second.fail("Broken");
+		adapter.poll();
+		assertEquals(List.of("first:progress:1005", "first:finished", "second:error:Broken", "second:finished"), received, "Invalid end events");
+
+		received.clear();
+		adapter.poll();
+		assertTrue(received.isEmpty(), "Ended tasks should not be reported again");
+	}
+
+	/**
+	 * Testing the tasks that are opened and ended between two polls
+	 */
+	@Test
+	public void endedBetweenPollsTest() {
+
+		TaskProgressChannel channel = new TaskProgressChannel();
+
+		List<String> received = new ArrayList<String>();
+		TaskProgressAdapter adapter = new TaskProgressAdapter(channel, event -> received.add(describe(event)));
+
+		TaskProgress failed = channel.open("failed", 100);
+		failed.advance(10);
+		failed.fail("boom");
+
+		channel.open("short", 5).finish();
+
+		assertTrue(channel.getTasks().isEmpty(), "Ended tasks should not be running");
+
+		adapter.poll();
+		assertEquals(List.of("failed:started:100", "short:started:5", "failed:progress:10", "failed:error:boom", "failed:finished", "short:finished"),
+				received, "Tasks ended between two polls should be reported");
+
+		received.clear();
+		adapter.poll();
+		assertTrue(received.isEmpty(), "Ended tasks should not be reported again");
+
+		for(int i = 0; i < TaskProgressChannel.MAX_ENDED + 10; i++){
+			channel.open("task", 1).finish();
+		}
+		adapter.poll();
+		assertEquals(2 * TaskProgressChannel.MAX_ENDED, received.size(), "Ended tasks should be bounded");
+	}
+}
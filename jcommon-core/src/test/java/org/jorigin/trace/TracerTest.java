@@ -0,0 +1,186 @@
+package org.jorigin.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jorigin.Common;
+import org.jorigin.task.TaskEvent;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A test dedicated to {@link Tracer} and its exports
+ * @author Julien SEINTURIER - <a href="http://www.univ-tln.fr">Universit&eacute; de Toulon</a> / <a href="http://www.lis-lab.fr">CNRS LIS umr 7020</a> - <a href="https://github.com/jorigin/jcommon">github.com/jorigin/jcommon</a> (<a href="mailto:contact@jorigin.org">contact@jorigin.org</a>)
+ * @version {@value Common#version} - b{@value Common#BUILD}
+ * @since 2.0.2
+ */
+public class TracerTest {
+
+	/**
+	 * Testing the ring buffer filled by several threads
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void bufferTest() throws InterruptedException {
+
+		TraceBuffer buffer = new TraceBuffer(1000);
+		assertEquals(1024, buffer.getCapacity(), "Capacity should be rounded to a power of two");
+
+		List<Thread> threads = new ArrayList<Thread>();
+		for(int i = 0; i < 4; i++){
+			long threadId = i;
+			Thread thread = new Thread(() -> {
+				for(int j = 0; j < 1000; j++){
+					buffer.record(new TraceSpan("test", "span", null, j, 1, threadId, "worker"));
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+
+		for(Thread thread : threads){
+			thread.join();
+		}
+
+		assertEquals(4000, buffer.getRecordedCount(), "Invalid recorded count");
+		assertEquals(4000 - 1024, buffer.getDroppedCount(), "Invalid dropped count");
+
+		List<TraceSpan> spans = buffer.getSpans();
+		assertEquals(1024, spans.size(), "Full buffer should hold its capacity");
+		for(int i = 1; i < spans.size(); i++){
+			assertTrue(spans.get(i - 1).getStart() <= spans.get(i).getStart(), "Spans should be sorted by start");
+		}
+
+		buffer.clear();
+		assertTrue(buffer.getSpans().isEmpty(), "Buffer should be empty");
+		assertEquals(0, buffer.getDroppedCount(), "Invalid dropped count");
+	}
+
+	/**
+	 * Testing the spans recorded from operations and tasks and their Chrome trace export
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void chromeTraceTest() throws Exception {
+
+		Tracer.getBuffer().clear();
+
+		long ignored = Tracer.start();
+		Tracer.setEnabled(true);
+		try {
+			Tracer.end(Tracer.PLUGIN, "pluginInit", "ignored", ignored);
+			assertTrue(Tracer.getBuffer().getSpans().isEmpty(), "Operation started while disabled should not be recorded");
+
+			long start = Tracer.start();
+			Thread.sleep(2);
+			Tracer.end(Tracer.PLUGIN, "pluginInit", "Sample \"quoted\"", start);
+
+			TaskTracer tracer = new TaskTracer();
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "import", "Import files", 10));
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "import", "Import images", 10));
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_ERROR, "import", "Broken file"));
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "import"));
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "import"));
+			assertEquals(0, tracer.getRunningCount(), "All tasks should be finished");
+
+			List<TraceSpan> spans = Tracer.getBuffer().getSpans();
+			assertEquals(3, spans.size(), "Invalid span count");
+			assertEquals("pluginInit", spans.get(0).getName(), "Invalid span name");
+			assertTrue(spans.get(0).getDuration() >= 2000000L, "Invalid span duration "+spans.get(0).getDuration());
+			assertEquals(Thread.currentThread().getName(), spans.get(0).getThreadName(), "Invalid span thread");
+			assertEquals("error: Broken file", spans.get(1).getArgument(), "Invalid failed task argument");
+			assertEquals("Import images", spans.get(2).getArgument(), "Invalid task argument");
+
+			StringWriter writer = new StringWriter();
+			new ChromeTraceWriter(42).write(spans, writer);
+			String json = writer.toString();
+
+			assertTrue(json.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["), "Invalid JSON header");
+			assertTrue(json.contains("\"ph\":\"X\",\"name\":\"pluginInit\",\"cat\":\"plugin\""), "Missing plugin span");
+			assertTrue(json.contains("\"args\":{\"argument\":\"Sample \\\"quoted\\\"\"}"), "Argument should be escaped");
+			assertTrue(json.contains("\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":42"), "Missing thread name");
+			assertTrue(json.trim().endsWith("]}"), "Invalid JSON footer");
+
+			File file = File.createTempFile("trace", ".json");
+			try {
+				Tracer.writeChromeTrace(file);
+				assertTrue(Files.readString(file.toPath()).contains("\"cat\":\"task\""), "Missing task span");
+			} finally {
+				file.delete();
+			}
+
+		} finally {
+			Tracer.setEnabled(false);
+			Tracer.getBuffer().clear();
+		}
+	}
+
+	/**
+	 * Testing the spans published as flight recorder events
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void flightRecorderTest() throws Exception {
+
+		File file = File.createTempFile("trace", ".jfr");
+
+		Tracer.setEnabled(true);
+		Tracer.setFlightRecorder(true);
+		try (Recording recording = new Recording()){
+
+			recording.enable("org.jorigin.Span");
+			recording.start();
+
+			long start = Tracer.start();
+			Thread.sleep(2);
+			long inner = Tracer.start();
+			Thread.sleep(5);
+			Tracer.end(Tracer.LANG, "loadFile", "messages_fr.xml", inner);
+			Tracer.end(Tracer.LANG, "loadTable", "fr-FR", start);
+
+			TaskTracer tracer = new TaskTracer();
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_STARTED, "import", "Import files", 10));
+			Thread.sleep(3);
+			tracer.eventDispatched(new TaskEvent(this, TaskEvent.TASK_FINISHED, "import"));
+
+			recording.stop();
+			recording.dump(file.toPath());
+
+			List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+			for(RecordedEvent event : RecordingFile.readAllEvents(file.toPath())){
+				if (event.getEventType().getName().equals("org.jorigin.Span")){
+					events.add(event);
+				}
+			}
+
+			events.sort((e1, e2) -> e1.getStartTime().compareTo(e2.getStartTime()));
+
+			assertEquals(3, events.size(), "Invalid event count");
+			assertEquals("lang", events.get(0).getString("category"), "Invalid event category");
+			assertEquals("fr-FR", events.get(0).getString("argument"), "Invalid event argument");
+			assertEquals("messages_fr.xml", events.get(1).getString("argument"), "Invalid nested event argument");
+			assertEquals("task", events.get(2).getString("category"), "Invalid task event category");
+
+			assertTrue(events.get(0).getDuration().toNanos() >= 7000000L, "Event should last from the start to the end of the span "+events.get(0).getDuration());
+			assertTrue(events.get(1).getDuration().toNanos() >= 5000000L, "Invalid nested event duration "+events.get(1).getDuration());
+			assertTrue(events.get(0).getStartTime().isBefore(events.get(1).getStartTime()), "Nested event should start after its parent");
+			assertTrue(events.get(0).getEndTime().isAfter(events.get(1).getEndTime()), "Nested event should end before its parent");
+			assertTrue(events.get(2).getDuration().toNanos() >= 3000000L, "Invalid task event duration "+events.get(2).getDuration());
+
+		} finally {
+			Tracer.setFlightRecorder(false);
+			Tracer.setEnabled(false);
+			Tracer.getBuffer().clear();
+			file.delete();
+		}
+	}
+}
@@ -8,6 +8,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.logging.Level;
 
 import org.jorigin.Common;
+import org.jorigin.logging.Log;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
@@ -1742,21 +1743,23 @@ public class JImageCanvas extends Canvas implements JImageFeatureLayerListener{
 		this.viewTransform.append(this.viewRotation);
 		this.viewTransform.append(this.viewTranslation);
 
-		Common.logger.log(Level.FINE, "Scale");
-		Common.logger.log(Level.FINE, "  - x     : "+this.viewScale.getX());
-		Common.logger.log(Level.FINE, "  - y     : "+this.viewScale.getY());
-		Common.logger.log(Level.FINE, "  - Pivot : ("+this.viewScale.getPivotX()+", "+this.viewScale.getPivotY()+", "+this.viewScale.getPivotZ()+")");
-		Common.logger.log(Level.FINE, "Rotation");
-		Common.logger.log(Level.FINE, "  - Angle : "+this.viewRotation.getAngle());
-		Common.logger.log(Level.FINE, "  - Axis  : "+this.viewRotation.getAxis());
-		Common.logger.log(Level.FINE, "  - Pivot : ("+this.viewRotation.getPivotX()+", "+this.viewRotation.getPivotY()+", "+this.viewRotation.getPivotZ()+")");
-		Common.logger.log(Level.FINE, "Translation");
-		Common.logger.log(Level.FINE, "  - Vector : ("+this.viewTranslation.getX()+", "+this.viewTranslation.getY()+", "+this.viewTranslation.getZ()+")");
-		Common.logger.log(Level.FINE, "");
-		Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMxx()+" "+this.viewTransform.getMxy()+" "+this.viewTransform.getMxz()+ " "+this.viewTransform.getTx()+" ]");
-		Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMyx()+" "+this.viewTransform.getMyy()+" "+this.viewTransform.getMyz()+ " "+this.viewTransform.getTy()+" ]");
-		Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMzx()+" "+this.viewTransform.getMzy()+" "+this.viewTransform.getMzz()+ " "+this.viewTransform.getTz()+" ]");
-		Common.logger.log(Level.FINE, "[ "+0.0d+" "+0.0d+" "+0.0d+ " "+1.0d+" ]");
+		if (Log.isLoggable(Level.FINE)){
+			Common.logger.log(Level.FINE, "Scale");
+			Common.logger.log(Level.FINE, "  - x     : "+this.viewScale.getX());
+			Common.logger.log(Level.FINE, "  - y     : "+this.viewScale.getY());
+			Common.logger.log(Level.FINE, "  - Pivot : ("+this.viewScale.getPivotX()+", "+this.viewScale.getPivotY()+", "+this.viewScale.getPivotZ()+")");
+			Common.logger.log(Level.FINE, "Rotation");
+			Common.logger.log(Level.FINE, "  - Angle : "+this.viewRotation.getAngle());
+			Common.logger.log(Level.FINE, "  - Axis  : "+this.viewRotation.getAxis());
+			Common.logger.log(Level.FINE, "  - Pivot : ("+this.viewRotation.getPivotX()+", "+this.viewRotation.getPivotY()+", "+this.viewRotation.getPivotZ()+")");
+			Common.logger.log(Level.FINE, "Translation");
+			Common.logger.log(Level.FINE, "  - Vector : ("+this.viewTranslation.getX()+", "+this.viewTranslation.getY()+", "+this.viewTranslation.getZ()+")");
+			Common.logger.log(Level.FINE, "");
+			Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMxx()+" "+this.viewTransform.getMxy()+" "+this.viewTransform.getMxz()+ " "+this.viewTransform.getTx()+" ]");
+			Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMyx()+" "+this.viewTransform.getMyy()+" "+this.viewTransform.getMyz()+ " "+this.viewTransform.getTy()+" ]");
+			Common.logger.log(Level.FINE, "[ "+this.viewTransform.getMzx()+" "+this.viewTransform.getMzy()+" "+this.viewTransform.getMzz()+ " "+this.viewTransform.getTz()+" ]");
+			Common.logger.log(Level.FINE, "[ "+0.0d+" "+0.0d+" "+0.0d+ " "+1.0d+" ]");
+		}
 	
 		
 		setNeedRefresh(true);
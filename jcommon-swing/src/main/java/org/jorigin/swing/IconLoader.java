@@ -13,6 +13,7 @@ import javax.swing.ImageIcon;
 
 import org.jorigin.Common;
 import org.jorigin.lang.PathUtil;
+import org.jorigin.logging.Log;
 
 /**
  * A class dedicated to SWING icon loading. 
@@ -114,10 +115,10 @@ public class IconLoader {
 				image = new ImageIcon(processedPath);
 				if (image.getIconWidth() < 1){
 					image = null;
-					logger.log(Level.WARNING, "Icon "+processedPath+" is not a valid image file.");
+					Log.log(Level.WARNING, "Icon {0} is not a valid image file.", processedPath);
 				}
 			} catch (Exception ex) {
-				logger.log(Level.WARNING, "Icon "+processedPath+" cannot be loaded: "+ex.getMessage(), ex);
+				Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", processedPath, ex.getMessage());
 				image = null;
 			}
 
@@ -130,7 +131,7 @@ public class IconLoader {
 			URL url = c.getResource(path);
 
 			if (url == null) {
-				logger.log(Level.WARNING, "Icon "+path+" does not match a resource.");
+				Log.log(Level.WARNING, "Icon {0} does not match a resource.", path);
 				return null;
 			}
 
@@ -138,10 +139,10 @@ public class IconLoader {
 				image = new ImageIcon(url);
 				if (image.getIconWidth() < 1){
 					image = null;
-					logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" is not a valid image file.");
+					Log.log(Level.WARNING, "Icon {0} is not a valid image file.", url.toExternalForm());
 				}
 			} catch (Exception ex) {
-				logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" cannot be loaded: "+ex.getMessage(), ex);
+				Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", url, ex.getMessage());
 				image = null;
 			}
 
@@ -161,16 +162,16 @@ public class IconLoader {
 
 						if (image.getIconWidth() < 1){
 							image = null;
-							logger.log(Level.WARNING, "Icon "+inputURL.toExternalForm()+" is not a valid image file.");
+							Log.log(Level.WARNING, "Icon {0} is not a valid image file.", inputURL.toExternalForm());
 						}
 					} catch (Exception ex) {
-						logger.log(Level.WARNING, "Icon "+inputFile+" cannot be loaded: "+ex.getMessage(), ex);
+						Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", inputFile, ex.getMessage());
 						image = null;
 					}
 
 
 				} else if (pathType == PATH_TYPE_EMBEDDED_ZIP) {
-					logger.log(Level.WARNING, "Icon "+path+" load from ZIP file is not handled.");
+					Log.log(Level.WARNING, "Icon {0} load from ZIP file is not handled.", path);
 					return null;
 				} else {
 
@@ -182,10 +183,10 @@ public class IconLoader {
 
 						if (image.getIconWidth() < 1){
 							image = null;
-							logger.log(Level.WARNING, "Icon "+processedPath+" is not a valid image file.");
+							Log.log(Level.WARNING, "Icon {0} is not a valid image file.", processedPath);
 						}
 					} catch (Exception ex) {
-						logger.log(Level.WARNING, "Icon "+iconDirectory+"/"+processedPath+" cannot be loaded: "+ex.getMessage(), ex);
+						Log.log(Level.WARNING, ex, "Icon {0}/{1} cannot be loaded: {2}", iconDirectory, processedPath, ex.getMessage());
 						image = null;
 					}
 
@@ -195,7 +196,7 @@ public class IconLoader {
 						URL url = c.getResource(iconDirectory+path);
 
 						if (url == null) {
-							logger.log(Level.WARNING, "Icon "+path+" does not match a resource.");
+							Log.log(Level.WARNING, "Icon {0} does not match a resource.", path);
 							return null;
 						}
 
@@ -203,10 +204,10 @@ public class IconLoader {
 							image = new ImageIcon(url);
 							if (image.getIconWidth() < 1){
 								image = null;
-								logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" is not a valid image file.");
+								Log.log(Level.WARNING, "Icon {0} is not a valid image file.", url.toExternalForm());
 							}
 						} catch (Exception ex) {
-							logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" cannot be loaded: "+ex.getMessage(), ex);
+							Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", url, ex.getMessage());
 							image = null;
 						}
 					}
@@ -220,10 +221,10 @@ public class IconLoader {
 
 					if (image.getIconWidth() < 1){
 						image = null;
-						logger.log(Level.WARNING, "Icon "+processedPath+" is not a valid image file.");
+						Log.log(Level.WARNING, "Icon {0} is not a valid image file.", processedPath);
 					}
 				} catch (Exception ex) {
-					logger.log(Level.WARNING, "Icon "+processedPath+" cannot be loaded: "+ex.getMessage(), ex);
+					Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", processedPath, ex.getMessage());
 					image = null;
 				}
 
@@ -236,7 +237,7 @@ public class IconLoader {
 				URL url = c.getResource(path);
 
 				if (url == null) {
-					logger.log(Level.WARNING, "Icon "+path+" does not match a resource.");
+					Log.log(Level.WARNING, "Icon {0} does not match a resource.", path);
 					return null;
 				}
 
@@ -244,10 +245,10 @@ public class IconLoader {
 					image = new ImageIcon(url);
 					if (image.getIconWidth() < 1){
 						image = null;
-						logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" is not a valid image file.");
+						Log.log(Level.WARNING, "Icon {0} is not a valid image file.", url.toExternalForm());
 					}
 				} catch (Exception ex) {
-					logger.log(Level.WARNING, "Icon "+url.toExternalForm()+" cannot be loaded: "+ex.getMessage(), ex);
+					Log.log(Level.WARNING, ex, "Icon {0} cannot be loaded: {1}", url, ex.getMessage());
 					image = null;
 				}
 			}
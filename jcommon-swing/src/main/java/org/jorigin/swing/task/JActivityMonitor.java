@@ -18,6 +18,7 @@ import javax.swing.JFrame;
 import javax.swing.JScrollPane;
 import javax.swing.JTextPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.Style;
@@ -27,6 +28,9 @@ import javax.swing.text.StyleContext;
 import org.jorigin.Common;
 import org.jorigin.swing.IconLoader;
 import org.jorigin.task.TaskEvent;
+import org.jorigin.task.TaskEventCoalescer;
+import org.jorigin.task.TaskProgressAdapter;
+import org.jorigin.task.TaskProgressChannel;
 
 import java.awt.BorderLayout;
 import java.util.ArrayList;
@@ -36,6 +40,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
 
 /**
@@ -817,6 +822,36 @@ public class JActivityMonitor extends JDialog{
     processTaskEvent(event, true);
   }
   
+  /**
+   * Create a task listener that forwards the task events to this monitor. The progress events are coalesced and the monitor
+   * processes at most one progress event per task every <code>interval</code> milliseconds, whatever the rate of the progress events is.
+   * The events are processed within the event dispatch thread, whatever the thread that delivers them is.
+   * The returned listener has to be {@link TaskEventCoalescer#close() closed} when it is no longer used.
+   * @param interval the interval between two progress updates of a task, in milliseconds.
+   * @return a task listener that forwards the task events to this monitor.
+   * @see #processTaskEvent(TaskEvent)
+   * @since 2.0.2
+   */
+  public TaskEventCoalescer createTaskListener(long interval){
+    return new TaskEventCoalescer(event -> SwingUtilities.invokeLater(() -> processTaskEvent(event)), interval);
+  }
+
+  /**
+   * Monitor the tasks published on the given progress channel. The channel is polled within the event dispatch thread every <code>delay</code> milliseconds
+   * and the changes are processed as task events. The returned timer is started and has to be stopped when the channel is no longer monitored.
+   * @param channel the progress channel to monitor.
+   * @param delay the delay between two polls of the channel, in milliseconds.
+   * @return the timer that polls the channel.
+   * @see TaskProgressAdapter
+   * @since 2.0.2
+   */
+  public Timer monitor(TaskProgressChannel channel, int delay){
+    TaskProgressAdapter adapter = new TaskProgressAdapter(channel, this::processTaskEvent);
+    Timer timer = new Timer(delay, e -> adapter.poll());
+    timer.start();
+    return timer;
+  }
+
   /**
    * Process a task event. The boolean <code>progressBarVisible</code> can be used to override 
    * the {@link #isProgessBarVisible()} and {@link #isProgessLabelVisible()} values for the specified task.
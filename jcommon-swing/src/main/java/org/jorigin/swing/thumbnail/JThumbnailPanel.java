@@ -20,6 +20,7 @@ import javax.swing.ListSelectionModel;
 import javax.swing.event.EventListenerList;
 
 import org.jorigin.Common;
+import org.jorigin.event.EventBus;
 import org.jorigin.task.TaskEvent;
 import org.jorigin.task.TaskListener;
 
@@ -73,6 +74,11 @@ public class JThumbnailPanel<T> extends JPanel {
 	 */
 	protected EventListenerList idListenerList = new EventListenerList();
 
+	/**
+	 * The event bus that routes the task events to the task listeners.
+	 */
+	private final EventBus<TaskListener, TaskEvent> taskEventBus = new EventBus<TaskListener, TaskEvent>(TaskListener::eventDispatched);
+
 	/**
 	 * Selection mode of the thumbnail<br>
 	 * Selection mode can be:<br>
@@ -1023,12 +1029,7 @@ public class JThumbnailPanel<T> extends JPanel {
 	 * @param e the event to fire.
 	 */
 	protected void fireEvent(TaskEvent e) {
-		Object[] listeners = this.idListenerList.getListenerList();
-		for (int i = listeners.length - 2; i >= 0; i -= 2) {
-			if (listeners[i] == TaskListener.class) {
-				( (TaskListener) listeners[i + 1]).eventDispatched(e);
-			}
-		}
+		this.taskEventBus.dispatch(e);
 	}
 
 	/**
@@ -1052,7 +1053,18 @@ public class JThumbnailPanel<T> extends JPanel {
 	 * @param l TaskListener Listener added to the object
 	 */
 	public void addTaskListener(TaskListener l) {
-		this.idListenerList.add(TaskListener.class, l);
+		this.taskEventBus.subscribe(l);
+	}
+
+	/**
+	 * Add a Task Listener to this object that is only notified of the task events with the given identifiers
+	 * (for example {@link TaskEvent#TASK_PROGRESS}).
+	 * @param l TaskListener Listener added to the object
+	 * @param ids the identifiers of the task events to notify
+	 * @since 2.0.2
+	 */
+	public void addTaskListener(TaskListener l, int... ids) {
+		this.taskEventBus.subscribe(l, TaskEvent.class, ids);
 	}
 
 	/**
@@ -1060,7 +1072,7 @@ public class JThumbnailPanel<T> extends JPanel {
 	 * @param l TaskListener listener to remove
 	 */
 	public void removeTaskListener(TaskListener l) {
-		this.idListenerList.remove(TaskListener.class, l);
+		this.taskEventBus.unsubscribe(l);
 	}  
 
 	/**